@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.bus;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.bus.registry.Registries;
+import reactor.bus.registry.Registry;
+import reactor.fn.Consumer;
+
+import java.util.concurrent.TimeUnit;
+
+import static reactor.bus.selector.Selectors.$;
+
+/**
+ * Measures {@link EventBus#notify(Object, Event)} on a synchronous {@link EventBus} depending on the number of
+ * registrations and on the {@link Registry} implementation looking them up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmarks {
+
+	static final int BATCH = 64;
+
+	@Param({"1", "100", "10000"})
+	public int registrations;
+
+	@Param({"caching", "copyOnWrite", "indexed"})
+	public String registry;
+
+	private final Event<String> event = Event.wrap("event");
+	private final Event<?>[]    batch = new Event<?>[BATCH];
+
+	private EventBus bus;
+	private String   matchingKey;
+	private long     received;
+
+	@Setup
+	public void setup() {
+		bus = new EventBus(EventBusBenchmarks.<Consumer<? extends Event<?>>>newRegistry(registry), null, null, null, null);
+
+		Consumer<Event<String>> consumer = new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				received++;
+			}
+		};
+		for (int i = 0; i < registrations; i++) {
+			bus.on($("key" + i), consumer);
+		}
+		matchingKey = "key" + (registrations / 2);
+
+		for (int i = 0; i < BATCH; i++) {
+			batch[i] = Event.wrap("event" + i);
+		}
+	}
+
+	@Benchmark
+	public long notifyMatching() {
+		bus.notify(matchingKey, event);
+		return received;
+	}
+
+	@Benchmark
+	public long notifyMissing() {
+		bus.notify("missing", event);
+		return received;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public long notifyBatch() {
+		bus.notify(matchingKey, batch);
+		return received;
+	}
+
+	static <T> Registry<T> newRegistry(String type) {
+		if ("caching".equals(type)) {
+			return Registries.create();
+		} else if ("copyOnWrite".equals(type)) {
+			return Registries.copyOnWrite();
+		} else if ("indexed".equals(type)) {
+			return Registries.indexed();
+		}
+		throw new IllegalArgumentException("Unknown registry " + type);
+	}
+
+}
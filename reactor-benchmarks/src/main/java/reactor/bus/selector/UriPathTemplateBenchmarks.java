@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.bus.selector;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the compiled {@link UriPathTemplate} matcher with the regular expression it used to be translated to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriPathTemplateBenchmarks {
+
+	private static final String TEMPLATE = "/users/{user}/orders/{order}/**";
+	private static final String REGEX    = "^/users/(?<user>[^\\/.]*)/orders/(?<order>[^\\/.]*)/.*$";
+
+	@Param({"/users/jdoe/orders/1234/items/1", "/users/jdoe/invoices/1234/items/1"})
+	public String uri;
+
+	private UriPathTemplate template;
+	private Pattern         pattern;
+
+	@Setup
+	public void setup() {
+		template = new UriPathTemplate(TEMPLATE);
+		pattern = Pattern.compile(REGEX);
+	}
+
+	@Benchmark
+	public boolean compiledMatches() {
+		return template.matches(uri);
+	}
+
+	@Benchmark
+	public boolean regexMatches() {
+		return pattern.matcher(uri).matches();
+	}
+
+	@Benchmark
+	public void compiledMatch(Blackhole bh) {
+		Map<String, Object> vars = template.match(uri);
+		bh.consume(vars.get("user"));
+		bh.consume(vars.get("order"));
+	}
+
+	@Benchmark
+	public void regexMatch(Blackhole bh) {
+		Map<String, Object> vars = new HashMap<String, Object>();
+		Matcher m = pattern.matcher(uri);
+		if (m.matches()) {
+			vars.put("user", m.group("user"));
+			vars.put("order", m.group("order"));
+		}
+		bh.consume(vars.get("user"));
+		bh.consume(vars.get("order"));
+	}
+
+}
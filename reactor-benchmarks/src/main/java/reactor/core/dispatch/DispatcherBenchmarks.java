@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.core.dispatch;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.core.BatchDispatcher;
+import reactor.core.Dispatcher;
+import reactor.core.dispatch.wait.AgileWaitingStrategy;
+import reactor.core.dispatch.wait.ParkWaitStrategy;
+import reactor.fn.Consumer;
+import reactor.jarjar.com.lmax.disruptor.*;
+import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput and the latency of a round trip through each {@link Dispatcher} implementation, using their
+ * default wait strategy. See {@link WaitStrategyBenchmarks} for the ring buffer based dispatchers under each wait
+ * strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatcherBenchmarks {
+
+	static final int BATCH       = 1024;
+	static final int BUFFER_SIZE = 8192;
+
+	@Param({"synchronous", "ringBuffer", "mpsc", "workQueue", "threadPoolExecutor"})
+	public String dispatcher;
+
+	private final AtomicLong consumed = new AtomicLong();
+	private final Integer[]  batch    = new Integer[BATCH];
+
+	private Dispatcher        target;
+	private Consumer<Integer> consumer;
+	private long              published;
+
+	@Setup
+	public void setup() {
+		target = newDispatcher(dispatcher, new BlockingWaitStrategy());
+		consumer = new Consumer<Integer>() {
+			@Override
+			public void accept(Integer integer) {
+				consumed.incrementAndGet();
+			}
+		};
+		for (int i = 0; i < BATCH; i++) {
+			batch[i] = i;
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		target.shutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void dispatch() {
+		for (int i = 0; i < BATCH; i++) {
+			target.dispatch(batch[i], consumer, null);
+		}
+		published += BATCH;
+		awaitConsumed(consumed, published);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void dispatchAll() {
+		((BatchDispatcher) target).dispatchAll(batch, consumer, null);
+		published += BATCH;
+		awaitConsumed(consumed, published);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void roundTrip() {
+		target.dispatch(batch[0], consumer, null);
+		awaitConsumed(consumed, ++published);
+	}
+
+	static void awaitConsumed(AtomicLong consumed, long expected) {
+		while (consumed.get() < expected) {
+			// busy spin, parking would dominate the measured latency
+		}
+	}
+
+	static Dispatcher newDispatcher(String type, WaitStrategy waitStrategy) {
+		if ("synchronous".equals(type)) {
+			return new SynchronousDispatcher();
+		} else if ("ringBuffer".equals(type)) {
+			return new RingBufferDispatcher("benchmark", BUFFER_SIZE, null, ProducerType.MULTI, waitStrategy);
+		} else if ("mpsc".equals(type)) {
+			return new MpscDispatcher("benchmark", BUFFER_SIZE);
+		} else if ("workQueue".equals(type)) {
+			return new WorkQueueDispatcher("benchmark",
+			                               Runtime.getRuntime().availableProcessors(),
+			                               BUFFER_SIZE,
+			                               null,
+			                               ProducerType.MULTI,
+			                               waitStrategy);
+		} else if ("threadPoolExecutor".equals(type)) {
+			return new ThreadPoolExecutorDispatcher(Runtime.getRuntime().availableProcessors(), BUFFER_SIZE);
+		}
+		throw new IllegalArgumentException("Unknown dispatcher " + type);
+	}
+
+	static WaitStrategy newWaitStrategy(String type) {
+		if ("blocking".equals(type)) {
+			return new BlockingWaitStrategy();
+		} else if ("yielding".equals(type)) {
+			return new YieldingWaitStrategy();
+		} else if ("busySpin".equals(type)) {
+			return new BusySpinWaitStrategy();
+		} else if ("sleeping".equals(type)) {
+			return new SleepingWaitStrategy();
+		} else if ("park".equals(type)) {
+			return new ParkWaitStrategy();
+		} else if ("agile".equals(type)) {
+			return new AgileWaitingStrategy();
+		}
+		throw new IllegalArgumentException("Unknown wait strategy " + type);
+	}
+
+}
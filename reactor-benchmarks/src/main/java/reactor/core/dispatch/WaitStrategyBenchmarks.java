@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.core.dispatch;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.core.Dispatcher;
+import reactor.fn.Consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the ring buffer based dispatchers under each of the wait strategies they can be configured with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitStrategyBenchmarks {
+
+	@Param({"ringBuffer", "workQueue"})
+	public String dispatcher;
+
+	@Param({"blocking", "yielding", "busySpin", "sleeping", "park", "agile"})
+	public String waitStrategy;
+
+	private final AtomicLong consumed = new AtomicLong();
+
+	private Dispatcher        target;
+	private Consumer<Integer> consumer;
+	private long              published;
+
+	@Setup
+	public void setup() {
+		target = DispatcherBenchmarks.newDispatcher(dispatcher, DispatcherBenchmarks.newWaitStrategy(waitStrategy));
+		consumer = new Consumer<Integer>() {
+			@Override
+			public void accept(Integer integer) {
+				consumed.incrementAndGet();
+			}
+		};
+	}
+
+	@TearDown
+	public void tearDown() {
+		target.shutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(DispatcherBenchmarks.BATCH)
+	public void dispatch() {
+		for (int i = 0; i < DispatcherBenchmarks.BATCH; i++) {
+			target.dispatch(i, consumer, null);
+		}
+		published += DispatcherBenchmarks.BATCH;
+		DispatcherBenchmarks.awaitConsumed(consumed, published);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void roundTrip() {
+		target.dispatch(0, consumer, null);
+		DispatcherBenchmarks.awaitConsumed(consumed, ++published);
+	}
+
+}
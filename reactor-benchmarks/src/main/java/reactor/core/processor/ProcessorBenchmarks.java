@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.core.processor;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.jarjar.com.lmax.disruptor.BlockingWaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of {@link RingBufferProcessor}, which signals every element to each of its subscribers, and
+ * {@link RingBufferWorkProcessor}, which shares the elements among its subscribers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmarks {
+
+	static final int BATCH       = 1024;
+	static final int BUFFER_SIZE = 8192;
+
+	@Param({"ringBuffer", "ringBufferWork"})
+	public String processor;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	private final AtomicLong consumed = new AtomicLong();
+
+	private ReactorProcessor<Integer> target;
+	private long                      expectedPerElement;
+	private long                      expected;
+
+	@Setup
+	public void setup() {
+		if ("ringBuffer".equals(processor)) {
+			target = RingBufferProcessor.create("benchmark", BUFFER_SIZE, new BlockingWaitStrategy());
+			expectedPerElement = subscribers;
+		} else {
+			target = RingBufferWorkProcessor.create("benchmark", BUFFER_SIZE, new BlockingWaitStrategy());
+			expectedPerElement = 1;
+		}
+		for (int i = 0; i < subscribers; i++) {
+			target.subscribe(new CountingSubscriber());
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		target.onComplete();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void onNext() {
+		for (int i = 0; i < BATCH; i++) {
+			target.onNext(i);
+		}
+		expected += BATCH * expectedPerElement;
+		while (consumed.get() < expected) {
+			// busy spin until every subscriber caught up
+		}
+	}
+
+	private final class CountingSubscriber implements Subscriber<Integer> {
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Integer integer) {
+			consumed.incrementAndGet();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Buffer} operations found on the codec and network paths: growing a dynamic buffer, splitting
+ * delimited content, reading primitives and decoding text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmarks {
+
+	@Param({"64", "1024"})
+	public int lineLength;
+
+	@Param({"256"})
+	public int lines;
+
+	private byte[] line;
+	private Buffer text;
+	private Buffer ints;
+
+	@Setup
+	public void setup() {
+		line = new byte[lineLength];
+		for (int i = 0; i < lineLength - 1; i++) {
+			line[i] = (byte) ('a' + i % 26);
+		}
+		line[lineLength - 1] = '\n';
+
+		text = new Buffer(lineLength * lines, true);
+		for (int i = 0; i < lines; i++) {
+			text.append(line);
+		}
+		text.flip();
+
+		ints = new Buffer(lines * 4, true);
+		for (int i = 0; i < lines; i++) {
+			ints.append(i);
+		}
+		ints.flip();
+	}
+
+	@Benchmark
+	public Buffer appendDynamic() {
+		Buffer buffer = new Buffer();
+		for (int i = 0; i < lines; i++) {
+			buffer.append(line);
+		}
+		return buffer.flip();
+	}
+
+	@Benchmark
+	public void split(Blackhole bh) {
+		for (Buffer.View view : text.split('\n')) {
+			bh.consume(view);
+		}
+		text.rewind();
+	}
+
+	@Benchmark
+	public int indexOf() {
+		int count = 0;
+		int start = text.position();
+		int end = text.limit();
+		int index;
+		while (start < end && (index = text.indexOf((byte) '\n', start, end)) >= 0) {
+			// the returned position is the one following the delimiter
+			count++;
+			start = index;
+		}
+		return count;
+	}
+
+	@Benchmark
+	public long readInts() {
+		long sum = 0;
+		while (ints.remaining() >= 4) {
+			sum += ints.readInt();
+		}
+		ints.rewind();
+		return sum;
+	}
+
+	@Benchmark
+	public String asString() {
+		return text.duplicate().asString();
+	}
+
+}
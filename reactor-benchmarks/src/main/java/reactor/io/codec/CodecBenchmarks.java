@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.codec;
+
+import com.google.protobuf.DescriptorProtos;
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.io.buffer.Buffer;
+import reactor.io.codec.compress.GzipCodec;
+import reactor.io.codec.compress.SnappyCodec;
+import reactor.io.codec.json.JacksonJsonCodec;
+import reactor.io.codec.json.JsonCodec;
+import reactor.io.codec.kryo.KryoCodec;
+import reactor.io.codec.protobuf.ProtobufCodec;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding a single message with each {@link Codec} of {@code reactor.io.codec}. The {@link
+ * FrameCodec} only decodes, its encoded input is built by hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmarks {
+
+	@Param({"string", "delimitedString", "lineFeed", "byteArray", "passThrough", "lengthField", "frame",
+			"javaSerialization", "json", "jacksonJson", "kryo", "protobuf", "gzip", "snappy"})
+	public String codec;
+
+	private Codec<Buffer, Object, Object> target;
+	private Function<Object, Buffer>      encoder;
+	private Function<Buffer, Object>      decoder;
+	private Object                        payload;
+	private Buffer                        encoded;
+	private Object                        decoded;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		String text = text(1024);
+
+		if ("string".equals(codec)) {
+			target = (Codec) new StringCodec();
+			payload = text;
+		} else if ("delimitedString".equals(codec)) {
+			target = (Codec) new StringCodec(Codec.DEFAULT_DELIMITER);
+			payload = text;
+		} else if ("lineFeed".equals(codec)) {
+			target = (Codec) new DelimitedCodec<String, String>(new StringCodec());
+			payload = text;
+		} else if ("byteArray".equals(codec)) {
+			target = (Codec) new ByteArrayCodec();
+			payload = text.getBytes();
+		} else if ("passThrough".equals(codec)) {
+			target = (Codec) new PassThroughCodec<Buffer>();
+			payload = Buffer.wrap(text);
+		} else if ("lengthField".equals(codec)) {
+			target = (Codec) new LengthFieldCodec<String, String>(new StringCodec());
+			payload = text;
+		} else if ("frame".equals(codec)) {
+			target = (Codec) new FrameCodec(2, FrameCodec.LengthField.SHORT);
+			byte[] data = text.getBytes();
+			encoded = new Buffer(4 + data.length, true)
+					.append((byte) 'R')
+					.append((byte) 'X')
+					.append((short) data.length)
+					.append(data)
+					.flip();
+		} else if ("javaSerialization".equals(codec)) {
+			target = (Codec) new JavaSerializationCodec<Payload>();
+			payload = new Payload(text);
+		} else if ("json".equals(codec)) {
+			target = (Codec) new JsonCodec<Payload, Payload>(Payload.class);
+			payload = new Payload(text);
+		} else if ("jacksonJson".equals(codec)) {
+			target = (Codec) new JacksonJsonCodec<Payload, Payload>();
+			payload = new Payload(text);
+		} else if ("kryo".equals(codec)) {
+			target = (Codec) new KryoCodec<Payload, Payload>();
+			payload = new Payload(text);
+		} else if ("protobuf".equals(codec)) {
+			target = (Codec) new ProtobufCodec<DescriptorProtos.FileDescriptorProto,
+					DescriptorProtos.FileDescriptorProto>();
+			payload = DescriptorProtos.FileDescriptorProto.newBuilder()
+			                                              .setName("benchmark.proto")
+			                                              .setPackage(text)
+			                                              .addDependency("reactor.proto")
+			                                              .build();
+		} else if ("gzip".equals(codec)) {
+			target = (Codec) new GzipCodec<byte[], byte[]>(new ByteArrayCodec());
+			payload = text.getBytes();
+		} else if ("snappy".equals(codec)) {
+			target = (Codec) new SnappyCodec<byte[], byte[]>(new ByteArrayCodec());
+			payload = text.getBytes();
+		} else {
+			throw new IllegalArgumentException("Unknown codec " + codec);
+		}
+
+		encoder = target.encoder();
+		decoder = target.decoder(new Consumer<Object>() {
+			@Override
+			public void accept(Object o) {
+				decoded = o;
+			}
+		});
+		if (null == encoded) {
+			encoded = encoder.apply(payload);
+		}
+	}
+
+	@Benchmark
+	public Buffer encode() {
+		return encoder.apply(payload);
+	}
+
+	@Benchmark
+	public Object decode() {
+		decoder.apply(encoded.duplicate());
+		return decoded;
+	}
+
+	private static String text(int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Message serialized by the object codecs.
+	 */
+	public static class Payload implements Serializable {
+
+		public long   id;
+		public String name;
+		public int[]  values;
+
+		public Payload() {
+		}
+
+		Payload(String name) {
+			this.id = 42L;
+			this.name = name;
+			this.values = new int[]{1, 2, 3, 4, 5, 6, 7, 8};
+		}
+	}
+
+}
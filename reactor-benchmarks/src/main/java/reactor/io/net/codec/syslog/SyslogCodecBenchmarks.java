@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.net.codec.syslog;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.io.buffer.Buffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding a chunk of newline-delimited syslog messages with the {@link SyslogCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyslogCodecBenchmarks {
+
+	private static final String MESSAGE = "<34>Oct 11 22:14:15 mymachine su: 'su root' failed for lonvick on /dev/pts/8\n";
+
+	@Param({"1", "64"})
+	public int messages;
+
+	private Function<Buffer, SyslogMessage> decoder;
+	private Buffer                          chunk;
+	private long                            decoded;
+
+	@Setup
+	public void setup() {
+		decoder = new SyslogCodec().decoder(new Consumer<SyslogMessage>() {
+			@Override
+			public void accept(SyslogMessage msg) {
+				decoded++;
+			}
+		});
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < messages; i++) {
+			sb.append(MESSAGE);
+		}
+		chunk = Buffer.wrap(sb.toString());
+	}
+
+	@Benchmark
+	public long decode() {
+		decoder.apply(chunk.duplicate());
+		return decoded;
+	}
+
+}
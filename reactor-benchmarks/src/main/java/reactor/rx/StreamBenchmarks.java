@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.rx;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.BiFunction;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.fn.Predicate;
+import reactor.rx.broadcast.Broadcaster;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures synchronous {@link Stream} operator chains, both assembled and run per invocation from an array source and
+ * assembled once then fed element by element through a {@link Broadcaster}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmarks {
+
+	private static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+		@Override
+		public Integer apply(Integer integer) {
+			return integer + 1;
+		}
+	};
+
+	private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+		@Override
+		public boolean test(Integer integer) {
+			return (integer & 1) == 0;
+		}
+	};
+
+	private static final BiFunction<Long, Integer, Long> SUM = new BiFunction<Long, Integer, Long>() {
+		@Override
+		public Long apply(Long acc, Integer integer) {
+			return acc + integer;
+		}
+	};
+
+	@Param({"1000", "100000"})
+	public int elements;
+
+	private Integer[]            source;
+	private Broadcaster<Integer> broadcaster;
+	private long                 last;
+
+	private final Consumer<Object> sink = new Consumer<Object>() {
+		@Override
+		public void accept(Object o) {
+			last++;
+		}
+	};
+
+	@Setup
+	public void setup() {
+		source = new Integer[elements];
+		for (int i = 0; i < elements; i++) {
+			source[i] = i;
+		}
+
+		broadcaster = Broadcaster.create();
+		broadcaster.map(INCREMENT)
+		           .filter(EVEN)
+		           .map(INCREMENT)
+		           .consume(sink);
+	}
+
+	@Benchmark
+	public long mapFilterReduce() {
+		Streams.from(source)
+		       .map(INCREMENT)
+		       .filter(EVEN)
+		       .reduce(0L, SUM)
+		       .consume(sink);
+		return last;
+	}
+
+	@Benchmark
+	public long mapChain() {
+		Streams.from(source)
+		       .map(INCREMENT)
+		       .map(INCREMENT)
+		       .map(INCREMENT)
+		       .map(INCREMENT)
+		       .map(INCREMENT)
+		       .consume(sink);
+		return last;
+	}
+
+	@Benchmark
+	public long buffer() {
+		Streams.from(source)
+		       .buffer(64)
+		       .consume(new Consumer<List<Integer>>() {
+			       @Override
+			       public void accept(List<Integer> integers) {
+				       last += integers.size();
+			       }
+		       });
+		return last;
+	}
+
+	@Benchmark
+	public long broadcasterChain() {
+		for (Integer i : source) {
+			broadcaster.onNext(i);
+		}
+		return last;
+	}
+
+}
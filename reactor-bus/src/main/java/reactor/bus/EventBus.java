@@ -34,6 +34,7 @@ import reactor.bus.selector.ClassSelector;
 import reactor.bus.selector.Selector;
 import reactor.bus.selector.Selectors;
 import reactor.bus.spec.EventBusSpec;
+import reactor.core.BatchDispatcher;
 import reactor.core.Dispatcher;
 import reactor.core.dispatch.SynchronousDispatcher;
 import reactor.core.support.Assert;
@@ -47,6 +48,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -371,6 +374,72 @@ public class EventBus implements Bus<Event<?>>, Consumer<Event<?>> {
 		return this;
 	}
 
+	/**
+	 * Notify this component of a batch of {@link Event Events} sharing the same key. The consumers are selected once
+	 * for the whole batch, when it is published. A {@link BatchDispatcher} is handed the events in one {@link
+	 * BatchDispatcher#dispatchAll(Object[], Consumer, Consumer) dispatchAll} call, which lets ring buffer based
+	 * dispatchers claim a contiguous range of slots, any other {@link Dispatcher} gets them one by one. Each event is then routed in order as if it had been notified on its own.
+	 *
+	 * @param key    The key to be matched by {@link Selector Selectors}
+	 * @param events The events to publish
+	 * @return {@literal this}
+	 * @since 2.0
+	 */
+	public EventBus notify(final Object key, Event<?>[] events) {
+		Assert.notNull(key, "Key cannot be null.");
+		Assert.notNull(events, "Events cannot be null.");
+		for (Event<?> ev : events) {
+			Assert.notNull(ev, "Event cannot be null.");
+			ev.setKey(key);
+		}
+		if (events.length == 0) {
+			return this;
+		}
+
+		final List<Registration<? extends Consumer<? extends Event<?>>>> regs = consumerRegistry.select(key);
+		if (regs.isEmpty()) {
+			return this;
+		}
+
+		Consumer<Event<Object>> routing = new Consumer<Event<Object>>() {
+			@Override
+			public void accept(Event<Object> ev) {
+				router.route(key, ev, regs, null, dispatchErrorHandler);
+			}
+		};
+		if (dispatcher instanceof BatchDispatcher) {
+			((BatchDispatcher) dispatcher).dispatchAll((Event<Object>[]) events, routing, dispatchErrorHandler);
+		} else {
+			for (Event<?> ev : events) {
+				dispatcher.dispatch((Event<Object>) ev, routing, dispatchErrorHandler);
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Notify this component of a batch of {@link Event Events} sharing the same key.
+	 *
+	 * @param key    The key to be matched by {@link Selector Selectors}
+	 * @param events The events to publish
+	 * @return {@literal this}
+	 * @see #notify(Object, Event[])
+	 * @since 2.0
+	 */
+	public EventBus notify(Object key, Iterable<? extends Event<?>> events) {
+		Assert.notNull(events, "Events cannot be null.");
+		if (events instanceof Collection) {
+			Collection<? extends Event<?>> batch = (Collection<? extends Event<?>>) events;
+			return notify(key, batch.toArray(new Event<?>[batch.size()]));
+		}
+		List<Event<?>> batch = new ArrayList<Event<?>>();
+		for (Event<?> ev : events) {
+			batch.add(ev);
+		}
+		return notify(key, batch.toArray(new Event<?>[batch.size()]));
+	}
+
 	/**
 	 * Pass values accepted by this {@code Stream} into the given {@link Bus}, notifying with the given key.
 	 *
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.core.support.Assert;
+import reactor.jarjar.jsr166e.LongAdder;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A size- and time-bounded cache of {@link Registry#select(Object) selection} results.
+ * <p>
+ * Entries are spread over a fixed number of segments, each guarded by its own lock. Following the W-TinyLFU design, a
+ * segment admits new entries into a small LRU window; an entry leaving the window only replaces the least recently used
+ * entry of the main space if a frequency sketch estimates that it is requested more often. This keeps high-cardinality
+ * keys that are only seen once, such as request ids, from flushing out the keys that are selected over and over.
+ * <p>
+ * Hits, misses, evictions and the current size are counted so that the effectiveness of the cache can be monitored.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class BoundedCache<K, V> {
+
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final int       segmentMask;
+	private final int       maxSize;
+	private final long      ttlNanos;
+
+	private final LongAdder hits      = new LongAdder();
+	private final LongAdder misses    = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Create a cache holding at most {@code maxSize} entries, which never expire.
+	 *
+	 * @param maxSize the maximum number of entries
+	 */
+	public BoundedCache(int maxSize) {
+		this(maxSize, -1, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Create a cache holding at most {@code maxSize} entries, each expiring {@code ttl} after it was cached.
+	 *
+	 * @param maxSize the maximum number of entries
+	 * @param ttl     the time-to-live of an entry, or a non-positive value for no expiry
+	 * @param unit    the unit of {@code ttl}
+	 */
+	@SuppressWarnings("unchecked")
+	public BoundedCache(int maxSize, long ttl, TimeUnit unit) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+		this.ttlNanos = (ttl < 0 ? -1 : unit.toNanos(ttl));
+
+		int segmentCount = 1;
+		while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxSize / 8) {
+			segmentCount <<= 1;
+		}
+		this.segmentMask = segmentCount - 1;
+		this.segments = new BoundedCache.Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Return the value cached for the given key, or {@literal null} if it is absent or has expired.
+	 *
+	 * @param key the key to look up
+	 * @return the cached value or {@literal null}
+	 */
+	public V get(K key) {
+		int hash = spread(key.hashCode());
+		V value = segmentFor(hash).get(key, hash);
+		if (null != value) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Cache the given value. If the cache is full the value may not be retained.
+	 *
+	 * @param key   the key
+	 * @param value the value to cache
+	 */
+	public void put(K key, V value) {
+		int hash = spread(key.hashCode());
+		segmentFor(hash).put(key, hash, value);
+	}
+
+	/**
+	 * Remove the value cached for the given key.
+	 *
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		int hash = spread(key.hashCode());
+		segmentFor(hash).remove(key);
+	}
+
+	/**
+	 * Remove every cached value. Counters are left untouched.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * @return the number of entries currently cached
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the maximum number of entries this cache will hold
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the number of lookups that found a live entry
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that found no live entry
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of entries removed because the cache was full or because they expired
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedCache{" +
+				"size=" + size() +
+				", maxSize=" + maxSize +
+				", hits=" + getHitCount() +
+				", misses=" + getMissCount() +
+				", evictions=" + getEvictionCount() +
+				'}';
+	}
+
+	private Segment segmentFor(int hash) {
+		return segments[hash & segmentMask];
+	}
+
+	private static int spread(int h) {
+		h ^= (h >>> 16);
+		h *= 0x85ebca6b;
+		h ^= (h >>> 13);
+		return h;
+	}
+
+	private static final class Entry<V> {
+		final V    value;
+		final long expiresAt;
+
+		Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return expiresAt != 0 && expiresAt - now <= 0;
+		}
+	}
+
+	private final class Segment {
+		final LinkedHashMap<K, Entry<V>> window;
+		final LinkedHashMap<K, Entry<V>> main;
+		final FrequencySketch            sketch;
+		final int                        windowCapacity;
+		final int                        mainCapacity;
+
+		Segment(int capacity) {
+			this.windowCapacity = (capacity > 1 ? Math.max(1, capacity / 100) : 0);
+			this.mainCapacity = capacity - windowCapacity;
+			this.window = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+			this.main = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+			this.sketch = new FrequencySketch(capacity);
+		}
+
+		synchronized V get(K key, int hash) {
+			sketch.increment(hash);
+			LinkedHashMap<K, Entry<V>> entries = main;
+			Entry<V> entry = main.get(key);
+			if (null == entry) {
+				entries = window;
+				entry = window.get(key);
+			}
+			if (null == entry) {
+				return null;
+			}
+			if (entry.isExpired(System.nanoTime())) {
+				entries.remove(key);
+				evictions.increment();
+				return null;
+			}
+			return entry.value;
+		}
+
+		synchronized void put(K key, int hash, V value) {
+			Entry<V> entry = new Entry<V>(value, (ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0));
+			if (main.containsKey(key)) {
+				main.put(key, entry);
+				return;
+			}
+			window.put(key, entry);
+			if (window.size() <= windowCapacity) {
+				return;
+			}
+
+			// the eldest entry of the admission window competes with the eldest entry of the main space
+			Iterator<Map.Entry<K, Entry<V>>> windowEldest = window.entrySet().iterator();
+			Map.Entry<K, Entry<V>> candidate = windowEldest.next();
+			windowEldest.remove();
+			if (main.size() < mainCapacity) {
+				main.put(candidate.getKey(), candidate.getValue());
+				return;
+			}
+
+			Iterator<Map.Entry<K, Entry<V>>> mainEldest = main.entrySet().iterator();
+			Map.Entry<K, Entry<V>> victim = mainEldest.next();
+			if (victim.getValue().isExpired(System.nanoTime()) ||
+					sketch.frequency(spread(candidate.getKey().hashCode())) > sketch.frequency(spread(victim.getKey().hashCode()))) {
+				mainEldest.remove();
+				main.put(candidate.getKey(), candidate.getValue());
+			}
+			evictions.increment();
+		}
+
+		synchronized void remove(K key) {
+			if (null == main.remove(key)) {
+				window.remove(key);
+			}
+		}
+
+		synchronized void clear() {
+			window.clear();
+			main.clear();
+		}
+
+		synchronized int size() {
+			return window.size() + main.size();
+		}
+	}
+
+	/**
+	 * A count-min sketch of 4-bit counters estimating how often a key hash has been requested. All counters are halved
+	 * once enough increments have been recorded so that the estimate favors recent popularity.
+	 */
+	private static final class FrequencySketch {
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		final long[] table;
+		final int    tableMask;
+		final int    sampleSize;
+		int additions;
+
+		FrequencySketch(int capacity) {
+			int size = 1;
+			while (size < Math.max(capacity, 4)) {
+				size <<= 1;
+			}
+			this.table = new long[size];
+			this.tableMask = size - 1;
+			this.sampleSize = 10 * Math.max(capacity, 4);
+		}
+
+		int frequency(int hash) {
+			int frequency = Integer.MAX_VALUE;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = counterOffset(hash, i);
+				frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			boolean added = false;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = counterOffset(hash, i);
+				if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+					table[index] += (1L << offset);
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				reset();
+			}
+		}
+
+		private void reset() {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = (table[i] >>> 1) & RESET_MASK;
+			}
+			additions = additions >>> 1;
+		}
+
+		private int indexOf(int hash, int depth) {
+			int h = (hash + depth) * (0x9e3779b9 + (depth << 1));
+			h += (h >>> 16);
+			return h & tableMask;
+		}
+
+		private static int counterOffset(int hash, int depth) {
+			// each long holds 16 counters, spread the 4 rows over them
+			return (((hash >>> (depth << 3)) & 3) + (depth << 2)) << 2;
+		}
+	}
+
+}
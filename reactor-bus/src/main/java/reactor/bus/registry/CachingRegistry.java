@@ -28,6 +28,7 @@ import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of {@link Registry} that uses a partitioned cache that partitions on thread
@@ -44,13 +45,29 @@ public class CachingRegistry<T> implements Registry<T> {
 	private final Consumer<Object>                                                               onNotFound;
 	private final MultiReaderFastList<Registration<? extends T>>                                 registrations;
 	private final ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<? extends T>>>> threadLocalCache;
+	private final BoundedCache<Object, List<Registration<? extends T>>>                          boundedCache;
+	// bumped whenever the registrations change, so that a selection made before can be kept out of the bounded cache
+	private final AtomicLong                                                                     generation;
 
 	 CachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+		this(useCache, cacheNotFound, onNotFound, null);
+	}
+
+	/**
+	 * Create a registry that caches selections in the given {@link BoundedCache}, shared by all threads, instead of the
+	 * default unbounded per-thread cache.
+	 */
+	CachingRegistry(boolean useCache,
+	                boolean cacheNotFound,
+	                Consumer<Object> onNotFound,
+	                BoundedCache<Object, List<Registration<? extends T>>> boundedCache) {
 		this.useCache = useCache;
 		this.cacheNotFound = cacheNotFound;
 		this.onNotFound = onNotFound;
 		this.registrations = MultiReaderFastList.newList();
 		this.threadLocalCache = new ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<? extends T>>>>();
+		this.boundedCache = boundedCache;
+		this.generation = new AtomicLong();
 	}
 
 	@Override
@@ -66,7 +83,7 @@ public class CachingRegistry<T> implements Registry<T> {
 			}
 		});
 		if (useCache) {
-			threadLocalCache.clear();
+			clearCache();
 		}
 
 		return reg;
@@ -89,7 +106,7 @@ public class CachingRegistry<T> implements Registry<T> {
 					}
 				}
 				if (useCache && modified.get()) {
-					threadLocalCache.clear();
+					clearCache();
 				}
 			}
 		});
@@ -99,17 +116,18 @@ public class CachingRegistry<T> implements Registry<T> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public List<Registration<? extends T>> select(Object key) {
-		// use a thread-local cache
-		UnifiedMap<Object, List<Registration<? extends T>>> allRegs = threadLocalRegs();
+		// use a thread-local cache unless a bounded one is shared
+		UnifiedMap<Object, List<Registration<? extends T>>> allRegs = (null == boundedCache ? threadLocalRegs() : null);
 
 		// maybe pull Registrations from cache for this key
 		List<Registration<? extends T>> selectedRegs = null;
-		if (useCache && (null != (selectedRegs = allRegs.get(key)))) {
+		if (useCache && (null != (selectedRegs = cached(allRegs, key)))) {
 			return selectedRegs;
 		}
 
 		// cache not used or cache miss
 		cacheMiss(key);
+		long selectedGeneration = generation.get();
 		selectedRegs = FastList.newList();
 
 		// find Registrations based on Selector
@@ -119,7 +137,15 @@ public class CachingRegistry<T> implements Registry<T> {
 			}
 		}
 		if (useCache && (!selectedRegs.isEmpty() || cacheNotFound)) {
-			allRegs.put(key, selectedRegs);
+			if (null != allRegs) {
+				allRegs.put(key, selectedRegs);
+			} else if (null != key) {
+				boundedCache.put(key, selectedRegs);
+				// the registrations changed while selecting and the cache may have been cleared before the put
+				if (generation.get() != selectedGeneration) {
+					boundedCache.remove(key);
+				}
+			}
 		}
 
 		// nothing found, maybe invoke handler
@@ -134,7 +160,7 @@ public class CachingRegistry<T> implements Registry<T> {
 	@Override
 	public void clear() {
 		registrations.clear();
-		threadLocalCache.clear();
+		clearCache();
 	}
 
 	@Override
@@ -142,9 +168,34 @@ public class CachingRegistry<T> implements Registry<T> {
 		return FastList.newList(registrations).iterator();
 	}
 
+	/**
+	 * The bounded cache this registry was created with, giving access to its hit, miss and eviction counters.
+	 *
+	 * @return the bounded selection cache, or {@literal null} if selections are cached per thread without bound
+	 */
+	public BoundedCache<Object, List<Registration<? extends T>>> getBoundedCache() {
+		return boundedCache;
+	}
+
 	protected void cacheMiss(Object key) {
 	}
 
+	private List<Registration<? extends T>> cached(UnifiedMap<Object, List<Registration<? extends T>>> allRegs,
+	                                               Object key) {
+		if (null != allRegs) {
+			return allRegs.get(key);
+		}
+		return (null != key ? boundedCache.get(key) : null);
+	}
+
+	private void clearCache() {
+		generation.incrementAndGet();
+		threadLocalCache.clear();
+		if (null != boundedCache) {
+			boundedCache.clear();
+		}
+	}
+
 	private UnifiedMap<Object, List<Registration<? extends T>>> threadLocalRegs() {
 		Long threadId = Thread.currentThread().getId();
 		UnifiedMap<Object, List<Registration<? extends T>>> regs;
@@ -163,7 +214,7 @@ public class CachingRegistry<T> implements Registry<T> {
 				@Override
 				public void value(MutableList<Registration<? extends T>> regs) {
 					regs.remove(reg);
-					threadLocalCache.clear();
+					clearCache();
 				}
 			});
 		}
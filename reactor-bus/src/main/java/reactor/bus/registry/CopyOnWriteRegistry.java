@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.bus.selector.Selector;
+import reactor.fn.Consumer;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of {@link Registry} that keeps its {@link Registration Registrations} in an immutable, versioned
+ * snapshot which is atomically swapped on every {@link #register(Selector, Object) register} or {@link
+ * #unregister(Object) unregister}. Readers never block and never observe a partially updated set of registrations.
+ * <p>
+ * Selection results are kept in a single cache shared by all threads. Unlike {@link CachingRegistry}, a change to the
+ * registrations does not wipe the whole cache: only the cached keys that the added {@link Selector} matches, or that
+ * referenced a removed {@link Registration}, are evicted.
+ *
+ * @param <T> the type of objects that can be registered
+ */
+public class CopyOnWriteRegistry<T> implements Registry<T> {
+
+	private final boolean          useCache;
+	private final boolean          cacheNotFound;
+	private final Consumer<Object> onNotFound;
+
+	private final AtomicReference<Snapshot>                                    snapshot;
+	private final ConcurrentHashMapV8<Object, List<Registration<? extends T>>> cache;
+
+	CopyOnWriteRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+		this.useCache = useCache;
+		this.cacheNotFound = cacheNotFound;
+		this.onNotFound = onNotFound;
+		this.snapshot = new AtomicReference<Snapshot>(Snapshot.EMPTY);
+		this.cache = new ConcurrentHashMapV8<Object, List<Registration<? extends T>>>();
+	}
+
+	@Override
+	public Registration<T> register(Selector sel, T obj) {
+		RemoveRegistration removeFn = new RemoveRegistration();
+		Registration<T> reg = new CachableRegistration<>(sel, obj, removeFn);
+		removeFn.reg = reg;
+
+		Snapshot current;
+		do {
+			current = snapshot.get();
+		} while (!snapshot.compareAndSet(current, current.add(reg)));
+
+		if (useCache) {
+			evictMatching(sel);
+		}
+
+		return reg;
+	}
+
+	@Override
+	public boolean unregister(Object key) {
+		Snapshot current;
+		Snapshot next;
+		do {
+			current = snapshot.get();
+			next = current.removeMatching(key);
+		} while (next != current && !snapshot.compareAndSet(current, next));
+
+		if (next == current) {
+			return false;
+		}
+		if (useCache) {
+			evictReferencing(current.registrations, next.registrations);
+		}
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Registration<? extends T>> select(Object key) {
+		List<Registration<? extends T>> selectedRegs;
+		if (useCache && (null != (selectedRegs = cache.get(key)))) {
+			return selectedRegs;
+		}
+
+		cacheMiss(key);
+
+		Snapshot current = snapshot.get();
+		List<Registration<? extends T>> found = new ArrayList<Registration<? extends T>>();
+		for (Registration<?> reg : current.registrations) {
+			if (matches(reg.getSelector(), key)) {
+				found.add((Registration<? extends T>) reg);
+			}
+		}
+		selectedRegs = (found.isEmpty() ?
+				Collections.<Registration<? extends T>>emptyList() :
+				Collections.unmodifiableList(found));
+
+		if (useCache && (!selectedRegs.isEmpty() || cacheNotFound)) {
+			cache.put(key, selectedRegs);
+			// a concurrent writer may have evicted before this result was cached
+			if (snapshot.get() != current) {
+				cache.remove(key, selectedRegs);
+			}
+		}
+
+		if (selectedRegs.isEmpty() && (null != onNotFound)) {
+			onNotFound.accept(key);
+		}
+
+		return selectedRegs;
+	}
+
+	@Override
+	public void clear() {
+		snapshot.set(Snapshot.EMPTY);
+		cache.clear();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<Registration<? extends T>> iterator() {
+		return Collections.unmodifiableList(
+				Arrays.asList((Registration<? extends T>[]) snapshot.get().registrations)
+		).iterator();
+	}
+
+	/**
+	 * The version of the current registrations snapshot, incremented on every successful change.
+	 *
+	 * @return the current snapshot version
+	 */
+	public long getVersion() {
+		return snapshot.get().version;
+	}
+
+	protected void cacheMiss(Object key) {
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean matches(Selector sel, Object key) {
+		// Registration only exposes raw selectors, which are matched against any key like in CachingRegistry
+		return sel.matches(key);
+	}
+
+	private void evictMatching(Selector sel) {
+		for (Object key : cache.keySet()) {
+			if (matches(sel, key)) {
+				cache.remove(key);
+			}
+		}
+	}
+
+	private void evictReferencing(Registration<?>[] before, Registration<?>[] after) {
+		List<Registration<?>> removed = new ArrayList<Registration<?>>(before.length - after.length);
+		int j = 0;
+		for (Registration<?> reg : before) {
+			if (j < after.length && after[j] == reg) {
+				j++;
+			} else {
+				removed.add(reg);
+			}
+		}
+		for (Map.Entry<Object, List<Registration<? extends T>>> entry : cache.entrySet()) {
+			for (Registration<?> reg : removed) {
+				if (entry.getValue().contains(reg)) {
+					cache.remove(entry.getKey(), entry.getValue());
+					break;
+				}
+			}
+		}
+	}
+
+	private void remove(Registration<?> reg) {
+		Snapshot current;
+		Snapshot next;
+		do {
+			current = snapshot.get();
+			next = current.remove(reg);
+		} while (next != current && !snapshot.compareAndSet(current, next));
+
+		if (next != current && useCache) {
+			evictReferencing(current.registrations, next.registrations);
+		}
+	}
+
+	private static final class Snapshot {
+		static final Snapshot EMPTY = new Snapshot(0, new Registration<?>[0]);
+
+		final long              version;
+		final Registration<?>[] registrations;
+
+		Snapshot(long version, Registration<?>[] registrations) {
+			this.version = version;
+			this.registrations = registrations;
+		}
+
+		Snapshot add(Registration<?> reg) {
+			Registration<?>[] regs = Arrays.copyOf(registrations, registrations.length + 1);
+			regs[registrations.length] = reg;
+			return new Snapshot(version + 1, regs);
+		}
+
+		Snapshot remove(Registration<?> reg) {
+			for (int i = 0; i < registrations.length; i++) {
+				if (registrations[i] == reg) {
+					Registration<?>[] regs = new Registration<?>[registrations.length - 1];
+					System.arraycopy(registrations, 0, regs, 0, i);
+					System.arraycopy(registrations, i + 1, regs, i, registrations.length - i - 1);
+					return new Snapshot(version + 1, regs);
+				}
+			}
+			return this;
+		}
+
+		Snapshot removeMatching(Object key) {
+			List<Registration<?>> kept = null;
+			for (int i = 0; i < registrations.length; i++) {
+				Registration<?> reg = registrations[i];
+				if (matches(reg.getSelector(), key)) {
+					if (null == kept) {
+						kept = new ArrayList<Registration<?>>(registrations.length);
+						kept.addAll(Arrays.asList(registrations).subList(0, i));
+					}
+				} else if (null != kept) {
+					kept.add(reg);
+				}
+			}
+			if (null == kept) {
+				return this;
+			}
+			return new Snapshot(version + 1, kept.toArray(new Registration<?>[kept.size()]));
+		}
+	}
+
+	private final class RemoveRegistration implements Runnable {
+		Registration<? extends T> reg;
+
+		@Override
+		public void run() {
+			remove(reg);
+		}
+	}
+
+}
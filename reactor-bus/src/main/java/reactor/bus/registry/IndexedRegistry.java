@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.bus.selector.ClassSelector;
+import reactor.bus.selector.ObjectSelector;
+import reactor.bus.selector.Selector;
+import reactor.bus.selector.UriPathSelector;
+import reactor.fn.Consumer;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of {@link Registry} that indexes {@link Registration Registrations} by the kind of their {@link
+ * Selector} so that the cost of {@link #select(Object)} depends on the number of matches rather than on the number of
+ * registrations:
+ * <ul>
+ * <li>plain {@link ObjectSelector ObjectSelectors} are kept in a hash bucket keyed by their object,</li>
+ * <li>{@link ClassSelector ClassSelectors} are kept in a hash bucket keyed by their type and looked up by walking the
+ * key's type hierarchy, unless their type is an array or a primitive type,</li>
+ * <li>{@link UriPathSelector UriPathSelectors} are kept in a trie on the static leading segments of their template and
+ * only the candidates found along the key's path are matched, unless their template has a top-level {@code |}
+ * alternation,</li>
+ * <li>any other {@link Selector} is kept in a residual list that is scanned linearly.</li>
+ * </ul>
+ * Only the exact classes above are indexed: subclasses may override {@link Selector#matches(Object)} and are therefore
+ * treated as residual. Selection results are returned in registration order and are the same as those of a registry
+ * that scans every registration.
+ * <p>
+ * Readers never lock. Writers are serialized and publish copy-on-write arrays, which makes this implementation a good
+ * fit for large, selection-heavy registries that do not need a selection cache.
+ *
+ * @param <T> the type of objects that can be registered
+ */
+public class IndexedRegistry<T> implements Registry<T> {
+
+	private static final Registration<?>[] EMPTY = new Registration<?>[0];
+
+	private static final Comparator<Registration<?>> REGISTRATION_ORDER = new Comparator<Registration<?>>() {
+		@Override
+		public int compare(Registration<?> r1, Registration<?> r2) {
+			long o1 = ((IndexedRegistration<?>) r1).order;
+			long o2 = ((IndexedRegistration<?>) r2).order;
+			return (o1 < o2 ? -1 : (o1 == o2 ? 0 : 1));
+		}
+	};
+
+	private static final ConcurrentHashMapV8<Class<?>, Class<?>[]> TYPE_HIERARCHIES =
+			new ConcurrentHashMapV8<Class<?>, Class<?>[]>();
+
+	private static final ConcurrentHashMapV8.Fun<Class<?>, Class<?>[]> NEW_TYPE_HIERARCHY =
+			new ConcurrentHashMapV8.Fun<Class<?>, Class<?>[]>() {
+				@Override
+				public Class<?>[] apply(Class<?> type) {
+					Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+					collectTypes(type, types);
+					return types.toArray(new Class<?>[types.size()]);
+				}
+			};
+
+	private final Object           monitor = new Object();
+	private final Consumer<Object> onNotFound;
+
+	private final ConcurrentHashMapV8<Object, Registration<?>[]>   objects = new ConcurrentHashMapV8<Object, Registration<?>[]>();
+	private final ConcurrentHashMapV8<Class<?>, Registration<?>[]> types   = new ConcurrentHashMapV8<Class<?>, Registration<?>[]>();
+	private final PathNode                                         paths   = new PathNode();
+
+	private volatile Registration<?>[] residual = EMPTY;
+	private volatile int               size     = 0;
+
+	private long nextOrder = 0;
+
+	IndexedRegistry(Consumer<Object> onNotFound) {
+		this.onNotFound = onNotFound;
+	}
+
+	@Override
+	public Registration<T> register(Selector sel, T obj) {
+		synchronized (monitor) {
+			RemoveRegistration removeFn = new RemoveRegistration();
+			IndexedRegistration<T> reg = new IndexedRegistration<T>(sel, obj, nextOrder++, removeFn);
+			removeFn.reg = reg;
+			Class<?> selType = sel.getClass();
+			if (ObjectSelector.class == selType && null != sel.getObject()) {
+				objects.put(sel.getObject(), append(objects.get(sel.getObject()), reg));
+			} else if (isIndexedType(sel)) {
+				Class<?> type = (Class<?>) sel.getObject();
+				types.put(type, append(types.get(type), reg));
+			} else if (isIndexedPath(sel)) {
+				PathNode node = paths.descend(((UriPathSelector) sel).getObject().getTemplate(), true);
+				node.registrations = append(node.registrations, reg);
+			} else {
+				residual = append(residual, reg);
+			}
+			size++;
+			return reg;
+		}
+	}
+
+	@Override
+	public boolean unregister(Object key) {
+		List<Registration<? extends T>> matching = find(key);
+		boolean modified = false;
+		for (Registration<? extends T> reg : matching) {
+			modified |= remove((IndexedRegistration<?>) reg);
+		}
+		return modified;
+	}
+
+	@Override
+	public List<Registration<? extends T>> select(Object key) {
+		List<Registration<? extends T>> selectedRegs = find(key);
+		if (selectedRegs.isEmpty() && (null != onNotFound)) {
+			onNotFound.accept(key);
+		}
+		return selectedRegs;
+	}
+
+	@Override
+	public void clear() {
+		synchronized (monitor) {
+			objects.clear();
+			types.clear();
+			paths.children.clear();
+			paths.registrations = EMPTY;
+			residual = EMPTY;
+			size = 0;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<Registration<? extends T>> iterator() {
+		List<Registration<? extends T>> regs = new ArrayList<Registration<? extends T>>(size);
+		for (Registration<?>[] bucket : objects.values()) {
+			addAll(regs, bucket);
+		}
+		for (Registration<?>[] bucket : types.values()) {
+			addAll(regs, bucket);
+		}
+		paths.collectAll(regs);
+		addAll(regs, residual);
+		Collections.sort(regs, REGISTRATION_ORDER);
+		return Collections.unmodifiableList(regs).iterator();
+	}
+
+	private List<Registration<? extends T>> find(Object key) {
+		List<Registration<? extends T>> regs = new ArrayList<Registration<? extends T>>();
+
+		if (null != key) {
+			if (!objects.isEmpty()) {
+				addAll(regs, objects.get(key));
+			}
+			if (!types.isEmpty()) {
+				findTypes(key, regs);
+			}
+			if (key instanceof String) {
+				findPaths((String) key, regs);
+			}
+		}
+		addMatching(regs, residual, key);
+
+		if (regs.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (regs.size() > 1) {
+			// buckets are in registration order but may have been gathered from several indexes
+			Collections.sort(regs, REGISTRATION_ORDER);
+		}
+		return regs;
+	}
+
+	private void findTypes(Object key, List<Registration<? extends T>> regs) {
+		if (key instanceof Class) {
+			// a ClassSelector matches both a Class key assignable to its type and any instance of its type
+			Set<Class<?>> candidates = new LinkedHashSet<Class<?>>(Arrays.asList(typeHierarchy((Class<?>) key)));
+			candidates.addAll(Arrays.asList(typeHierarchy(Class.class)));
+			for (Class<?> type : candidates) {
+				addAll(regs, types.get(type));
+			}
+		} else {
+			for (Class<?> type : typeHierarchy(key.getClass())) {
+				addAll(regs, types.get(type));
+			}
+		}
+	}
+
+	private void findPaths(String key, List<Registration<? extends T>> regs) {
+		PathNode node = paths;
+		addMatching(regs, node.registrations, key);
+
+		int start = 0;
+		int len = key.length();
+		while (start <= len && !node.children.isEmpty()) {
+			int end = key.indexOf('/', start);
+			if (end < 0) {
+				end = len;
+			}
+			node = node.children.get(key.substring(start, end));
+			if (null == node) {
+				break;
+			}
+			addMatching(regs, node.registrations, key);
+			start = end + 1;
+		}
+	}
+
+	private boolean remove(IndexedRegistration<?> reg) {
+		synchronized (monitor) {
+			Selector sel = reg.selector;
+			Class<?> selType = sel.getClass();
+			boolean removed;
+			if (ObjectSelector.class == selType && null != sel.getObject()) {
+				removed = removeFrom(objects, sel.getObject(), reg);
+			} else if (isIndexedType(sel)) {
+				removed = removeFrom(types, (Class<?>) sel.getObject(), reg);
+			} else if (isIndexedPath(sel)) {
+				PathNode node = paths.descend(((UriPathSelector) sel).getObject().getTemplate(), false);
+				Registration<?>[] regs = (null != node ? without(node.registrations, reg) : null);
+				removed = (null != regs && regs != node.registrations);
+				if (removed) {
+					node.registrations = regs;
+				}
+			} else {
+				Registration<?>[] regs = without(residual, reg);
+				removed = (regs != residual);
+				residual = regs;
+			}
+			if (removed) {
+				size--;
+			}
+			return removed;
+		}
+	}
+
+	private static <K> boolean removeFrom(ConcurrentHashMapV8<K, Registration<?>[]> buckets,
+	                                      K key,
+	                                      Registration<?> reg) {
+		Registration<?>[] regs = buckets.get(key);
+		if (null == regs) {
+			return false;
+		}
+		Registration<?>[] newRegs = without(regs, reg);
+		if (newRegs == regs) {
+			return false;
+		}
+		if (newRegs.length == 0) {
+			buckets.remove(key);
+		} else {
+			buckets.put(key, newRegs);
+		}
+		return true;
+	}
+
+	private static Registration<?>[] append(Registration<?>[] regs, Registration<?> reg) {
+		if (null == regs) {
+			return new Registration<?>[]{reg};
+		}
+		Registration<?>[] newRegs = Arrays.copyOf(regs, regs.length + 1);
+		newRegs[regs.length] = reg;
+		return newRegs;
+	}
+
+	private static Registration<?>[] without(Registration<?>[] regs, Registration<?> reg) {
+		for (int i = 0; i < regs.length; i++) {
+			if (regs[i] == reg) {
+				if (regs.length == 1) {
+					return EMPTY;
+				}
+				Registration<?>[] newRegs = new Registration<?>[regs.length - 1];
+				System.arraycopy(regs, 0, newRegs, 0, i);
+				System.arraycopy(regs, i + 1, newRegs, i, regs.length - i - 1);
+				return newRegs;
+			}
+		}
+		return regs;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void addAll(List<Registration<? extends T>> regs, Registration<?>[] bucket) {
+		if (null == bucket) {
+			return;
+		}
+		for (Registration<?> reg : bucket) {
+			regs.add((Registration<? extends T>) reg);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void addMatching(List<Registration<? extends T>> regs, Registration<?>[] bucket, Object key) {
+		for (Registration<?> reg : bucket) {
+			if (reg.getSelector().matches(key)) {
+				regs.add((Registration<? extends T>) reg);
+			}
+		}
+	}
+
+	private static Class<?>[] typeHierarchy(Class<?> type) {
+		Class<?>[] hierarchy;
+		if (null == (hierarchy = TYPE_HIERARCHIES.get(type))) {
+			hierarchy = TYPE_HIERARCHIES.computeIfAbsent(type, NEW_TYPE_HIERARCHY);
+		}
+		return hierarchy;
+	}
+
+	private static boolean isIndexedType(Selector sel) {
+		if (ClassSelector.class != sel.getClass()) {
+			return false;
+		}
+		// array types are covariant and primitive types are only assignable from themselves, neither of which a walk
+		// up the key's type hierarchy reproduces
+		Class<?> type = (Class<?>) sel.getObject();
+		return !type.isArray() && !type.isPrimitive();
+	}
+
+	private static boolean isIndexedPath(Selector sel) {
+		// a top-level alternation lets the branches after the first one match paths outside its literal prefix
+		return UriPathSelector.class == sel.getClass() &&
+				!hasTopLevelAlternation(((UriPathSelector) sel).getObject().getTemplate());
+	}
+
+	private static boolean hasTopLevelAlternation(String template) {
+		int depth = 0;
+		boolean inClass = false;
+		for (int i = 0; i < template.length(); i++) {
+			switch (template.charAt(i)) {
+				case '\\':
+					i++;
+					break;
+				case '[':
+					inClass = true;
+					break;
+				case ']':
+					inClass = false;
+					break;
+				case '(':
+					depth += (inClass ? 0 : 1);
+					break;
+				case ')':
+					depth -= (inClass ? 0 : 1);
+					break;
+				case '|':
+					if (!inClass && depth == 0) {
+						return true;
+					}
+					break;
+			}
+		}
+		return false;
+	}
+
+	private static void collectTypes(Class<?> type, Set<Class<?>> types) {
+		if (null == type || !types.add(type)) {
+			return;
+		}
+		collectTypes(type.getSuperclass(), types);
+		for (Class<?> iface : type.getInterfaces()) {
+			collectTypes(iface, types);
+		}
+		if (type.isInterface()) {
+			types.add(Object.class);
+		}
+	}
+
+	/**
+	 * A node in the URI path trie. Children are keyed by a literal path segment. A registration is stored at the node
+	 * reached by the longest run of literal leading segments of its template.
+	 */
+	private static final class PathNode {
+		final ConcurrentHashMapV8<String, PathNode> children = new ConcurrentHashMapV8<String, PathNode>();
+
+		volatile Registration<?>[] registrations = EMPTY;
+
+		PathNode descend(String template, boolean create) {
+			PathNode node = this;
+			int start = 0;
+			int len = template.length();
+			while (start <= len) {
+				int end = template.indexOf('/', start);
+				if (end < 0) {
+					end = len;
+				}
+				String segment = template.substring(start, end);
+				if (!isLiteral(segment) || isOptionalSlash(template, end)) {
+					break;
+				}
+				PathNode child = node.children.get(segment);
+				if (null == child) {
+					if (!create) {
+						return null;
+					}
+					child = new PathNode();
+					node.children.put(segment, child);
+				}
+				node = child;
+				start = end + 1;
+			}
+			return node;
+		}
+
+		<T> void collectAll(List<Registration<? extends T>> regs) {
+			addAll(regs, registrations);
+			for (PathNode child : children.values()) {
+				child.collectAll(regs);
+			}
+		}
+
+		private static boolean isOptionalSlash(String template, int slash) {
+			// a quantified separator lets this segment run into the next one, so it is not a whole segment of the key
+			int next = slash + 1;
+			if (next >= template.length()) {
+				return false;
+			}
+			char c = template.charAt(next);
+			return c == '?' || c == '+' || (c == '*' && !template.startsWith("**", next));
+		}
+
+		private static boolean isLiteral(String segment) {
+			for (int i = 0; i < segment.length(); i++) {
+				switch (segment.charAt(i)) {
+					case '{':
+					case '}':
+					case '*':
+					case '.':
+					case '?':
+					case '+':
+					case '(':
+					case ')':
+					case '[':
+					case ']':
+					case '|':
+					case '^':
+					case '$':
+					case '\\':
+						return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class IndexedRegistration<V> extends CachableRegistration<V> {
+		final long     order;
+		final Selector selector;
+
+		IndexedRegistration(Selector selector, V object, long order, Runnable onCancel) {
+			super(selector, object, onCancel);
+			this.selector = selector;
+			this.order = order;
+		}
+	}
+
+	private final class RemoveRegistration implements Runnable {
+		IndexedRegistration<?> reg;
+
+		@Override
+		public void run() {
+			remove(reg);
+		}
+	}
+
+}
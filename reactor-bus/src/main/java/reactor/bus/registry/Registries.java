@@ -18,6 +18,9 @@ package reactor.bus.registry;
 
 import reactor.fn.Consumer;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by jbrisbin on 1/27/15.
  */
@@ -48,4 +51,77 @@ public abstract class Registries {
 		}
 	}
 
+	/**
+	 * Create a caching {@link Registry} whose selection cache is bounded in size and, optionally, in time. Use this
+	 * instead of {@link #create(boolean, boolean, Consumer)} when selection keys have a high cardinality.
+	 *
+	 * @param cacheNotFound whether to cache empty selection results
+	 * @param onNotFound    optional callback invoked with a key that matched no registration
+	 * @param maxCacheSize  the maximum number of cached selections
+	 * @param cacheTtl      the time-to-live of a cached selection, or a non-positive value for no expiry
+	 * @param unit          the unit of {@code cacheTtl}
+	 * @param <T>           the type of objects that can be registered
+	 * @return a new caching {@link Registry} backed by a {@link BoundedCache}
+	 */
+	public static <T> Registry<T> create(boolean cacheNotFound,
+	                                     Consumer<Object> onNotFound,
+	                                     int maxCacheSize,
+	                                     long cacheTtl,
+	                                     TimeUnit unit) {
+		BoundedCache<Object, List<Registration<? extends T>>> cache =
+				new BoundedCache<Object, List<Registration<? extends T>>>(maxCacheSize, cacheTtl, unit);
+		if (GS_COLLECTIONS_AVAILABLE) {
+			return new reactor.bus.registry.CachingRegistry<T>(true, cacheNotFound, onNotFound, cache);
+		} else {
+			return new reactor.bus.registry.SimpleCachingRegistry<T>(true, cacheNotFound, onNotFound, cache);
+		}
+	}
+
+	/**
+	 * Create a {@link CopyOnWriteRegistry} which caches selection results and reports unmatched keys to nobody.
+	 *
+	 * @param <T> the type of objects that can be registered
+	 * @return a new copy-on-write {@link Registry}
+	 */
+	public static <T> Registry<T> copyOnWrite() {
+		return copyOnWrite(true, true, null);
+	}
+
+	/**
+	 * Create a {@link CopyOnWriteRegistry}, whose registrations are held in an atomically swapped snapshot and whose
+	 * cache is only partially invalidated when registrations change.
+	 *
+	 * @param useCache      whether to cache selection results
+	 * @param cacheNotFound whether to cache empty selection results
+	 * @param onNotFound    optional callback invoked with a key that matched no registration
+	 * @param <T>           the type of objects that can be registered
+	 * @return a new copy-on-write {@link Registry}
+	 */
+	public static <T> Registry<T> copyOnWrite(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+		return new CopyOnWriteRegistry<T>(useCache, cacheNotFound, onNotFound);
+	}
+
+	/**
+	 * Create an {@link IndexedRegistry}, which indexes registrations by {@link reactor.bus.selector.Selector} kind so
+	 * that selection cost depends on the number of matches instead of the number of registrations.
+	 *
+	 * @param <T> the type of objects that can be registered
+	 * @return a new indexed {@link Registry}
+	 */
+	public static <T> Registry<T> indexed() {
+		return indexed(null);
+	}
+
+	/**
+	 * Create an {@link IndexedRegistry}, which indexes registrations by {@link reactor.bus.selector.Selector} kind so
+	 * that selection cost depends on the number of matches instead of the number of registrations.
+	 *
+	 * @param onNotFound optional callback invoked with a key that matched no registration
+	 * @param <T>        the type of objects that can be registered
+	 * @return a new indexed {@link Registry}
+	 */
+	public static <T> Registry<T> indexed(Consumer<Object> onNotFound) {
+		return new IndexedRegistry<T>(onNotFound);
+	}
+
 }
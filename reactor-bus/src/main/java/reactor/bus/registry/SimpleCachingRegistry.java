@@ -34,14 +34,23 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 	private final ConcurrentHashMapV8<Object, List<Registration<? extends T>>>   cache         = new ConcurrentHashMapV8<Object, List<Registration<? extends T>>>();
 	private final ConcurrentHashMapV8<Selector, List<Registration<? extends T>>> registrations = new ConcurrentHashMapV8<Selector, List<Registration<? extends T>>>();
 
-	private final boolean          useCache;
-	private final boolean          cacheNotFound;
-	private final Consumer<Object> onNotFound;
+	private final boolean                                             useCache;
+	private final boolean                                             cacheNotFound;
+	private final Consumer<Object>                                    onNotFound;
+	private final BoundedCache<Object, List<Registration<? extends T>>> boundedCache;
 
 	SimpleCachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+		this(useCache, cacheNotFound, onNotFound, null);
+	}
+
+	SimpleCachingRegistry(boolean useCache,
+	                      boolean cacheNotFound,
+	                      Consumer<Object> onNotFound,
+	                      BoundedCache<Object, List<Registration<? extends T>>> boundedCache) {
 		this.useCache = useCache;
 		this.cacheNotFound = cacheNotFound;
 		this.onNotFound = onNotFound;
+		this.boundedCache = boundedCache;
 	}
 
 	@Override
@@ -61,7 +70,7 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 			@Override
 			public void run() {
 				registrations.remove(sel);
-				cache.clear();
+				clearCache();
 			}
 		});
 		regs.add(reg);
@@ -81,8 +90,13 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 				found = true;
 			}
 		}
-		if (useCache)
-			cache.remove(key);
+		if (useCache) {
+			if (null != boundedCache) {
+				boundedCache.remove(key);
+			} else {
+				cache.remove(key);
+			}
+		}
 		return found;
 	}
 
@@ -90,7 +104,7 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 	@SuppressWarnings("unchecked")
 	public synchronized List<Registration<? extends T>> select(final Object key) {
 		List<Registration<? extends T>> selectedRegs;
-		if (null != (selectedRegs = cache.get(key))) {
+		if (null != (selectedRegs = (null != boundedCache ? boundedCache.get(key) : cache.get(key)))) {
 			return selectedRegs;
 		}
 
@@ -108,7 +122,11 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 			onNotFound.accept(key);
 		}
 		if (useCache && (!regs.isEmpty() || cacheNotFound)) {
-			cache.put(key, regs);
+			if (null != boundedCache) {
+				boundedCache.put(key, regs);
+			} else {
+				cache.put(key, regs);
+			}
 		}
 
 		return regs;
@@ -116,7 +134,7 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 
 	@Override
 	public synchronized void clear() {
-		cache.clear();
+		clearCache();
 		registrations.clear();
 	}
 
@@ -132,4 +150,20 @@ public class SimpleCachingRegistry<T> implements Registry<T> {
 		return regs.iterator();
 	}
 
+	/**
+	 * The bounded cache this registry was created with, giving access to its hit, miss and eviction counters.
+	 *
+	 * @return the bounded selection cache, or {@literal null} if selections are cached without bound
+	 */
+	public BoundedCache<Object, List<Registration<? extends T>>> getBoundedCache() {
+		return boundedCache;
+	}
+
+	private void clearCache() {
+		cache.clear();
+		if (null != boundedCache) {
+			boundedCache.clear();
+		}
+	}
+
 }
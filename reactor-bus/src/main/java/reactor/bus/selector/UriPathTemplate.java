@@ -26,6 +26,11 @@ import java.util.regex.Pattern;
 /**
  * Represents a URI template. A URI template is a URI-like String that contains variables enclosed by braces
  * (<code>{</code>, <code>}</code>), which can be expanded to produce an actual URI.
+ * <p>
+ * A <code>{name}</code> variable matches any characters but <code>/</code> and <code>.</code>, <code>**</code> matches
+ * anything and <code>{name}**</code> captures anything. Templates made only of these constructs and literal text are
+ * compiled into a sequence of tokens matched without regular expressions: testing a URI does not allocate. Templates
+ * using any other regular expression syntax are matched with an equivalent {@link Pattern}.
  *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
@@ -47,10 +52,22 @@ public class UriPathTemplate {
 	private static final String  NAME_REPLACEMENT = "(?<%NAME%>[^\\/.]*)";
 	//private static final String  NAME_REPLACEMENT = "([^\\/.]*)";
 
-	private final List<String>                         pathVariables = new ArrayList<String>();
-	private final HashMap<String, Matcher>             matchers      = new HashMap<String, Matcher>();
-	private final HashMap<String, Map<String, Object>> vars          = new HashMap<String, Map<String, Object>>();
+	private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
 
+	private static final int LITERAL  = 0;
+	private static final int VARIABLE = 1;
+	private static final int SPLAT    = 2;
+
+	private final List<String> pathVariables = new ArrayList<String>();
+
+	private final String template;
+
+	// compiled form
+	private final int[]    tokenTypes;
+	private final String[] tokenValues;
+	private final int[]    tokenCaptures;
+
+	// fallback for templates using other regular expression constructs
 	private final Pattern uriPattern;
 
 	/**
@@ -59,35 +76,42 @@ public class UriPathTemplate {
 	 * @param uriPattern The pattern to be used by the template
 	 */
 	public UriPathTemplate(String uriPattern) {
-		String s = "^" + uriPattern;
-
-		Matcher m = NAME_SPLAT_PATTERN.matcher(s);
-		while (m.find()) {
-			for (int i = 1; i <= m.groupCount(); i++) {
-				String name = m.group(i);
-				pathVariables.add(name);
-				s = m.replaceFirst(NAME_SPLAT_REPLACEMENT.replaceAll("%NAME%", name));
-				m.reset(s);
-			}
-		}
+		this.template = uriPattern;
 
-		m = NAME_PATTERN.matcher(s);
-		while (m.find()) {
-			for (int i = 1; i <= m.groupCount(); i++) {
-				String name = m.group(i);
-				pathVariables.add(name);
-				s = m.replaceFirst(NAME_REPLACEMENT.replaceAll("%NAME%", name));
-				m.reset(s);
+		List<int[]> tokens = tokenize(uriPattern);
+		if (null != tokens) {
+			int size = tokens.size();
+			this.tokenTypes = new int[size];
+			this.tokenValues = new String[size];
+			this.tokenCaptures = new int[size];
+			for (int i = 0; i < size; i++) {
+				int[] token = tokens.get(i);
+				tokenTypes[i] = token[0];
+				tokenCaptures[i] = -1;
+				if (LITERAL == token[0]) {
+					tokenValues[i] = uriPattern.substring(token[1], token[2]);
+				} else if (token[2] > token[1]) {
+					tokenValues[i] = uriPattern.substring(token[1], token[2]);
+					tokenCaptures[i] = pathVariables.size();
+					pathVariables.add(tokenValues[i]);
+				}
 			}
+			this.uriPattern = null;
+		} else {
+			this.tokenTypes = null;
+			this.tokenValues = null;
+			this.tokenCaptures = null;
+			this.uriPattern = compileRegex(uriPattern);
 		}
+	}
 
-		m = FULL_SPLAT_PATTERN.matcher(s);
-		while (m.find()) {
-			s = m.replaceAll(FULL_SPLAT_REPLACEMENT);
-			m.reset(s);
-		}
-
-		this.uriPattern = Pattern.compile(s + "$");
+	/**
+	 * The template this matcher was created from, e.g. {@code /users/{id}}.
+	 *
+	 * @return the raw URI path template
+	 */
+	public String getTemplate() {
+		return template;
 	}
 
 	/**
@@ -99,7 +123,10 @@ public class UriPathTemplate {
 	 * @return {@code true} if there's a match, {@code false} otherwise
 	 */
 	public boolean matches(String uri) {
-		return matcher(uri).matches();
+		if (null != uriPattern) {
+			return uriPattern.matcher(uri).matches();
+		}
+		return matchFrom(uri, 0, 0, null);
 	}
 
 	/**
@@ -109,39 +136,186 @@ public class UriPathTemplate {
 	 *
 	 * @param uri The uri to match
 	 *
-	 * @return the path parameters from the uri. Never {@code null}.
+	 * @return a new, mutable map of the path parameters from the uri. Never {@code null}.
 	 */
 	public Map<String, Object> match(String uri) {
-		Map<String, Object> pathParameters = vars.get(uri);
-		if (null != pathParameters) {
+		Map<String, Object> pathParameters = new HashMap<String, Object>();
+		if (pathVariables.isEmpty()) {
 			return pathParameters;
 		}
 
-		pathParameters = new HashMap<String, Object>();
-		Matcher m = matcher(uri);
-		if (m.matches()) {
-			int i = 1;
-			for (String name : pathVariables) {
-				String val = m.group(i++);
-				pathParameters.put(name, val);
+		if (null != uriPattern) {
+			Matcher m = uriPattern.matcher(uri);
+			if (m.matches()) {
+				for (String name : pathVariables) {
+					pathParameters.put(name, m.group(name));
+				}
 			}
-		}
-		synchronized (vars) {
-			vars.put(uri, pathParameters);
+			return pathParameters;
 		}
 
+		int[] captures = new int[pathVariables.size() * 2];
+		if (matchFrom(uri, 0, 0, captures)) {
+			for (int i = 0; i < pathVariables.size(); i++) {
+				pathParameters.put(pathVariables.get(i), uri.substring(captures[i * 2], captures[i * 2 + 1]));
+			}
+		}
 		return pathParameters;
 	}
 
-	private Matcher matcher(String uri) {
-		Matcher m = matchers.get(uri);
-		if (null == m) {
-			m = uriPattern.matcher(uri);
-			synchronized (matchers) {
-				matchers.put(uri, m);
+	/**
+	 * Match the tokens from {@code token} against {@code uri} from {@code pos}, backtracking like the greedy regular
+	 * expression this template stands for. Capture offsets are only recorded once a match is certain.
+	 */
+	private boolean matchFrom(String uri, int token, int pos, int[] captures) {
+		if (token == tokenTypes.length) {
+			return pos == uri.length();
+		}
+
+		int end;
+		switch (tokenTypes[token]) {
+			case LITERAL:
+				String literal = tokenValues[token];
+				return uri.startsWith(literal, pos) && matchFrom(uri, token + 1, pos + literal.length(), captures);
+			case VARIABLE:
+				end = pos;
+				while (end < uri.length() && uri.charAt(end) != '/' && uri.charAt(end) != '.') {
+					end++;
+				}
+				break;
+			default:
+				end = pos;
+				while (end < uri.length() && !isLineTerminator(uri.charAt(end))) {
+					end++;
+				}
+		}
+
+		for (; end >= pos; end--) {
+			if (matchFrom(uri, token + 1, end, captures)) {
+				int capture = tokenCaptures[token];
+				if (null != captures && capture >= 0) {
+					captures[capture * 2] = pos;
+					captures[capture * 2 + 1] = end;
+				}
+				return true;
 			}
 		}
-		return m;
+		return false;
+	}
+
+	/**
+	 * Split a template into literal, variable and splat tokens of {@code [type, start, end]} offsets, or return
+	 * {@literal null} if it uses a construct that only a regular expression can express.
+	 */
+	private static List<int[]> tokenize(String template) {
+		List<int[]> tokens = new ArrayList<int[]>();
+		List<String> names = new ArrayList<String>();
+		int len = template.length();
+		int literalStart = 0;
+		int i = 0;
+		while (i < len) {
+			char c = template.charAt(i);
+			if (c == '{') {
+				int close = template.indexOf('}', i + 1);
+				int slash = template.indexOf('/', i + 1);
+				if (close < 0 || (slash >= 0 && slash < close) || !isGroupName(template, i + 1, close)) {
+					return null;
+				}
+				String name = template.substring(i + 1, close);
+				if (names.contains(name)) {
+					// a regular expression rejects duplicate group names
+					return null;
+				}
+				names.add(name);
+				boolean splat = template.startsWith("**", close + 1);
+				if (!splat && hasNameSplatBefore(template, close + 1)) {
+					// the regular expression would lazily stretch the name up to that splat
+					return null;
+				}
+				addLiteral(tokens, literalStart, i);
+				tokens.add(new int[]{splat ? SPLAT : VARIABLE, i + 1, close});
+				i = literalStart = close + (splat ? 3 : 1);
+			} else if (c == '*') {
+				if (!template.startsWith("**", i)) {
+					return null;
+				}
+				addLiteral(tokens, literalStart, i);
+				tokens.add(new int[]{SPLAT, i, i});
+				i = literalStart = i + 2;
+			} else if (REGEX_META_CHARS.indexOf(c) >= 0) {
+				return null;
+			} else {
+				i++;
+			}
+		}
+		addLiteral(tokens, literalStart, len);
+		return tokens;
+	}
+
+	private static void addLiteral(List<int[]> tokens, int start, int end) {
+		if (end > start) {
+			tokens.add(new int[]{LITERAL, start, end});
+		}
+	}
+
+	private static boolean isGroupName(String template, int start, int end) {
+		if (end <= start || !isAsciiLetter(template.charAt(start))) {
+			return false;
+		}
+		for (int i = start + 1; i < end; i++) {
+			char c = template.charAt(i);
+			if (!isAsciiLetter(c) && !(c >= '0' && c <= '9')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean hasNameSplatBefore(String template, int from) {
+		int splat = template.indexOf("}**", from);
+		int slash = template.indexOf('/', from);
+		return splat >= 0 && (slash < 0 || splat < slash);
+	}
+
+	private static boolean isLineTerminator(char c) {
+		// '.' in a regular expression does not match line terminators
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	private Pattern compileRegex(String uriPattern) {
+		String s = "^" + uriPattern;
+
+		Matcher m = NAME_SPLAT_PATTERN.matcher(s);
+		while (m.find()) {
+			for (int i = 1; i <= m.groupCount(); i++) {
+				String name = m.group(i);
+				pathVariables.add(name);
+				s = m.replaceFirst(NAME_SPLAT_REPLACEMENT.replaceAll("%NAME%", name));
+				m.reset(s);
+			}
+		}
+
+		m = NAME_PATTERN.matcher(s);
+		while (m.find()) {
+			for (int i = 1; i <= m.groupCount(); i++) {
+				String name = m.group(i);
+				pathVariables.add(name);
+				s = m.replaceFirst(NAME_REPLACEMENT.replaceAll("%NAME%", name));
+				m.reset(s);
+			}
+		}
+
+		m = FULL_SPLAT_PATTERN.matcher(s);
+		while (m.find()) {
+			s = m.replaceAll(FULL_SPLAT_REPLACEMENT);
+			m.reset(s);
+		}
+
+		return Pattern.compile(s + "$");
 	}
 
 }
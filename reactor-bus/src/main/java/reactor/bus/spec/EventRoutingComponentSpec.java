@@ -29,6 +29,7 @@ import reactor.core.dispatch.TraceableDelegatingDispatcher;
 import reactor.core.support.Assert;
 import reactor.fn.Consumer;
 
+import java.util.concurrent.TimeUnit;
 
 /**
  * A generic environment-aware class for specifying components that need to be configured with an {@link Environment},
@@ -54,6 +55,12 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	private Consumer<Throwable>   dispatchErrorHandler;
 	private Consumer<Throwable>   uncaughtErrorHandler;
 	private Registry<Consumer<? extends Event<?>>> consumerRegistry;
+	private Consumer<Object>      consumerNotFoundHandler;
+	private RegistryStrategy      registryStrategy = RegistryStrategy.CACHING;
+	private boolean               cacheNotFound    = true;
+	private int                   maxCacheSize     = -1;
+	private long                  cacheTtl         = -1;
+	private TimeUnit              cacheTtlUnit     = TimeUnit.MILLISECONDS;
 	private boolean traceEventPath = false;
 
 
@@ -195,7 +202,80 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	 * @return {@code this}
 	 */
 	public SPEC consumerNotFoundHandler(Consumer<Object> consumerNotFoundHandler) {
-		this.consumerRegistry = Registries.create(true,true,consumerNotFoundHandler);
+		this.consumerNotFoundHandler = consumerNotFoundHandler;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures whether the consumer registry caches keys that matched no consumer. Caching them saves repeated
+	 * lookups for the same unknown key but lets an unbounded cache grow with the number of distinct keys.
+	 *
+	 * @param cacheNotFound
+	 * 		whether to cache empty selections
+	 *
+	 * @return {@code this}
+	 */
+	public final SPEC cacheNotFound(boolean cacheNotFound) {
+		this.cacheNotFound = cacheNotFound;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures the consumer registry to keep at most {@code maxSize} cached selections, evicting the least valuable
+	 * ones when full. Hit, miss and eviction counters are available from the registry's {@link
+	 * reactor.bus.registry.BoundedCache}. Only applies to the default caching registry.
+	 *
+	 * @param maxSize
+	 * 		the maximum number of cached selections
+	 *
+	 * @return {@code this}
+	 */
+	public final SPEC boundedCache(int maxSize) {
+		return boundedCache(maxSize, -1, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Configures the consumer registry to keep at most {@code maxSize} cached selections, each expiring {@code ttl}
+	 * after it was cached.
+	 *
+	 * @param maxSize
+	 * 		the maximum number of cached selections
+	 * @param ttl
+	 * 		the time-to-live of a cached selection
+	 * @param unit
+	 * 		the unit of {@code ttl}
+	 *
+	 * @return {@code this}
+	 */
+	public final SPEC boundedCache(int maxSize, long ttl, TimeUnit unit) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxCacheSize = maxSize;
+		this.cacheTtl = ttl;
+		this.cacheTtlUnit = unit;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures the component to use an {@link reactor.bus.registry.IndexedRegistry}, which looks up consumers by
+	 * selector kind rather than matching every registered selector. Ignored if a {@link #consumerRegistry(Registry)} has
+	 * been assigned.
+	 *
+	 * @return {@code this}
+	 */
+	public final SPEC indexedRegistry() {
+		this.registryStrategy = RegistryStrategy.INDEXED;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures the component to use a {@link reactor.bus.registry.CopyOnWriteRegistry}, whose registrations can be
+	 * changed frequently without invalidating every cached selection. Ignored if a {@link #consumerRegistry(Registry)}
+	 * has been assigned.
+	 *
+	 * @return {@code this}
+	 */
+	public final SPEC copyOnWriteRegistry() {
+		this.registryStrategy = RegistryStrategy.COPY_ON_WRITE;
 		return (SPEC) this;
 	}
 
@@ -242,11 +322,23 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	}
 
 	private Registry createRegistry() {
-		return Registries.create();
+		if (RegistryStrategy.COPY_ON_WRITE == registryStrategy) {
+			return Registries.copyOnWrite(true, cacheNotFound, consumerNotFoundHandler);
+		} else if (RegistryStrategy.INDEXED == registryStrategy) {
+			return Registries.indexed(consumerNotFoundHandler);
+		} else if (maxCacheSize > 0) {
+			return Registries.create(cacheNotFound, consumerNotFoundHandler, maxCacheSize, cacheTtl, cacheTtlUnit);
+		} else {
+			return Registries.create(true, cacheNotFound, consumerNotFoundHandler);
+		}
 	}
 
 	protected enum EventRoutingStrategy {
 		BROADCAST, RANDOM, ROUND_ROBIN, FIRST
 	}
 
+	protected enum RegistryStrategy {
+		CACHING, COPY_ON_WRITE, INDEXED
+	}
+
 }
@@ -21,6 +21,7 @@ import groovy.transform.CompileStatic
 import reactor.Environment
 import reactor.bus.filter.RoundRobinFilter
 import reactor.bus.routing.ConsumerFilteringRouter
+import reactor.core.dispatch.RingBufferDispatcher
 import reactor.core.dispatch.SynchronousDispatcher
 import reactor.fn.Consumer
 import reactor.fn.Functions
@@ -500,5 +501,52 @@ class EventBusSpec extends Specification {
 
 	}
 
+	def "A Reactor can publish a batch of events"() {
+
+		given:
+			"a Reactor with a ring buffer dispatcher and a consumer on \$('test')"
+			def dispatcher = new RingBufferDispatcher('batch', 1024)
+			def r = EventBus.create(dispatcher)
+			def latch = new CountDownLatch(2000)
+			def received = Collections.synchronizedList([])
+			r.on($('test'), { ev ->
+				received << ev.data
+				latch.countDown()
+			} as Consumer<Event<Integer>>)
+
+		when:
+			"a batch larger than the ring buffer is published as an array and as an iterable"
+			r.notify('test', (0..<1500).collect { Event.wrap(it) } as Event[])
+			r.notify('test', (1500..<2000).collect { Event.wrap(it) })
+
+		then:
+			"every event has been received in order with its key set"
+			latch.await(5, TimeUnit.SECONDS)
+			received == (0..<2000).toList()
+
+		when:
+			"a batch is published on a key without consumers"
+			def orphan = Event.wrap(1)
+			r.notify('orphan', [orphan])
+
+		then:
+			"the key has been set but nothing was dispatched"
+			orphan.key == 'orphan'
+
+		when:
+			"a batch is published on a multi-threaded dispatcher"
+			r = EventBus.create(Environment.dispatcher("workQueue"))
+			latch = new CountDownLatch(3000)
+			r.on($('test'), { ev -> latch.countDown() } as Consumer<Event<Integer>>)
+			r.notify('test', (0..<3000).collect { Event.wrap(it) })
+
+		then:
+			"every event has been received"
+			latch.await(5, TimeUnit.SECONDS)
+
+		cleanup:
+			dispatcher?.shutdown()
+	}
+
 }
 
@@ -17,6 +17,7 @@
 package reactor.bus
 
 import reactor.bus.registry.CachingRegistry
+import reactor.bus.registry.Registries
 import reactor.bus.registry.Registry
 import reactor.bus.registry.SimpleCachingRegistry
 import spock.lang.Specification
@@ -48,7 +49,9 @@ class RegistrySpec extends Specification {
 
     where:
       regs << [new CachingRegistry<String>(true, true, null),
-               new SimpleCachingRegistry<String>(true, true, null)]
+               new SimpleCachingRegistry<String>(true, true, null),
+               Registries.<String>copyOnWrite(),
+               Registries.<String>indexed()]
 
   }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus
+
+import reactor.bus.selector.UriPathTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriPathTemplateSpec extends Specification {
+
+	@Unroll
+	def "Template '#template' matches '#uri' with variables #vars"() {
+
+		given: "a compiled template"
+			def tmpl = new UriPathTemplate(template)
+
+		expect: "the uri to be matched and its variables captured"
+			tmpl.matches(uri) == matches
+			tmpl.match(uri) == vars
+
+		where:
+			template                 | uri                        | matches | vars
+			"/users/{id}"            | "/users/1"                 | true    | [id: "1"]
+			"/users/{id}"            | "/users/1/orders"          | false   | [:]
+			"/users/{id}"            | "/users/1.json"            | false   | [:]
+			"/files/{name}.{ext}"    | "/files/report.pdf"        | true    | [name: "report", ext: "pdf"]
+			"/path/**/{resource}"    | "/path/to/some/resourceId" | true    | [resource: "resourceId"]
+			"/static/**"             | "/static/css/site.css"     | true    | [:]
+			"/static/**"             | "/other/css/site.css"      | false   | [:]
+			"/{user}/{rest}**"       | "/jdoe/a/b/c"              | true    | [user: "jdoe", rest: "a/b/c"]
+			"/{a}{b}"                | "/xyz"                     | true    | [a: "xyz", b: ""]
+			"/items/\\d+"            | "/items/42"                | true    | [:]
+	}
+
+	@Unroll
+	def "Variables matched by '#template' can be modified by the caller"() {
+
+		given: "the variables matched from a uri"
+			def vars = new UriPathTemplate(template).match(uri)
+
+		when: "the caller adds a variable"
+			vars.put("extra", "value")
+
+		then: "the map is a mutable copy"
+			vars == expected + [extra: "value"]
+
+		where:
+			template             | uri            | expected
+			"/users/{id}"        | "/users/1"     | [id: "1"]
+			"/users/{id}/\\d+"   | "/users/1/42"  | [id: "1"]
+			"/users/{id}"        | "/other"       | [:]
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import org.junit.Test;
+import reactor.bus.selector.Selectors;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class BoundedCacheTests {
+
+	@Test
+	public void hitsAndMissesAreCounted() {
+		BoundedCache<String, String> cache = new BoundedCache<String, String>(10);
+
+		assertNull(cache.get("key"));
+		cache.put("key", "value");
+		assertEquals("value", cache.get("key"));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void sizeIsBounded() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(100);
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 1000; i++) {
+				if (null == cache.get(i)) {
+					cache.put(i, i);
+				}
+			}
+		}
+
+		assertTrue(cache.size() <= 100);
+		assertTrue(cache.getEvictionCount() > 0);
+	}
+
+	@Test
+	public void frequentKeysSurviveOneHitWonders() {
+		BoundedCache<String, String> cache = new BoundedCache<String, String>(100);
+		for (int i = 0; i < 10; i++) {
+			cache.put("hot" + i, "value");
+			for (int j = 0; j < 5; j++) {
+				cache.get("hot" + i);
+			}
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			String key = "cold" + i;
+			if (null == cache.get(key)) {
+				cache.put(key, "value");
+			}
+		}
+
+		for (int i = 0; i < 10; i++) {
+			assertNotNull(cache.get("hot" + i));
+		}
+	}
+
+	@Test
+	public void entriesExpire() throws InterruptedException {
+		BoundedCache<String, String> cache = new BoundedCache<String, String>(10, 50, TimeUnit.MILLISECONDS);
+		cache.put("key", "value");
+		assertEquals("value", cache.get("key"));
+
+		Thread.sleep(100);
+
+		assertNull(cache.get("key"));
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void registrySelectionsAreCachedInBoundedCache() {
+		Registry<String> registry = Registries.create(false, null, 10, -1, TimeUnit.MILLISECONDS);
+		registry.register(Selectors.$("key"), "value");
+
+		registry.select("key");
+		registry.select("key");
+		registry.select("unknown");
+
+		BoundedCache<Object, List<Registration<? extends String>>> cache =
+				((CachingRegistry<String>) registry).getBoundedCache();
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void selectionsMadeBeforeARegistrationAreNotCached() {
+		final BoundedCache<Object, List<Registration<? extends String>>> cache =
+				new BoundedCache<Object, List<Registration<? extends String>>>(10);
+		CachingRegistry<String> registry = new CachingRegistry<String>(true, false, null, cache) {
+			boolean registering = true;
+
+			@Override
+			public Iterator<Registration<? extends String>> iterator() {
+				Iterator<Registration<? extends String>> snapshot = super.iterator();
+				// register while the selection scans the registrations it saw before
+				if (registering) {
+					registering = false;
+					register(Selectors.$("key"), "second");
+				}
+				return snapshot;
+			}
+		};
+		registry.register(Selectors.$("key"), "first");
+
+		assertEquals(1, registry.select("key").size());
+		assertEquals(2, registry.select("key").size());
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import org.junit.Test;
+import reactor.bus.selector.Selectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class CopyOnWriteRegistryTests {
+
+	private final AtomicInteger             cacheMisses = new AtomicInteger();
+	private final CopyOnWriteRegistry<Object> registry  = new CacheMissCountingRegistry<Object>(cacheMisses);
+
+	@Test
+	public void registrationsWithTheSameSelectorAreOrderedByInsertionOrder() {
+		registry.register(Selectors.$("key"), "alpha");
+		registry.register(Selectors.$("key"), "bravo");
+		registry.register(Selectors.$("key"), "charlie");
+
+		List<Object> objects = new ArrayList<Object>();
+		for (Registration<?> reg : registry.select("key")) {
+			objects.add(reg.getObject());
+		}
+
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie"), objects);
+	}
+
+	@Test
+	public void unrelatedRegistrationDoesNotInvalidateCache() {
+		registry.register(Selectors.$("key1"), "alpha");
+
+		registry.select("key1");
+		registry.select("key1");
+		assertEquals(1, cacheMisses.get());
+
+		registry.register(Selectors.$("key2"), "bravo");
+
+		registry.select("key1");
+		assertEquals(1, cacheMisses.get());
+	}
+
+	@Test
+	public void matchingRegistrationInvalidatesCachedKey() {
+		registry.register(Selectors.$("key"), "alpha");
+		registry.select("key");
+
+		registry.register(Selectors.$("key"), "bravo");
+
+		assertEquals(2, registry.select("key").size());
+		assertEquals(2, cacheMisses.get());
+	}
+
+	@Test
+	public void cancelledRegistrationOnlyInvalidatesReferencingKeys() {
+		Registration<?> alpha = registry.register(Selectors.$("key1"), "alpha");
+		registry.register(Selectors.$("key2"), "bravo");
+		registry.select("key1");
+		registry.select("key2");
+		assertEquals(2, cacheMisses.get());
+
+		alpha.cancel();
+
+		assertTrue(registry.select("key1").isEmpty());
+		assertEquals(1, registry.select("key2").size());
+		assertEquals(3, cacheMisses.get());
+	}
+
+	@Test
+	public void unregisterBumpsVersionOnlyWhenModified() {
+		registry.register(Selectors.$("key"), "alpha");
+		long version = registry.getVersion();
+
+		assertFalse(registry.unregister("other"));
+		assertEquals(version, registry.getVersion());
+
+		assertTrue(registry.unregister("key"));
+		assertEquals(version + 1, registry.getVersion());
+		assertTrue(registry.select("key").isEmpty());
+	}
+
+	private static final class CacheMissCountingRegistry<T> extends CopyOnWriteRegistry<T> {
+		private final AtomicInteger cacheMisses;
+
+		public CacheMissCountingRegistry(AtomicInteger cacheMisses) {
+			super(true, true, null);
+			this.cacheMisses = cacheMisses;
+		}
+
+		@Override
+		protected void cacheMiss(Object key) {
+			this.cacheMisses.incrementAndGet();
+		}
+	}
+
+}
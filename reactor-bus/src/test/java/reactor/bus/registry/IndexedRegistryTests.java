@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import org.junit.Test;
+import reactor.bus.selector.Selectors;
+import reactor.fn.Predicate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class IndexedRegistryTests {
+
+	private final Registry<Object> registry = Registries.indexed();
+
+	@Test
+	public void objectSelectorsAreMatchedByEquality() {
+		for (int i = 0; i < 1000; i++) {
+			registry.register(Selectors.$("key" + i), i);
+		}
+
+		assertEquals(Arrays.<Object>asList(42), objects(registry.select("key42")));
+		assertTrue(registry.select("unknown").isEmpty());
+	}
+
+	@Test
+	public void classSelectorsAreMatchedThroughTypeHierarchy() {
+		registry.register(Selectors.type(Number.class), "number");
+		registry.register(Selectors.type(Serializable.class), "serializable");
+		registry.register(Selectors.type(String.class), "string");
+
+		assertEquals(Arrays.<Object>asList("number", "serializable"), objects(registry.select(1L)));
+		assertEquals(Arrays.<Object>asList("number", "serializable"), objects(registry.select(Long.class)));
+		assertEquals(Arrays.<Object>asList("serializable", "string"), objects(registry.select("text")));
+	}
+
+	@Test
+	public void uriPathSelectorsAreMatchedThroughTrie() {
+		registry.register(Selectors.uri("/users/{id}"), "user");
+		registry.register(Selectors.uri("/users/{id}/orders"), "orders");
+		registry.register(Selectors.uri("/**"), "all");
+		registry.register(Selectors.uri("/static/index.html"), "index");
+
+		assertEquals(Arrays.<Object>asList("user", "all"), objects(registry.select("/users/1")));
+		assertEquals(Arrays.<Object>asList("orders", "all"), objects(registry.select("/users/1/orders")));
+		assertEquals(Arrays.<Object>asList("all", "index"), objects(registry.select("/static/index.html")));
+		assertTrue(registry.select("users").isEmpty());
+	}
+
+	@Test
+	public void selectionPreservesRegistrationOrderAcrossIndexes() {
+		registry.register(Selectors.predicate(new Predicate<Object>() {
+			@Override
+			public boolean test(Object o) {
+				return o instanceof String;
+			}
+		}), "predicate");
+		registry.register(Selectors.uri("/a/**"), "uri");
+		registry.register(Selectors.type(CharSequence.class), "type");
+		registry.register(Selectors.$("/a/b"), "object");
+
+		assertEquals(Arrays.<Object>asList("predicate", "uri", "type", "object"), objects(registry.select("/a/b")));
+	}
+
+	@Test
+	public void cancelledAndUnregisteredRegistrationsAreRemoved() {
+		Registration<?> alpha = registry.register(Selectors.$("key"), "alpha");
+		registry.register(Selectors.$("key"), "bravo");
+		registry.register(Selectors.uri("/a/{b}"), "charlie");
+
+		alpha.cancel();
+		assertEquals(Arrays.<Object>asList("bravo"), objects(registry.select("key")));
+
+		assertTrue(registry.unregister("/a/b"));
+		assertFalse(registry.unregister("/a/b"));
+		assertTrue(registry.select("/a/b").isEmpty());
+		assertTrue(registry.iterator().hasNext());
+	}
+
+	@Test
+	public void selectionMatchesLinearScanForUnindexableSelectors() {
+		Registry<Object> linear = Registries.create(false, false, null);
+		for (Registry<Object> r : Arrays.asList(registry, linear)) {
+			r.register(Selectors.type(Object[].class), "objects");
+			r.register(Selectors.type(CharSequence[].class), "charSequences");
+			r.register(Selectors.type(int.class), "int");
+			r.register(Selectors.type(Object.class), "object");
+			r.register(Selectors.uri("/a/b|/c/d"), "alternation");
+			r.register(Selectors.uri("/a/(b|c)"), "group");
+			r.register(Selectors.uri("/x/?y"), "optionalSlash");
+		}
+
+		List<Object> keys = Arrays.<Object>asList(new String[0], String[].class, new int[0], int.class, 1,
+				"/a/b", "/a/c", "/c/d", "/xy", "/x/y");
+		for (Object key : keys) {
+			assertEquals(String.valueOf(key), objects(linear.select(key)), objects(registry.select(key)));
+		}
+		assertEquals(Arrays.<Object>asList("objects", "charSequences", "object"),
+				objects(registry.select(new String[0])));
+		assertEquals(Arrays.<Object>asList("object", "alternation"), objects(registry.select("/c/d")));
+		assertEquals(Arrays.<Object>asList("object", "optionalSlash"), objects(registry.select("/xy")));
+	}
+
+	private static List<Object> objects(List<Registration<?>> regs) {
+		List<Object> objects = new ArrayList<Object>();
+		for (Registration<?> reg : regs) {
+			objects.add(reg.getObject());
+		}
+		return objects;
+	}
+
+}
@@ -28,6 +28,7 @@ import reactor.core.internal.PlatformDependent;
 import reactor.fn.Consumer;
 import reactor.fn.Supplier;
 import reactor.fn.timer.HashWheelTimer;
+import reactor.fn.timer.HierarchicalWheelTimer;
 import reactor.fn.timer.Timer;
 import reactor.jarjar.com.lmax.disruptor.WaitStrategy;
 import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType;
@@ -70,6 +71,26 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 	 */
 	public static final String WORK_QUEUE = "workQueue";
 
+	/**
+	 * The property selecting the type of the {@link #timer() environment timer}
+	 */
+	public static final String TIMER_TYPE = "reactor.timer.type";
+
+	/**
+	 * The property setting the resolution, in milliseconds, of the {@link #timer() environment timer}
+	 */
+	public static final String TIMER_RESOLUTION = "reactor.timer.resolution";
+
+	/**
+	 * The {@link #TIMER_TYPE timer type} of a {@link reactor.fn.timer.HashWheelTimer}, the default
+	 */
+	public static final String HASH_WHEEL_TIMER = "hashWheel";
+
+	/**
+	 * The {@link #TIMER_TYPE timer type} of a {@link reactor.fn.timer.HierarchicalWheelTimer}
+	 */
+	public static final String HIERARCHICAL_WHEEL_TIMER = "hierarchicalWheel";
+
 	/**
 	 * The number of processors available to the runtime
 	 *
@@ -756,14 +777,17 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 	}
 
 	/**
-	 * Get the {@code Environment}-wide {@link reactor.fn.timer.HashWheelTimer}.
+	 * Get the {@code Environment}-wide {@link Timer}. It is a {@link reactor.fn.timer.HashWheelTimer} unless the {@code
+	 * reactor.timer.type} property is set to {@code hierarchicalWheel}, in which case it is a {@link
+	 * reactor.fn.timer.HierarchicalWheelTimer}. Its resolution in milliseconds can be set with the {@code
+	 * reactor.timer.resolution} property.
 	 *
 	 * @return the timer.
 	 */
 	public Timer getTimer() {
 		if (null == timer.get()) {
 			synchronized (timer) {
-				Timer t = new HashWheelTimer();
+				Timer t = createTimer();
 				if (!timer.compareAndSet(null, t)) {
 					t.cancel();
 				}
@@ -772,6 +796,19 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 		return timer.get();
 	}
 
+	private Timer createTimer() {
+		String type = getProperty(TIMER_TYPE, HASH_WHEEL_TIMER);
+		int resolution = Integer.parseInt(getProperty(TIMER_RESOLUTION, "100"));
+		if (HIERARCHICAL_WHEEL_TIMER.equals(type)) {
+			return new HierarchicalWheelTimer(resolution);
+		}
+		if (!HASH_WHEEL_TIMER.equals(type)) {
+			LoggerFactory.getLogger(Environment.class).warn("The timer type '{}' is not recognized, using '{}'", type,
+					HASH_WHEEL_TIMER);
+		}
+		return new HashWheelTimer(resolution);
+	}
+
 	/**
 	 * Shuts down this Environment, causing all of its {@link Dispatcher Dispatchers} to be shut down.
 	 *
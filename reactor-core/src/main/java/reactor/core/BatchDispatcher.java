@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core;
+
+import reactor.fn.Consumer;
+
+/**
+ * A {@link Dispatcher} able to dispatch a whole batch of events at once. Callers check for it with {@code instanceof}
+ * and otherwise {@link Dispatcher#dispatch(Object, Consumer, Consumer) dispatch} each element on its own.
+ *
+ * @since 2.0
+ */
+public interface BatchDispatcher extends Dispatcher {
+
+	/**
+	 * Instruct the {@code Dispatcher} to dispatch each element of {@code data}, in order, to the same event {@link
+	 * Consumer}. Implementations backed by a ring buffer claim and publish a contiguous range of slots for the whole
+	 * batch instead of one slot per element. In the event of an error during dispatching of an element, the {@code
+	 * errorConsumer} will be called.
+	 *
+	 * @param data               The events
+	 * @param eventConsumer      The consumer that is driven for each event if dispatch succeeds
+	 * @param errorConsumer      The consumer that is invoked if dispatch fails. May be {@code null}
+	 * @param <E>                type of the events
+	 * @throws IllegalStateException If the {@code Dispatcher} is not {@link Dispatcher#alive() alive}
+	 */
+	<E> void dispatchAll(E[] data,
+	                     Consumer<E> eventConsumer,
+	                     Consumer<Throwable> errorConsumer);
+
+}
@@ -17,7 +17,7 @@
 package reactor.core.dispatch;
 
 import reactor.Environment;
-import reactor.core.Dispatcher;
+import reactor.core.BatchDispatcher;
 import reactor.core.alloc.Recyclable;
 import reactor.core.support.Assert;
 import reactor.fn.Consumer;
@@ -31,7 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
-public abstract class AbstractLifecycleDispatcher implements Dispatcher {
+public abstract class AbstractLifecycleDispatcher implements BatchDispatcher {
 
 	protected static final int DEFAULT_BUFFER_SIZE = 1024;
 
@@ -124,6 +124,25 @@ public abstract class AbstractLifecycleDispatcher implements Dispatcher {
 		}
 	}
 
+	@Override
+	public final <E> void dispatchAll(E[] events,
+	                                  Consumer<E> eventConsumer,
+	                                  Consumer<Throwable> errorConsumer) {
+
+		Assert.isTrue(alive(), "This Dispatcher has been shut down.");
+		Assert.isTrue(eventConsumer != null, "The signal consumer has not been passed.");
+		if (inContext()) {
+			for (E event : events) {
+				allocateRecursiveTask()
+						.setData(event)
+						.setErrorConsumer(errorConsumer)
+						.setEventConsumer(eventConsumer);
+			}
+		} else {
+			executeAll(events, eventConsumer, errorConsumer);
+		}
+	}
+
 	@Override
 	public void execute(final Runnable command) {
 		dispatch(null, new Consumer<Object>() {
@@ -134,6 +153,25 @@ public abstract class AbstractLifecycleDispatcher implements Dispatcher {
 		}, null);
 	}
 
+	/**
+	 * Allocate and execute a task for each of the given events, in order. Dispatchers able to claim capacity for several
+	 * tasks at once override this to do so.
+	 *
+	 * @param events        the events to dispatch
+	 * @param eventConsumer the consumer driven with each event
+	 * @param errorConsumer the consumer invoked if dispatching an event fails, may be {@code null}
+	 * @param <E>           type of the events
+	 */
+	protected <E> void executeAll(E[] events, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+		for (E event : events) {
+			Task task = allocateTask();
+			task.setData(event)
+					.setErrorConsumer(errorConsumer)
+					.setEventConsumer(eventConsumer);
+			execute(task);
+		}
+	}
+
 	protected Task tryAllocateTask() throws InsufficientCapacityException {
 		return allocateTask();
 	}
@@ -16,8 +16,10 @@
 
 package reactor.core.dispatch;
 
+import reactor.core.queue.CompletableMpscArrayQueue;
 import reactor.core.queue.internal.MpscLinkedQueue;
 import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
 
 import java.util.Queue;
 import java.util.concurrent.ExecutorService;
@@ -27,7 +29,8 @@ import java.util.concurrent.locks.LockSupport;
 
 /**
  * Implementation of a {@link reactor.core.Dispatcher} that uses a {@link reactor.core.queue.internal.MpscLinkedQueue} to
- * queue tasks to execute.
+ * queue tasks to execute, or a bounded {@link reactor.core.queue.CompletableMpscArrayQueue} that the worker drains in
+ * batches.
  *
  * @author Stephane Maldini
  */
@@ -36,9 +39,12 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 	private static final int DEFAULT_BUFFER_SIZE = 1024;
 
 	//private final Logger log = LoggerFactory.getLogger(getClass());
-	private final ExecutorService executor;
-	private final Queue<Task>     workQueue;
-	private final int             capacity;
+	private final ExecutorService                 executor;
+	private final Queue<Task>                     workQueue;
+	private final CompletableMpscArrayQueue<Task> arrayQueue;
+	private final int                             capacity;
+
+	private volatile boolean terminated;
 
 	/**
 	 * Creates a new {@code MpscDispatcher} with the given {@code name}. It will use a MpscLinkedQueue and a virtual capacity of 1024 slots.
@@ -55,25 +61,64 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 	 * @param name       The name of the dispatcher
 	 * @param bufferSize The size to configure the ring buffer with
 	 */
-	@SuppressWarnings({"unchecked"})
 	public MpscDispatcher(String name,
 	                      int bufferSize) {
+		this(name, bufferSize, false);
+	}
+
+	/**
+	 * Creates a new {@code MpscDispatcher} with the given {@code name}. It will use either a MpscLinkedQueue and a
+	 * virtual capacity of {code bufferSize}, or a CompletableMpscArrayQueue of {@code bufferSize} slots rounded up to a
+	 * power of two. Dispatching to a full array queue waits for the worker to free a slot, while
+	 * {@link #tryDispatch} fails fast with an {@link InsufficientCapacityException}.
+	 *
+	 * @param name         The name of the dispatcher
+	 * @param bufferSize   The size to configure the ring buffer with
+	 * @param boundedQueue {@code true} to queue tasks in a pre-allocated array instead of linked nodes
+	 */
+	@SuppressWarnings({"unchecked"})
+	public MpscDispatcher(String name,
+	                      int bufferSize,
+	                      boolean boundedQueue) {
 		super(bufferSize);
 
 		this.executor = Executors.newSingleThreadExecutor(new NamedDaemonThreadFactory(name, getContext()));
-		this.workQueue = MpscLinkedQueue.create();
+		if (boundedQueue) {
+			this.arrayQueue = new CompletableMpscArrayQueue<Task>(bufferSize);
+			this.workQueue = arrayQueue;
+		} else {
+			this.arrayQueue = null;
+			this.workQueue = MpscLinkedQueue.create();
+		}
 		this.capacity = bufferSize;
 		this.executor.execute(new Runnable() {
 			@Override
 			public void run() {
 				Task task;
 				try {
-					for (; ; ) {
-						task = workQueue.poll();
-						if (null != task) {
-							task.run();
-						} else {
-							LockSupport.parkNanos(1l); //TODO expose
+					if (null != arrayQueue) {
+						Consumer<Task> runner = new Consumer<Task>() {
+							@Override
+							public void accept(Task task) {
+								if (terminated) {
+									throw EndException.INSTANCE;
+								}
+								task.run();
+							}
+						};
+						while (!terminated) {
+							if (arrayQueue.drain(runner, capacity) == 0) {
+								LockSupport.parkNanos(1l);
+							}
+						}
+					} else {
+						while (!terminated) {
+							task = workQueue.poll();
+							if (null != task) {
+								task.run();
+							} else {
+								LockSupport.parkNanos(1l); //TODO expose
+							}
 						}
 					}
 				}catch (EndException e){
@@ -96,14 +141,16 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 
 	@Override
 	public void shutdown() {
-		workQueue.add(new EndMpscTask());
+		execute(new EndMpscTask());
 		executor.shutdown();
 		super.shutdown();
 	}
 
 	@Override
 	public void forceShutdown() {
-		workQueue.add(new EndMpscTask());
+		// a full array queue may reject the end task, the flag stops the worker regardless
+		terminated = true;
+		workQueue.offer(new EndMpscTask());
 		executor.shutdownNow();
 		super.forceShutdown();
 	}
@@ -116,7 +163,12 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 
 	@Override
 	protected Task tryAllocateTask() throws InsufficientCapacityException {
-		if (workQueue.size() > capacity) {
+		if (null != arrayQueue) {
+			if (arrayQueue.size() >= arrayQueue.capacity()) {
+				throw InsufficientCapacityException.INSTANCE;
+			}
+			return new TryMpscTask();
+		} else if (workQueue.size() > capacity) {
 			throw InsufficientCapacityException.INSTANCE;
 		} else {
 			return allocateTask();
@@ -129,7 +181,20 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 	}
 
 	protected void execute(Task task) {
-		workQueue.add(task);
+		if (null != arrayQueue) {
+			while (!arrayQueue.offer(task)) {
+				if (task instanceof TryMpscTask) {
+					// the queue filled up since tryAllocateTask checked it
+					throw InsufficientCapacityException.INSTANCE;
+				}
+				LockSupport.parkNanos(1l);
+			}
+		} else {
+			workQueue.add(task);
+		}
+	}
+
+	private class TryMpscTask extends SingleThreadTask {
 	}
 
 	private class EndMpscTask extends SingleThreadTask {
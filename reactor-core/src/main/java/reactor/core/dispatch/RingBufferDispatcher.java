@@ -234,6 +234,24 @@ public final class RingBufferDispatcher extends SingleThreadDispatcher implement
 		return ringBuffer.get(seqId).setSequenceId(seqId);
 	}
 
+	@Override
+	protected <E> void executeAll(E[] events, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+		int batchSize = ringBuffer.getBufferSize();
+		for (int offset = 0; offset < events.length; offset += batchSize) {
+			int n = Math.min(batchSize, events.length - offset);
+			long hi = ringBuffer.next(n);
+			long lo = hi - (n - 1);
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				ringBuffer.get(seqId)
+						.setSequenceId(seqId)
+						.setData(events[offset + (int) (seqId - lo)])
+						.setErrorConsumer(errorConsumer)
+						.setEventConsumer(eventConsumer);
+			}
+			ringBuffer.publish(lo, hi);
+		}
+	}
+
 	protected void execute(Task task) {
 		ringBuffer.publish(((RingBufferTask) task).getSequenceId());
 	}
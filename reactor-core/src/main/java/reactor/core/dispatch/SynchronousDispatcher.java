@@ -17,7 +17,7 @@
 package reactor.core.dispatch;
 
 import reactor.Environment;
-import reactor.core.Dispatcher;
+import reactor.core.BatchDispatcher;
 import reactor.fn.Consumer;
 
 import java.util.concurrent.TimeUnit;
@@ -28,7 +28,7 @@ import java.util.concurrent.TimeUnit;
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
-public final class SynchronousDispatcher implements Dispatcher {
+public final class SynchronousDispatcher implements BatchDispatcher {
 
 	public static final SynchronousDispatcher INSTANCE = new SynchronousDispatcher();
 
@@ -80,6 +80,15 @@ public final class SynchronousDispatcher implements Dispatcher {
 		}
 	}
 
+	@Override
+	public <E> void dispatchAll(E[] events,
+	                            Consumer<E> eventConsumer,
+	                            Consumer<Throwable> errorConsumer) {
+		for (E event : events) {
+			dispatch(event, eventConsumer, errorConsumer);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "immediate";
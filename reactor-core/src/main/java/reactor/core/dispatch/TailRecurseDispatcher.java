@@ -17,7 +17,7 @@
 package reactor.core.dispatch;
 
 import reactor.Environment;
-import reactor.core.Dispatcher;
+import reactor.core.BatchDispatcher;
 import reactor.fn.Consumer;
 
 import java.util.concurrent.PriorityBlockingQueue;
@@ -30,7 +30,7 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
  *
  * @author Stephane Maldini
  */
-public final class TailRecurseDispatcher implements Dispatcher {
+public final class TailRecurseDispatcher implements BatchDispatcher {
 
 	public static final TailRecurseDispatcher INSTANCE = new TailRecurseDispatcher();
 
@@ -112,6 +112,15 @@ public final class TailRecurseDispatcher implements Dispatcher {
 		}
 	}
 
+	@Override
+	public <E> void dispatchAll(E[] events,
+	                            Consumer<E> eventConsumer,
+	                            Consumer<Throwable> errorConsumer) {
+		for (E event : events) {
+			dispatch(event, eventConsumer, errorConsumer);
+		}
+	}
+
 	@Override
 	public void execute(final Runnable command) {
 		dispatch(null, new Consumer<Void>() {
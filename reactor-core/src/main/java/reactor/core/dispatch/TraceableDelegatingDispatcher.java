@@ -18,6 +18,7 @@ package reactor.core.dispatch;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.BatchDispatcher;
 import reactor.core.Dispatcher;
 import reactor.core.support.Assert;
 import reactor.fn.Consumer;
@@ -29,7 +30,7 @@ import java.util.concurrent.TimeUnit;
  *
  * @author Jon Brisbin
  */
-public class TraceableDelegatingDispatcher implements Dispatcher {
+public class TraceableDelegatingDispatcher implements BatchDispatcher {
 
 	private final Dispatcher delegate;
 	private final Logger     log;
@@ -95,6 +96,22 @@ public class TraceableDelegatingDispatcher implements Dispatcher {
 		delegate.dispatch(event, consumer, errorConsumer);
 	}
 
+	@Override
+	public <E> void dispatchAll(E[] events,
+	                            Consumer<E> consumer,
+	                            Consumer<Throwable> errorConsumer) {
+		if(log.isTraceEnabled()) {
+			log.trace("dispatchAll({}, {}, {})", events.length, consumer, errorConsumer);
+		}
+		if (delegate instanceof BatchDispatcher) {
+			((BatchDispatcher) delegate).dispatchAll(events, consumer, errorConsumer);
+		} else {
+			for (E event : events) {
+				delegate.dispatch(event, consumer, errorConsumer);
+			}
+		}
+	}
+
 	@Override
 	public void execute(Runnable command) {
 		delegate.execute(command);
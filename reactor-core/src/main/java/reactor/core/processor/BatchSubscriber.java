@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.processor;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * {@link Subscriber} that is notified of the start and end of the batches published at once with {@link
+ * RingBufferProcessor#onNextBatch(Object[])}, e.g. to request more data once per batch rather than once per element.
+ *
+ * @since 2.0
+ */
+public interface BatchSubscriber<T> extends Subscriber<T> {
+
+	/**
+	 * Called before the first element of a batch is signalled.
+	 *
+	 * @param size the number of elements in the batch
+	 */
+	void onBatchStart(int size);
+
+	/**
+	 * Called after the last element of a batch has been signalled.
+	 */
+	void onBatchEnd();
+
+}
@@ -14,4 +14,9 @@ public final class MutableSignal<T> {
 	public T         value    = null;
 	public Throwable error    = null;
 
+	// set on the first signal of a batch published at once, 0 otherwise
+	public int     batchSize  = 0;
+	// set on the last signal of a batch published at once
+	public boolean endOfBatch = false;
+
 }
@@ -565,6 +565,31 @@ public final class RingBufferProcessor<E> extends ReactorProcessor<E> {
 		RingBufferSubscriberUtils.onNext(o, ringBuffer);
 	}
 
+	/**
+	 * Publish a batch of Next signals, claiming the ring buffer sequences for the whole batch at once instead of once
+	 * per element. Subscribers implementing {@link BatchSubscriber} are notified of the start and end of each batch; a
+	 * batch larger than the ring buffer is signalled as several consecutive batches of at most its size.
+	 *
+	 * Like {@link #onNext(Object)}, this must not be called concurrently with other signals unless the processor is
+	 * shared.
+	 *
+	 * @param values the elements to publish, none can be null
+	 * @since 2.0
+	 */
+	public void onNextBatch(E[] values) {
+		RingBufferSubscriberUtils.onNextBatch(values, ringBuffer);
+	}
+
+	/**
+	 * Publish a batch of Next signals, see {@link #onNextBatch(Object[])}.
+	 *
+	 * @param values the elements to publish, none can be null
+	 * @since 2.0
+	 */
+	public void onNextBatch(Iterable<? extends E> values) {
+		RingBufferSubscriberUtils.onNextBatch(values, ringBuffer);
+	}
+
 	@Override
 	public void onError(Throwable t) {
 		RingBufferSubscriberUtils.onError(t, ringBuffer);
@@ -682,6 +707,7 @@ public final class RingBufferProcessor<E> extends ReactorProcessor<E> {
 		private final SequenceBarrier              sequenceBarrier;
 		private final Sequence                     pendingRequest;
 		private final Subscriber<? super T>        subscriber;
+		private final BatchSubscriber<? super T>   batchSubscriber;
 
 		private Subscription subscription;
 
@@ -694,6 +720,7 @@ public final class RingBufferProcessor<E> extends ReactorProcessor<E> {
 		 * @param dataProvider    to which events are published.
 		 * @param sequenceBarrier on which it is waiting.
 		 */
+		@SuppressWarnings("unchecked")
 		public BatchSignalProcessor(RingBuffer<MutableSignal<T>> dataProvider,
 		                            SequenceBarrier sequenceBarrier,
 		                            Sequence pendingRequest,
@@ -702,6 +729,7 @@ public final class RingBufferProcessor<E> extends ReactorProcessor<E> {
 			this.sequenceBarrier = sequenceBarrier;
 			this.pendingRequest = pendingRequest;
 			this.subscriber = subscriber;
+			this.batchSubscriber = subscriber instanceof BatchSubscriber ? (BatchSubscriber<? super T>) subscriber : null;
 		}
 
 		public Subscription getSubscription() {
@@ -766,7 +794,13 @@ public final class RingBufferProcessor<E> extends ReactorProcessor<E> {
 								}
 
 								//It's an unbounded subscriber or there is enough capacity to process the signal
+								if (null != batchSubscriber && event.batchSize > 0) {
+									batchSubscriber.onBatchStart(event.batchSize);
+								}
 								RingBufferSubscriberUtils.route(event, subscriber);
+								if (null != batchSubscriber && event.endOfBatch) {
+									batchSubscriber.onBatchEnd();
+								}
 								nextSequence++;
 							} else {
 								//Complete or Error are terminal events, we shutdown the processor and process the signal
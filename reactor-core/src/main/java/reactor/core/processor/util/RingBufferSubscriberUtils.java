@@ -4,6 +4,11 @@ import org.reactivestreams.Subscriber;
 import reactor.core.processor.MutableSignal;
 import reactor.jarjar.com.lmax.disruptor.RingBuffer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Utility methods to perform common tasks associated with {@link org.reactivestreams.Subscriber} handling when the
  * signals are stored in a {@link com.lmax.disruptor.RingBuffer}.
@@ -23,10 +28,93 @@ public final class RingBufferSubscriberUtils {
 		signal.type = MutableSignal.Type.NEXT;
 		signal.value = value;
 		signal.error = null;
+		signal.batchSize = 0;
+		signal.endOfBatch = false;
 
 		ringBuffer.publish(seqId);
 	}
 
+	/**
+	 * Publish all the {@code values} as Next signals, claiming and publishing a whole range of sequences at once instead
+	 * of one sequence per value. Batches larger than the ring buffer are published in chunks of at most its size, the
+	 * first and last signals of each chunk being flagged with {@link MutableSignal#batchSize} and {@link
+	 * MutableSignal#endOfBatch}.
+	 *
+	 * @param values     the values to publish, none can be null
+	 * @param ringBuffer the ring buffer to publish to
+	 * @param <E>        the type of the values
+	 */
+	public static <E> void onNextBatch(E[] values, RingBuffer<MutableSignal<E>> ringBuffer) {
+		for (E value : values) {
+			if (value == null) {
+				throw new NullPointerException("Spec 2.13: Signal cannot be null");
+			}
+		}
+
+		int offset = 0;
+		while (offset < values.length) {
+			final int n = Math.min(values.length - offset, ringBuffer.getBufferSize());
+			final long hi = ringBuffer.next(n);
+			final long lo = hi - n + 1l;
+
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				nextInBatch(ringBuffer.get(seqId), values[offset++], seqId == lo ? n : 0, seqId == hi);
+			}
+
+			ringBuffer.publish(lo, hi);
+		}
+	}
+
+	/**
+	 * Publish all the {@code values} as Next signals, see {@link #onNextBatch(Object[], RingBuffer)}. Values that are
+	 * not held in a {@link Collection} are copied first to learn how many sequences to claim.
+	 *
+	 * @param values     the values to publish, none can be null
+	 * @param ringBuffer the ring buffer to publish to
+	 * @param <E>        the type of the values
+	 */
+	public static <E> void onNextBatch(Iterable<? extends E> values, RingBuffer<MutableSignal<E>> ringBuffer) {
+		final Collection<? extends E> collection;
+		if (values instanceof Collection) {
+			collection = (Collection<? extends E>) values;
+		} else {
+			List<E> copy = new ArrayList<E>();
+			for (E value : values) {
+				copy.add(value);
+			}
+			collection = copy;
+		}
+
+		for (E value : collection) {
+			if (value == null) {
+				throw new NullPointerException("Spec 2.13: Signal cannot be null");
+			}
+		}
+
+		Iterator<? extends E> it = collection.iterator();
+		int remaining = collection.size();
+		while (remaining > 0) {
+			final int n = Math.min(remaining, ringBuffer.getBufferSize());
+			final long hi = ringBuffer.next(n);
+			final long lo = hi - n + 1l;
+
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				nextInBatch(ringBuffer.get(seqId), it.next(), seqId == lo ? n : 0, seqId == hi);
+			}
+
+			ringBuffer.publish(lo, hi);
+			remaining -= n;
+		}
+	}
+
+	private static <E> void nextInBatch(MutableSignal<E> signal, E value, int batchSize, boolean endOfBatch) {
+		signal.type = MutableSignal.Type.NEXT;
+		signal.value = value;
+		signal.error = null;
+		signal.batchSize = batchSize;
+		signal.endOfBatch = endOfBatch;
+	}
+
 	public static <E> void onError(Throwable error, RingBuffer<MutableSignal<E>> ringBuffer) {
 		if (error == null) {
 			throw new NullPointerException("Spec 2.13: Signal cannot be null");
@@ -38,6 +126,8 @@ public final class RingBufferSubscriberUtils {
 		signal.type = MutableSignal.Type.ERROR;
 		signal.value = null;
 		signal.error = error;
+		signal.batchSize = 0;
+		signal.endOfBatch = false;
 
 		ringBuffer.publish(seqId);
 	}
@@ -49,6 +139,8 @@ public final class RingBufferSubscriberUtils {
 		signal.type = MutableSignal.Type.COMPLETE;
 		signal.value = null;
 		signal.error = null;
+		signal.batchSize = 0;
+		signal.endOfBatch = false;
 
 		ringBuffer.publish(seqId);
 	}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import reactor.fn.Consumer;
+import reactor.fn.Supplier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A bounded {@link CompletableQueue} storing its elements in a power-of-two array, for a given number of producer and
+ * consumer threads. No lock is taken: elements and indexes are published with ordered stores, and only the side shared
+ * by several threads claims its indexes with CAS. The producer and consumer indexes are padded so that producers and
+ * consumers do not invalidate each other's cache lines.
+ *
+ * Besides the {@link java.util.Queue} operations, elements can be moved in batches with {@link #drain(Consumer, int)}
+ * and {@link #fill(Supplier, int)}. Iterating walks a weakly consistent snapshot and an arbitrary element cannot be
+ * removed, see {@link CompletableQueue}.
+ *
+ * @see CompletableSpscArrayQueue
+ * @see CompletableMpscArrayQueue
+ * @see CompletableSpmcArrayQueue
+ * @since 2.0
+ */
+public abstract class CompletableArrayQueue<E> extends CompletableArrayQueueConsumerIndex<E>
+		implements CompletableQueue<E> {
+
+	long p40, p41, p42, p43, p44, p45, p46, p47;
+	long p50, p51, p52, p53, p54, p55, p56, p57;
+
+	private volatile boolean terminated = false;
+
+	protected CompletableArrayQueue(int capacity) {
+		super(capacity);
+	}
+
+	/**
+	 * Remove up to {@code limit} elements and pass them to the given {@link Consumer}, stopping early once the queue is
+	 * empty. Each element is removed before being passed on, so an exception thrown by the {@link Consumer} loses no
+	 * other element.
+	 *
+	 * @param consumer the {@link Consumer} of the elements
+	 * @param limit    the maximum number of elements to remove
+	 * @return the number of elements removed
+	 */
+	public abstract int drain(Consumer<? super E> consumer, int limit);
+
+	/**
+	 * Add up to {@code limit} elements obtained from the given {@link Supplier}, stopping early once the queue is full.
+	 * The {@link Supplier} is only invoked for elements there is room for.
+	 *
+	 * @param supplier the {@link Supplier} of the elements, which must not be {@literal null}
+	 * @param limit    the maximum number of elements to add
+	 * @return the number of elements added
+	 */
+	public abstract int fill(Supplier<? extends E> supplier, int limit);
+
+	/**
+	 * Get the number of elements this queue can hold.
+	 *
+	 * @return the capacity, the requested one rounded up to a power of two
+	 */
+	public final int capacity() {
+		return mask + 1;
+	}
+
+	@Override
+	public int size() {
+		long after = consumerIndex;
+		for (; ; ) {
+			long before = after;
+			long produced = producerIndex;
+			after = consumerIndex;
+			if (before == after) {
+				return (int) Math.max(0l, Math.min(produced - after, capacity()));
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return consumerIndex >= producerIndex;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		long consumed = consumerIndex;
+		long end = Math.min(producerIndex, consumed + capacity());
+		List<E> snapshot = new ArrayList<E>((int) Math.max(0l, end - consumed));
+		E e;
+		for (long i = consumed; i < end; i++) {
+			// consumed or not yet published
+			if (null != (e = buffer.get(offset(i)))) {
+				snapshot.add(e);
+			}
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot remove an arbitrary element");
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot remove an arbitrary element");
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot remove an arbitrary element");
+	}
+
+	@Override
+	public void complete() {
+		terminated = true;
+	}
+
+	@Override
+	public boolean isComplete() {
+		return terminated;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{size=" + size() + ", capacity=" + capacity() +
+				(terminated ? ", complete" : "") + "}";
+	}
+}
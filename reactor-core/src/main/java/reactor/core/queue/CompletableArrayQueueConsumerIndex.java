@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The consumer index of a {@link CompletableArrayQueue}, padded away from the producer index.
+ *
+ * @since 2.0
+ */
+abstract class CompletableArrayQueueConsumerIndex<E> extends CompletableArrayQueueProducerIndex<E> {
+
+	private static final AtomicLongFieldUpdater<CompletableArrayQueueConsumerIndex> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(CompletableArrayQueueConsumerIndex.class, "consumerIndex");
+
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+	long p30, p31, p32, p33, p34, p35, p36, p37;
+
+	protected volatile long consumerIndex;
+
+	CompletableArrayQueueConsumerIndex(int capacity) {
+		super(capacity);
+	}
+
+	protected final void soConsumerIndex(long index) {
+		CONSUMER_INDEX.lazySet(this, index);
+	}
+
+	protected final boolean casConsumerIndex(long expect, long index) {
+		return CONSUMER_INDEX.compareAndSet(this, expect, index);
+	}
+}
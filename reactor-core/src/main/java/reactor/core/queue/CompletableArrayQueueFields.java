@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.AbstractQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The fields of a {@link CompletableArrayQueue} written once: the slots and the mask of their indexes.
+ *
+ * @since 2.0
+ */
+abstract class CompletableArrayQueueFields<E> extends AbstractQueue<E> {
+
+	protected final AtomicReferenceArray<E> buffer;
+	protected final int                     mask;
+
+	CompletableArrayQueueFields(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be strictly positive");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.buffer = new AtomicReferenceArray<E>(size);
+		this.mask = size - 1;
+	}
+
+	protected final int offset(long index) {
+		return (int) index & mask;
+	}
+}
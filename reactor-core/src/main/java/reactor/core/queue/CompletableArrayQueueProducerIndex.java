@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The producer index of a {@link CompletableArrayQueue}, padded away from the fields read by the consumers.
+ *
+ * @since 2.0
+ */
+abstract class CompletableArrayQueueProducerIndex<E> extends CompletableArrayQueueFields<E> {
+
+	private static final AtomicLongFieldUpdater<CompletableArrayQueueProducerIndex> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(CompletableArrayQueueProducerIndex.class, "producerIndex");
+
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+
+	protected volatile long producerIndex;
+
+	CompletableArrayQueueProducerIndex(int capacity) {
+		super(capacity);
+	}
+
+	protected final void soProducerIndex(long index) {
+		PRODUCER_INDEX.lazySet(this, index);
+	}
+
+	protected final boolean casProducerIndex(long expect, long index) {
+		return PRODUCER_INDEX.compareAndSet(this, expect, index);
+	}
+}
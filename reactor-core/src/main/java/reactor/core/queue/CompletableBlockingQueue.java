@@ -27,7 +27,7 @@ import java.util.concurrent.TimeUnit;
  */
 final public class CompletableBlockingQueue<T> extends ArrayBlockingQueue<T> implements CompletableQueue<T>{
 
-	boolean terminated = false;
+	volatile boolean terminated = false;
 
 	public CompletableBlockingQueue(int capacity) {
 		super(capacity);
@@ -26,7 +26,7 @@ import java.util.concurrent.LinkedTransferQueue;
  */
 final public class CompletableLinkedQueue<T> extends LinkedTransferQueue<T> implements CompletableQueue<T>{
 
-	boolean terminated = false;
+	volatile boolean terminated = false;
 
 	@Override
 	public void complete() {
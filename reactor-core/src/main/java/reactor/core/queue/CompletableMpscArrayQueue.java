@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import reactor.fn.Consumer;
+import reactor.fn.Supplier;
+
+/**
+ * A {@link CompletableArrayQueue} for any number of producer threads and a single consumer thread at a time. Producers
+ * claim their slots by moving the producer index with CAS, then store their element: the consumer waits for the
+ * element of a claimed slot to be stored.
+ *
+ * @since 2.0
+ */
+public final class CompletableMpscArrayQueue<E> extends CompletableArrayQueue<E> {
+
+	/**
+	 * Create a queue holding up to the given number of elements.
+	 *
+	 * @param capacity the capacity, rounded up to a power of two
+	 */
+	public CompletableMpscArrayQueue(int capacity) {
+		super(capacity);
+	}
+
+	@Override
+	public boolean offer(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		int capacity = capacity();
+		long index;
+		do {
+			index = producerIndex;
+			if (index - consumerIndex >= capacity) {
+				return false;
+			}
+		} while (!casProducerIndex(index, index + 1l));
+
+		buffer.lazySet(offset(index), e);
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		long index = consumerIndex;
+		int offset = offset(index);
+		E e = element(index, offset);
+		if (e == null) {
+			return null;
+		}
+		buffer.lazySet(offset, null);
+		soConsumerIndex(index + 1l);
+		return e;
+	}
+
+	@Override
+	public E peek() {
+		long index = consumerIndex;
+		return element(index, offset(index));
+	}
+
+	@Override
+	public int drain(Consumer<? super E> consumer, int limit) {
+		long index = consumerIndex;
+		int offset;
+		E e;
+		int i = 0;
+		for (; i < limit; i++) {
+			offset = offset(index);
+			e = element(index, offset);
+			if (e == null) {
+				break;
+			}
+			buffer.lazySet(offset, null);
+			soConsumerIndex(++index);
+			consumer.accept(e);
+		}
+		return i;
+	}
+
+	/**
+	 * Add up to {@code limit} elements, claiming their slots at once. The {@link Supplier} must not fail since the
+	 * consumer waits for every claimed slot to be filled.
+	 */
+	@Override
+	public int fill(Supplier<? extends E> supplier, int limit) {
+		if (limit <= 0) {
+			return 0;
+		}
+		int capacity = capacity();
+		long index;
+		int n;
+		do {
+			index = producerIndex;
+			long free = capacity - (index - consumerIndex);
+			if (free <= 0l) {
+				return 0;
+			}
+			n = (int) Math.min(free, limit);
+		} while (!casProducerIndex(index, index + n));
+
+		E e;
+		for (int i = 0; i < n; i++) {
+			e = supplier.get();
+			if (e == null) {
+				throw new NullPointerException();
+			}
+			buffer.lazySet(offset(index + i), e);
+		}
+		return n;
+	}
+
+	private E element(long index, int offset) {
+		E e = buffer.get(offset);
+		if (e == null) {
+			if (index == producerIndex) {
+				return null;
+			}
+			// the slot has been claimed, its element is being stored
+			do {
+				e = buffer.get(offset);
+			} while (e == null);
+		}
+		return e;
+	}
+}
@@ -21,6 +21,12 @@ import java.util.Queue;
 /**
  * Queues that support a terminal state
  *
+ * The lock-free {@link CompletableArrayQueue} and {@link CompletableSpscLinkedArrayQueue} only support removing
+ * elements from their head: their {@link #iterator()} walks a weakly consistent, read-only snapshot, which serves
+ * {@link #contains(Object)} and {@link #containsAll(java.util.Collection)}, while {@link #remove(Object)}, {@link
+ * #removeAll(java.util.Collection)} and {@link #retainAll(java.util.Collection)} throw an {@link
+ * UnsupportedOperationException}.
+ *
  * @author Stephane Maldini
  * @since 2.0
  */
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import reactor.fn.Consumer;
+import reactor.fn.Supplier;
+
+/**
+ * A {@link CompletableArrayQueue} for a single producer thread at a time and any number of consumer threads.
+ * Consumers claim their element by moving the consumer index with CAS, then clear its slot: the producer waits for a
+ * claimed slot to be cleared before reusing it.
+ *
+ * @since 2.0
+ */
+public final class CompletableSpmcArrayQueue<E> extends CompletableArrayQueue<E> {
+
+	/**
+	 * Create a queue holding up to the given number of elements.
+	 *
+	 * @param capacity the capacity, rounded up to a power of two
+	 */
+	public CompletableSpmcArrayQueue(int capacity) {
+		super(capacity);
+	}
+
+	@Override
+	public boolean offer(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		long index = producerIndex;
+		int offset = offset(index);
+		if (!claimable(index, offset)) {
+			return false;
+		}
+		buffer.lazySet(offset, e);
+		soProducerIndex(index + 1l);
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		long index;
+		do {
+			index = consumerIndex;
+			if (index >= producerIndex) {
+				return null;
+			}
+		} while (!casConsumerIndex(index, index + 1l));
+
+		int offset = offset(index);
+		E e = buffer.get(offset);
+		buffer.lazySet(offset, null);
+		return e;
+	}
+
+	@Override
+	public E peek() {
+		long index;
+		E e;
+		do {
+			index = consumerIndex;
+			if (index >= producerIndex) {
+				return null;
+			}
+			e = buffer.get(offset(index));
+		} while (e == null || index != consumerIndex);
+		return e;
+	}
+
+	/**
+	 * Remove up to {@code limit} elements, claiming them one at a time so that other consumers keep progressing.
+	 */
+	@Override
+	public int drain(Consumer<? super E> consumer, int limit) {
+		E e;
+		int i = 0;
+		for (; i < limit; i++) {
+			e = poll();
+			if (e == null) {
+				break;
+			}
+			consumer.accept(e);
+		}
+		return i;
+	}
+
+	@Override
+	public int fill(Supplier<? extends E> supplier, int limit) {
+		long index = producerIndex;
+		int offset;
+		E e;
+		int i = 0;
+		for (; i < limit; i++) {
+			offset = offset(index);
+			if (!claimable(index, offset)) {
+				break;
+			}
+			e = supplier.get();
+			if (e == null) {
+				throw new NullPointerException();
+			}
+			buffer.lazySet(offset, e);
+			soProducerIndex(++index);
+		}
+		return i;
+	}
+
+	private boolean claimable(long index, int offset) {
+		if (buffer.get(offset) != null) {
+			if (index - consumerIndex >= capacity()) {
+				return false;
+			}
+			// a consumer has claimed the element but not cleared its slot yet
+			while (buffer.get(offset) != null) {
+				//wait
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import reactor.fn.Consumer;
+import reactor.fn.Supplier;
+
+/**
+ * A {@link CompletableArrayQueue} for a single producer thread and a single consumer thread at a time. A slot is free
+ * as long as it holds {@literal null}, so neither side reads the index of the other.
+ *
+ * @since 2.0
+ */
+public final class CompletableSpscArrayQueue<E> extends CompletableArrayQueue<E> {
+
+	/**
+	 * Create a queue holding up to the given number of elements.
+	 *
+	 * @param capacity the capacity, rounded up to a power of two
+	 */
+	public CompletableSpscArrayQueue(int capacity) {
+		super(capacity);
+	}
+
+	@Override
+	public boolean offer(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		long index = producerIndex;
+		int offset = offset(index);
+		if (buffer.get(offset) != null) {
+			return false;
+		}
+		buffer.lazySet(offset, e);
+		soProducerIndex(index + 1l);
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		long index = consumerIndex;
+		int offset = offset(index);
+		E e = buffer.get(offset);
+		if (e == null) {
+			return null;
+		}
+		buffer.lazySet(offset, null);
+		soConsumerIndex(index + 1l);
+		return e;
+	}
+
+	@Override
+	public E peek() {
+		return buffer.get(offset(consumerIndex));
+	}
+
+	@Override
+	public int drain(Consumer<? super E> consumer, int limit) {
+		long index = consumerIndex;
+		int offset;
+		E e;
+		int i = 0;
+		for (; i < limit; i++) {
+			offset = offset(index);
+			e = buffer.get(offset);
+			if (e == null) {
+				break;
+			}
+			buffer.lazySet(offset, null);
+			soConsumerIndex(++index);
+			consumer.accept(e);
+		}
+		return i;
+	}
+
+	@Override
+	public int fill(Supplier<? extends E> supplier, int limit) {
+		long index = producerIndex;
+		int offset;
+		E e;
+		int i = 0;
+		for (; i < limit; i++) {
+			offset = offset(index);
+			if (buffer.get(offset) != null) {
+				break;
+			}
+			e = supplier.get();
+			if (e == null) {
+				throw new NullPointerException();
+			}
+			buffer.lazySet(offset, e);
+			soProducerIndex(++index);
+		}
+		return i;
+	}
+}
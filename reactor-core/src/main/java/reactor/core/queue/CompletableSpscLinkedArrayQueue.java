@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unbounded {@link CompletableQueue} for a single producer thread and a single consumer thread at a time.
+ *
+ * Elements are stored in a chain of arrays of a fixed power-of-two size instead of a node per element: the producer
+ * links a new array once the current one is full and the consumer drops each array once it has read it. Elements and
+ * indexes are published with ordered stores, no lock is taken. Iterating walks a weakly consistent snapshot and an
+ * arbitrary element cannot be removed, see {@link CompletableQueue}.
+ *
+ * @since 2.0
+ */
+public final class CompletableSpscLinkedArrayQueue<T> extends AbstractQueue<T> implements CompletableQueue<T> {
+
+	public static final int DEFAULT_CHUNK_SIZE = 128;
+
+	private static final AtomicLongFieldUpdater<CompletableSpscLinkedArrayQueue> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(CompletableSpscLinkedArrayQueue.class, "producerIndex");
+
+	private static final AtomicLongFieldUpdater<CompletableSpscLinkedArrayQueue> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(CompletableSpscLinkedArrayQueue.class, "consumerIndex");
+
+	private final int chunkSize;
+	private final int mask;
+
+	//Only accessed by the producer
+	private AtomicReferenceArray<Object> producerChunk;
+	private volatile long producerIndex;
+
+	//Only accessed by the consumer
+	private AtomicReferenceArray<Object> consumerChunk;
+	private volatile long consumerIndex;
+
+	private volatile boolean terminated = false;
+
+	public CompletableSpscLinkedArrayQueue() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Create a queue storing its elements in arrays of the given size.
+	 *
+	 * @param chunkSize the number of elements per array, rounded up to a power of two
+	 */
+	public CompletableSpscLinkedArrayQueue(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be strictly positive");
+		}
+		int size = Integer.highestOneBit(chunkSize);
+		if (size < chunkSize) {
+			size <<= 1;
+		}
+		this.chunkSize = size;
+		this.mask = size - 1;
+		// the last slot links to the next array
+		AtomicReferenceArray<Object> chunk = new AtomicReferenceArray<Object>(size + 1);
+		this.producerChunk = chunk;
+		this.consumerChunk = chunk;
+	}
+
+	@Override
+	public boolean offer(T t) {
+		if (t == null) {
+			throw new NullPointerException();
+		}
+		long index = producerIndex;
+		int offset = (int) index & mask;
+		if (offset == 0 && index != 0l) {
+			AtomicReferenceArray<Object> next = new AtomicReferenceArray<Object>(chunkSize + 1);
+			next.lazySet(0, t);
+			producerChunk.lazySet(chunkSize, next);
+			producerChunk = next;
+		} else {
+			producerChunk.lazySet(offset, t);
+		}
+		PRODUCER_INDEX.lazySet(this, index + 1l);
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		long index = consumerIndex;
+		int offset = (int) index & mask;
+		AtomicReferenceArray<Object> chunk = consumerChunk;
+		if (offset == 0 && index != 0l) {
+			Object next = chunk.get(chunkSize);
+			if (next == null) {
+				return null;
+			}
+			chunk = (AtomicReferenceArray<Object>) next;
+			consumerChunk = chunk;
+		}
+		Object e = chunk.get(offset);
+		if (e == null) {
+			return null;
+		}
+		chunk.lazySet(offset, null);
+		CONSUMER_INDEX.lazySet(this, index + 1l);
+		return (T) e;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T peek() {
+		long index = consumerIndex;
+		int offset = (int) index & mask;
+		AtomicReferenceArray<Object> chunk = consumerChunk;
+		if (offset == 0 && index != 0l) {
+			Object next = chunk.get(chunkSize);
+			if (next == null) {
+				return null;
+			}
+			chunk = (AtomicReferenceArray<Object>) next;
+		}
+		return (T) chunk.get(offset);
+	}
+
+	@Override
+	public int size() {
+		long after = consumerIndex;
+		for (; ; ) {
+			long before = after;
+			long produced = producerIndex;
+			after = consumerIndex;
+			if (before == after) {
+				return (int) Math.min(produced - after, Integer.MAX_VALUE);
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<T> iterator() {
+		List<T> snapshot = new ArrayList<T>(size());
+		// consumed slots are cleared, so walking from a stale chunk only skips them
+		AtomicReferenceArray<Object> chunk = consumerChunk;
+		Object e;
+		while (null != chunk) {
+			for (int i = 0; i < chunkSize; i++) {
+				if (null != (e = chunk.get(i))) {
+					snapshot.add((T) e);
+				}
+			}
+			chunk = (AtomicReferenceArray<Object>) chunk.get(chunkSize);
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException("CompletableSpscLinkedArrayQueue cannot remove an arbitrary element");
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException("CompletableSpscLinkedArrayQueue cannot remove an arbitrary element");
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException("CompletableSpscLinkedArrayQueue cannot remove an arbitrary element");
+	}
+
+	@Override
+	public void complete() {
+		terminated = true;
+	}
+
+	@Override
+	public boolean isComplete() {
+		return terminated;
+	}
+
+	@Override
+	public String toString() {
+		return "CompletableSpscLinkedArrayQueue{size=" + size() + (terminated ? ", complete" : "") + "}";
+	}
+}
@@ -23,6 +23,8 @@ import reactor.fn.Pausable;
 import reactor.jarjar.com.lmax.disruptor.EventFactory;
 import reactor.jarjar.com.lmax.disruptor.RingBuffer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.Executor;
@@ -44,6 +46,8 @@ import java.util.concurrent.atomic.AtomicLong;
  * Hash Wheel timer is an approximated timer that allows performant execution of
  * larger amount of tasks with better performance compared to traditional scheduling.
  *
+ * Registrations expiring on the same tick are handed to the {@link Executor} as a single batch.
+ *
  * @author Oleksandr Petrov
  * @author Jon Brisbin
  * @author Stephane Maldini
@@ -118,6 +122,7 @@ public class HashWheelTimer implements Timer {
 			@Override
 			public void run() {
 				long deadline = System.currentTimeMillis();
+				List<TimerPausable> expired = new ArrayList<TimerPausable>();
 
 				while (true) {
 					Set<TimerPausable> registrations = wheel.get(wheel.getCursor());
@@ -126,7 +131,7 @@ public class HashWheelTimer implements Timer {
 						if (r.isCancelled()) {
 							registrations.remove(r);
 						} else if (r.ready()) {
-							executor.execute(r);
+							expired.add(r);
 							registrations.remove(r);
 
 							if (!r.isCancelAfterUse()) {
@@ -138,6 +143,7 @@ public class HashWheelTimer implements Timer {
 							r.decrement();
 						}
 					}
+					TimerBatch.execute(executor, expired);
 
 					deadline += resolution;
 
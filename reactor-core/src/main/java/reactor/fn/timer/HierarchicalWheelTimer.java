@@ -0,0 +1,544 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.timer;
+
+import reactor.core.queue.internal.MpscLinkedQueue;
+import reactor.core.support.Assert;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
+import reactor.fn.Pausable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Hierarchical timing wheel timer, as per the paper:
+ *
+ * Hashed and hierarchical timing wheels:
+ * http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
+ *
+ * The timer keeps {@value #LEVELS} wheels of {@value #WHEEL_SIZE} slots. A slot of the first wheel covers one tick of
+ * the timer resolution, a slot of each following wheel covers a whole revolution of the previous one. A task is filed
+ * in the lowest wheel able to hold its deadline and cascades down to lower wheels as time advances, so that it is only
+ * looked at a handful of times however long its delay, instead of once per revolution as with the {@link
+ * HashWheelTimer}.
+ *
+ * Slots are intrusive doubly-linked lists owned by the timer thread. Other threads hand new and cancelled tasks over
+ * through multi-producer single-consumer queues that are drained on every tick, which makes both scheduling and
+ * cancelling O(1) and lock-free.
+ *
+ * Tasks coming due on the same tick with the same period are coalesced into a single bucket: the bucket is filed,
+ * cascaded and rescheduled as one node however many tasks it holds, and the tasks expiring on a tick are handed to
+ * the {@link Executor} as a single batch.
+ */
+public class HierarchicalWheelTimer implements Timer {
+
+	static final int LEVELS     = 6;
+	static final int WHEEL_BITS = 6;
+	static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+	private static final int    WHEEL_MASK         = WHEEL_SIZE - 1;
+	private static final long   MAX_TICKS          = (1L << (WHEEL_BITS * LEVELS)) - 1;
+	private static final String DEFAULT_TIMER_NAME = "hierarchical-wheel-timer";
+
+	private final TimerBucket[][]  wheels;
+	private final TimerBuckets     buckets;
+	private final List<TimerTask>  expired;
+	private final Queue<TimerTask> submissions;
+	private final Queue<TimerTask> cancellations;
+	private final int              resolution;
+	private final Thread           loop;
+	private final Executor         executor;
+
+	private final HashWheelTimer.WaitStrategy waitStrategy;
+
+	// tick N is processed no earlier than startTime + N * resolution
+	private final long startTime;
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} with a default resolution of 100 milliseconds.
+	 */
+	public HierarchicalWheelTimer() {
+		this(100);
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer resolution. All times will rounded up to the
+	 * closest multiple of this resolution.
+	 *
+	 * @param resolution the resolution of this timer, in milliseconds
+	 */
+	public HierarchicalWheelTimer(int resolution) {
+		this(resolution, new HashWheelTimer.SleepWait());
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@param resolution} and {@param waitStrategy}.
+	 *
+	 * @param resolution   resolution of this timer in milliseconds
+	 * @param waitStrategy strategy for waiting for the next tick
+	 */
+	public HierarchicalWheelTimer(int resolution, HashWheelTimer.WaitStrategy waitStrategy) {
+		this(DEFAULT_TIMER_NAME, resolution, waitStrategy,
+		     Executors.newFixedThreadPool(1, new NamedDaemonThreadFactory(DEFAULT_TIMER_NAME + "-run")));
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@param resolution} and {@param waitStrategy}.
+	 *
+	 * @param name         name for daemon thread factory to be displayed
+	 * @param resolution   resolution of this timer in milliseconds
+	 * @param waitStrategy strategy for waiting for the next tick
+	 * @param exec         Executor instance to submit tasks to
+	 */
+	public HierarchicalWheelTimer(String name, int resolution, HashWheelTimer.WaitStrategy waitStrategy, Executor exec) {
+		Assert.isTrue(resolution > 0, "Resolution must be greater than 0");
+		this.resolution = resolution;
+		this.waitStrategy = waitStrategy;
+		this.executor = exec;
+		this.wheels = new TimerBucket[LEVELS][WHEEL_SIZE];
+		this.buckets = new TimerBuckets();
+		this.expired = new ArrayList<TimerTask>();
+		this.submissions = MpscLinkedQueue.create();
+		this.cancellations = MpscLinkedQueue.create();
+		this.startTime = System.currentTimeMillis();
+
+		this.loop = new NamedDaemonThreadFactory(name).newThread(new Runnable() {
+			@Override
+			public void run() {
+				long deadline = startTime;
+				long tick = 0;
+
+				while (true) {
+					drainCancellations();
+					drainSubmissions(tick);
+					expire(tick);
+
+					deadline += HierarchicalWheelTimer.this.resolution;
+					try {
+						HierarchicalWheelTimer.this.waitStrategy.waitUntil(deadline);
+					} catch (InterruptedException e) {
+						return;
+					}
+
+					cascade(++tick);
+				}
+			}
+		});
+		this.loop.start();
+	}
+
+	@Override
+	public long getResolution() {
+		return resolution;
+	}
+
+	@Override
+	public Pausable schedule(Consumer<Long> consumer,
+	                         long period,
+	                         TimeUnit timeUnit,
+	                         long delayInMilliseconds) {
+		return schedule(TimeUnit.MILLISECONDS.convert(period, timeUnit), delayInMilliseconds, consumer, false);
+	}
+
+	@Override
+	public Pausable schedule(Consumer<Long> consumer,
+	                         long period,
+	                         TimeUnit timeUnit) {
+		return schedule(TimeUnit.MILLISECONDS.convert(period, timeUnit), 0, consumer, false);
+	}
+
+	@Override
+	public Pausable submit(Consumer<Long> consumer,
+	                       long delay,
+	                       TimeUnit timeUnit) {
+		long ms = TimeUnit.MILLISECONDS.convert(delay, timeUnit);
+		return schedule(ms, ms, consumer, true);
+	}
+
+	@Override
+	public Pausable submit(Consumer<Long> consumer) {
+		return submit(consumer, resolution, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void cancel() {
+		this.loop.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("HierarchicalWheelTimer { Levels: %d, Wheel Size: %d, Resolution: %d }",
+		                     LEVELS,
+		                     WHEEL_SIZE,
+		                     resolution);
+	}
+
+	private TimerTask schedule(long period, long firstDelay, Consumer<Long> consumer, boolean once) {
+		Assert.isTrue(!loop.isInterrupted(), "Cannot submit tasks to this timer as it has been cancelled.");
+		Assert.isTrue(period >= resolution, "Cannot schedule tasks for amount of time less than timer precision.");
+
+		TimerTask task = new TimerTask(consumer, period / resolution, once);
+		task.deadline = (System.currentTimeMillis() - startTime + firstDelay) / resolution + 1;
+		submissions.offer(task);
+		return task;
+	}
+
+	private void drainSubmissions(long tick) {
+		TimerTask task;
+		while (null != (task = submissions.poll())) {
+			if (!task.isCancelled()) {
+				insert(task, tick);
+			}
+		}
+	}
+
+	private void drainCancellations() {
+		TimerTask task;
+		while (null != (task = cancellations.poll())) {
+			unlink(task);
+		}
+	}
+
+	/**
+	 * Move the buckets of the upper wheel slots that come due with {@code tick} down to the lower wheels.
+	 */
+	private void cascade(long tick) {
+		for (int level = 1; level < LEVELS; level++) {
+			if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+				return;
+			}
+			int index = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+			TimerBucket bucket = wheels[level][index];
+			wheels[level][index] = null;
+			while (null != bucket) {
+				TimerBucket next = bucket.next;
+				bucket.prev = bucket.next = null;
+				bucket.level = -1;
+				file(bucket, tick);
+				bucket = next;
+			}
+		}
+	}
+
+	private void expire(long tick) {
+		int index = (int) (tick & WHEEL_MASK);
+		TimerBucket bucket = wheels[0][index];
+		wheels[0][index] = null;
+		while (null != bucket) {
+			TimerBucket next = bucket.next;
+			bucket.prev = bucket.next = null;
+			bucket.level = -1;
+			buckets.remove(bucket);
+
+			TimerTask task = bucket.head;
+			while (null != task) {
+				TimerTask nextTask = task.nextMember;
+				if (task.isPaused()) {
+					if (0 == bucket.periodTicks) {
+						// one-off tasks do not share a period, move it on its own
+						bucket.remove(task);
+						task.deadline = tick + task.periodTicks;
+						insert(task, tick);
+					}
+				} else if (!task.isCancelled()) {
+					expired.add(task);
+					if (task.isCancelAfterUse()) {
+						task.cancel();
+					}
+				}
+				task = nextTask;
+			}
+
+			if (bucket.periodTicks > 0 && null != bucket.head) {
+				bucket.deadline = tick + bucket.periodTicks;
+				TimerBucket existing = buckets.get(bucket.deadline, bucket.periodTicks);
+				if (null == existing) {
+					buckets.put(bucket);
+					file(bucket, tick);
+				} else {
+					existing.addAll(bucket);
+				}
+			}
+			bucket = next;
+		}
+
+		TimerBatch.execute(executor, expired);
+	}
+
+	/**
+	 * Add the task to the bucket of the tasks sharing its deadline and period, filing a new bucket in the wheels if
+	 * there is none yet.
+	 */
+	private void insert(TimerTask task, long tick) {
+		long deadline = Math.max(task.deadline, tick);
+		long periodTicks = task.isCancelAfterUse() ? 0 : task.periodTicks;
+
+		TimerBucket bucket = buckets.get(deadline, periodTicks);
+		if (null == bucket) {
+			bucket = new TimerBucket(deadline, periodTicks);
+			buckets.put(bucket);
+			file(bucket, tick);
+		}
+		bucket.add(task);
+	}
+
+	/**
+	 * File the bucket in the lowest wheel whose span covers its deadline, measured from the current {@code tick}.
+	 */
+	private void file(TimerBucket bucket, long tick) {
+		long deadline = bucket.deadline;
+		long delta = deadline - tick;
+		if (delta > MAX_TICKS) {
+			deadline = tick + MAX_TICKS;
+			delta = MAX_TICKS;
+		}
+
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+			level++;
+		}
+		int index = (int) ((deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+		TimerBucket head = wheels[level][index];
+		bucket.level = level;
+		bucket.index = index;
+		bucket.prev = null;
+		bucket.next = head;
+		if (null != head) {
+			head.prev = bucket;
+		}
+		wheels[level][index] = bucket;
+	}
+
+	private void unlink(TimerTask task) {
+		TimerBucket bucket = task.bucket;
+		if (null == bucket) {
+			return;
+		}
+		bucket.remove(task);
+		if (null != bucket.head || bucket.level < 0) {
+			return;
+		}
+
+		buckets.remove(bucket);
+		if (null != bucket.prev) {
+			bucket.prev.next = bucket.next;
+		} else {
+			wheels[bucket.level][bucket.index] = bucket.next;
+		}
+		if (null != bucket.next) {
+			bucket.next.prev = bucket.prev;
+		}
+		bucket.prev = bucket.next = null;
+		bucket.level = -1;
+	}
+
+	/**
+	 * The tasks coming due on the same tick with the same period, filed as a single node of a wheel slot. One-off tasks
+	 * share the period {@code 0}.
+	 */
+	static final class TimerBucket {
+
+		final long periodTicks;
+
+		// owned by the timer thread
+		long        deadline;
+		int         level = -1;
+		int         index;
+		TimerBucket prev;
+		TimerBucket next;
+		TimerBucket sibling;
+		TimerTask   head;
+
+		TimerBucket(long deadline, long periodTicks) {
+			this.deadline = deadline;
+			this.periodTicks = periodTicks;
+		}
+
+		void add(TimerTask task) {
+			task.bucket = this;
+			task.prevMember = null;
+			task.nextMember = head;
+			if (null != head) {
+				head.prevMember = task;
+			}
+			head = task;
+		}
+
+		void addAll(TimerBucket bucket) {
+			TimerTask task = bucket.head;
+			while (null != task) {
+				TimerTask next = task.nextMember;
+				add(task);
+				task = next;
+			}
+			bucket.head = null;
+		}
+
+		void remove(TimerTask task) {
+			if (null != task.prevMember) {
+				task.prevMember.nextMember = task.nextMember;
+			} else {
+				head = task.nextMember;
+			}
+			if (null != task.nextMember) {
+				task.nextMember.prevMember = task.prevMember;
+			}
+			task.prevMember = task.nextMember = null;
+			task.bucket = null;
+		}
+	}
+
+	/**
+	 * Index of the filed buckets by deadline, buckets sharing a deadline are chained by period.
+	 */
+	static final class TimerBuckets {
+
+		private final Map<Long, TimerBucket> byDeadline = new HashMap<Long, TimerBucket>();
+
+		TimerBucket get(long deadline, long periodTicks) {
+			TimerBucket bucket = byDeadline.get(deadline);
+			while (null != bucket && bucket.periodTicks != periodTicks) {
+				bucket = bucket.sibling;
+			}
+			return bucket;
+		}
+
+		void put(TimerBucket bucket) {
+			bucket.sibling = byDeadline.put(bucket.deadline, bucket);
+		}
+
+		void remove(TimerBucket bucket) {
+			TimerBucket first = byDeadline.get(bucket.deadline);
+			if (first == bucket) {
+				if (null == bucket.sibling) {
+					byDeadline.remove(bucket.deadline);
+				} else {
+					byDeadline.put(bucket.deadline, bucket.sibling);
+				}
+			} else {
+				while (null != first && first.sibling != bucket) {
+					first = first.sibling;
+				}
+				if (null != first) {
+					first.sibling = bucket.sibling;
+				}
+			}
+			bucket.sibling = null;
+		}
+	}
+
+	/**
+	 * Timer Registration, also a member of the bucket it is filed in.
+	 */
+	final class TimerTask implements Runnable, Pausable {
+
+		static final int STATUS_READY     = 0;
+		static final int STATUS_PAUSED    = 1;
+		static final int STATUS_CANCELLED = -1;
+
+		final Consumer<Long> delegate;
+		final long           periodTicks;
+		final boolean        lifecycle;
+
+		volatile int     status = STATUS_READY;
+		volatile boolean cancelAfterUse;
+
+		// owned by the timer thread
+		long        deadline;
+		TimerBucket bucket;
+		TimerTask   prevMember;
+		TimerTask   nextMember;
+
+		TimerTask(Consumer<Long> delegate, long periodTicks, boolean cancelAfterUse) {
+			Assert.notNull(delegate, "Delegate cannot be null");
+			this.delegate = delegate;
+			this.periodTicks = periodTicks;
+			this.cancelAfterUse = cancelAfterUse;
+			this.lifecycle = Pausable.class.isAssignableFrom(delegate.getClass());
+		}
+
+		@Override
+		public void run() {
+			delegate.accept(TimeUtils.approxCurrentTimeMillis());
+		}
+
+		@Override
+		public Pausable cancel() {
+			int current;
+			while ((current = status) != STATUS_CANCELLED) {
+				if (STATUS_UPDATER.compareAndSet(this, current, STATUS_CANCELLED)) {
+					if (lifecycle) {
+						((Pausable) delegate).cancel();
+					}
+					if (Thread.currentThread() == loop) {
+						unlink(this);
+					} else {
+						cancellations.offer(this);
+					}
+					break;
+				}
+			}
+			return this;
+		}
+
+		@Override
+		public Pausable pause() {
+			if (STATUS_UPDATER.compareAndSet(this, STATUS_READY, STATUS_PAUSED) && lifecycle) {
+				((Pausable) delegate).pause();
+			}
+			return this;
+		}
+
+		@Override
+		public Pausable resume() {
+			if (STATUS_UPDATER.compareAndSet(this, STATUS_PAUSED, STATUS_READY) && lifecycle) {
+				((Pausable) delegate).resume();
+			}
+			return this;
+		}
+
+		boolean isCancelled() {
+			return status == STATUS_CANCELLED;
+		}
+
+		boolean isPaused() {
+			return status == STATUS_PAUSED;
+		}
+
+		boolean isCancelAfterUse() {
+			return cancelAfterUse;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("HierarchicalWheelTimer { Deadline: %d, Status: %d }", deadline, status);
+		}
+	}
+
+	private static final AtomicIntegerFieldUpdater<TimerTask> STATUS_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(TimerTask.class, "status");
+
+}
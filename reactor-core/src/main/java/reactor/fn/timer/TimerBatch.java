@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.timer;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * The callbacks expiring on the same timer tick, handed to the timer {@link Executor} as a single task.
+ *
+ * Every callback is run even if a previous one failed, the first failure is rethrown once the whole batch has run so
+ * that the executor still gets to see it.
+ */
+final class TimerBatch implements Runnable {
+
+	private final Runnable[] tasks;
+
+	private TimerBatch(Runnable[] tasks) {
+		this.tasks = tasks;
+	}
+
+	/**
+	 * Hand the expired {@code tasks} to the {@code executor} with a single {@link Executor#execute(Runnable)} and clear
+	 * the list so that the caller can reuse it for the next tick.
+	 *
+	 * @param executor the timer executor
+	 * @param tasks    the callbacks expiring on the current tick
+	 */
+	static void execute(Executor executor, List<? extends Runnable> tasks) {
+		int size = tasks.size();
+		if (size == 1) {
+			executor.execute(tasks.get(0));
+		} else if (size > 1) {
+			executor.execute(new TimerBatch(tasks.toArray(new Runnable[size])));
+		}
+		tasks.clear();
+	}
+
+	@Override
+	public void run() {
+		RuntimeException failure = null;
+		for (Runnable task : tasks) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				if (null == failure) {
+					failure = e;
+				}
+			}
+		}
+		if (null != failure) {
+			throw failure;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TimerBatch { Size: %d }", tasks.length);
+	}
+}
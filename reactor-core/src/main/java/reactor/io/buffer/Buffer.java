@@ -23,6 +23,7 @@ import reactor.fn.Supplier;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -68,6 +69,18 @@ public class Buffer implements Recyclable,
 			System.getProperty("reactor.io.maxBufferSize", "" + 1024 * 1000 * 16)
 	);
 
+	/**
+	 * Whether dynamic buffers take their backing storage from per-thread, size-classed arenas and give it back when
+	 * they grow or are {@link #recycle() recycled}. Can be configured using the {@code reactor.io.pooledBuffers} system
+	 * property. Defaults to {@literal false}.
+	 *
+	 * Only enable it when no duplicate, slice or {@link View} of a buffer is used after the buffer has been recycled
+	 * or has grown, since its former storage may then be handed to another buffer.
+	 */
+	public static boolean POOLED_BUFFERS = Boolean.parseBoolean(
+			System.getProperty("reactor.io.pooledBuffers", "false")
+	);
+
 	private static final Charset UTF8 = Charset.forName("UTF-8");
 	private final boolean        dynamic;
 	private       ByteBuffer     buffer;
@@ -75,6 +88,8 @@ public class Buffer implements Recyclable,
 	private       CharBuffer     chars;
 	private       int            position;
 	private       int            limit;
+	// the storage comes from the arena and goes back to it once replaced or recycled
+	private       boolean        pooled;
 
 	/**
 	 * Create an empty {@literal Buffer} that is dynamic.
@@ -93,6 +108,7 @@ public class Buffer implements Recyclable,
 	 * 		{@literal true} to make this buffer fixed-length, {@literal false} otherwise.
 	 */
 	public Buffer(int atLeast, boolean fixed) {
+		this.dynamic = !fixed;
 		if(fixed) {
 			if(atLeast <= MAX_BUFFER_SIZE) {
 				this.buffer = ByteBuffer.allocate(atLeast);
@@ -102,7 +118,6 @@ public class Buffer implements Recyclable,
 		} else {
 			ensureCapacity(atLeast);
 		}
-		this.dynamic = !fixed;
 	}
 
 	/**
@@ -114,7 +129,7 @@ public class Buffer implements Recyclable,
 	 */
 	public Buffer(Buffer bufferToCopy) {
 		this.dynamic = bufferToCopy.dynamic;
-		this.buffer = bufferToCopy.buffer.duplicate();
+		this.buffer = bufferToCopy.byteBuffer().duplicate();
 	}
 
 	/**
@@ -190,8 +205,8 @@ public class Buffer implements Recyclable,
 	public static Integer parseInt(Buffer b, int start, int end) {
 		b.snapshot();
 
-		b.buffer.limit(end);
-		b.buffer.position(start);
+		b.limit(end);
+		b.position(start);
 
 		Integer i = parseInt(b);
 
@@ -215,12 +230,13 @@ public class Buffer implements Recyclable,
 		}
 
 		b.snapshot();
+		int pos = b.position();
 		int len = b.remaining();
 
 		int num = 0;
 		int dec = 1;
-		for(int i = (b.position + len); i > b.position; ) {
-			char c = (char)b.buffer.get(--i);
+		for(int i = (pos + len); i > pos; ) {
+			char c = (char)b.get(--i);
 			num += Character.getNumericValue(c) * dec;
 			dec *= 10;
 		}
@@ -244,16 +260,16 @@ public class Buffer implements Recyclable,
 	 * @return The long value or {@literal null} if the {@literal Buffer} could not be read.
 	 */
 	public static Long parseLong(Buffer b, int start, int end) {
-		int origPos = b.buffer.position();
-		int origLimit = b.buffer.limit();
+		int origPos = b.position();
+		int origLimit = b.limit();
 
-		b.buffer.position(start);
-		b.buffer.limit(end);
+		b.limit(end);
+		b.position(start);
 
 		Long l = parseLong(b);
 
-		b.buffer.position(origPos);
-		b.buffer.limit(origLimit);
+		b.limit(origLimit);
+		b.position(origPos);
 
 		return l;
 	}
@@ -271,26 +287,32 @@ public class Buffer implements Recyclable,
 		if(b.remaining() == 0) {
 			return null;
 		}
-		ByteBuffer bb = b.buffer;
-		int origPos = bb.position();
-		int len = bb.remaining();
+		int len = b.remaining();
 
 		long num = 0;
 		int dec = 1;
 		for(int i = len; i > 0; ) {
-			char c = (char)bb.get(--i);
+			char c = (char)b.get(--i);
 			num += Character.getNumericValue(c) * dec;
 			dec *= 10;
 		}
 
-		bb.position(origPos);
-
 		return num;
 	}
 
+	/**
+	 * Reset this buffer for reuse. When {@link #POOLED_BUFFERS pooling} is enabled, a dynamic buffer instead gives its
+	 * storage back to the current thread arena and will take new storage on the next write.
+	 */
 	@Override
 	public void recycle() {
-		if(null != buffer) {
+		if(pooled) {
+			BufferArena.release(buffer);
+			buffer = null;
+			pooled = false;
+			position = 0;
+			limit = 0;
+		} else if(null != buffer) {
 			buffer.position(0);
 			position = 0;
 			limit = buffer.capacity();
@@ -509,7 +531,11 @@ public class Buffer implements Recyclable,
 		if(null == b) {
 			return this;
 		}
-		return prepend(b.buffer);
+		int from = b.position();
+		int len = b.remaining();
+		prepend(b.byteBuffer());
+		b.position(from + len);
+		return this;
 	}
 
 	/**
@@ -733,11 +759,15 @@ public class Buffer implements Recyclable,
 	public Buffer append(Buffer... buffers) {
 		for(Buffer b : buffers) {
 			int pos = (null == buffer ? 0 : buffer.position());
+			int from = b.position();
 			int len = b.remaining();
 			ensureCapacity(len);
-			if(b.byteBuffer() != null) {
-				buffer.put(b.byteBuffer());
+			ByteBuffer bb = b.byteBuffer();
+			if(bb != null) {
+				buffer.put(bb);
 				buffer.position(pos + len);
+				// the bytes of a CompositeBuffer may have been gathered in a copy, consume them explicitly
+				b.position(from + len);
 			}
 		}
 		return this;
@@ -786,7 +816,7 @@ public class Buffer implements Recyclable,
 	 * @return {@literal this}
 	 */
 	public Buffer append(byte[] b, int start, int len) {
-		ensureCapacity(b.length);
+		ensureCapacity(len);
 		buffer.put(b, start, len);
 		return this;
 	}
@@ -1047,6 +1077,16 @@ public class Buffer implements Recyclable,
 		return new BufferInputStream();
 	}
 
+	/**
+	 * Create an {@link OutputStream} appending the bytes written to it to this buffer, so that a serializer can write
+	 * straight into it.
+	 *
+	 * @return A new {@link OutputStream}.
+	 */
+	public OutputStream outputStream() {
+		return new BufferOutputStream();
+	}
+
 	/**
 	 * Create a copy of the given range.
 	 *
@@ -1121,21 +1161,15 @@ public class Buffer implements Recyclable,
 	 * @return A {@link List} of {@link View Views} that point to the segments of this buffer.
 	 */
 	public List<View> split(List<View> views, int delimiter, boolean stripDelimiter) {
-		snapshot();
-
-		int start = this.position;
-		for(byte b : this) {
-			if(b == delimiter) {
-				int end = stripDelimiter ? buffer.position() - 1 : buffer.position();
-				views.add(createView(start, end));
-				start = end + (stripDelimiter ? 1 : 0);
-			}
-		}
-		if(start != buffer.position()) {
-			buffer.position(start);
+		int start = buffer.position();
+		int limit = buffer.limit();
+		int index;
+		while((index = DelimiterScanner.indexOf(buffer, start, limit, (byte)delimiter)) >= 0) {
+			views.add(new View(start, stripDelimiter ? index : index + 1));
+			start = index + 1;
 		}
-
-		reset();
+		buffer.position(start);
+		snapshot();
 
 		return views;
 	}
@@ -1244,18 +1278,11 @@ public class Buffer implements Recyclable,
 	 */
 	public int indexOf(byte b, int start, int end) {
 		snapshot();
-		if(buffer.position() != start) {
-			buffer.position(start);
+		if(start < 0 || start > buffer.limit()) {
+			throw new IllegalArgumentException("Start " + start + " is out of bounds");
 		}
-		int pos = -1;
-		while(buffer.hasRemaining() && buffer.position() < end) {
-			if(buffer.get() == b) {
-				pos = buffer.position();
-				break;
-			}
-		}
-		reset();
-		return pos;
+		int index = DelimiterScanner.indexOf(buffer, start, Math.min(end, buffer.limit()), b);
+		return (index < 0 ? -1 : index + 1);
 	}
 
 	/**
@@ -1331,12 +1358,28 @@ public class Buffer implements Recyclable,
 
 	@Override
 	public int compareTo(Buffer buffer) {
-		return (null != buffer ? this.buffer.compareTo(buffer.buffer) : -1);
+		return (null != buffer ? this.buffer.compareTo(buffer.byteBuffer()) : -1);
+	}
+
+	/**
+	 * Read the {@code byte} at the given index without moving the position.
+	 */
+	byte get(int index) {
+		return buffer.get(index);
 	}
 
-	private synchronized void ensureCapacity(int atLeast) {
+	/**
+	 * Record the indexes of the delimiters found between the position and the limit.
+	 */
+	void scan(DelimiterScanner scanner, byte delimiter) {
+		if(null != buffer) {
+			scanner.scan(buffer, buffer.position(), buffer.limit(), delimiter, 0);
+		}
+	}
+
+	private void ensureCapacity(int atLeast) {
 		if(null == buffer) {
-			buffer = ByteBuffer.allocate(SMALL_BUFFER_SIZE);
+			buffer = allocate(Math.max(atLeast, SMALL_BUFFER_SIZE), false);
 			return;
 		}
 		int pos = buffer.position();
@@ -1345,12 +1388,12 @@ public class Buffer implements Recyclable,
 			if(buffer.limit() < cap) {
 				// there's remaining capacity that hasn't been used yet
 				if(pos + atLeast > cap) {
-					expand();
+					expand(pos + atLeast);
 					cap = buffer.capacity();
 				}
 				buffer.limit(Math.min(pos + atLeast, cap));
 			} else {
-				expand();
+				expand(pos + atLeast);
 				buffer.limit(buffer.capacity());
 			}
 		} else if(pos + SMALL_BUFFER_SIZE > MAX_BUFFER_SIZE) {
@@ -1358,15 +1401,39 @@ public class Buffer implements Recyclable,
 		}
 	}
 
-	private void expand() {
+	/**
+	 * Grow the storage to at least {@code required} bytes, doubling the current capacity so that appending {@code n}
+	 * bytes one chunk at a time only copies O(n) bytes overall.
+	 */
+	private void expand(int required) {
+		if(required > MAX_BUFFER_SIZE) {
+			throw new BufferOverflowException();
+		}
+		int capacity = Math.max(buffer.capacity(), 1);
+		while(capacity < required) {
+			capacity = capacity > MAX_BUFFER_SIZE >> 1 ? MAX_BUFFER_SIZE : capacity << 1;
+		}
+
 		snapshot();
-		ByteBuffer newBuff = (buffer.isDirect()
-		                      ? ByteBuffer.allocateDirect(buffer.limit() + SMALL_BUFFER_SIZE)
-		                      : ByteBuffer.allocate(buffer.limit() + SMALL_BUFFER_SIZE));
-		buffer.flip();
-		newBuff.put(buffer);
+		ByteBuffer oldBuff = buffer;
+		boolean oldPooled = pooled;
+		ByteBuffer newBuff = allocate(capacity, oldBuff.isDirect());
+		oldBuff.flip();
+		newBuff.put(oldBuff);
 		buffer = newBuff;
 		reset();
+		if(oldPooled) {
+			BufferArena.release(oldBuff);
+		}
+	}
+
+	private ByteBuffer allocate(int capacity, boolean direct) {
+		if(dynamic && POOLED_BUFFERS) {
+			pooled = true;
+			return BufferArena.allocate(capacity, direct);
+		}
+		pooled = false;
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
 	}
 
 	private String decode() {
@@ -1494,6 +1561,18 @@ public class Buffer implements Recyclable,
 		}
 	}
 
+	private class BufferOutputStream extends OutputStream {
+		@Override
+		public void write(int b) throws IOException {
+			append((byte)b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			append(b, off, len);
+		}
+	}
+
 	/**
 	 * A {@literal View} represents a segment of a buffer. When {@link #get()} is called, the {@literal Buffer} is set to
 	 * the correct start and end points as given at creation time. After the view has been used, it is the responsibility
@@ -1504,7 +1583,7 @@ public class Buffer implements Recyclable,
 		private final int start;
 		private final int end;
 
-		private View(int start, int end) {
+		View(int start, int end) {
 			this.start = start;
 			this.end = end;
 		}
@@ -1529,8 +1608,8 @@ public class Buffer implements Recyclable,
 
 		@Override
 		public Buffer get() {
-			buffer.limit(end);
-			buffer.position(start);
+			limit(end);
+			position(start);
 			return Buffer.this;
 		}
 	}
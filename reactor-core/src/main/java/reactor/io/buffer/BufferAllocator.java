@@ -25,7 +25,9 @@ import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
- * An {@link reactor.core.alloc.Allocator} implementation that allocates {@link Buffer Buffers}.
+ * An {@link reactor.core.alloc.Allocator} implementation that allocates {@link Buffer Buffers}. Direct buffers are
+ * handed out by a {@link DirectBufferAllocator} so that their memory stays under {@link
+ * DirectBufferAllocator#DEFAULT_MAX_MEMORY}.
  *
  * @author Jon Brisbin
  */
@@ -46,22 +48,29 @@ public class BufferAllocator implements Allocator<Buffer> {
 	 * @param poolSize
 	 * 		The number of Buffers to keep on hand.
 	 * @param direct
-	 * 		Whether or not to use direct buffers.
+	 * 		Whether or not to use direct buffers, pooled by a {@link DirectBufferAllocator}.
 	 * @param bufferSize
 	 * 		The size of the buffers.
 	 */
-	public BufferAllocator(int poolSize, final boolean direct, final int bufferSize) {
-		this.delegate = new ReferenceCountingAllocator<Buffer>(
-				poolSize,
-				new Supplier<Buffer>() {
-					@Override
-					public Buffer get() {
-						return new Buffer(direct
-						                  ? ByteBuffer.allocateDirect(bufferSize)
-						                  : ByteBuffer.allocate(bufferSize));
+	public BufferAllocator(int poolSize, boolean direct, final int bufferSize) {
+		if (direct) {
+			this.delegate = new DirectBufferAllocator(
+					bufferSize,
+					poolSize,
+					Math.max(DirectBufferAllocator.DEFAULT_MAX_MEMORY, bufferSize),
+					DirectBufferAllocator.DEFAULT_LEAK_DETECTION_INTERVAL
+			);
+		} else {
+			this.delegate = new ReferenceCountingAllocator<Buffer>(
+					poolSize,
+					new Supplier<Buffer>() {
+						@Override
+						public Buffer get() {
+							return new Buffer(ByteBuffer.allocate(bufferSize));
+						}
 					}
-				}
-		);
+			);
+		}
 	}
 
 	@Override
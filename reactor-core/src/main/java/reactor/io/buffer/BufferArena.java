@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Per-thread cache of the {@link ByteBuffer ByteBuffers} backing dynamic {@link Buffer Buffers} when pooling is enabled
+ * with the {@code reactor.io.pooledBuffers} system property.
+ *
+ * Capacities are rounded up to size classes doubling from {@link Buffer#SMALL_BUFFER_SIZE}, each class keeping at most
+ * {@link #SLOTS_PER_CLASS} heap and as many direct buffers. Buffers larger than the last class are neither rounded up
+ * nor cached.
+ */
+final class BufferArena {
+
+	static final int SIZE_CLASSES    = 7;
+	static final int SLOTS_PER_CLASS = 4;
+
+	private static final ThreadLocal<BufferArena> ARENAS = new ThreadLocal<BufferArena>() {
+		@Override
+		protected BufferArena initialValue() {
+			return new BufferArena();
+		}
+	};
+
+	private final ByteBuffer[][] heap        = new ByteBuffer[SIZE_CLASSES][SLOTS_PER_CLASS];
+	private final ByteBuffer[][] direct      = new ByteBuffer[SIZE_CLASSES][SLOTS_PER_CLASS];
+	private final int[]          heapCount   = new int[SIZE_CLASSES];
+	private final int[]          directCount = new int[SIZE_CLASSES];
+
+	private BufferArena() {
+	}
+
+	/**
+	 * Take a cleared buffer of at least {@code capacity} bytes from the current thread arena, or allocate one.
+	 *
+	 * @param capacity the minimum capacity
+	 * @param isDirect whether to allocate direct memory
+	 * @return a buffer whose position is 0 and limit its capacity
+	 */
+	static ByteBuffer allocate(int capacity, boolean isDirect) {
+		int sizeClass = sizeClass(capacity);
+		if (sizeClass < 0) {
+			return isDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		}
+		return ARENAS.get().take(sizeClass, isDirect);
+	}
+
+	/**
+	 * Give a buffer taken with {@link #allocate(int, boolean)} back to the current thread arena. The caller must not use
+	 * it, nor any view of it, afterwards.
+	 *
+	 * @param buffer the buffer to give back
+	 */
+	static void release(ByteBuffer buffer) {
+		int sizeClass = sizeClass(buffer.capacity());
+		if (sizeClass >= 0 && classCapacity(sizeClass) == buffer.capacity()) {
+			ARENAS.get().give(sizeClass, buffer);
+		}
+	}
+
+	/**
+	 * @return the index of the smallest size class holding {@code capacity} bytes, or -1 if it is too large
+	 */
+	static int sizeClass(int capacity) {
+		int sizeClass = 0;
+		while (sizeClass < SIZE_CLASSES && classCapacity(sizeClass) < capacity) {
+			sizeClass++;
+		}
+		return sizeClass < SIZE_CLASSES ? sizeClass : -1;
+	}
+
+	static int classCapacity(int sizeClass) {
+		return Buffer.SMALL_BUFFER_SIZE << sizeClass;
+	}
+
+	private ByteBuffer take(int sizeClass, boolean isDirect) {
+		ByteBuffer[][] slots = isDirect ? direct : heap;
+		int[] counts = isDirect ? directCount : heapCount;
+
+		int count = counts[sizeClass];
+		if (count == 0) {
+			int capacity = classCapacity(sizeClass);
+			return isDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		}
+
+		ByteBuffer buffer = slots[sizeClass][--count];
+		slots[sizeClass][count] = null;
+		counts[sizeClass] = count;
+		return buffer;
+	}
+
+	private void give(int sizeClass, ByteBuffer buffer) {
+		ByteBuffer[][] slots = buffer.isDirect() ? direct : heap;
+		int[] counts = buffer.isDirect() ? directCount : heapCount;
+
+		int count = counts[sizeClass];
+		if (count < SLOTS_PER_CLASS) {
+			buffer.clear();
+			slots[sizeClass][count] = buffer;
+			counts[sizeClass] = count + 1;
+		}
+	}
+
+}
@@ -0,0 +1,923 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import reactor.core.support.Assert;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Buffer} made of several {@link ByteBuffer ByteBuffers} read one after the other, such as the chunks of a
+ * message received over several network reads. Appending, prepending and slicing only reference the given storage,
+ * bytes are never copied to make room or to join the components.
+ *
+ * The whole read API works across component boundaries: {@link #readInt()} and friends, {@link #indexOf(byte)},
+ * {@link #split(int) split} and the {@link Buffer.View Views} it returns. Only {@link #byteBuffer()},
+ * {@link #asString()} and {@link #copy()} have to gather the bytes of a range spanning several components, a range
+ * held by a single component is still exposed without a copy.
+ *
+ * A {@literal CompositeBuffer} is always ready to be read: its content starts at 0, appending extends the limit when it
+ * was at the end of the content and {@link #flip()} makes the whole content readable again. The storage handed to it
+ * must not be modified while it is referenced.
+ */
+@NotThreadSafe
+public class CompositeBuffer extends Buffer {
+
+	private static final Charset    UTF8  = Charset.forName("UTF-8");
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	// the components, each one sliced so that its content lies between 0 and its limit
+	private ByteBuffer[] components = new ByteBuffer[4];
+	// the index, within this buffer, of the first byte of each component
+	private int[]        offsets    = new int[4];
+	private int          count;
+	private int          capacity;
+	private int          position;
+	private int          limit;
+	private int          savedPosition;
+	private int          savedLimit;
+	// the component found by the last lookup, sequential reads mostly hit it again
+	private int          current;
+
+	/**
+	 * Create an empty {@literal CompositeBuffer}.
+	 */
+	public CompositeBuffer() {
+	}
+
+	/**
+	 * Create a {@literal CompositeBuffer} reading the remaining bytes of the given {@link ByteBuffer ByteBuffers} in
+	 * order.
+	 *
+	 * @param buffers
+	 * 		The {@link ByteBuffer ByteBuffers} to reference.
+	 */
+	public CompositeBuffer(ByteBuffer... buffers) {
+		append(buffers);
+	}
+
+	/**
+	 * The number of {@link ByteBuffer ByteBuffers} this buffer is made of.
+	 *
+	 * @return The number of components.
+	 */
+	public int componentCount() {
+		return count;
+	}
+
+	@Override
+	public void recycle() {
+		Arrays.fill(components, 0, count, null);
+		count = 0;
+		capacity = 0;
+		position = 0;
+		limit = 0;
+		current = 0;
+	}
+
+	@Override
+	public int position() {
+		return position;
+	}
+
+	@Override
+	public CompositeBuffer position(int pos) {
+		if(pos < 0 || pos > limit) {
+			throw new IllegalArgumentException("position " + pos + " is not within [0, " + limit + "]");
+		}
+		position = pos;
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer limit(int limit) {
+		if(limit < 0 || limit > capacity) {
+			throw new IllegalArgumentException("limit " + limit + " is not within [0, " + capacity + "]");
+		}
+		this.limit = limit;
+		if(position > limit) {
+			position = limit;
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer skip(int len) {
+		if(len < 0) {
+			throw new IllegalArgumentException("len must >= 0");
+		}
+		if(len > remaining()) {
+			throw new BufferUnderflowException();
+		}
+		position += len;
+		return this;
+	}
+
+	@Override
+	public int limit() {
+		return limit;
+	}
+
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public int remaining() {
+		return limit - position;
+	}
+
+	@Override
+	public CompositeBuffer clear() {
+		position = 0;
+		limit = capacity;
+		return this;
+	}
+
+	/**
+	 * Drop the bytes before the current position. The components that have been read are released and the one
+	 * holding the position is sliced, nothing is copied. The position is then 0.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public CompositeBuffer compact() {
+		if(position == 0) {
+			return this;
+		}
+		int first = position == capacity ? count : locate(position);
+		int dropped = first < count ? offsets[first] : capacity;
+		int kept = count - first;
+		System.arraycopy(components, first, components, 0, kept);
+		Arrays.fill(components, kept, count, null);
+		count = kept;
+		current = 0;
+		if(position > dropped) {
+			components[0] = region(components[0], position - dropped, components[0].limit());
+		}
+		capacity -= position;
+		limit -= position;
+		position = 0;
+		updateOffsets(0);
+		return this;
+	}
+
+	/**
+	 * Make the whole content readable from the start, since appending to a {@literal CompositeBuffer} does not move its
+	 * position.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public CompositeBuffer flip() {
+		return clear();
+	}
+
+	@Override
+	public CompositeBuffer rewind() {
+		position = 0;
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer rewind(int len) {
+		if(len < 0) {
+			throw new IllegalArgumentException("len must >= 0");
+		}
+		if(len > position) {
+			throw new BufferUnderflowException();
+		}
+		position -= len;
+		return this;
+	}
+
+	/**
+	 * Create a new {@literal CompositeBuffer} sharing the components of this one, with its own position and limit.
+	 *
+	 * @return the new {@literal CompositeBuffer}
+	 */
+	@Override
+	public CompositeBuffer duplicate() {
+		CompositeBuffer b = new CompositeBuffer();
+		b.components = Arrays.copyOf(components, components.length);
+		b.offsets = Arrays.copyOf(offsets, offsets.length);
+		b.count = count;
+		b.capacity = capacity;
+		b.position = position;
+		b.limit = limit;
+		return b;
+	}
+
+	@Override
+	public Buffer copy() {
+		return new Buffer(gather(position, limit));
+	}
+
+	@Override
+	public CompositeBuffer prepend(Buffer b) {
+		if(null == b) {
+			return this;
+		}
+		if(b instanceof CompositeBuffer) {
+			CompositeBuffer composite = (CompositeBuffer)b;
+			int at = position;
+			for(int i = composite.count - 1; i >= 0; i--) {
+				int start = Math.max(composite.position - composite.offsets[i], 0);
+				int end = Math.min(composite.limit - composite.offsets[i], composite.components[i].limit());
+				if(start < end) {
+					insert(at, region(composite.components[i], start, end));
+				}
+			}
+			composite.position = composite.limit;
+			return this;
+		}
+		if(null != b.byteBuffer()) {
+			prepend(b.byteBuffer());
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer prepend(byte[] bytes) {
+		return prepend(ByteBuffer.wrap(bytes));
+	}
+
+	@Override
+	public CompositeBuffer prepend(ByteBuffer b) {
+		if(null != b && b.hasRemaining()) {
+			insert(position, b.slice());
+			b.position(b.limit());
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer prepend(byte b) {
+		return prepend((ByteBuffer)ByteBuffer.allocate(1).put(b).flip());
+	}
+
+	@Override
+	public CompositeBuffer prepend(char c) {
+		return prepend((ByteBuffer)ByteBuffer.allocate(2).putChar(c).flip());
+	}
+
+	@Override
+	public CompositeBuffer prepend(short s) {
+		return prepend((ByteBuffer)ByteBuffer.allocate(2).putShort(s).flip());
+	}
+
+	@Override
+	public CompositeBuffer prepend(int i) {
+		return prepend((ByteBuffer)ByteBuffer.allocate(4).putInt(i).flip());
+	}
+
+	@Override
+	public CompositeBuffer prepend(long l) {
+		return prepend((ByteBuffer)ByteBuffer.allocate(8).putLong(l).flip());
+	}
+
+	@Override
+	public CompositeBuffer append(String s) {
+		return append(s.getBytes());
+	}
+
+	@Override
+	public CompositeBuffer append(short s) {
+		return append((ByteBuffer)ByteBuffer.allocate(2).putShort(s).flip());
+	}
+
+	@Override
+	public CompositeBuffer append(int i) {
+		return append((ByteBuffer)ByteBuffer.allocate(4).putInt(i).flip());
+	}
+
+	@Override
+	public CompositeBuffer append(long l) {
+		return append((ByteBuffer)ByteBuffer.allocate(8).putLong(l).flip());
+	}
+
+	@Override
+	public CompositeBuffer append(char c) {
+		return append((ByteBuffer)ByteBuffer.allocate(2).putChar(c).flip());
+	}
+
+	/**
+	 * Reference the remaining bytes of the given {@link ByteBuffer ByteBuffers} after the current content. Like {@link
+	 * Buffer#append(ByteBuffer...)}, the given buffers are then consumed but their content is not copied.
+	 *
+	 * @param buffers
+	 * 		The {@link ByteBuffer ByteBuffers} to append.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public CompositeBuffer append(ByteBuffer... buffers) {
+		for(ByteBuffer bb : buffers) {
+			if(bb.hasRemaining()) {
+				add(bb.slice());
+				bb.position(bb.limit());
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Reference the remaining bytes of the given {@link Buffer Buffers} after the current content. The components of a
+	 * {@literal CompositeBuffer} are referenced one by one. Like {@link Buffer#append(Buffer...)}, the given buffers are
+	 * then consumed but their content is not copied.
+	 *
+	 * @param buffers
+	 * 		The {@link Buffer Buffers} to append.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public CompositeBuffer append(Buffer... buffers) {
+		for(Buffer b : buffers) {
+			if(b instanceof CompositeBuffer) {
+				CompositeBuffer composite = (CompositeBuffer)b;
+				for(int i = 0; i < composite.count; i++) {
+					int start = Math.max(composite.position - composite.offsets[i], 0);
+					int end = Math.min(composite.limit - composite.offsets[i], composite.components[i].limit());
+					if(start < end) {
+						add(region(composite.components[i], start, end));
+					}
+				}
+				composite.position = composite.limit;
+			} else if(null != b.byteBuffer()) {
+				append(b.byteBuffer());
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeBuffer append(byte b) {
+		return append((ByteBuffer)ByteBuffer.allocate(1).put(b).flip());
+	}
+
+	@Override
+	public CompositeBuffer append(byte[] b) {
+		return append(ByteBuffer.wrap(b));
+	}
+
+	@Override
+	public CompositeBuffer append(byte[] b, int start, int len) {
+		return append(ByteBuffer.wrap(b, start, len));
+	}
+
+	@Override
+	public byte first() {
+		if(capacity == 0) {
+			throw new BufferUnderflowException();
+		}
+		return get(0);
+	}
+
+	@Override
+	public byte last() {
+		if(limit == 0) {
+			throw new BufferUnderflowException();
+		}
+		return get(limit - 1);
+	}
+
+	@Override
+	public byte read() {
+		return get(advance(1));
+	}
+
+	@Override
+	public CompositeBuffer read(byte[] b) {
+		int index = advance(b.length);
+		copy(index, index + b.length, ByteBuffer.wrap(b));
+		return this;
+	}
+
+	@Override
+	public short readShort() {
+		return (short)getNumber(advance(2), 2);
+	}
+
+	@Override
+	public int readInt() {
+		return (int)getNumber(advance(4), 4);
+	}
+
+	@Override
+	public float readFloat() {
+		return Float.intBitsToFloat((int)getNumber(advance(4), 4));
+	}
+
+	@Override
+	public double readDouble() {
+		return Double.longBitsToDouble(getNumber(advance(8), 8));
+	}
+
+	@Override
+	public long readLong() {
+		return getNumber(advance(8), 8);
+	}
+
+	@Override
+	public char readChar() {
+		return (char)getNumber(advance(2), 2);
+	}
+
+	@Override
+	public void snapshot() {
+		savedPosition = position;
+		savedLimit = limit;
+	}
+
+	@Override
+	public CompositeBuffer reset() {
+		limit = Math.min(savedLimit, capacity);
+		position = Math.min(savedPosition, limit);
+		return this;
+	}
+
+	@Override
+	public Iterator<Byte> iterator() {
+		return new Iterator<Byte>() {
+			@Override
+			public boolean hasNext() {
+				return position < limit;
+			}
+
+			@Override
+			public Byte next() {
+				if(position >= limit) {
+					throw new NoSuchElementException();
+				}
+				return read();
+			}
+
+			@Override
+			public void remove() {
+				// NO-OP
+			}
+		};
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		int len = Math.min(dst.remaining(), remaining());
+		copy(position, position + len, dst);
+		position += len;
+		return len;
+	}
+
+	/**
+	 * Copy the remaining bytes of {@code src}, since a channel may reuse it once this method returns.
+	 */
+	@Override
+	public int write(ByteBuffer src) throws IOException {
+		int len = src.remaining();
+		ByteBuffer bb = ByteBuffer.allocate(len);
+		bb.put(src).flip();
+		add(bb);
+		return len;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return true;
+	}
+
+	@Override
+	public String asString() {
+		return UTF8.decode(byteBuffer()).toString();
+	}
+
+	@Override
+	public String substring(int start, int end) {
+		return UTF8.decode(window(start, end > start ? end : limit)).toString();
+	}
+
+	@Override
+	public byte[] asBytes() {
+		byte[] b = new byte[remaining()];
+		copy(position, limit, ByteBuffer.wrap(b));
+		return b;
+	}
+
+	/**
+	 * Create an {@link OutputStream} appending a copy of the bytes written to it, since a writer usually reuses the array
+	 * it writes from.
+	 *
+	 * @return A new {@link OutputStream}.
+	 */
+	@Override
+	public OutputStream outputStream() {
+		return new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				append((byte)b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				append(Arrays.copyOfRange(b, off, off + len));
+			}
+		};
+	}
+
+	@Override
+	public InputStream inputStream() {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				return position < limit ? CompositeBuffer.this.read() & 0xff : -1;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if(len == 0) {
+					return 0;
+				}
+				int read = Math.min(len, remaining());
+				if(read == 0) {
+					return -1;
+				}
+				CompositeBuffer.this.read(ByteBuffer.wrap(b, off, read));
+				return read;
+			}
+
+			@Override
+			public long skip(long n) throws IOException {
+				int skipped = (int)Math.min(Math.max(n, 0), remaining());
+				position += skipped;
+				return skipped;
+			}
+
+			@Override
+			public int available() throws IOException {
+				return remaining();
+			}
+		};
+	}
+
+	/**
+	 * Create a {@literal CompositeBuffer} referencing the given range of this buffer, nothing is copied.
+	 *
+	 * @param start
+	 * 		start of the range.
+	 * @param len
+	 * 		length of the range.
+	 *
+	 * @return A new {@literal CompositeBuffer} reading the given range.
+	 */
+	@Override
+	public CompositeBuffer slice(int start, int len) {
+		checkRange(start, start + len);
+		CompositeBuffer b = new CompositeBuffer();
+		if(len == 0) {
+			return b;
+		}
+		int end = start + len;
+		for(int i = locate(start); i < count && offsets[i] < end; i++) {
+			b.add(region(components[i], Math.max(start - offsets[i], 0),
+			            Math.min(end - offsets[i], components[i].limit())));
+		}
+		return b;
+	}
+
+	@Override
+	public List<View> split(List<View> views, int delimiter, boolean stripDelimiter) {
+		int start = position;
+		int index;
+		while((index = find((byte)delimiter, start, limit)) >= 0) {
+			views.add(new View(start, stripDelimiter ? index : index + 1));
+			start = index + 1;
+		}
+		// like Buffer, leave the position after the last delimiter
+		position = start;
+		return views;
+	}
+
+	@Override
+	public Iterable<View> split(List<View> views, Buffer delimiter, boolean stripDelimiter) {
+		byte[] delimBytes = delimiter.asBytes();
+		if(delimBytes.length == 0) {
+			return Collections.emptyList();
+		}
+
+		int start = position;
+		int from = position;
+		int index;
+		while((index = find(delimBytes[0], from, limit)) >= 0) {
+			int end = index + delimBytes.length;
+			if(end > limit) {
+				break;
+			}
+			boolean match = true;
+			for(int i = 1; i < delimBytes.length && match; i++) {
+				match = get(index + i) == delimBytes[i];
+			}
+			if(match) {
+				views.add(new View(start, stripDelimiter ? index : end));
+				start = end;
+				from = end;
+			} else {
+				from = index + 1;
+			}
+		}
+		position = start;
+		return views;
+	}
+
+	@Override
+	public int indexOf(byte b) {
+		return indexOf(b, position, limit);
+	}
+
+	/**
+	 * Search the buffer for the given {@code byte} between the start and end positions.
+	 *
+	 * @param b
+	 * 		the {@code byte} to search for
+	 * @param start
+	 * 		the position to start searching
+	 * @param end
+	 * 		the position at which to stop searching
+	 *
+	 * @return like {@link Buffer#indexOf(byte, int, int)}, the position right after the {@code byte} or {@code -1} if it
+	 * is not found
+	 */
+	@Override
+	public int indexOf(byte b, int start, int end) {
+		int index = find(b, start, Math.min(end, limit));
+		return index < 0 ? -1 : index + 1;
+	}
+
+	@Override
+	public View createView() {
+		return new View(position, limit);
+	}
+
+	@Override
+	public View createView(int start, int end) {
+		return new View(start, end);
+	}
+
+	@Override
+	public List<View> slice(int... positions) {
+		Assert.notNull(positions, "Positions cannot be null.");
+		if(positions.length == 0) {
+			return Collections.emptyList();
+		}
+
+		List<View> views = new ArrayList<View>();
+		int len = positions.length;
+		for(int i = 0; i < len; i++) {
+			int start = positions[i];
+			int end = (i + 1 < len ? positions[++i] : limit);
+			views.add(new View(start, end));
+		}
+		return views;
+	}
+
+	/**
+	 * Expose the bytes between the position and the limit as a single {@link ByteBuffer}. It is a view of the
+	 * component holding them if there is one, otherwise the bytes are gathered into a new {@link ByteBuffer}. Either way
+	 * moving its position does not move the position of this buffer.
+	 *
+	 * @return The readable bytes.
+	 */
+	@Override
+	public ByteBuffer byteBuffer() {
+		return window(position, limit);
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeBuffer[pos=" + position + " lim=" + limit + " cap=" + capacity + " components=" + count + "]";
+	}
+
+	@Override
+	public int compareTo(Buffer buffer) {
+		return (null != buffer ? byteBuffer().compareTo(buffer.byteBuffer()) : -1);
+	}
+
+	@Override
+	byte get(int index) {
+		int i = locate(index);
+		return components[i].get(index - offsets[i]);
+	}
+
+	@Override
+	void scan(DelimiterScanner scanner, byte delimiter) {
+		if(position == limit) {
+			return;
+		}
+		for(int i = locate(position); i < count && offsets[i] < limit; i++) {
+			ByteBuffer component = components[i];
+			int offset = offsets[i];
+			scanner.scan(component, Math.max(position - offset, 0), Math.min(limit - offset, component.limit()), delimiter,
+			             offset);
+		}
+	}
+
+	private long getNumber(int index, int size) {
+		int i = locate(index);
+		ByteBuffer component = components[i];
+		int local = index - offsets[i];
+		if(local + size <= component.limit()) {
+			switch(size) {
+				case 2:
+					return component.getShort(local);
+				case 4:
+					return component.getInt(local);
+				default:
+					return component.getLong(local);
+			}
+		}
+		// the value is split between components, assemble it big-endian like ByteBuffer does
+		long value = 0;
+		for(int n = 0; n < size; n++) {
+			value = (value << 8) | (get(index + n) & 0xff);
+		}
+		return value;
+	}
+
+	private int advance(int len) {
+		if(len > remaining()) {
+			throw new BufferUnderflowException();
+		}
+		int index = position;
+		position += len;
+		return index;
+	}
+
+	private int find(byte b, int start, int end) {
+		if(start >= end) {
+			return -1;
+		}
+		for(int i = locate(start); i < count && offsets[i] < end; i++) {
+			ByteBuffer component = components[i];
+			int offset = offsets[i];
+			int local = DelimiterScanner.indexOf(component, Math.max(start - offset, 0),
+			                                     Math.min(end - offset, component.limit()), b);
+			if(local >= 0) {
+				return offset + local;
+			}
+		}
+		return -1;
+	}
+
+	private ByteBuffer window(int start, int end) {
+		checkRange(start, end);
+		if(start == end) {
+			return EMPTY.duplicate();
+		}
+		int i = locate(start);
+		int local = start - offsets[i];
+		if(local + end - start <= components[i].limit()) {
+			ByteBuffer bb = components[i].duplicate();
+			bb.limit(local + end - start);
+			bb.position(local);
+			return bb;
+		}
+		return gather(start, end);
+	}
+
+	private ByteBuffer gather(int start, int end) {
+		checkRange(start, end);
+		ByteBuffer bb = ByteBuffer.allocate(end - start);
+		copy(start, end, bb);
+		bb.flip();
+		return bb;
+	}
+
+	private void copy(int start, int end, ByteBuffer dst) {
+		if(start == end) {
+			return;
+		}
+		for(int i = locate(start); i < count && offsets[i] < end; i++) {
+			ByteBuffer src = components[i].duplicate();
+			src.limit(Math.min(end - offsets[i], src.limit()));
+			src.position(Math.max(start - offsets[i], 0));
+			dst.put(src);
+		}
+	}
+
+	private void checkRange(int start, int end) {
+		if(start < 0 || start > end || end > capacity) {
+			throw new IndexOutOfBoundsException("[" + start + ", " + end + "] is not within [0, " + capacity + "]");
+		}
+	}
+
+	private int locate(int index) {
+		if(index < 0 || index >= capacity) {
+			throw new IndexOutOfBoundsException("index " + index + " is not within [0, " + capacity + ")");
+		}
+		int i = current;
+		if(index >= offsets[i] && index < offsets[i] + components[i].limit()) {
+			return i;
+		}
+		if(i + 1 < count && index >= offsets[i + 1] && index < offsets[i + 1] + components[i + 1].limit()) {
+			return current = i + 1;
+		}
+		int low = 0;
+		int high = count - 1;
+		while(low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if(offsets[mid] <= index) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return current = low;
+	}
+
+	private void add(ByteBuffer component) {
+		boolean openEnded = limit == capacity;
+		ensureComponents();
+		components[count] = component;
+		offsets[count] = capacity;
+		count++;
+		capacity += component.limit();
+		if(openEnded) {
+			limit = capacity;
+		}
+	}
+
+	private void insert(int index, ByteBuffer component) {
+		if(index == capacity) {
+			add(component);
+			return;
+		}
+		int i = locate(index);
+		int local = index - offsets[i];
+		if(local > 0) {
+			// split the component holding the index so that the new one goes in between
+			ByteBuffer head = components[i];
+			ensureComponents();
+			System.arraycopy(components, i + 1, components, i + 2, count - i - 1);
+			components[i] = region(head, 0, local);
+			components[i + 1] = region(head, local, head.limit());
+			count++;
+			i++;
+		}
+		ensureComponents();
+		System.arraycopy(components, i, components, i + 1, count - i);
+		components[i] = component;
+		count++;
+		capacity += component.limit();
+		limit += component.limit();
+		current = 0;
+		updateOffsets(i);
+	}
+
+	private void ensureComponents() {
+		if(count == components.length) {
+			components = Arrays.copyOf(components, count << 1);
+			offsets = Arrays.copyOf(offsets, count << 1);
+		}
+	}
+
+	private void updateOffsets(int from) {
+		int offset = from == 0 ? 0 : offsets[from - 1] + components[from - 1].limit();
+		for(int i = from; i < count; i++) {
+			offsets[i] = offset;
+			offset += components[i].limit();
+		}
+	}
+
+	private static ByteBuffer region(ByteBuffer component, int start, int end) {
+		ByteBuffer bb = component.duplicate();
+		bb.limit(end);
+		bb.position(start);
+		return bb.slice();
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Finds the occurrences of a single-byte delimiter in a {@link Buffer} eight bytes at a time and records their indexes
+ * in a reusable {@code int} array, so that framing a {@link Buffer} allocates neither {@link Buffer.View Views} nor the
+ * {@link java.util.List} holding them.
+ *
+ * Each {@code long} word read from the buffer is compared to the delimiter repeated eight times: the bytes equal to the
+ * delimiter become zero, and the zero bytes of the word are flagged at once with a few arithmetic operations. Only the
+ * bytes that do not fill a whole word are compared one by one.
+ *
+ * A scanner is meant to be owned by a single decoder and reused for every {@link Buffer} it frames:
+ * <pre>
+ * int count = scanner.scan(buffer, (byte)'\n');
+ * for(int i = 0; i &lt; count; i++) {
+ *   int index = scanner.offset(i);
+ *   ...
+ * }
+ * </pre>
+ */
+@NotThreadSafe
+public final class DelimiterScanner {
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+	private int[] offsets;
+	private int   count;
+
+	/**
+	 * Create a scanner with room for 16 delimiters before its offsets have to grow.
+	 */
+	public DelimiterScanner() {
+		this(16);
+	}
+
+	/**
+	 * Create a scanner with room for the given number of delimiters before its offsets have to grow.
+	 *
+	 * @param initialCapacity
+	 * 		the number of delimiters that can be recorded without growing
+	 */
+	public DelimiterScanner(int initialCapacity) {
+		this.offsets = new int[Math.max(initialCapacity, 1)];
+	}
+
+	/**
+	 * Find every occurrence of the delimiter between the position and the limit of the buffer. Neither the position nor
+	 * the limit of the buffer is moved. The offsets recorded by a previous scan are discarded.
+	 *
+	 * @param buffer
+	 * 		the buffer to scan
+	 * @param delimiter
+	 * 		the delimiter to look for
+	 *
+	 * @return the number of delimiters found
+	 */
+	public int scan(Buffer buffer, byte delimiter) {
+		count = 0;
+		buffer.scan(this, delimiter);
+		return count;
+	}
+
+	/**
+	 * Get the number of delimiters found by the last scan.
+	 *
+	 * @return the number of delimiters found
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Get the index, within the scanned buffer, of a delimiter found by the last scan. Offsets are in ascending order.
+	 *
+	 * @param i
+	 * 		the rank of the delimiter, between 0 and {@link #count()}
+	 *
+	 * @return the index of the delimiter
+	 */
+	public int offset(int i) {
+		if(i < 0 || i >= count) {
+			throw new IndexOutOfBoundsException("Delimiter " + i + " out of " + count);
+		}
+		return offsets[i];
+	}
+
+	/**
+	 * Find the first occurrence of the delimiter in the given range of a {@link ByteBuffer}, without moving its position.
+	 *
+	 * @param bb
+	 * 		the {@link ByteBuffer} to search
+	 * @param from
+	 * 		the index to start searching at
+	 * @param to
+	 * 		the index to stop searching at, excluded
+	 * @param delimiter
+	 * 		the delimiter to look for
+	 *
+	 * @return the index of the delimiter or {@code -1} if it is not found
+	 */
+	public static int indexOf(ByteBuffer bb, int from, int to, byte delimiter) {
+		long pattern = ONES * (delimiter & 0xff);
+		boolean bigEndian = bb.order() == ByteOrder.BIG_ENDIAN;
+		int i = from;
+		for(; i + 8 <= to; i += 8) {
+			long matches = matches(bb.getLong(i) ^ pattern);
+			if(matches != 0) {
+				return i + ((bigEndian ? Long.numberOfLeadingZeros(matches) : Long.numberOfTrailingZeros(matches)) >>> 3);
+			}
+		}
+		for(; i < to; i++) {
+			if(bb.get(i) == delimiter) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Record every occurrence of the delimiter in the given range of a {@link ByteBuffer}.
+	 *
+	 * @param base
+	 * 		the index, within the scanned {@link Buffer}, of the first byte of the {@link ByteBuffer}
+	 */
+	void scan(ByteBuffer bb, int from, int to, byte delimiter, int base) {
+		long pattern = ONES * (delimiter & 0xff);
+		boolean bigEndian = bb.order() == ByteOrder.BIG_ENDIAN;
+		int i = from;
+		for(; i + 8 <= to; i += 8) {
+			long matches = matches(bb.getLong(i) ^ pattern);
+			// a word may hold several delimiters, record them from the lowest index up
+			while(matches != 0) {
+				if(bigEndian) {
+					int zeros = Long.numberOfLeadingZeros(matches);
+					add(base + i + (zeros >>> 3));
+					matches ^= Long.MIN_VALUE >>> zeros;
+				} else {
+					add(base + i + (Long.numberOfTrailingZeros(matches) >>> 3));
+					matches &= matches - 1;
+				}
+			}
+		}
+		for(; i < to; i++) {
+			if(bb.get(i) == delimiter) {
+				add(base + i);
+			}
+		}
+	}
+
+	/**
+	 * Flag the zero bytes of a word: the high bit of each byte of the result is set if and only if that byte of the word
+	 * is zero. Unlike the cheaper {@code (x - ONES) & ~x & HIGHS} test, a byte following a zero byte is never flagged.
+	 */
+	private static long matches(long x) {
+		return ~(((x & LOWS) + LOWS) | x | LOWS);
+	}
+
+	private void add(int offset) {
+		if(count == offsets.length) {
+			offsets = Arrays.copyOf(offsets, count << 1);
+		}
+		offsets[count++] = offset;
+	}
+
+}
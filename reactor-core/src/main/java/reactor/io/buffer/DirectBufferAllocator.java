@@ -0,0 +1,649 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.alloc.Allocator;
+import reactor.core.alloc.Reference;
+import reactor.core.support.Assert;
+import reactor.fn.timer.TimeUtils;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link Allocator} of {@link Buffer Buffers} backed by direct memory, for when the off-heap usage must stay
+ * predictable.
+ *
+ * The memory backing a {@link Buffer} is rounded up to size classes doubling from {@link #MIN_CAPACITY}, while the
+ * {@link Buffer} itself is limited to the capacity asked for. A released buffer goes back to a small cache of the
+ * releasing thread, then to a pool shared by all threads, and is only dropped when both are full. Larger buffers are
+ * neither rounded up nor pooled.
+ *
+ * The direct memory held by the allocator, whether leased or idle, never exceeds its ceiling: idle buffers, including
+ * those cached by other threads, are dropped to make room and past that {@link #allocate(int)} waits up to {@link
+ * #DEFAULT_ALLOCATION_TIMEOUT} for memory to be released, while {@link #tryAllocate(int, long, TimeUnit)} waits as long
+ * as it is told to.
+ *
+ * Dropped memory is reclaimed by the garbage collector rather than freed explicitly, since a {@link Buffer} released
+ * too early may still reach it.
+ *
+ * Every {@link Reference} garbage collected before being released gives its memory back. One allocation out of {@code
+ * leakDetectionInterval} also records its call site, which is logged if it leaks.
+ */
+public class DirectBufferAllocator implements Allocator<Buffer> {
+
+	/**
+	 * The smallest capacity handed out, in bytes.
+	 */
+	public static final int MIN_CAPACITY = 4096;
+
+	/**
+	 * The default ceiling, in bytes, of the direct memory held by an allocator. Can be configured using the {@code
+	 * reactor.io.maxDirectMemory} system property. Defaults to half of the JVM direct memory limit.
+	 */
+	public static final long DEFAULT_MAX_MEMORY = Long.parseLong(
+			System.getProperty("reactor.io.maxDirectMemory", "" + defaultMaxMemory())
+	);
+
+	/**
+	 * How many allocations out of which one records its call site in case it leaks. Can be configured using the {@code
+	 * reactor.io.leakDetectionInterval} system property, {@literal 0} disables recording call sites. Defaults to 128.
+	 */
+	public static final int DEFAULT_LEAK_DETECTION_INTERVAL = Integer.parseInt(
+			System.getProperty("reactor.io.leakDetectionInterval", "128")
+	);
+
+	/**
+	 * How long, in milliseconds, {@link #allocate(int)} waits for memory at the ceiling before failing. Can be configured
+	 * using the {@code reactor.io.allocationTimeout} system property. Defaults to 30 seconds.
+	 */
+	public static final long DEFAULT_ALLOCATION_TIMEOUT = Long.parseLong(
+			System.getProperty("reactor.io.allocationTimeout", "30000")
+	);
+
+	static final int SIZE_CLASSES       = 12;
+	static final int THREAD_CACHE_SLOTS = 4;
+
+	// a waiting allocation trims again this often, for buffers cached by threads that did not see it waiting
+	private static final long TRIM_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private static final Logger log = LoggerFactory.getLogger(DirectBufferAllocator.class);
+
+	private static final AtomicIntegerFieldUpdater<DirectReference> REF_CNT =
+			AtomicIntegerFieldUpdater.newUpdater(DirectReference.class, "refCnt");
+
+	private final int  defaultCapacity;
+	private final int  poolSize;
+	private final long maxMemory;
+	private final int  leakDetectionInterval;
+
+	private final ReentrantLock            lock           = new ReentrantLock();
+	private final Condition                memoryReleased = lock.newCondition();
+	private final ArrayDeque<ByteBuffer>[] pools;
+	private final List<ThreadCache>        threadCaches   = new ArrayList<ThreadCache>();
+	private final ThreadLocal<ThreadCache> threadCache    = new ThreadLocal<ThreadCache>() {
+		@Override
+		protected ThreadCache initialValue() {
+			ThreadCache cache = new ThreadCache();
+			lock.lock();
+			try {
+				threadCaches.add(cache);
+			} finally {
+				lock.unlock();
+			}
+			return cache;
+		}
+	};
+
+	private final AtomicLong reserved    = new AtomicLong();
+	private final AtomicLong used        = new AtomicLong();
+	private final AtomicLong allocations = new AtomicLong();
+	private final AtomicLong leaks       = new AtomicLong();
+
+	private final Set<LeakTracker>                trackers = Collections.newSetFromMap(
+			new ConcurrentHashMap<LeakTracker, Boolean>()
+	);
+	private final ReferenceQueue<DirectReference> leaked   = new ReferenceQueue<DirectReference>();
+
+	private volatile int  waiters;
+	private volatile long rateSecond;
+	private volatile long rateSecondStart;
+	private volatile long lastSecondAllocations;
+
+	/**
+	 * Create a {@code DirectBufferAllocator} handing out {@link Buffer#SMALL_BUFFER_SIZE} bytes by default, pooling 256
+	 * buffers per size class within {@link #DEFAULT_MAX_MEMORY} bytes.
+	 */
+	public DirectBufferAllocator() {
+		this(Buffer.SMALL_BUFFER_SIZE, 256, DEFAULT_MAX_MEMORY, DEFAULT_LEAK_DETECTION_INTERVAL);
+	}
+
+	/**
+	 * Create a {@code DirectBufferAllocator}.
+	 *
+	 * @param defaultCapacity
+	 * 		The capacity of the buffers returned by {@link #allocate()}.
+	 * @param poolSize
+	 * 		The number of idle buffers to keep on hand per size class, besides the thread caches.
+	 * @param maxMemory
+	 * 		The ceiling of the direct memory held by this allocator, in bytes.
+	 * @param leakDetectionInterval
+	 * 		How many allocations out of which one records its call site, {@literal 0} to record none.
+	 */
+	@SuppressWarnings("unchecked")
+	public DirectBufferAllocator(int defaultCapacity, int poolSize, long maxMemory, int leakDetectionInterval) {
+		Assert.isTrue(defaultCapacity > 0, "Default capacity must be strictly positive");
+		Assert.isTrue(poolSize >= 0, "Pool size must be positive");
+		Assert.isTrue(maxMemory >= defaultCapacity, "Max memory must hold at least one buffer");
+		Assert.isTrue(leakDetectionInterval >= 0, "Leak detection interval must be positive");
+		this.defaultCapacity = defaultCapacity;
+		this.poolSize = poolSize;
+		this.maxMemory = maxMemory;
+		this.leakDetectionInterval = leakDetectionInterval;
+		this.pools = new ArrayDeque[SIZE_CLASSES];
+		for (int i = 0; i < SIZE_CLASSES; i++) {
+			pools[i] = new ArrayDeque<ByteBuffer>();
+		}
+	}
+
+	@Override
+	public Reference<Buffer> allocate() {
+		return allocate(defaultCapacity);
+	}
+
+	/**
+	 * Allocate a {@link Buffer} of at least {@code capacity} bytes, waiting up to {@link #DEFAULT_ALLOCATION_TIMEOUT}
+	 * for memory to be released if the ceiling has been reached.
+	 *
+	 * @param capacity
+	 * 		the minimum capacity
+	 *
+	 * @return a {@link Reference} to release once the {@link Buffer} is no longer used
+	 *
+	 * @throws IllegalStateException
+	 * 		if no memory was released in time or the thread was interrupted
+	 */
+	public Reference<Buffer> allocate(int capacity) {
+		Reference<Buffer> ref = tryAllocate(capacity, DEFAULT_ALLOCATION_TIMEOUT, TimeUnit.MILLISECONDS);
+		if (null == ref) {
+			throw new IllegalStateException("No direct memory released within " + DEFAULT_ALLOCATION_TIMEOUT +
+					"ms: " + this);
+		}
+		return ref;
+	}
+
+	/**
+	 * Allocate a {@link Buffer} of at least {@code capacity} bytes if it fits under the ceiling now.
+	 *
+	 * @param capacity
+	 * 		the minimum capacity
+	 *
+	 * @return a {@link Reference} to release once the {@link Buffer} is no longer used, or {@literal null}
+	 */
+	public Reference<Buffer> tryAllocate(int capacity) {
+		return tryAllocate(capacity, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Allocate a {@link Buffer} of at least {@code capacity} bytes, waiting up to the given time for memory to be
+	 * released if the ceiling has been reached.
+	 *
+	 * @param capacity
+	 * 		the minimum capacity
+	 * @param timeout
+	 * 		how long to wait for memory
+	 * @param unit
+	 * 		the unit of {@code timeout}
+	 *
+	 * @return a {@link Reference} to release once the {@link Buffer} is no longer used, or {@literal null} if there was
+	 * not enough memory in time
+	 */
+	public Reference<Buffer> tryAllocate(int capacity, long timeout, TimeUnit unit) {
+		Assert.isTrue(capacity > 0, "Capacity must be strictly positive");
+		int sizeClass = sizeClass(capacity);
+		int size = sizeClass < 0 ? capacity : classCapacity(sizeClass);
+		if (size > maxMemory) {
+			throw new IllegalArgumentException("Capacity " + capacity + " exceeds the ceiling of " + maxMemory + " bytes");
+		}
+
+		expungeLeaks();
+
+		ByteBuffer storage = sizeClass < 0 ? null : threadCache.get().poll(sizeClass);
+		if (null == storage) {
+			storage = take(sizeClass, size, unit.toNanos(timeout));
+			if (null == storage) {
+				return null;
+			}
+		}
+		used.addAndGet(size);
+
+		long count = allocations.incrementAndGet();
+		countAllocation();
+		DirectReference ref = new DirectReference(storage, sizeClass, capacity);
+		// every reference is tracked so that a leaked one gives its memory back, only a few record their call site
+		LeakTracker tracker = new LeakTracker(ref, leaked, size,
+				leakDetectionInterval > 0 && count % leakDetectionInterval == 0);
+		trackers.add(tracker);
+		ref.tracker = tracker;
+		return ref;
+	}
+
+	@Override
+	public List<Reference<Buffer>> allocateBatch(int size) {
+		List<Reference<Buffer>> refs = new ArrayList<Reference<Buffer>>(size);
+		for (int i = 0; i < size; i++) {
+			refs.add(allocate());
+		}
+		return refs;
+	}
+
+	@Override
+	public void release(List<Reference<Buffer>> batch) {
+		if (null != batch && !batch.isEmpty()) {
+			for (Reference<Buffer> ref : batch) {
+				ref.release();
+			}
+		}
+	}
+
+	/**
+	 * @return the ceiling of the direct memory held by this allocator, in bytes
+	 */
+	public long getMaxMemory() {
+		return maxMemory;
+	}
+
+	/**
+	 * @return the direct memory held by this allocator, leased or idle, in bytes
+	 */
+	public long getReservedMemory() {
+		return reserved.get();
+	}
+
+	/**
+	 * @return the direct memory backing the {@link Buffer Buffers} that have not been released yet, in bytes
+	 */
+	public long getUsedMemory() {
+		return used.get();
+	}
+
+	/**
+	 * @return the direct memory kept for reuse, in bytes
+	 */
+	public long getPooledMemory() {
+		return Math.max(reserved.get() - used.get(), 0);
+	}
+
+	/**
+	 * @return the number of allocations since this allocator was created
+	 */
+	public long getAllocationCount() {
+		return allocations.get();
+	}
+
+	/**
+	 * @return the number of allocations during the last whole second
+	 */
+	public long getAllocationRate() {
+		long second = TimeUtils.approxCurrentTimeMillis() / 1000;
+		if (second == rateSecond) {
+			return lastSecondAllocations;
+		}
+		return second == rateSecond + 1 ? allocations.get() - rateSecondStart : 0;
+	}
+
+	/**
+	 * @return the number of allocations that were garbage collected without having been released
+	 */
+	public long getLeakCount() {
+		return leaks.get();
+	}
+
+	@Override
+	public String toString() {
+		return "DirectBufferAllocator{" +
+				"maxMemory=" + maxMemory +
+				", reserved=" + reserved.get() +
+				", used=" + used.get() +
+				", allocations=" + allocations.get() +
+				", leaks=" + leaks.get() +
+				'}';
+	}
+
+	static int sizeClass(int capacity) {
+		int sizeClass = 0;
+		while (sizeClass < SIZE_CLASSES && classCapacity(sizeClass) < capacity) {
+			sizeClass++;
+		}
+		return sizeClass < SIZE_CLASSES ? sizeClass : -1;
+	}
+
+	static int classCapacity(int sizeClass) {
+		return MIN_CAPACITY << sizeClass;
+	}
+
+	private void countAllocation() {
+		long second = TimeUtils.approxCurrentTimeMillis() / 1000;
+		if (second != rateSecond) {
+			synchronized (this) {
+				if (second != rateSecond) {
+					long count = allocations.get();
+					lastSecondAllocations = second == rateSecond + 1 ? count - rateSecondStart : 0;
+					rateSecondStart = count;
+					rateSecond = second;
+				}
+			}
+		}
+	}
+
+	private ByteBuffer take(int sizeClass, int size, long nanos) {
+		lock.lock();
+		try {
+			for (; ; ) {
+				ByteBuffer storage = sizeClass < 0 ? null : pools[sizeClass].poll();
+				if (null != storage) {
+					return storage;
+				}
+				if (reserve(size) || trim(size) && reserve(size)) {
+					break;
+				}
+				if (nanos <= 0) {
+					return null;
+				}
+				waiters++;
+				try {
+					long slice = Math.min(nanos, TRIM_INTERVAL);
+					nanos -= slice - memoryReleased.awaitNanos(slice);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				} finally {
+					waiters--;
+				}
+				expungeLeaks();
+			}
+		} finally {
+			lock.unlock();
+		}
+		try {
+			return ByteBuffer.allocateDirect(size);
+		} catch (OutOfMemoryError e) {
+			reserved.addAndGet(-size);
+			throw e;
+		}
+	}
+
+	private boolean reserve(int size) {
+		for (; ; ) {
+			long current = reserved.get();
+			if (current + size > maxMemory) {
+				return false;
+			}
+			if (reserved.compareAndSet(current, current + size)) {
+				return true;
+			}
+		}
+	}
+
+	/*
+	 * Free idle memory until size bytes fit under the ceiling, starting with the caches of the current thread and of the
+	 * dead ones, then the shared pools of the largest size classes and last the caches of the other threads. Called
+	 * under the lock.
+	 */
+	private boolean trim(int size) {
+		trim(threadCache.get(), size);
+		Iterator<ThreadCache> caches = threadCaches.iterator();
+		while (caches.hasNext()) {
+			ThreadCache cache = caches.next();
+			if (!cache.isAlive()) {
+				caches.remove();
+				drain(cache);
+			}
+		}
+		for (int i = SIZE_CLASSES - 1; i >= 0 && reserved.get() + size > maxMemory; i--) {
+			ByteBuffer storage;
+			while (reserved.get() + size > maxMemory && null != (storage = pools[i].poll())) {
+				free(storage);
+			}
+		}
+		for (int i = 0; i < threadCaches.size() && reserved.get() + size > maxMemory; i++) {
+			trim(threadCaches.get(i), size);
+		}
+		return reserved.get() + size <= maxMemory;
+	}
+
+	private void trim(ThreadCache cache, int size) {
+		for (int i = SIZE_CLASSES - 1; i >= 0 && reserved.get() + size > maxMemory; i--) {
+			ByteBuffer storage;
+			while (reserved.get() + size > maxMemory && null != (storage = cache.poll(i))) {
+				free(storage);
+			}
+		}
+	}
+
+	private void drain(ThreadCache cache) {
+		for (int i = 0; i < SIZE_CLASSES; i++) {
+			ByteBuffer storage;
+			while (null != (storage = cache.poll(i))) {
+				free(storage);
+			}
+		}
+	}
+
+	private void recycle(ByteBuffer storage, int sizeClass) {
+		used.addAndGet(-storage.capacity());
+		storage.clear();
+		if (sizeClass >= 0 && waiters == 0 && threadCache.get().offer(sizeClass, storage)) {
+			return;
+		}
+		lock.lock();
+		try {
+			if (sizeClass >= 0 && pools[sizeClass].size() < poolSize) {
+				pools[sizeClass].offer(storage);
+			} else {
+				free(storage);
+			}
+			memoryReleased.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void free(ByteBuffer storage) {
+		// not cleaned explicitly, a released Buffer may still reach it and must not touch unmapped memory
+		reserved.addAndGet(-storage.capacity());
+	}
+
+	private void expungeLeaks() {
+		java.lang.ref.Reference<? extends DirectReference> ref;
+		while (null != (ref = leaked.poll())) {
+			LeakTracker tracker = (LeakTracker) ref;
+			if (trackers.remove(tracker)) {
+				leaks.incrementAndGet();
+				used.addAndGet(-tracker.size);
+				reserved.addAndGet(-tracker.size);
+				if (null != tracker.site) {
+					log.error("A direct Buffer was garbage collected before its Reference was released, " +
+							"it has been allocated at:", tracker.site);
+				}
+			}
+		}
+	}
+
+	private static long defaultMaxMemory() {
+		long max;
+		try {
+			max = (Long) Class.forName("sun.misc.VM").getMethod("maxDirectMemory").invoke(null);
+		} catch (Throwable t) {
+			max = Runtime.getRuntime().maxMemory();
+		}
+		return max / 2;
+	}
+
+	private final class DirectReference implements Reference<Buffer> {
+
+		private final ByteBuffer storage;
+		private final int        sizeClass;
+		private final Buffer     buffer;
+		private final long       inception;
+
+		volatile int refCnt = 1;
+		private LeakTracker tracker;
+
+		private DirectReference(ByteBuffer storage, int sizeClass, int capacity) {
+			this.storage = storage;
+			this.sizeClass = sizeClass;
+			ByteBuffer view = storage.duplicate();
+			view.limit(capacity);
+			this.buffer = new Buffer(view.slice());
+			this.inception = TimeUtils.approxCurrentTimeMillis();
+		}
+
+		@Override
+		public long getAge() {
+			return TimeUtils.approxCurrentTimeMillis() - inception;
+		}
+
+		@Override
+		public int getReferenceCount() {
+			return refCnt;
+		}
+
+		@Override
+		public void retain() {
+			retain(1);
+		}
+
+		@Override
+		public void retain(int incr) {
+			for (; ; ) {
+				int cnt = refCnt;
+				if (cnt < 1) {
+					throw new IllegalStateException("Reference has already been released");
+				}
+				if (REF_CNT.compareAndSet(this, cnt, cnt + incr)) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void release() {
+			release(1);
+		}
+
+		@Override
+		public void release(int decr) {
+			for (; ; ) {
+				int cnt = refCnt;
+				if (cnt < decr) {
+					throw new IllegalStateException("Reference count " + cnt + " is lower than " + decr);
+				}
+				if (REF_CNT.compareAndSet(this, cnt, cnt - decr)) {
+					if (cnt == decr) {
+						if (null != tracker) {
+							trackers.remove(tracker);
+							tracker.clear();
+						}
+						recycle(storage, sizeClass);
+					}
+					return;
+				}
+			}
+		}
+
+		@Override
+		public Buffer get() {
+			return buffer;
+		}
+
+		@Override
+		public String toString() {
+			return "Reference{" +
+					"refCnt=" + refCnt +
+					", inception=" + inception +
+					", obj=" + buffer +
+					'}';
+		}
+	}
+
+	private static final class LeakTracker extends PhantomReference<DirectReference> {
+		private final int       size;
+		private final Throwable site;
+
+		private LeakTracker(DirectReference ref, ReferenceQueue<DirectReference> queue, int size, boolean recordSite) {
+			super(ref, queue);
+			this.size = size;
+			this.site = recordSite ? new Throwable("Allocation site") : null;
+		}
+	}
+
+	/*
+	 * Filled and emptied by its thread, and emptied by other threads trimming memory: each slot is taken atomically.
+	 */
+	private static final class ThreadCache {
+		private final WeakReference<Thread>            owner = new WeakReference<Thread>(Thread.currentThread());
+		private final AtomicReferenceArray<ByteBuffer> slots =
+				new AtomicReferenceArray<ByteBuffer>(SIZE_CLASSES * THREAD_CACHE_SLOTS);
+
+		private ByteBuffer poll(int sizeClass) {
+			int end = (sizeClass + 1) * THREAD_CACHE_SLOTS;
+			for (int i = sizeClass * THREAD_CACHE_SLOTS; i < end; i++) {
+				if (null != slots.get(i)) {
+					ByteBuffer storage = slots.getAndSet(i, null);
+					if (null != storage) {
+						return storage;
+					}
+				}
+			}
+			return null;
+		}
+
+		private boolean offer(int sizeClass, ByteBuffer storage) {
+			int end = (sizeClass + 1) * THREAD_CACHE_SLOTS;
+			for (int i = sizeClass * THREAD_CACHE_SLOTS; i < end; i++) {
+				if (null == slots.get(i) && slots.compareAndSet(i, null, storage)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isAlive() {
+			Thread thread = owner.get();
+			return null != thread && thread.isAlive();
+		}
+	}
+
+}
@@ -19,8 +19,7 @@ package reactor.io.codec;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
-
-import java.util.List;
+import reactor.io.buffer.DelimiterScanner;
 
 /**
  * Implementations of a {@literal Codec} are responsible for decoding a {@code SRC} into an
@@ -95,18 +94,40 @@ public abstract class Codec<SRC, IN, OUT> implements Function<OUT, SRC> {
 	 * @return a value if no callback is supplied and there is only one delimited buffer
 	 */
 	protected IN doDelimitedBufferDecode(Consumer<IN> decoderCallback, Buffer buffer) {
+		return doDelimitedBufferDecode(decoderCallback, buffer, new DelimiterScanner());
+	}
+
+	/**
+	 * Helper method to scan for delimiting byte the codec might benefit from, reusing the given scanner to record the
+	 * delimiters found. A decoder should own its scanner and pass it on each invocation.
+	 * @param decoderCallback
+	 * @param buffer
+	 * @param scanner
+	 * @return a value if no callback is supplied and there is only one delimited buffer
+	 */
+	protected IN doDelimitedBufferDecode(Consumer<IN> decoderCallback, Buffer buffer, DelimiterScanner scanner) {
 		//split using the delimiter
 		if(delimiter != null) {
-			List<Buffer.View> views = buffer.split(delimiter);
-			int viewCount = views.size();
-
-			if (viewCount == 0) return invokeCallbackOrReturn(decoderCallback, doBufferDecode(buffer));
-
-			for (Buffer.View view : views) {
-				IN in = invokeCallbackOrReturn(decoderCallback, doBufferDecode(view.get()));
-				if(in != null) return in;
+			int count = scanner.scan(buffer, delimiter);
+
+			if (count == 0) return invokeCallbackOrReturn(decoderCallback, doBufferDecode(buffer));
+
+			int limit = buffer.limit();
+			int start = buffer.position();
+			try {
+				for (int i = 0; i < count; i++) {
+					int end = scanner.offset(i) + 1;
+					buffer.limit(end);
+					buffer.position(start);
+					start = end;
+					IN in = invokeCallbackOrReturn(decoderCallback, doBufferDecode(buffer));
+					if(in != null) return in;
+				}
+				return null;
+			} finally {
+				buffer.limit(limit);
+				buffer.position(start);
 			}
-			return null;
 		}else{
 			return invokeCallbackOrReturn(decoderCallback, doBufferDecode(buffer));
 		}
@@ -19,7 +19,7 @@ package reactor.io.codec;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
-import reactor.io.buffer.Buffer.View;
+import reactor.io.buffer.DelimiterScanner;
 
 /**
  * An implementation of {@link Codec} that decodes by splitting a {@link Buffer} into segments
@@ -81,6 +81,7 @@ public class DelimitedCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 
 	private class DelimitedDecoder implements Function<Buffer, IN> {
 		private final Function<Buffer, IN> decoder;
+		private final DelimiterScanner     scanner = new DelimiterScanner();
 
 		DelimitedDecoder(Consumer<IN> next) {
 			this.decoder = delegate.decoder(next);
@@ -92,18 +93,21 @@ public class DelimitedCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 				return null;
 			}
 
-			Iterable<View> views = bytes.split(delimiter, stripDelimiter);
-
 			int limit = bytes.limit();
-			int position = bytes.position();
-
-			for (Buffer.View view : views) {
-				Buffer b = view.get();
-				decoder.apply(b);
+			int start = bytes.position();
+			int count = scanner.scan(bytes, delimiter);
+
+			for (int i = 0; i < count; i++) {
+				int index = scanner.offset(i);
+				bytes.limit(stripDelimiter ? index : index + 1);
+				bytes.position(start);
+				decoder.apply(bytes);
+				start = index + 1;
 			}
 
+			// leave the incomplete segment, if any, to be decoded once the rest of it is received
 			bytes.limit(limit);
-			bytes.position(position);
+			bytes.position(start);
 
 			return null;
 		}
@@ -96,7 +96,7 @@ public class LengthFieldCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 				// call the delegate decoder with the full frame
 				IN in = decoder.apply(v.get());
 				// reset the limit
-				buffer.byteBuffer().limit(limit);
+				buffer.limit(limit);
 				if (buffer.position() == pos) {
 					// the pointer hasn't advanced, advance it
 					buffer.skip(expectedLen);
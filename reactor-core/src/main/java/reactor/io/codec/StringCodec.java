@@ -19,6 +19,7 @@ package reactor.io.codec;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
+import reactor.io.buffer.DelimiterScanner;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -26,7 +27,6 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
-import java.util.List;
 
 /**
  * @author Jon Brisbin
@@ -83,8 +83,9 @@ public class StringCodec extends Codec<Buffer, String, String> {
 
 	private class StringDecoder implements Function<Buffer, String> {
 
-		private final CharsetDecoder decoder;
+		private final CharsetDecoder   decoder;
 		private final Consumer<String> next;
+		private final DelimiterScanner scanner = new DelimiterScanner();
 
 		private StringDecoder(Consumer<String> next) {
 			this.next = next;
@@ -95,16 +96,26 @@ public class StringCodec extends Codec<Buffer, String, String> {
 		public String apply(Buffer buffer) {
 			//split using the delimiter
 			if(delimiter != null) {
-				List<Buffer.View> views = buffer.split(delimiter);
-				int viewCount = views.size();
-
-				if (viewCount == 0) return invokeCallbackOrReturn(next, doBufferDecode(buffer));
-
-				for (Buffer.View view : views) {
-					String in = invokeCallbackOrReturn(next, decode(view.get(), decoder));
-					if(in != null) return in;
+				int count = scanner.scan(buffer, delimiter);
+
+				if (count == 0) return invokeCallbackOrReturn(next, doBufferDecode(buffer));
+
+				int limit = buffer.limit();
+				int start = buffer.position();
+				try {
+					for (int i = 0; i < count; i++) {
+						int end = scanner.offset(i) + 1;
+						buffer.limit(end);
+						buffer.position(start);
+						start = end;
+						String in = invokeCallbackOrReturn(next, decode(buffer, decoder));
+						if(in != null) return in;
+					}
+					return null;
+				} finally {
+					buffer.limit(limit);
+					buffer.position(start);
 				}
-				return null;
 			}else{
 				return invokeCallbackOrReturn(next, decode(buffer, decoder));
 			}
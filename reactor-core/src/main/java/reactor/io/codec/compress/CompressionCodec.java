@@ -21,14 +21,27 @@ import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
 import reactor.io.codec.Codec;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
+ * A {@link Codec} compressing what its delegate encodes and decompressing what its delegate decodes.
+ *
+ * Each decoder keeps its own decompression state, such as a connection would: it consumes whatever part of the
+ * compressed stream it is given and hands the bytes decompressed so far to the delegate, in chunks of at most
+ * {@link Buffer#SMALL_BUFFER_SIZE} bytes when a {@link Consumer} is given, so that neither a message nor the stream
+ * has to be held in memory at once. When the delegate leaves the end of a chunk unread, e.g. an incomplete line or
+ * length-prefixed frame, those bytes are presented again in front of the next chunk. A decoder created without a
+ * {@link Consumer} hands everything decompressed from a {@link Buffer} to the delegate at once and returns the result.
+ *
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
 public abstract class CompressionCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 
+	private static final int CHUNK_SIZE = Buffer.SMALL_BUFFER_SIZE;
+
 	private final Codec<Buffer, IN, OUT> delegate;
 
 	protected CompressionCodec(Codec<Buffer, IN, OUT> delegate) {
@@ -37,50 +50,183 @@ public abstract class CompressionCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 
 	@Override
 	public Function<Buffer, IN> decoder(final Consumer<IN> next) {
-		return new Function<Buffer, IN>() {
-			@Override
-			public IN apply(Buffer buffer) {
-				try {
-					ByteArrayInputStream bin = new ByteArrayInputStream(buffer.asBytes());
-					InputStream zin = createInputStream(bin);
-					Buffer newBuff = new Buffer();
-					while (zin.available() > 0) {
-						newBuff.append((byte) zin.read());
-					}
-					zin.close();
-					IN in = delegate.decoder(null).apply(newBuff.flip());
-					if (null != next) {
-						next.accept(in);
-						return null;
-					} else {
-						return in;
-					}
-				} catch (IOException e) {
-					throw new IllegalStateException(e.getMessage(), e);
-				}
-			}
-		};
+		return new DecompressingDecoder(next);
 	}
 
 	@Override
 	public Buffer apply(OUT out) {
 		Buffer buff = delegate.apply(out);
 		try {
-			ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			OutputStream zout = createOutputStream(bout);
-			zout.write(buff.asBytes());
-			zout.flush();
-			bout.flush();
+			Buffer compressed = new Buffer();
+			OutputStream zout = createOutputStream(compressed.outputStream());
+			ByteBuffer bb = buff.byteBuffer();
+			if (null != bb && bb.hasArray()) {
+				zout.write(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining());
+			} else if (null != bb) {
+				byte[] chunk = new byte[Math.min(bb.remaining(), CHUNK_SIZE)];
+				ByteBuffer src = bb.duplicate();
+				while (src.hasRemaining()) {
+					int len = Math.min(src.remaining(), chunk.length);
+					src.get(chunk, 0, len);
+					zout.write(chunk, 0, len);
+				}
+			}
 			zout.close();
-			return Buffer.wrap(bout.toByteArray());
+			return compressed.flip();
 		} catch (IOException e) {
 			throw new IllegalStateException(e.getMessage(), e);
 		}
 	}
 
-	protected abstract InputStream createInputStream(InputStream parent) throws IOException;
+	/**
+	 * Create the state needed to decompress one stream, such as the data received over a connection.
+	 *
+	 * @return a new {@link Decompressor}
+	 */
+	protected abstract Decompressor createDecompressor();
 
 	protected abstract OutputStream createOutputStream(OutputStream parent) throws IOException;
 
-}
+	/**
+	 * Decompresses a stream handed over in arbitrary pieces. Much like an {@link java.util.zip.Inflater}, the compressed
+	 * bytes are {@link #setInput(byte[], int, int) set} and then {@link #decompress(byte[], int, int) decompressed}
+	 * until no more output is produced. The bytes that cannot be decompressed yet, such as an incomplete header or block,
+	 * are kept until the next input completes them.
+	 */
+	protected static abstract class Decompressor {
+
+		protected byte[] input;
+		protected int    inputOffset;
+		protected int    inputLength;
+
+		/**
+		 * Set the compressed bytes to decompress next. They must not be modified until {@link #decompress(byte[], int,
+		 * int)} has returned {@code 0}.
+		 *
+		 * @param b   the compressed bytes
+		 * @param off the index of the first byte
+		 * @param len the number of bytes
+		 */
+		public void setInput(byte[] b, int off, int len) {
+			this.input = b;
+			this.inputOffset = off;
+			this.inputLength = len;
+		}
+
+		/**
+		 * Decompress as many bytes as possible into the given array.
+		 *
+		 * @param b   the array to decompress into
+		 * @param off the index of the first byte to write
+		 * @param len the maximum number of bytes to write
+		 * @return the number of bytes written, {@code 0} once the whole input has been consumed
+		 * @throws IOException if the stream is not valid
+		 */
+		public abstract int decompress(byte[] b, int off, int len) throws IOException;
+
+		/**
+		 * Move input bytes into the target array until it holds the given number of bytes.
+		 *
+		 * @param target the array collecting the bytes
+		 * @param count  the number of bytes it already holds
+		 * @param n      the number of bytes needed
+		 * @return the number of bytes it holds now
+		 */
+		protected int collect(byte[] target, int count, int n) {
+			int len = Math.min(n - count, inputLength);
+			System.arraycopy(input, inputOffset, target, count, len);
+			inputOffset += len;
+			inputLength -= len;
+			return count + len;
+		}
+	}
+
+	private class DecompressingDecoder implements Function<Buffer, IN> {
+		private final Decompressor         decompressor = createDecompressor();
+		private final byte[]               chunk        = new byte[CHUNK_SIZE];
+		private final Consumer<IN>         next;
+		private final Function<Buffer, IN> decoder;
+
+		private byte[]  input;
+		private Buffer  decoded;
+		private int     fresh;
+		private boolean emitted;
+
+		private DecompressingDecoder(final Consumer<IN> next) {
+			this.next = next;
+			this.decoder = delegate.decoder(null == next ? null : new Consumer<IN>() {
+				@Override
+				public void accept(IN in) {
+					emitted = true;
+					next.accept(in);
+				}
+			});
+		}
+
+		@Override
+		public IN apply(Buffer buffer) {
+			IN in = null;
+			try {
+				ByteBuffer bb = buffer.byteBuffer();
+				while (null != bb && bb.hasRemaining()) {
+					int len;
+					if (bb.hasArray()) {
+						len = bb.remaining();
+						decompressor.setInput(bb.array(), bb.arrayOffset() + bb.position(), len);
+						bb.position(bb.position() + len);
+					} else {
+						if (null == input) {
+							input = new byte[CHUNK_SIZE];
+						}
+						len = Math.min(bb.remaining(), input.length);
+						bb.get(input, 0, len);
+						decompressor.setInput(input, 0, len);
+					}
 
+					int n;
+					while ((n = decompressor.decompress(chunk, 0, chunk.length)) > 0) {
+						if (null == decoded) {
+							decoded = new Buffer();
+						}
+						decoded.append(chunk, 0, n);
+						fresh += n;
+						if (null != next && decoded.position() >= CHUNK_SIZE) {
+							in = emit();
+						}
+					}
+				}
+				if (null != bb) {
+					buffer.position(buffer.limit());
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+
+			if (fresh > 0) {
+				in = emit();
+			}
+			return in;
+		}
+
+		private IN emit() {
+			Buffer b = decoded.flip();
+			int start = b.position();
+			decoded = null;
+			fresh = 0;
+			emitted = false;
+
+			IN in = decoder.apply(b);
+			// keep the unread end of a frame, unless the delegate took the whole chunk without reading it
+			if (b.remaining() > 0 && (b.position() != start || (!emitted && null == in))) {
+				decoded = new Buffer().append(b);
+			}
+
+			if (null != in && null != next) {
+				next.accept(in);
+				return null;
+			}
+			return in;
+		}
+	}
+
+}
@@ -20,10 +20,12 @@ import reactor.io.buffer.Buffer;
 import reactor.io.codec.Codec;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.GZIPInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
 
 /**
  * @author Jon Brisbin
@@ -35,8 +37,8 @@ public class GzipCodec<IN, OUT> extends CompressionCodec<IN, OUT> {
 	}
 
 	@Override
-	protected InputStream createInputStream(InputStream parent) throws IOException {
-		return new GZIPInputStream(parent);
+	protected Decompressor createDecompressor() {
+		return new GzipDecompressor();
 	}
 
 	@Override
@@ -44,4 +46,172 @@ public class GzipCodec<IN, OUT> extends CompressionCodec<IN, OUT> {
 		return new GZIPOutputStream(parent);
 	}
 
+	/**
+	 * Inflates a GZIP stream, made of one or more members, as its bytes are received. The header and trailer of each
+	 * member are parsed and checked like {@link java.util.zip.GZIPInputStream} does.
+	 */
+	private static class GzipDecompressor extends Decompressor {
+
+		private static final int HEADER     = 0;
+		private static final int EXTRA_LEN  = 1;
+		private static final int EXTRA      = 2;
+		private static final int NAME       = 3;
+		private static final int COMMENT    = 4;
+		private static final int HEADER_CRC = 5;
+		private static final int BODY       = 6;
+		private static final int TRAILER    = 7;
+
+		private static final int FHCRC    = 2;
+		private static final int FEXTRA   = 4;
+		private static final int FNAME    = 8;
+		private static final int FCOMMENT = 16;
+
+		private final Inflater inflater = new Inflater(true);
+		private final CRC32    crc      = new CRC32();
+		private final byte[]   fields   = new byte[10];
+
+		private int state = HEADER;
+		private int count;
+		private int flags;
+		private int skip;
+
+		@Override
+		public void setInput(byte[] b, int off, int len) {
+			super.setInput(b, off, len);
+			if (state == BODY) {
+				feedInflater();
+			}
+		}
+
+		@Override
+		public int decompress(byte[] b, int off, int len) throws IOException {
+			for (; ; ) {
+				if (state == BODY) {
+					int n;
+					try {
+						n = inflater.inflate(b, off, len);
+					} catch (DataFormatException e) {
+						throw new ZipException(e.getMessage());
+					}
+					if (n > 0) {
+						crc.update(b, off, n);
+						return n;
+					}
+					if (!inflater.finished()) {
+						if (inflater.needsDictionary()) {
+							throw new ZipException("Unsupported GZIP preset dictionary");
+						}
+						return 0;
+					}
+					// the trailer and the next members follow the deflated data
+					int remaining = inflater.getRemaining();
+					inputOffset = inputOffset - remaining;
+					inputLength = remaining;
+					next(TRAILER);
+				} else if (inputLength == 0) {
+					return 0;
+				} else {
+					readHeaderOrTrailer();
+				}
+			}
+		}
+
+		private void readHeaderOrTrailer() throws IOException {
+			switch (state) {
+				case HEADER:
+					if ((count = collect(fields, count, 10)) < 10) {
+						return;
+					}
+					if ((fields[0] & 0xff) != 0x1f || (fields[1] & 0xff) != 0x8b) {
+						throw new ZipException("Not in GZIP format");
+					}
+					if (fields[2] != 8) {
+						throw new ZipException("Unsupported compression method");
+					}
+					flags = fields[3] & 0xff;
+					next(EXTRA_LEN);
+					return;
+				case EXTRA_LEN:
+					if ((count = collect(fields, count, 2)) < 2) {
+						return;
+					}
+					skip = (fields[0] & 0xff) | ((fields[1] & 0xff) << 8);
+					next(EXTRA);
+					return;
+				case EXTRA:
+					int len = Math.min(skip, inputLength);
+					inputOffset += len;
+					inputLength -= len;
+					if ((skip -= len) == 0) {
+						next(NAME);
+					}
+					return;
+				case NAME:
+				case COMMENT:
+					while (inputLength > 0) {
+						inputLength--;
+						if (input[inputOffset++] == 0) {
+							next(state + 1);
+							return;
+						}
+					}
+					return;
+				case HEADER_CRC:
+					if ((count = collect(fields, count, 2)) == 2) {
+						next(BODY);
+					}
+					return;
+				default:
+					if ((count = collect(fields, count, 8)) < 8) {
+						return;
+					}
+					if (readInt(0) != (int) crc.getValue()) {
+						throw new ZipException("Corrupt GZIP trailer");
+					}
+					if (readInt(4) != (int) inflater.getBytesWritten()) {
+						throw new ZipException("Corrupt GZIP trailer");
+					}
+					inflater.reset();
+					crc.reset();
+					next(HEADER);
+			}
+		}
+
+		/**
+		 * Move on to the given state, skipping the optional header fields the flags do not announce.
+		 */
+		private void next(int state) {
+			count = 0;
+			if (state == EXTRA_LEN && (flags & FEXTRA) == 0) {
+				state = NAME;
+			}
+			if (state == NAME && (flags & FNAME) == 0) {
+				state = COMMENT;
+			}
+			if (state == COMMENT && (flags & FCOMMENT) == 0) {
+				state = HEADER_CRC;
+			}
+			if (state == HEADER_CRC && (flags & FHCRC) == 0) {
+				state = BODY;
+			}
+			this.state = state;
+			if (state == BODY) {
+				feedInflater();
+			}
+		}
+
+		private void feedInflater() {
+			if (inputLength > 0) {
+				inflater.setInput(input, inputOffset, inputLength);
+				inputOffset += inputLength;
+				inputLength = 0;
+			}
+		}
+
+		private int readInt(int index) {
+			return (fields[index] & 0xff) | ((fields[index + 1] & 0xff) << 8) | ((fields[index + 2] & 0xff) << 16) |
+					((fields[index + 3] & 0xff) << 24);
+		}
+	}
+
 }
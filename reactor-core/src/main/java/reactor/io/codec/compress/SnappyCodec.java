@@ -16,13 +16,12 @@
 
 package reactor.io.codec.compress;
 
-import org.xerial.snappy.SnappyInputStream;
+import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyOutputStream;
 import reactor.io.buffer.Buffer;
 import reactor.io.codec.Codec;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 
 /**
@@ -35,8 +34,8 @@ public class SnappyCodec<IN, OUT> extends CompressionCodec<IN, OUT> {
 	}
 
 	@Override
-	protected InputStream createInputStream(InputStream parent) throws IOException {
-		return new SnappyInputStream(parent);
+	protected Decompressor createDecompressor() {
+		return new SnappyDecompressor();
 	}
 
 	@Override
@@ -44,4 +43,92 @@ public class SnappyCodec<IN, OUT> extends CompressionCodec<IN, OUT> {
 		return new SnappyOutputStream(parent);
 	}
 
+	/**
+	 * Uncompresses the stream written by a {@link SnappyOutputStream} as its bytes are received: a header followed by
+	 * blocks, each one prefixed by its compressed length. Only one block at a time is held in memory.
+	 */
+	private static class SnappyDecompressor extends Decompressor {
+
+		private static final byte[] MAGIC       = org.xerial.snappy.SnappyCodec.MAGIC_HEADER;
+		private static final int    HEADER_SIZE = org.xerial.snappy.SnappyCodec.headerSize();
+
+		private static final int HEADER = 0;
+		private static final int LENGTH = 1;
+		private static final int BLOCK  = 2;
+
+		private final byte[] fields = new byte[HEADER_SIZE];
+
+		private int    state = HEADER;
+		private int    count;
+		private byte[] block = new byte[0];
+		private int    blockLength;
+		private byte[] uncompressed = new byte[0];
+		private int    uncompressedOffset;
+		private int    uncompressedLength;
+
+		@Override
+		public int decompress(byte[] b, int off, int len) throws IOException {
+			for (; ; ) {
+				if (uncompressedLength > 0) {
+					int n = Math.min(len, uncompressedLength);
+					System.arraycopy(uncompressed, uncompressedOffset, b, off, n);
+					uncompressedOffset += n;
+					uncompressedLength -= n;
+					return n;
+				}
+				if (inputLength == 0) {
+					return 0;
+				}
+				switch (state) {
+					case HEADER:
+						if ((count = collect(fields, count, HEADER_SIZE)) < HEADER_SIZE) {
+							break;
+						}
+						for (int i = 0; i < MAGIC.length; i++) {
+							if (fields[i] != MAGIC[i]) {
+								throw new IOException("Not in Snappy format");
+							}
+						}
+						next(LENGTH);
+						break;
+					case LENGTH:
+						// the header of a concatenated stream starts with a byte no block length can start with
+						if (count == 0 && input[inputOffset] == MAGIC[0]) {
+							next(HEADER);
+							break;
+						}
+						if ((count = collect(fields, count, 4)) < 4) {
+							break;
+						}
+						blockLength = ((fields[0] & 0xff) << 24) | ((fields[1] & 0xff) << 16) | ((fields[2] & 0xff) << 8) |
+								(fields[3] & 0xff);
+						if (blockLength < 0 || blockLength > Buffer.MAX_BUFFER_SIZE) {
+							throw new IOException("Invalid Snappy block length " + blockLength);
+						}
+						if (block.length < blockLength) {
+							block = new byte[blockLength];
+						}
+						next(BLOCK);
+						break;
+					default:
+						if ((count = collect(block, count, blockLength)) < blockLength) {
+							break;
+						}
+						int length = Snappy.uncompressedLength(block, 0, blockLength);
+						if (uncompressed.length < length) {
+							uncompressed = new byte[length];
+						}
+						uncompressedLength = Snappy.uncompress(block, 0, blockLength, uncompressed, 0);
+						uncompressedOffset = 0;
+						next(LENGTH);
+				}
+			}
+		}
+
+		private void next(int state) {
+			this.state = state;
+			this.count = 0;
+		}
+	}
+
 }
@@ -18,17 +18,38 @@ package reactor.io.codec.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import reactor.core.support.Assert;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
+import reactor.io.buffer.Buffer;
+import reactor.io.codec.Codec;
+import reactor.io.codec.LengthFieldCodec;
 import reactor.io.codec.SerializationCodec;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 /**
+ * A {@link SerializationCodec} writing objects as JSON, framed by their length and preceded by their class name.
+ *
+ * Objects are parsed straight from the {@link ByteBuffer} of the frame they are received in and written straight into
+ * a {@link Buffer}, without an intermediate {@code byte[]}, which a {@link LengthFieldCodec} frames. Each decoder
+ * remembers the last class name it read and the {@link ObjectReader} for it, so that a connection receiving one type of
+ * object neither decodes the class name nor looks the class up again.
+ *
  * @author Jon Brisbin
  */
 public class JacksonJsonCodec<IN, OUT> extends SerializationCodec<ObjectMapper, IN, OUT> {
 
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final Codec<Buffer, IN, OUT> framing = new LengthFieldCodec<IN, OUT>(new FrameCodec());
+
+	private volatile TypeName lastWritten;
+
 	public JacksonJsonCodec() {
 		this(new ObjectMapper());
 	}
@@ -37,6 +58,16 @@ public class JacksonJsonCodec<IN, OUT> extends SerializationCodec<ObjectMapper,
 		super(engine, true);
 	}
 
+	@Override
+	public Function<Buffer, IN> decoder(Consumer<IN> next) {
+		return framing.decoder(next);
+	}
+
+	@Override
+	public Buffer apply(OUT out) {
+		return framing.apply(out);
+	}
+
 	@Override
 	protected Function<byte[], IN> deserializer(final ObjectMapper engine,
 	                                            final Class<IN> type,
@@ -46,13 +77,13 @@ public class JacksonJsonCodec<IN, OUT> extends SerializationCodec<ObjectMapper,
 			public IN apply(byte[] bytes) {
 				try {
 					IN o = engine.readValue(bytes, type);
-					if(null != next) {
+					if (null != next) {
 						next.accept(o);
 						return null;
 					} else {
 						return o;
 					}
-				} catch(IOException e) {
+				} catch (IOException e) {
 					throw new IllegalStateException(e.getMessage(), e);
 				}
 			}
@@ -66,11 +97,117 @@ public class JacksonJsonCodec<IN, OUT> extends SerializationCodec<ObjectMapper,
 			public byte[] apply(OUT o) {
 				try {
 					return engine.writeValueAsBytes(o);
-				} catch(JsonProcessingException e) {
+				} catch (JsonProcessingException e) {
 					throw new IllegalArgumentException(e.getMessage(), e);
 				}
 			}
 		};
 	}
 
+	private byte[] typeName(Class<?> type) {
+		TypeName written = lastWritten;
+		if (null == written || written.type != type) {
+			lastWritten = written = new TypeName(type, type.getName().getBytes(UTF8));
+		}
+		return written.name;
+	}
+
+	private static class TypeName {
+		final Class<?> type;
+		final byte[]   name;
+
+		TypeName(Class<?> type, byte[] name) {
+			this.type = type;
+			this.name = name;
+		}
+	}
+
+	private class FrameCodec extends Codec<Buffer, IN, OUT> {
+		@Override
+		public Function<Buffer, IN> decoder(Consumer<IN> next) {
+			return new FrameDecoder(next);
+		}
+
+		@Override
+		public Buffer apply(OUT out) {
+			byte[] typeName = typeName(out.getClass());
+			Buffer buffer = new Buffer();
+			buffer.append(typeName.length).append(typeName);
+			try {
+				getEngine().writeValue(buffer.outputStream(), out);
+			} catch (IOException e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+			return buffer.flip();
+		}
+	}
+
+	private class FrameDecoder implements Function<Buffer, IN> {
+		private final Consumer<IN> next;
+
+		private byte[]       typeName = new byte[0];
+		private ObjectReader reader;
+
+		private FrameDecoder(Consumer<IN> next) {
+			this.next = next;
+		}
+
+		@Override
+		public IN apply(Buffer buffer) {
+			try {
+				ObjectReader reader = reader(buffer);
+				ByteBuffer bb = buffer.byteBuffer();
+				IN o;
+				if (bb.hasArray()) {
+					o = reader.readValue(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining());
+				} else {
+					o = reader.readValue(new ByteBufferBackedInputStream(bb.duplicate()));
+				}
+				buffer.position(buffer.limit());
+				if (null != next) {
+					next.accept(o);
+					return null;
+				} else {
+					return o;
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}
+
+		private ObjectReader reader(Buffer buffer) {
+			int len = buffer.readInt();
+			Assert.isTrue(buffer.remaining() > len,
+					"Incomplete buffer. Must contain " + len + " bytes, "
+							+ "but only " + buffer.remaining() + " were found.");
+			ByteBuffer bb = buffer.byteBuffer();
+			if (sameTypeName(bb, len)) {
+				buffer.skip(len);
+				return reader;
+			}
+
+			byte[] name = new byte[len];
+			for (int i = 0; i < len; i++) {
+				name[i] = bb.get(bb.position() + i);
+			}
+			buffer.rewind(4);
+			reader = getEngine().reader(readType(buffer));
+			typeName = name;
+			return reader;
+		}
+
+		private boolean sameTypeName(ByteBuffer bb, int len) {
+			if (len != typeName.length) {
+				return false;
+			}
+			int pos = bb.position();
+			for (int i = 0; i < len; i++) {
+				if (bb.get(pos + i) != typeName[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 }
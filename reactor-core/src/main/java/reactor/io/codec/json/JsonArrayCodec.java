@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.codec.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import reactor.core.support.Assert;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.io.buffer.Buffer;
+import reactor.io.codec.Codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A codec decoding the elements of a JSON array, or a sequence of JSON values, one by one as the bytes of the array are
+ * received, so that a single large array can be turned into a {@code Stream} of its elements without
+ * being held in memory at once.
+ *
+ * Each decoder tracks the nesting and the strings of the element it is reading, across as many {@link Buffer
+ * Buffers} as it takes to receive it: a complete element is parsed straight from the {@link Buffer} it was received in,
+ * only the beginning of an element received in a previous {@link Buffer} is copied. The arrays found at the top level
+ * are unwrapped, their elements and the values found outside of them are decoded alike. Numbers, booleans and
+ * {@code null} are decoded once followed by a separator. When decoding without a {@link Consumer}, the first element
+ * received is returned and the rest of the {@link Buffer} is left for the next invocation.
+ *
+ * Encoding writes one value as JSON followed by a line feed, so that the encoded values form a sequence the decoder
+ * reads back.
+ *
+ * @param <IN>  The type of the elements to decode
+ * @param <OUT> The type to encode into JSON
+ */
+public class JsonArrayCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
+
+	private static final int NONE      = 0;
+	private static final int CONTAINER = 1;
+	private static final int STRING    = 2;
+	private static final int SCALAR    = 3;
+
+	private final ObjectMapper mapper;
+	private final ObjectReader reader;
+
+	/**
+	 * Creates a new {@code JsonArrayCodec} that will create instances of {@code inputType} when decoding.
+	 *
+	 * @param inputType The type to create when decoding.
+	 */
+	public JsonArrayCodec(Class<IN> inputType) {
+		this(inputType, new ObjectMapper());
+	}
+
+	/**
+	 * Creates a new {@code JsonArrayCodec} that will create instances of {@code inputType} with the given {@link
+	 * ObjectMapper} when decoding.
+	 *
+	 * @param inputType The type to create when decoding.
+	 * @param mapper    The mapper to read and write JSON with.
+	 */
+	public JsonArrayCodec(Class<IN> inputType, ObjectMapper mapper) {
+		super((byte) '\n');
+		Assert.notNull(inputType, "inputType must not be null");
+		Assert.notNull(mapper, "mapper must not be null");
+		this.mapper = mapper;
+		this.reader = mapper.reader(inputType);
+	}
+
+	@Override
+	public Function<Buffer, IN> decoder(Consumer<IN> next) {
+		return new ElementDecoder(next);
+	}
+
+	@Override
+	public Buffer apply(OUT out) {
+		Buffer buffer = new Buffer();
+		try {
+			mapper.writeValue(buffer.outputStream(), out);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+		return buffer.append(delimiter).flip();
+	}
+
+	private static boolean isSeparator(byte b) {
+		switch (b) {
+			case ' ':
+			case '\t':
+			case '\r':
+			case '\n':
+			case 0:
+			case ',':
+			case ']':
+			case '}':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private class ElementDecoder implements Function<Buffer, IN> {
+		private final Consumer<IN> next;
+
+		// the beginning of an element received in a previous buffer
+		private Buffer  pending;
+		private boolean inArray;
+		private int     kind;
+		private int     depth;
+		private boolean inString;
+		private boolean escape;
+
+		private ElementDecoder(Consumer<IN> next) {
+			this.next = next;
+		}
+
+		@Override
+		public IN apply(Buffer buffer) {
+			int position = buffer.position();
+			int limit = buffer.limit();
+
+			if (null != pending) {
+				int end = scan(buffer, position, limit);
+				if (end < 0) {
+					pending.append(buffer.position(position));
+					return null;
+				}
+				pending.append(buffer.limit(end).position(position));
+				buffer.limit(limit);
+
+				Buffer element = pending.flip();
+				pending = null;
+				IN in = emit(element);
+				if (null != in) {
+					return in;
+				}
+				position = end;
+			}
+
+			while (position < limit) {
+				byte b = buffer.position(position).read();
+				if (b == '[' && !inArray) {
+					inArray = true;
+					position++;
+					continue;
+				}
+				if (b == ']' && inArray) {
+					inArray = false;
+					position++;
+					continue;
+				}
+				if (isSeparator(b)) {
+					position++;
+					continue;
+				}
+
+				int start = position;
+				begin(b);
+				int end = scan(buffer, start + 1, limit);
+				if (end < 0) {
+					buffer.position(start);
+					pending = new Buffer().append(buffer);
+					return null;
+				}
+
+				buffer.limit(end).position(start);
+				IN in = emit(buffer);
+				buffer.limit(limit).position(end);
+				if (null != in) {
+					return in;
+				}
+				position = end;
+			}
+
+			buffer.position(limit);
+			return null;
+		}
+
+		private void begin(byte b) {
+			depth = 0;
+			inString = false;
+			escape = false;
+			switch (b) {
+				case '{':
+				case '[':
+					kind = CONTAINER;
+					depth = 1;
+					break;
+				case '"':
+					kind = STRING;
+					inString = true;
+					break;
+				default:
+					kind = SCALAR;
+			}
+		}
+
+		/**
+		 * Find the end of the element being read.
+		 *
+		 * @return the index right after the element or {@code -1} if it does not end before {@code to}
+		 */
+		private int scan(Buffer buffer, int from, int to) {
+			buffer.position(from);
+			for (int i = from; i < to; i++) {
+				byte b = buffer.read();
+				if (inString) {
+					if (escape) {
+						escape = false;
+					} else if (b == '\\') {
+						escape = true;
+					} else if (b == '"') {
+						inString = false;
+						if (kind == STRING) {
+							kind = NONE;
+							return i + 1;
+						}
+					}
+				} else if (kind == SCALAR) {
+					if (isSeparator(b)) {
+						kind = NONE;
+						return i;
+					}
+				} else if (b == '"') {
+					inString = true;
+				} else if (b == '{' || b == '[') {
+					depth++;
+				} else if ((b == '}' || b == ']') && --depth == 0) {
+					kind = NONE;
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Parse the element between the position and the limit of the buffer.
+		 */
+		private IN emit(Buffer element) {
+			ByteBuffer bb = element.byteBuffer();
+			IN in;
+			try {
+				if (bb.hasArray()) {
+					in = reader.readValue(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining());
+				} else {
+					in = reader.readValue(new ByteBufferBackedInputStream(bb.duplicate()));
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+			if (null != next) {
+				next.accept(in);
+				return null;
+			}
+			return in;
+		}
+	}
+
+}
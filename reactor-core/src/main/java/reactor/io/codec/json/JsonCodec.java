@@ -24,6 +24,7 @@ import reactor.core.support.Assert;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
+import reactor.io.buffer.DelimiterScanner;
 import reactor.io.codec.Codec;
 
 import java.io.IOException;
@@ -104,7 +105,8 @@ public class JsonCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 	}
 
 	private class JsonDecoder implements Function<Buffer, IN> {
-		private final Consumer<IN> next;
+		private final Consumer<IN>     next;
+		private final DelimiterScanner scanner = new DelimiterScanner();
 
 		private JsonDecoder(Consumer<IN> next) {
 			this.next = next;
@@ -113,7 +115,7 @@ public class JsonCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 		@SuppressWarnings("unchecked")
 		@Override
 		public IN apply(Buffer buffer) {
-			return doDelimitedBufferDecode(next, buffer);
+			return doDelimitedBufferDecode(next, buffer, scanner);
 		}
 	}
 
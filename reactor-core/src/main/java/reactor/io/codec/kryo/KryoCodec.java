@@ -17,35 +17,113 @@
 package reactor.io.codec.kryo;
 
 import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryo.io.UnsafeMemoryInput;
-import com.esotericsoftware.kryo.io.UnsafeMemoryOutput;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import reactor.core.support.Assert;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
+import reactor.fn.Supplier;
 import reactor.io.buffer.Buffer;
+import reactor.io.codec.Codec;
+import reactor.io.codec.LengthFieldCodec;
 import reactor.io.codec.SerializationCodec;
 
+import java.nio.ByteBuffer;
+
 /**
+ * A {@link SerializationCodec} using Kryo, optionally framed by the length of each object.
+ *
+ * A {@link Kryo} instance is not thread-safe and is costly to create, so it is leased along with a reusable {@link
+ * Input} and {@link Output} for every object encoded or decoded. When the codec is given a {@link Supplier} of {@link
+ * Kryo}, each thread gets its own instance the first time it uses the codec and then keeps it; when it is given a single
+ * {@link Kryo}, threads take turns using it. Objects are written straight into a {@link Buffer}, which a {@link
+ * LengthFieldCodec} frames if asked to, and read straight from the {@link ByteBuffer} of the frame they are received
+ * in, without an intermediate {@code byte[]}.
+ *
+ * The class of an object is written by Kryo along with it: a registered class is written as its registration id,
+ * which takes a byte or two instead of the class name. Every {@link Kryo} used on both ends must therefore register the
+ * same classes in the same order, which a {@link Supplier} applying the registrations guarantees.
+ *
  * @author Jon Brisbin
  */
 public class KryoCodec<IN, OUT> extends SerializationCodec<Kryo, IN, OUT> {
 
+	private static final byte[] EMPTY = new byte[0];
+
+	private final Codec<Buffer, IN, OUT> codec;
+	private final Engine                 shared;
+	private final ThreadLocal<Engine>    engines;
+
 	public KryoCodec() {
-		super(new Kryo(), true);
+		this(new Supplier<Kryo>() {
+			@Override
+			public Kryo get() {
+				return new Kryo();
+			}
+		}, true);
 	}
 
+	/**
+	 * Create a {@code KryoCodec} using the given {@link Kryo}, one thread at a time.
+	 *
+	 * @param engine             the {@link Kryo} to serialize with
+	 * @param lengthFieldFraming {@code true} to prepend a length field, or {@code false} to skip
+	 */
 	public KryoCodec(Kryo engine, boolean lengthFieldFraming) {
 		super(engine, lengthFieldFraming);
+		Assert.notNull(engine, "Kryo engine cannot be null.");
+		this.shared = new Engine(engine);
+		this.engines = null;
+		this.codec = framed(lengthFieldFraming);
+	}
+
+	/**
+	 * Create a {@code KryoCodec} using a {@link Kryo} per thread, {@link #getEngine()} then returns {@literal null}.
+	 *
+	 * @param engines            the {@link Supplier} creating and configuring the {@link Kryo} of each thread
+	 * @param lengthFieldFraming {@code true} to prepend a length field, or {@code false} to skip
+	 */
+	public KryoCodec(final Supplier<Kryo> engines, boolean lengthFieldFraming) {
+		super(null, lengthFieldFraming);
+		Assert.notNull(engines, "Kryo supplier cannot be null.");
+		this.shared = null;
+		this.engines = new ThreadLocal<Engine>() {
+			@Override
+			protected Engine initialValue() {
+				Kryo kryo = engines.get();
+				Assert.notNull(kryo, "Kryo engine cannot be null.");
+				return new Engine(kryo);
+			}
+		};
+		this.codec = framed(lengthFieldFraming);
+	}
+
+	@Override
+	public Function<Buffer, IN> decoder(Consumer<IN> next) {
+		return codec.decoder(next);
 	}
 
 	@Override
-	protected Function<byte[], IN> deserializer(final Kryo engine,
-	                                            final Class<IN> type,
-	                                            final Consumer<IN> next) {
+	public Buffer apply(OUT out) {
+		return codec.apply(out);
+	}
+
+	@Override
+	protected Function<byte[], IN> deserializer(Kryo ignored, final Class<IN> type, final Consumer<IN> next) {
 		return new Function<byte[], IN>() {
 			@Override
 			public IN apply(byte[] bytes) {
-				IN obj = engine.readObject(new UnsafeMemoryInput(bytes), type);
-				if(null != next) {
+				IN obj;
+				Engine engine = lease();
+				synchronized (engine) {
+					engine.input.setBuffer(bytes);
+					try {
+						obj = engine.kryo.readObject(engine.input, type);
+					} finally {
+						engine.input.setBuffer(EMPTY);
+					}
+				}
+				if (null != next) {
 					next.accept(obj);
 					return null;
 				} else {
@@ -56,16 +134,113 @@ public class KryoCodec<IN, OUT> extends SerializationCodec<Kryo, IN, OUT> {
 	}
 
 	@Override
-	protected Function<OUT, byte[]> serializer(final Kryo engine) {
+	protected Function<OUT, byte[]> serializer(Kryo ignored) {
+		// the engine is leased when encoding, a codec given a Supplier has no single engine
 		return new Function<OUT, byte[]>() {
 			@Override
 			public byte[] apply(OUT o) {
-				UnsafeMemoryOutput out = new UnsafeMemoryOutput(Buffer.SMALL_BUFFER_SIZE, Buffer.MAX_BUFFER_SIZE);
-				engine.writeObject(out, o);
-				out.flush();
-				return out.toBytes();
+				Engine engine = lease();
+				synchronized (engine) {
+					Output output = engine.output;
+					output.clear();
+					engine.kryo.writeObject(output, o);
+					return output.toBytes();
+				}
 			}
 		};
 	}
 
+	private Codec<Buffer, IN, OUT> framed(boolean lengthFieldFraming) {
+		if (lengthFieldFraming) {
+			return new LengthFieldCodec<IN, OUT>(new ObjectCodec());
+		} else {
+			return new ObjectCodec();
+		}
+	}
+
+	private Engine lease() {
+		return null != shared ? shared : engines.get();
+	}
+
+	private static final class Engine {
+		final Kryo   kryo;
+		final Input  input  = new Input();
+		final Output output = new Output(Buffer.SMALL_BUFFER_SIZE, Buffer.MAX_BUFFER_SIZE);
+
+		// the bytes of a frame received in a direct buffer
+		byte[] scratch = EMPTY;
+
+		Engine(Kryo kryo) {
+			this.kryo = kryo;
+		}
+	}
+
+	private class ObjectCodec extends Codec<Buffer, IN, OUT> {
+		@Override
+		public Function<Buffer, IN> decoder(final Consumer<IN> next) {
+			return new Function<Buffer, IN>() {
+				@Override
+				public IN apply(Buffer buffer) {
+					IN obj = read(buffer);
+					if (null != next) {
+						next.accept(obj);
+						return null;
+					} else {
+						return obj;
+					}
+				}
+			};
+		}
+
+		@Override
+		public Buffer apply(OUT out) {
+			if (null == out) {
+				return null;
+			}
+			Buffer buffer = new Buffer();
+			Engine engine = lease();
+			synchronized (engine) {
+				Output output = engine.output;
+				output.setOutputStream(buffer.outputStream());
+				try {
+					engine.kryo.writeClassAndObject(output, out);
+					output.flush();
+				} finally {
+					output.setOutputStream(null);
+				}
+			}
+			return buffer.flip();
+		}
+
+		@SuppressWarnings("unchecked")
+		private IN read(Buffer buffer) {
+			ByteBuffer bb = buffer.byteBuffer();
+			int len = bb.remaining();
+			Engine engine = lease();
+			synchronized (engine) {
+				Input input = engine.input;
+				int offset;
+				if (bb.hasArray()) {
+					offset = bb.arrayOffset() + bb.position();
+					input.setBuffer(bb.array(), offset, len);
+				} else {
+					if (engine.scratch.length < len) {
+						engine.scratch = new byte[len];
+					}
+					bb.duplicate().get(engine.scratch, 0, len);
+					offset = 0;
+					input.setBuffer(engine.scratch, 0, len);
+				}
+				try {
+					IN obj = (IN) engine.kryo.readClassAndObject(input);
+					// without a length field several objects may share the buffer, only skip the one read
+					buffer.skip(input.position() - offset);
+					return obj;
+				} finally {
+					input.setBuffer(EMPTY);
+				}
+			}
+		}
+	}
+
 }
@@ -104,6 +104,72 @@ class DispatcherSpec extends Specification {
 			latch.await(5, TimeUnit.SECONDS) // Wait for task to execute
 	}
 
+	def "Dispatchers dispatch batches in order"(Dispatcher d) {
+
+		given:
+			"a batch larger than the backlog"
+			def received = Collections.synchronizedList([])
+			def latch = new CountDownLatch(2500)
+			Consumer<Integer> c = { data ->
+				received << data
+				latch.countDown()
+				if (data == 0) {
+					// recursive batch dispatched from within the dispatcher
+					d.dispatchAll([-2, -1] as Integer[], { received << it; latch.countDown() } as Consumer<Integer>, null)
+				}
+			}
+
+		when:
+			"the batch is dispatched"
+			d.dispatchAll((0..<2498) as Integer[], c, null)
+
+		then:
+			"every element has been consumed in order"
+			latch.await(5, TimeUnit.SECONDS)
+			received == [0, -2, -1] + (1..<2498).toList()
+
+		cleanup:
+			d.shutdown()
+
+		where:
+			d << [
+					new SynchronousDispatcher(),
+					new RingBufferDispatcher("rb", 1024),
+					new RingBufferDispatcher("rb-single", 1024, null, ProducerType.SINGLE, new BlockingWaitStrategy()),
+					new MpscDispatcher("mpsc", 1024),
+					new MpscDispatcher("mpsc-bounded", 1024, true)
+			]
+	}
+
+	def "A bounded MpscDispatcher fails fast when its queue is full"() {
+
+		given:
+			"a bounded MpscDispatcher whose worker is blocked"
+			def d = new MpscDispatcher("mpsc-full", 8, true)
+			def running = new CountDownLatch(1)
+			def release = new CountDownLatch(1)
+			d.dispatch(null, { running.countDown(); release.await(5, TimeUnit.SECONDS) } as Consumer, null)
+			running.await(5, TimeUnit.SECONDS)
+
+		when:
+			"the queue is filled and one more task is tried"
+			8.times { d.tryDispatch(it, {} as Consumer<Integer>, null) }
+			d.tryDispatch(8, {} as Consumer<Integer>, null)
+
+		then:
+			"the dispatch is rejected instead of waiting for a free slot"
+			thrown(InsufficientCapacityException)
+
+		when:
+			"the dispatcher is forcibly shut down with a full queue"
+			d.forceShutdown()
+			release.countDown()
+
+		then:
+			"the dispatcher is no longer alive"
+			!d.alive()
+	}
+
 	def "Dispatchers can be shutdown awaiting tasks to complete"() {
 
 		given:
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.queue
+
+import reactor.fn.Consumer
+import reactor.fn.Supplier
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+class CompletableArrayQueueSpec extends Specification {
+
+	def "An array queue holds a power of two elements in order"() {
+		given:
+			"a queue asking for a capacity that is not a power of two"
+			def queue = factory.call(5)
+
+		when:
+			"it is filled"
+			def offered = (0..<10).collect { queue.offer(it) }
+
+		then:
+			"it holds 8 elements"
+			queue.capacity() == 8
+			offered == [true] * 8 + [false] * 2
+			queue.size() == 8
+			queue.peek() == 0
+
+		when:
+			"it is polled"
+			def polled = (0..<9).collect { queue.poll() }
+
+		then:
+			"the elements come out in order and it is empty"
+			polled == (0..<8).toList() + [null]
+			queue.isEmpty()
+			queue.size() == 0
+
+		when:
+			"it wraps around and completes"
+			(0..<6).each { queue.offer(it) }
+			queue.poll()
+			queue.complete()
+
+		then:
+			"it keeps the remaining elements"
+			queue.size() == 5
+			queue.isComplete()
+
+		where:
+			factory << [
+					{ int c -> new CompletableSpscArrayQueue<Integer>(c) },
+					{ int c -> new CompletableMpscArrayQueue<Integer>(c) },
+					{ int c -> new CompletableSpmcArrayQueue<Integer>(c) }
+			]
+	}
+
+	def "A lock-free queue iterates over a snapshot but cannot remove an arbitrary element"() {
+		given:
+			"a queue holding elements past its first slots"
+			def queue = factory.call()
+			(0..<10).each { queue.offer(it) }
+			(0..<3).each { queue.poll() }
+
+		expect:
+			"it iterates over the remaining elements in order"
+			queue.iterator().collect() == (3..<10).toList()
+			queue.contains(5)
+			!queue.contains(1)
+			queue.containsAll([3, 9])
+
+		when:
+			"an arbitrary element is removed"
+			queue.remove(5)
+
+		then:
+			"it is rejected with a clear message"
+			def e = thrown(UnsupportedOperationException)
+			e.message.contains("cannot remove an arbitrary element")
+
+		where:
+			factory << [
+					{ -> new CompletableSpscArrayQueue<Integer>(16) },
+					{ -> new CompletableMpscArrayQueue<Integer>(16) },
+					{ -> new CompletableSpmcArrayQueue<Integer>(16) },
+					{ -> new CompletableSpscLinkedArrayQueue<Integer>(4) }
+			]
+	}
+
+	def "An array queue is drained and filled in batches"() {
+		given:
+			"an empty queue"
+			def queue = factory.call(16)
+			def next = 0
+			def drained = []
+			def supplier = { next++ } as Supplier<Integer>
+			def consumer = { drained << it } as Consumer<Integer>
+
+		when:
+			"it is filled beyond its capacity"
+			def filled = queue.fill(supplier, 10)
+			def filledMore = queue.fill(supplier, 10)
+
+		then:
+			"the supplier is only asked for the elements there is room for"
+			filled == 10
+			filledMore == 6
+			next == 16
+
+		when:
+			"it is drained"
+			def first = queue.drain(consumer, 4)
+			def rest = queue.drain(consumer, 100)
+
+		then:
+			"the elements are passed on in order"
+			first == 4
+			rest == 12
+			drained == (0..<16).toList()
+			queue.isEmpty()
+
+		where:
+			factory << [
+					{ int c -> new CompletableSpscArrayQueue<Integer>(c) },
+					{ int c -> new CompletableMpscArrayQueue<Integer>(c) },
+					{ int c -> new CompletableSpmcArrayQueue<Integer>(c) }
+			]
+	}
+
+	def "An MPSC array queue keeps the order of each producer"() {
+		given:
+			"a small queue and several producers"
+			def queue = new CompletableMpscArrayQueue<int[]>(64)
+			def producers = 4
+			def count = 20000
+
+		when:
+			"the producers offer their elements while a single consumer polls"
+			def threads = (0..<producers).collect { p ->
+				Thread.start {
+					for (int i = 0; i < count; i++) {
+						while (!queue.offer([p, i] as int[])) {
+							Thread.yield()
+						}
+					}
+				}
+			}
+			def last = [-1] * producers
+			def inOrder = true
+			def received = 0
+			while (received < producers * count) {
+				def e = queue.poll()
+				if (e != null) {
+					inOrder &= last[e[0]] == e[1] - 1
+					last[e[0]] = e[1]
+					received++
+				}
+			}
+			threads*.join()
+
+		then:
+			"every element has been received once and in order"
+			inOrder
+			last == [count - 1] * producers
+			queue.isEmpty()
+	}
+
+	def "An SPMC array queue hands each element to a single consumer"() {
+		given:
+			"a small queue and several consumers"
+			def queue = new CompletableSpmcArrayQueue<Integer>(64)
+			def consumers = 4
+			def count = 50000
+			def received = new ConcurrentLinkedQueue<Integer>()
+			def done = new AtomicInteger()
+
+		when:
+			"a single producer offers elements while the consumers poll"
+			def threads = (0..<consumers).collect {
+				Thread.start {
+					while (!queue.isComplete() || !queue.isEmpty()) {
+						def e = queue.poll()
+						if (e != null) {
+							received << e
+						}
+					}
+					done.incrementAndGet()
+				}
+			}
+			for (int i = 0; i < count; i++) {
+				while (!queue.offer(i)) {
+					Thread.yield()
+				}
+			}
+			queue.complete()
+			threads*.join()
+
+		then:
+			"every element has been received exactly once"
+			done.get() == consumers
+			received.size() == count
+			received.toList().sort() == (0..<count).toList()
+	}
+}
@@ -0,0 +1,184 @@
+package reactor.fn.timer
+
+import reactor.Environment
+import reactor.fn.Consumer
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HierarchicalWheelTimerSpec extends Specification {
+
+  def period = 50
+
+  def "HierarchicalWheelTimer can schedule recurring tasks"() {
+
+    given:
+    "a new timer"
+    def timer = new HierarchicalWheelTimer(10)
+    def latch = new CountDownLatch(10)
+
+    when:
+    "a task is submitted"
+    timer.schedule(
+            { Long now -> latch.countDown() } as Consumer<Long>,
+            period,
+            TimeUnit.MILLISECONDS,
+            period
+    )
+
+    then:
+    "the latch was counted down"
+    latch.await(1, TimeUnit.SECONDS)
+
+    cleanup:
+    timer.cancel()
+  }
+
+  def "HierarchicalWheelTimer can delay submitted tasks beyond the first wheel"() {
+
+    given:
+    "a new timer whose first wheel spans 64ms"
+    def delay = 300
+    def timer = new HierarchicalWheelTimer(1)
+    def latch = new CountDownLatch(1)
+    def start = System.currentTimeMillis()
+    def elapsed = 0
+
+    when:
+    "a task is submitted"
+    timer.submit(
+            { Long now ->
+              elapsed = System.currentTimeMillis() - start
+              latch.countDown()
+            } as Consumer<Long>,
+            delay,
+            TimeUnit.MILLISECONDS
+    )
+
+    then:
+    "the latch was counted down once the task cascaded to the first wheel"
+    latch.await(1, TimeUnit.SECONDS)
+    elapsed >= delay
+    elapsed < delay * 2
+
+    cleanup:
+    timer.cancel()
+  }
+
+  def "HierarchicalWheelTimer does not run cancelled or paused tasks"() {
+
+    given:
+    "a new timer"
+    def timer = new HierarchicalWheelTimer(10)
+    def cancelled = new AtomicInteger()
+    def paused = new AtomicInteger()
+    def latch = new CountDownLatch(3)
+
+    when:
+    "tasks are cancelled and paused"
+    timer.submit({ Long now -> cancelled.incrementAndGet() } as Consumer<Long>, 100, TimeUnit.MILLISECONDS).cancel()
+    def pausable = timer.schedule({ Long now -> paused.incrementAndGet() } as Consumer<Long>, 20, TimeUnit.MILLISECONDS, 50)
+            .pause()
+    timer.schedule({ Long now -> latch.countDown() } as Consumer<Long>, 100, TimeUnit.MILLISECONDS)
+
+    then:
+    "only the remaining task ran"
+    latch.await(1, TimeUnit.SECONDS)
+    cancelled.get() == 0
+    paused.get() == 0
+
+    when:
+    "the paused task is resumed"
+    pausable.resume()
+    sleep(200)
+
+    then:
+    "it runs again"
+    paused.get() > 0
+
+    cleanup:
+    timer.cancel()
+  }
+
+  def "HierarchicalWheelTimer coalesces tasks due on the same tick into one batch"() {
+
+    given:
+    "a new timer counting the batches handed to its executor"
+    def batches = new AtomicInteger()
+    def executor = { Runnable r ->
+      batches.incrementAndGet()
+      r.run()
+    } as Executor
+    def timer = new HierarchicalWheelTimer("coalescing-timer", 100, new HashWheelTimer.SleepWait(), executor)
+    def latch = new CountDownLatch(9)
+    def cancelled = new AtomicInteger()
+
+    when:
+    "tasks sharing a period are scheduled and one of them is cancelled"
+    10.times { i ->
+      def task = timer.schedule({ Long now ->
+        if (i == 0) {
+          cancelled.incrementAndGet()
+        } else {
+          latch.countDown()
+        }
+      } as Consumer<Long>, 500, TimeUnit.MILLISECONDS, 200)
+      if (i == 0) {
+        task.cancel()
+      }
+    }
+
+    then:
+    "the remaining tasks ran in a single batch"
+    latch.await(1, TimeUnit.SECONDS)
+    cancelled.get() == 0
+    batches.get() == 1
+
+    cleanup:
+    timer.cancel()
+  }
+
+  def "A failing task does not prevent the rest of its batch from running"() {
+
+    given:
+    "a new timer"
+    def timer = new HierarchicalWheelTimer(50)
+    def latch = new CountDownLatch(2)
+
+    when:
+    "a failing task is submitted along with others due on the same tick"
+    timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 200, TimeUnit.MILLISECONDS)
+    timer.submit({ Long now -> throw new IllegalStateException() } as Consumer<Long>, 200, TimeUnit.MILLISECONDS)
+    timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 200, TimeUnit.MILLISECONDS)
+
+    then:
+    "the other tasks ran"
+    latch.await(1, TimeUnit.SECONDS)
+
+    cleanup:
+    timer.cancel()
+  }
+
+  def "The Environment timer can be a HierarchicalWheelTimer"() {
+
+    given:
+    "an Environment configured with a hierarchical wheel timer"
+    System.setProperty(Environment.TIMER_TYPE, Environment.HIERARCHICAL_WHEEL_TIMER)
+    System.setProperty(Environment.TIMER_RESOLUTION, '10')
+    def env = new Environment()
+
+    expect:
+    "the timer has been configured"
+    env.timer instanceof HierarchicalWheelTimer
+    env.timer.resolution == 10
+
+    cleanup:
+    System.clearProperty(Environment.TIMER_TYPE)
+    System.clearProperty(Environment.TIMER_RESOLUTION)
+    env?.shutdown()
+  }
+
+}
@@ -426,4 +426,47 @@ class BufferSpec extends Specification {
 		pos == -1
 	}
 
+	def "A dynamic Buffer grows geometrically"() {
+		given: "an empty dynamic Buffer and a 1KB chunk"
+		def buffer = new Buffer()
+		def chunk = new byte[1024]
+		Arrays.fill(chunk, (byte)'a')
+
+		when: "1MB is appended one chunk at a time"
+		1024.times { buffer.append(chunk) }
+		buffer.flip()
+
+		then: "the capacity doubled from the small buffer size and the content is intact"
+		buffer.remaining() == 1024 * 1024
+		buffer.capacity() == Buffer.SMALL_BUFFER_SIZE * 64
+		buffer.asBytes().every { it == (byte)'a' }
+	}
+
+	def "A pooled Buffer gives its storage back when recycled"() {
+		given: "pooling is enabled"
+		Buffer.POOLED_BUFFERS = true
+
+		when: "a dynamic Buffer is written to then recycled"
+		def first = new Buffer().append("Hello World!")
+		def storage = first.byteBuffer()
+		first.recycle()
+
+		and: "another dynamic Buffer is written to on the same thread"
+		def second = new Buffer().append("Hello again!").flip()
+
+		then: "it reuses the recycled storage"
+		second.byteBuffer().is(storage)
+		second.asString() == "Hello again!"
+
+		when: "the recycled Buffer is written to again"
+		first.append("Back").flip()
+
+		then: "it takes new storage"
+		!first.byteBuffer().is(storage)
+		first.asString() == "Back"
+
+		cleanup:
+		Buffer.POOLED_BUFFERS = false
+	}
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer
+
+import reactor.fn.Consumer
+import reactor.io.codec.DelimitedCodec
+import reactor.io.codec.LengthFieldCodec
+import reactor.io.codec.StandardCodecs
+import spock.lang.Specification
+
+import java.nio.BufferUnderflowException
+import java.nio.ByteBuffer
+
+class CompositeBufferSpec extends Specification {
+
+	def "A CompositeBuffer references the appended storage"() {
+		given: "two ByteBuffers"
+		def hello = ByteBuffer.wrap("Hello ".bytes)
+		def world = ByteBuffer.wrap("World!".bytes)
+
+		when: "they are appended to a CompositeBuffer"
+		def buff = new CompositeBuffer().append(hello).append(world)
+
+		then: "the ByteBuffers are consumed and the content is readable without having been copied"
+		buff.componentCount() == 2
+		buff.remaining() == 12
+		buff.asString() == "Hello World!"
+		!hello.hasRemaining()
+
+		when: "the first component is changed"
+		hello.put(0, (byte) 'J')
+
+		then: "the CompositeBuffer sees the change"
+		buff.asString() == "Jello World!"
+	}
+
+	def "Primitives can be read across component boundaries"() {
+		given: "a long and an int split between three components"
+		def bytes = ByteBuffer.allocate(12).putLong(Long.MAX_VALUE - 1).putInt(42).array()
+		def buff = new CompositeBuffer(
+				ByteBuffer.wrap(bytes, 0, 3),
+				ByteBuffer.wrap(bytes, 3, 7),
+				ByteBuffer.wrap(bytes, 10, 2))
+
+		when: "they are read"
+		def l = buff.readLong()
+		def i = buff.readInt()
+
+		then: "the values are intact"
+		l == Long.MAX_VALUE - 1
+		i == 42
+		buff.remaining() == 0
+
+		when: "more is read"
+		buff.read()
+
+		then: "an exception is thrown"
+		thrown(BufferUnderflowException)
+	}
+
+	def "A CompositeBuffer can be split across component boundaries"() {
+		given: "lines split between components"
+		def buff = new CompositeBuffer().append("Hello W").append("orld!\nHello ").append("again!\nand")
+
+		when: "it is split on newlines"
+		def views = buff.split(10, true)
+
+		then: "the position is after the last delimiter"
+		buff.position() == 26
+		buff.asString() == "and"
+
+		and: "the views point to the lines"
+		views.collect { it.get().asString() } == ["Hello World!", "Hello again!"]
+
+		and: "bytes can be found across components"
+		buff.clear().indexOf('!'.bytes[0]) == 12
+		buff.indexOf('a'.bytes[0], 13, 26) == 20
+	}
+
+	def "A CompositeBuffer prepends and slices without copying"() {
+		given: "a CompositeBuffer"
+		def buff = new CompositeBuffer().append("World").append("!")
+
+		when: "a Buffer is prepended"
+		buff.prepend(Buffer.wrap("Hello "))
+
+		then: "it is read first"
+		buff.asString() == "Hello World!"
+
+		when: "a range spanning several components is sliced"
+		def slice = buff.slice(4, 7)
+
+		then: "the slice reads the range"
+		slice.asString() == "o World"
+		slice.componentCount() == 2
+
+		when: "a Buffer appends the range spanning several components"
+		def copy = new Buffer().append(slice).flip()
+
+		then: "the range is copied and the slice is consumed"
+		copy.asString() == "o World"
+		slice.remaining() == 0
+
+		when: "the read bytes are compacted"
+		buff.position(6).compact()
+
+		then: "only the remaining components are kept"
+		buff.position() == 0
+		buff.componentCount() == 2
+		buff.asString() == "World!"
+	}
+
+	def "DelimitedCodec frames lines received in several chunks"() {
+		given: "a delimited codec"
+		def codec = new DelimitedCodec<String, String>(true, StandardCodecs.STRING_CODEC)
+		def lines = []
+		def decoder = codec.decoder({ String s -> lines << s } as Consumer<String>)
+		def buff = new CompositeBuffer()
+
+		when: "a first chunk ends in the middle of a line"
+		decoder.apply(buff.append("Hello World!\nHello "))
+		buff.compact()
+
+		then: "only the complete line is decoded"
+		lines == ["Hello World!"]
+		buff.asString() == "Hello "
+
+		when: "the rest of the line is received"
+		decoder.apply(buff.append("again!\n"))
+		buff.compact()
+
+		then: "the line is decoded and nothing remains"
+		lines == ["Hello World!", "Hello again!"]
+		buff.remaining() == 0
+	}
+
+	def "LengthFieldCodec frames messages received in several chunks"() {
+		given: "a length-field codec and an encoded message split in three"
+		def codec = new LengthFieldCodec<String, String>(StandardCodecs.STRING_CODEC)
+		def bytes = codec.apply("Hello World!").asBytes()
+		def decoder = codec.decoder(null)
+		def buff = new CompositeBuffer()
+
+		when: "the length field is split"
+		def first = decoder.apply(buff.append(Arrays.copyOfRange(bytes, 0, 2)))
+
+		then: "nothing is decoded"
+		first == null
+
+		when: "the rest of the message is received in two chunks"
+		def second = decoder.apply(buff.append(Arrays.copyOfRange(bytes, 2, 9)))
+		def third = decoder.apply(buff.append(Arrays.copyOfRange(bytes, 9, bytes.length)))
+
+		then: "the message is decoded once complete"
+		second == null
+		third == "Hello World!"
+		buff.remaining() == 0
+	}
+
+}
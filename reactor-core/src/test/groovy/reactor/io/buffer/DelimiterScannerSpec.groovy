@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+class DelimiterScannerSpec extends Specification {
+
+	def "A DelimiterScanner finds every delimiter, whole words and tail included"() {
+		given: "a scanner and a buffer holding delimiters inside words, at word boundaries and in the tail"
+		def scanner = new DelimiterScanner(1)
+		def bytes = new byte[37]
+		def expected = [0, 7, 8, 9, 15, 16, 23, 36]
+		expected.each { bytes[it] = (byte) '\n' }
+		def buff = Buffer.wrap(bytes)
+
+		when: "the buffer is scanned"
+		def count = scanner.scan(buff, (byte) '\n')
+
+		then: "the offsets are recorded in order and the buffer is untouched"
+		count == expected.size()
+		(0..<count).collect { scanner.offset(it) } == expected
+		buff.position() == 0
+		buff.limit() == 37
+
+		when: "only part of the buffer is readable"
+		buff.position(8).limit(20)
+
+		then: "only the delimiters of the readable range are found"
+		scanner.scan(buff, (byte) '\n') == 4
+		(0..<4).collect { scanner.offset(it) } == [8, 9, 15, 16]
+	}
+
+	def "A DelimiterScanner matches bytes with the high bit set exactly"() {
+		given: "bytes close to the delimiter in every byte order and storage"
+		def data = [(byte) 0x7F, (byte) 0x80, (byte) 0xFF, (byte) 0xFE, (byte) 0x00, (byte) 0x01, (byte) 0xFF, (byte) 0x7F,
+		            (byte) 0xFF, (byte) 0x00, (byte) 0xFF, (byte) 0xFF] as byte[]
+
+		expect: "only the delimiter itself is found"
+		[ByteBuffer.wrap(data), ByteBuffer.allocateDirect(data.length).put(data).flip() as ByteBuffer].every { bb ->
+			[ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN].every { order ->
+				bb.order(order)
+				def scanner = new DelimiterScanner()
+				scanner.scan(new Buffer(bb), (byte) 0xFF) == 5 &&
+						(0..<5).collect { scanner.offset(it) } == [2, 6, 8, 10, 11] &&
+						DelimiterScanner.indexOf(bb, 3, data.length, (byte) 0xFF) == 6 &&
+						DelimiterScanner.indexOf(bb, 0, data.length, (byte) 0x00) == 4 &&
+						DelimiterScanner.indexOf(bb, 0, data.length, (byte) 0x02) == -1
+			}
+		}
+	}
+
+	def "A DelimiterScanner scans every component of a CompositeBuffer"() {
+		given: "lines split between components"
+		def buff = new CompositeBuffer().append("Hello W").append("orld!\nHello again!\n").append("\nand")
+		def scanner = new DelimiterScanner()
+
+		when: "it is scanned"
+		def count = scanner.scan(buff, (byte) '\n')
+
+		then: "the offsets are relative to the CompositeBuffer"
+		count == 3
+		(0..<count).collect { scanner.offset(it) } == [12, 25, 26]
+
+		when: "the first line has been read"
+		buff.position(13)
+
+		then: "the scan starts at the position"
+		scanner.scan(buff, (byte) '\n') == 2
+		scanner.offset(0) == 25
+
+		when: "an offset beyond the last scan is asked for"
+		scanner.offset(2)
+
+		then: "an exception is thrown"
+		thrown(IndexOutOfBoundsException)
+	}
+
+}
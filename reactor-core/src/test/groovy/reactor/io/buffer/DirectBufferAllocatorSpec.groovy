@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class DirectBufferAllocatorSpec extends Specification {
+
+	def "A DirectBufferAllocator rounds memory up to size classes and reuses released buffers"() {
+		given: "an allocator"
+		def allocator = new DirectBufferAllocator(4096, 4, 1024 * 1024, 0)
+
+		when: "a buffer is allocated"
+		def ref = allocator.allocate(5000)
+		def storage = ref.get().byteBuffer()
+		storage.put(0, 42 as byte)
+
+		then: "it is direct and limited to the capacity asked for, while its memory has been rounded up"
+		storage.direct
+		storage.capacity() == 5000
+		ref.get().capacity() == 5000
+		allocator.usedMemory == 8192
+		allocator.reservedMemory == 8192
+
+		when: "it is released and a buffer of the same size class is allocated"
+		ref.release()
+		def pooled = allocator.pooledMemory
+		def next = allocator.allocate(6000)
+
+		then: "the memory is reused"
+		pooled == 8192
+		next.get().capacity() == 6000
+		next.get().byteBuffer().get(0) == 42 as byte
+		allocator.reservedMemory == 8192
+		allocator.allocationCount == 2
+
+		when: "the buffer is released twice"
+		next.release()
+		next.release()
+
+		then: "an exception is thrown"
+		thrown(IllegalStateException)
+	}
+
+	def "A DirectBufferAllocator holds allocations back at its memory ceiling"() {
+		given: "an allocator holding two buffers at most"
+		def allocator = new DirectBufferAllocator(4096, 4, 8192, 0)
+		def first = allocator.allocate()
+		def second = allocator.allocate()
+
+		expect: "no more buffers can be allocated"
+		allocator.tryAllocate(4096) == null
+		allocator.tryAllocate(4096, 50, TimeUnit.MILLISECONDS) == null
+
+		when: "a thread waits for a buffer"
+		def allocated = new CountDownLatch(1)
+		def waiting = Thread.start {
+			def ref = allocator.allocate()
+			allocated.countDown()
+			ref.release()
+		}
+
+		then: "it is held back until a buffer is released"
+		!allocated.await(100, TimeUnit.MILLISECONDS)
+
+		when: "a buffer is released"
+		first.release()
+
+		then: "the waiting thread gets it"
+		allocated.await(5, TimeUnit.SECONDS)
+		allocator.reservedMemory == 8192
+
+		when: "a larger buffer is requested once the thread is gone and the other buffer is released"
+		waiting.join()
+		second.release()
+		def large = allocator.tryAllocate(8192)
+
+		then: "the idle buffers are freed to make room"
+		large.get().byteBuffer().capacity() == 8192
+		allocator.reservedMemory == 8192
+	}
+
+	def "A DirectBufferAllocator reports the buffers that are never released"() {
+		given: "an allocator tracking every allocation"
+		def allocator = new DirectBufferAllocator(4096, 4, 1024 * 1024, 1)
+
+		when: "a buffer is dropped without being released"
+		allocator.allocate()
+		def deadline = System.currentTimeMillis() + 5000
+		while (allocator.leakCount == 0 && System.currentTimeMillis() < deadline) {
+			System.gc()
+			Thread.sleep(10)
+			allocator.allocate().release()
+		}
+
+		then: "the leak is detected and its memory is no longer accounted for"
+		allocator.leakCount == 1
+		allocator.usedMemory == 0
+	}
+
+	def "A DirectBufferAllocator reclaims the idle buffers cached by other threads at its memory ceiling"() {
+		given: "an allocator holding two buffers at most, without a shared pool"
+		def allocator = new DirectBufferAllocator(4096, 0, 8192, 0)
+
+		when: "another thread, still alive, releases two buffers into its cache"
+		def cached = new CountDownLatch(1)
+		def done = new CountDownLatch(1)
+		def owner = Thread.start {
+			def first = allocator.allocate()
+			def second = allocator.allocate()
+			first.release()
+			second.release()
+			cached.countDown()
+			done.await()
+		}
+		cached.await()
+
+		then: "their memory is still reserved"
+		allocator.reservedMemory == 8192
+		allocator.usedMemory == 0
+
+		when: "buffers are allocated on this thread"
+		def small = allocator.tryAllocate(4096)
+		small.release()
+		def large = allocator.tryAllocate(8192)
+
+		then: "the cached buffers are freed to make room"
+		small != null
+		large.get().byteBuffer().capacity() == 8192
+		allocator.reservedMemory == 8192
+
+		cleanup:
+		done.countDown()
+		owner.join()
+	}
+
+	def "A DirectBufferAllocator gives the memory of every leaked buffer back"() {
+		given: "an allocator holding one buffer at most, recording no call site"
+		def allocator = new DirectBufferAllocator(4096, 4, 4096, 0)
+
+		when: "its only buffer is dropped without being released"
+		allocator.allocate()
+		def ref = null
+		def deadline = System.currentTimeMillis() + 5000
+		while (null == ref && System.currentTimeMillis() < deadline) {
+			System.gc()
+			ref = allocator.tryAllocate(4096, 10, TimeUnit.MILLISECONDS)
+		}
+
+		then: "a buffer can be allocated again once it has been garbage collected"
+		ref != null
+		allocator.leakCount == 1
+		allocator.usedMemory == 4096
+	}
+
+}
@@ -1,8 +1,13 @@
 package reactor.io.codec.compress
 
+import reactor.fn.Consumer
 import reactor.io.buffer.Buffer
+import reactor.io.codec.Codec
+import reactor.io.codec.StandardCodecs
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
+
 import static reactor.io.codec.StandardCodecs.PASS_THROUGH_CODEC
 
 /**
@@ -49,4 +54,66 @@ class CompressionCodecsSpec extends Specification {
 
 	}
 
+	def "compression codecs decode a stream received in arbitrary pieces"() {
+
+		given: "line-delimited codecs and a stream of lines, each of them compressed as a message"
+			def lines = (1..2000).collect { "Line number $it".toString() }
+			def codec = codecType.newInstance(StandardCodecs.LINE_FEED_CODEC) as Codec<Buffer, String, String>
+			def bytes = new ByteArrayOutputStream()
+			lines.each { bytes.write(codec.apply(it).asBytes()) }
+			def compressed = bytes.toByteArray()
+			def decoded = []
+			def decoder = codec.decoder({ String s -> decoded << s } as Consumer<String>)
+
+		when: "the stream is decoded a few bytes at a time, from direct and heap buffers alike"
+			def random = new Random(1)
+			int offset = 0
+			while (offset < compressed.length) {
+				int len = Math.min(compressed.length - offset, 1 + random.nextInt(64))
+				def chunk = offset % 2 ?
+						ByteBuffer.allocateDirect(len).put(compressed, offset, len).flip() as ByteBuffer :
+						ByteBuffer.wrap(compressed, offset, len)
+				def buffer = new Buffer(chunk)
+				decoder.apply(buffer)
+				assert buffer.remaining() == 0
+				offset += len
+			}
+
+		then: "every line is decoded once and in order"
+			decoded == lines
+
+		where:
+			codecType << [GzipCodec, SnappyCodec]
+	}
+
+	def "compression codecs hand large messages over in bounded chunks"() {
+
+		given: "a message larger than a chunk"
+			def text = ('a'..'z').join('') * 4000
+			def codec = codecType.newInstance(PASS_THROUGH_CODEC) as Codec<Buffer, Buffer, Buffer>
+			def compressed = codec.apply(Buffer.wrap(text))
+			def chunks = []
+			def decoder = codec.decoder({ Buffer b -> chunks << b.asString() } as Consumer<Buffer>)
+
+		when: "it is decoded"
+			decoder.apply(compressed)
+
+		then: "it is received in several chunks, each of them once"
+			chunks.size() > 1
+			chunks.every { it.length() < 2 * Buffer.SMALL_BUFFER_SIZE }
+			chunks.join('') == text
+
+		where:
+			codecType << [GzipCodec, SnappyCodec]
+	}
+
+	def "corrupt streams are rejected"() {
+
+		when: "data that is not GZIP is decoded"
+			gzip.decoder(null).apply(Buffer.wrap("Hello World!"))
+
+		then: "an exception is thrown"
+			thrown(IllegalStateException)
+	}
+
 }
@@ -1,7 +1,9 @@
 package reactor.io.codec.json
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import reactor.fn.Consumer
 import reactor.io.buffer.Buffer
+import reactor.io.buffer.CompositeBuffer
 import spock.lang.Specification
 
 /**
@@ -35,8 +37,35 @@ class JacksonJsonCodecSpec extends Specification {
 
 	}
 
+	def "decodes objects of several types received in several chunks"() {
+
+		given: "a Codec and frames holding objects of two types"
+			def codec = new JacksonJsonCodec<Object, Object>(mapper)
+			def bytes = [new Person(name: "John Doe"), new Person(name: "Jane Doe"), new Pet(species: "cat"),
+			             new Person(name: "Jim Doe")].collect { codec.apply(it).asBytes().toList() }.flatten() as byte[]
+			def decoded = []
+			def decoder = codec.decoder({ decoded << it } as Consumer<Object>)
+			def buffer = new CompositeBuffer()
+
+		when: "the frames are received a few bytes at a time"
+			bytes.toList().collate(7).each { chunk ->
+				decoder.apply(buffer.append(chunk as byte[]))
+				buffer.compact()
+			}
+
+		then: "every object was decoded with its type"
+			decoded*.class == [Person, Person, Pet, Person]
+			decoded.collect { it instanceof Person ? it.name : it.species } == ["John Doe", "Jane Doe", "cat", "Jim Doe"]
+			buffer.remaining() == 0
+
+	}
+
 	static class Person {
 		String name
 	}
 
+	static class Pet {
+		String species
+	}
+
 }
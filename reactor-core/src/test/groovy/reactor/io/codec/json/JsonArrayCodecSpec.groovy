@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.codec.json
+
+import reactor.fn.Consumer
+import reactor.io.buffer.Buffer
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class JsonArrayCodecSpec extends Specification {
+
+	def "A large array is decoded element by element as it is received"() {
+		given: "an array of objects holding nested arrays and tricky strings"
+			def json = '[' + (1..500).collect { i ->
+				"""{"id":$i,"name":"item \\"$i\\" [${'{'}]","tags":[[$i],{"a":"]"}]}"""
+			}.join(', ') + ']'
+			def bytes = json.getBytes("UTF-8")
+			def codec = new JsonArrayCodec<Map, Map>(Map)
+			def decoded = []
+			def decoder = codec.decoder({ Map m -> decoded << m } as Consumer<Map>)
+
+		when: "it is received in chunks of random sizes from heap and direct buffers"
+			def random = new Random(7)
+			int offset = 0
+			while (offset < bytes.length) {
+				int len = Math.min(bytes.length - offset, 1 + random.nextInt(100))
+				def chunk = offset % 2 ?
+						ByteBuffer.allocateDirect(len).put(bytes, offset, len).flip() as ByteBuffer :
+						ByteBuffer.wrap(bytes, offset, len).slice()
+				def buffer = new Buffer(chunk)
+				decoder.apply(buffer)
+				assert buffer.remaining() == 0
+				offset += len
+			}
+
+		then: "every element was decoded once and in order"
+			decoded.size() == 500
+			decoded*.id == (1..500).toList()
+			decoded[41].name == 'item "42" [{]'
+			decoded[41].tags == [[42], [a: ']']]
+	}
+
+	def "Values encoded one by one are decoded back"() {
+		given: "a codec encoding values followed by a line feed"
+			def codec = new JsonArrayCodec<Object, Object>(Object)
+			def buffer = new Buffer()
+			["one", 2, [three: 3], [4, 5], true].each { buffer.append(codec.apply(it)) }
+			buffer.flip()
+			def decoder = codec.decoder(null)
+
+		when: "they are decoded without a consumer"
+			def decoded = []
+			def value
+			while ((value = decoder.apply(buffer)) != null) {
+				decoded << value
+			}
+
+		then: "one value is returned at a time, top-level arrays being unwrapped"
+			decoded == ["one", 2, [three: 3], 4, 5, true]
+			buffer.remaining() == 0
+	}
+
+}
@@ -1,9 +1,15 @@
 package reactor.io.codec.kryo
 
 import com.esotericsoftware.kryo.Kryo
+import reactor.fn.Consumer
+import reactor.fn.Supplier
 import reactor.io.buffer.Buffer
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
 /**
  * @author Jon Brisbin
  */
@@ -26,8 +32,8 @@ class KryoCodecSpec extends Specification {
 		when: "an objects are serialized"
 			buffer = codec.apply(obj)
 
-		then: "all objects were serialized"
-			buffer.remaining() == 75
+		then: "all objects were serialized, their class written as its registration id"
+			buffer.remaining() == 20
 
 		when: "an object is deserialized"
 			RichObject newObj = codec.decoder(null).apply(buffer)
@@ -39,6 +45,61 @@ class KryoCodecSpec extends Specification {
 
 	}
 
+	def "encodes and decodes with a Kryo per thread"() {
+
+		given: "a Kryo codec creating a registered Kryo for each thread"
+			def codec = new KryoCodec<RichObject, RichObject>({
+				def kryo = new Kryo()
+				kryo.register(RichObject)
+				kryo
+			} as Supplier<Kryo>, true)
+			def threads = 4
+			def perThread = 1000
+			def pool = Executors.newFixedThreadPool(threads)
+
+		when: "objects are encoded and decoded concurrently"
+			def results = (0..<threads).collect { t ->
+				pool.submit({
+					def decoder = codec.decoder(null)
+					(0..<perThread).every { i ->
+						def decoded = decoder.apply(codec.apply(new RichObject("obj-$t-$i".toString(), i as Float, t as Long)))
+						decoded.name == "obj-$t-$i".toString() && decoded.percent == i && decoded.total == t
+					}
+				} as Callable<Boolean>)
+			}*.get()
+
+		then: "every object survived the round trip"
+			results.every()
+
+		when: "several objects are received in a single direct buffer"
+			def bytes = (codec.apply(new RichObject("a", 1f, 1l)).asBytes().toList() + codec.apply(new RichObject("b", 2f, 2l)).asBytes().toList()) as byte[]
+			def direct = new Buffer(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() as ByteBuffer)
+			def decoded = []
+			codec.decoder({ decoded << it.name } as Consumer<RichObject>).apply(direct)
+
+		then: "they are all decoded"
+			decoded == ["a", "b"]
+			direct.remaining() == 0
+
+		cleanup:
+			pool?.shutdown()
+	}
+
+	def "serializes and deserializes objects through byte arrays"() {
+
+		given: "a Kryo codec"
+			def codec = new KryoCodec<RichObject, RichObject>(kryo, true)
+
+		when: "an object is serialized to bytes and read back"
+			byte[] bytes = codec.serializer(kryo).apply(new RichObject("bytes", 1.5f, 3l))
+			RichObject newObj = codec.deserializer(kryo, RichObject, null).apply(bytes)
+
+		then: "the object survived the round trip"
+			newObj.name == "bytes"
+			newObj.percent == 1.5f
+			newObj.total == 3l
+	}
+
 	static class RichObject {
 		String name
 		Float percent
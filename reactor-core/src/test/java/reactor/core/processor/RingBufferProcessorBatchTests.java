@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RingBufferProcessorBatchTests {
+
+	@Test
+	public void batchesAreSignalledInOrderWithTheirBoundaries() throws InterruptedException {
+		RingBufferProcessor<Integer> processor = RingBufferProcessor.create("batchProcessor", 16);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		processor.subscribe(subscriber);
+
+		Integer[] values = new Integer[40];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		processor.onNextBatch(values);
+		processor.onNext(40);
+		processor.onComplete();
+
+		assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(41, subscriber.values.size());
+		for (int i = 0; i < 41; i++) {
+			assertEquals(i, subscriber.values.get(i).intValue());
+		}
+		// larger than the ring buffer: published as chunks of at most its size, single onNext is not a batch
+		assertEquals(Arrays.asList(16, 16, 8), subscriber.batchSizes);
+		assertEquals(3, subscriber.batchEnds);
+	}
+
+	@Test
+	public void iterablesCanBePublishedAsABatch() throws InterruptedException {
+		RingBufferProcessor<Integer> processor = RingBufferProcessor.create("batchProcessor", 16);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		processor.subscribe(subscriber);
+
+		processor.onNextBatch(new Iterable<Integer>() {
+			@Override
+			public Iterator<Integer> iterator() {
+				return Arrays.asList(1, 2, 3).iterator();
+			}
+		});
+		processor.onComplete();
+
+		assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList(1, 2, 3), subscriber.values);
+		assertEquals(Arrays.asList(3), subscriber.batchSizes);
+		assertEquals(1, subscriber.batchEnds);
+	}
+
+	@Test
+	public void batchesWithNullElementsAreRejectedBeforePublishing() throws InterruptedException {
+		RingBufferProcessor<Integer> processor = RingBufferProcessor.create("batchProcessor", 16);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		processor.subscribe(subscriber);
+
+		try {
+			processor.onNextBatch(new Integer[]{1, null, 3});
+			fail("null elements must be rejected");
+		} catch (NullPointerException e) {
+			// expected
+		}
+		processor.onComplete();
+
+		assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+		assertTrue(subscriber.values.isEmpty());
+	}
+
+	private static final class RecordingSubscriber implements BatchSubscriber<Integer> {
+
+		final List<Integer>  values     = new ArrayList<Integer>();
+		final List<Integer>  batchSizes = new ArrayList<Integer>();
+		final CountDownLatch completed  = new CountDownLatch(1);
+		int batchEnds;
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onBatchStart(int size) {
+			batchSizes.add(size);
+		}
+
+		@Override
+		public void onNext(Integer integer) {
+			values.add(integer);
+		}
+
+		@Override
+		public void onBatchEnd() {
+			batchEnds++;
+		}
+
+		@Override
+		public void onError(Throwable t) {
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+
+}
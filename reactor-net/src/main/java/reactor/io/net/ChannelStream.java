@@ -59,6 +59,9 @@ public abstract class ChannelStream<IN, OUT> extends Stream<IN> implements Chann
 	private final Function<OUT, Buffer> encoder;
 	private final long                  prefetch;
 
+	// bytes written since the last flush of a batch
+	private int pendingBytes;
+
 	protected ChannelStream(final @Nonnull Environment env,
 	                        @Nullable Codec<Buffer, IN, OUT> codec,
 	                        long prefetch,
@@ -98,6 +101,24 @@ public abstract class ChannelStream<IN, OUT> extends Stream<IN> implements Chann
 		return peer.subscribeChannelHandlers(Streams.create(source), this);
 	}
 
+	/**
+	 * Write the elements of the given source in batches: up to {@code batchSize} elements are requested at a time and
+	 * written without being flushed, the connection is then flushed once for the whole batch, or as soon as {@code
+	 * batchBytes} encoded bytes are waiting to be flushed. Writing small messages this way takes a system call per batch
+	 * instead of one per message. The elements of a batch are not observed one by one: a failure to write them is
+	 * signalled once to the channel.
+	 *
+	 * @param source     the elements to write
+	 * @param batchSize  the number of elements to write between flushes
+	 * @param batchBytes the number of encoded bytes after which to flush before the end of a batch, or {@code -1} to only
+	 *                   flush at the end of a batch
+	 * @return a {@link Control} on the written source
+	 */
+	public Control sink(Publisher<? extends OUT> source, long batchSize, int batchBytes) {
+		Assert.isTrue(batchSize > 0 && batchSize < Long.MAX_VALUE, "Batch size must be positive and bounded");
+		return peer.subscribeChannelHandlers(Streams.create(source).capacity(batchSize), this, batchBytes);
+	}
+
 	final public Control sinkBuffers(Publisher<? extends Buffer> source) {
 		Stream<OUT> encodedSource = Streams.create(source).map(new Function<Buffer, OUT>() {
 			@Override
@@ -174,7 +195,11 @@ public abstract class ChannelStream<IN, OUT> extends Stream<IN> implements Chann
 	}
 
 	Consumer<OUT> writeThrough(boolean autoflush) {
-		return new WriteConsumer(autoflush);
+		return new WriteConsumer(autoflush, -1);
+	}
+
+	Consumer<OUT> writeThrough(int flushBytes) {
+		return new WriteConsumer(false, flushBytes);
 	}
 
 	protected void doDecoded(IN in) {
@@ -211,17 +236,55 @@ public abstract class ChannelStream<IN, OUT> extends Stream<IN> implements Chann
 	 */
 	protected abstract void write(Object data, Subscriber<?> onComplete, boolean flush);
 
+	/**
+	 * Write an element of a batch, to be flushed along with the rest of the batch. A failure does not have to be
+	 * reported to a callback: subclasses may let it reach the connection instead. Delegates to {@link #write(Buffer,
+	 * Subscriber, boolean)} by default.
+	 *
+	 * @param data The data to write, as a {@link Buffer}.
+	 */
+	protected void writeBatched(Buffer data) {
+		write(data, null, false);
+	}
+
+	/**
+	 * Write an element of a batch, to be flushed along with the rest of the batch. A failure does not have to be
+	 * reported to a callback: subclasses may let it reach the connection instead. Delegates to {@link #write(Object,
+	 * Subscriber, boolean)} by default.
+	 *
+	 * @param data The data to write.
+	 */
+	protected void writeBatched(Object data) {
+		write(data, null, false);
+	}
+
 	/**
 	 * Subclasses must implement this method to perform IO flushes.
 	 */
 	protected abstract void flush();
 
+	/**
+	 * Flush the connection at the end of a batch, starting to count the bytes of the next one.
+	 */
+	final void flushBatch() {
+		pendingBytes = 0;
+		flush();
+	}
+
+	/**
+	 * Writes each element, flushing it at once if {@code autoflush} is set. Otherwise the elements form a batch, flushed
+	 * at its end with {@link #flushBatch()} or earlier once {@code flushBytes} have been written. Only the bytes of
+	 * {@link Buffer}, {@link ByteBuffer} and {@code byte[]} elements are counted: other elements, written to the
+	 * connection as is, wait for the end of the batch.
+	 */
 	final class WriteConsumer implements Consumer<OUT> {
 
 		final boolean autoflush;
+		final int     flushBytes;
 
-		public WriteConsumer(boolean autoflush) {
+		public WriteConsumer(boolean autoflush, int flushBytes) {
 			this.autoflush = autoflush;
+			this.flushBytes = flushBytes;
 		}
 
 		@Override
@@ -229,20 +292,54 @@ public abstract class ChannelStream<IN, OUT> extends Stream<IN> implements Chann
 		try {
 				if (null != encoder) {
 					Buffer bytes = encoder.apply(data);
-					if (bytes.remaining() > 0) {
-						write(bytes, null, autoflush);
+					int len = bytes.remaining();
+					if (len > 0) {
+						writeBuffer(bytes);
+						flushIfFull(len);
 					}
 				} else {
 					if (Buffer.class == data.getClass()) {
-						write((Buffer) data, null, autoflush);
+						int len = ((Buffer) data).remaining();
+						writeBuffer((Buffer) data);
+						flushIfFull(len);
 					} else {
-						write(data, null, autoflush);
+						int len = sizeOf(data);
+						if (autoflush) {
+							write(data, null, true);
+						} else {
+							writeBatched(data);
+						}
+						flushIfFull(len);
 					}
 				}
 			} catch (Throwable t) {
 				peer.notifyError(t);
 			}
 		}
+
+		private void writeBuffer(Buffer bytes) {
+			if (autoflush) {
+				write(bytes, null, true);
+			} else {
+				writeBatched(bytes);
+			}
+		}
+
+		private int sizeOf(Object data) {
+			if (data instanceof ByteBuffer) {
+				return ((ByteBuffer) data).remaining();
+			}
+			if (data instanceof byte[]) {
+				return ((byte[]) data).length;
+			}
+			return 0;
+		}
+
+		private void flushIfFull(int len) {
+			if (flushBytes > 0 && (pendingBytes += len) >= flushBytes) {
+				flushBatch();
+			}
+		}
 	}
 
 }
@@ -177,7 +177,7 @@ public abstract class PeerStream<IN, OUT, CONN extends ChannelStream<IN, OUT>> e
 
 			@Override
 			protected void doComplete() {
-				ch.flush();
+				ch.flushBatch();
 				super.doComplete();
 			}
 
@@ -191,7 +191,7 @@ public abstract class PeerStream<IN, OUT, CONN extends ChannelStream<IN, OUT>> e
 				if (first) {
 					first = false;
 				} else {
-					ch.flush();
+					ch.flushBatch();
 				}
 			}
 		};
@@ -251,9 +251,22 @@ public abstract class PeerStream<IN, OUT, CONN extends ChannelStream<IN, OUT>> e
 	}
 
 	protected Control subscribeChannelHandlers(Stream<? extends OUT> writeStream, final CONN ch) {
+		return subscribeChannelHandlers(writeStream, ch, -1);
+	}
+
+	/**
+	 * Write the given stream to the channel. A bounded stream is written in batches of its capacity, flushed at the end
+	 * of each batch or once {@code flushBytes} are waiting to be flushed, an unbounded one is flushed on each element.
+	 *
+	 * @param writeStream the elements to write
+	 * @param ch          the channel to write to
+	 * @param flushBytes  the number of bytes after which to flush within a batch, or {@code -1}
+	 * @return a {@link Control} on the written stream
+	 */
+	protected Control subscribeChannelHandlers(Stream<? extends OUT> writeStream, final CONN ch, int flushBytes) {
 		if (writeStream.getCapacity() != Long.MAX_VALUE) {
 			return writeStream
-				.adaptiveConsume(ch.writeThrough(false),
+				.adaptiveConsume(ch.writeThrough(flushBytes),
 							createAdaptiveDemandMapper(ch,
 									createErrorConsumer(ch)));
 		} else {
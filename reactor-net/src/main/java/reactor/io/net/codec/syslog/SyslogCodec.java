@@ -19,6 +19,7 @@ package reactor.io.net.codec.syslog;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
+import reactor.io.buffer.DelimiterScanner;
 import reactor.io.codec.Codec;
 
 import java.util.Calendar;
@@ -50,10 +51,10 @@ public class SyslogCodec extends Codec<Buffer, SyslogMessage, Void> {
 	}
 
 	private class SyslogMessageDecoder implements Function<Buffer, SyslogMessage> {
-		private final Calendar cal  = Calendar.getInstance();
-		private final int      year = cal.get(Calendar.YEAR);
+		private final Calendar         cal     = Calendar.getInstance();
+		private final int              year    = cal.get(Calendar.YEAR);
+		private final DelimiterScanner scanner = new DelimiterScanner();
 		private final Consumer<SyslogMessage> next;
-		private       Buffer.View             remainder;
 
 		private SyslogMessageDecoder(Consumer<SyslogMessage> next) {
 			this.next = next;
@@ -65,82 +66,78 @@ public class SyslogCodec extends Codec<Buffer, SyslogMessage, Void> {
 		}
 
 		private SyslogMessage parse(Buffer buffer) {
-			String line = null;
-			if (null != remainder) {
-				line = remainder.get().asString();
-			}
-
-			int start = 0;
-			for (Buffer.View view : buffer.split('\n', false)) {
-				Buffer b = view.get();
-				if (b.last() != '\n') {
-					remainder = view;
-					return null;
-				}
-				String s = b.asString();
-				if (null != line) {
-					line += s;
-				} else {
-					line = s;
-				}
-				if (line.isEmpty()) {
-					continue;
-				}
+			int count = scanner.scan(buffer, (byte) '\n');
+			int limit = buffer.limit();
+			int lineStart = buffer.position();
 
-				int priority = DEFAULT_PRI;
-				int facility = priority / 8;
-				int severity = priority % 8;
-
-				int priStart = line.indexOf('<', start);
-				int priEnd = line.indexOf('>', start + 1);
-				if (priStart == 0) {
-					int pri = Buffer.parseInt(b, 1, priEnd);
-					if (pri >= MINIMUM_PRI && pri <= MAXIMUM_PRI) {
-						priority = pri;
-						facility = priority / 8;
-						severity = priority % 8;
+			try {
+				for (int i = 0; i < count; i++) {
+					int lineEnd = scanner.offset(i) + 1;
+					buffer.limit(lineEnd);
+					buffer.position(lineStart);
+					// the indexes found in the line are relative to its first byte
+					int offset = lineStart;
+					lineStart = lineEnd;
+
+					String line = buffer.asString();
+					int start = 0;
+
+					int priority = DEFAULT_PRI;
+					int facility = priority / 8;
+					int severity = priority % 8;
+
+					int priStart = line.indexOf('<', start);
+					int priEnd = line.indexOf('>', start + 1);
+					if (priStart == 0) {
+						int pri = Buffer.parseInt(buffer, offset + 1, offset + priEnd);
+						if (pri >= MINIMUM_PRI && pri <= MAXIMUM_PRI) {
+							priority = pri;
+							facility = priority / 8;
+							severity = priority % 8;
+						}
+						start = 4;
 					}
-					start = 4;
-				}
 
-				Date tstamp = parseRfc3414Date(b, start, start + 15);
-				String host = null;
-				if (null != tstamp) {
-					start += 16;
-					int end = line.indexOf(' ', start);
-					host = line.substring(start, end);
-					if (null != host) {
-						start += host.length() + 1;
+					Date tstamp = parseRfc3414Date(buffer, offset + start, offset + start + 15);
+					String host = null;
+					if (null != tstamp) {
+						start += 16;
+						int end = line.indexOf(' ', start);
+						host = line.substring(start, end);
+						if (null != host) {
+							start += host.length() + 1;
+						}
 					}
-				}
 
-				String msg = line.substring(start);
-
-				SyslogMessage syslogMsg = new SyslogMessage(line,
-						priority,
-						facility,
-						severity,
-						tstamp,
-						host,
-						msg);
-				if (null != next) {
-					next.accept(syslogMsg);
-				} else {
-					return syslogMsg;
+					String msg = line.substring(start);
+
+					SyslogMessage syslogMsg = new SyslogMessage(line,
+							priority,
+							facility,
+							severity,
+							tstamp,
+							host,
+							msg);
+					if (null != next) {
+						next.accept(syslogMsg);
+					} else {
+						return syslogMsg;
+					}
 				}
 
-				line = null;
-				start = 0;
+				return null;
+			} finally {
+				// leave an incomplete line to be parsed once the rest of it is received
+				buffer.limit(limit);
+				buffer.position(lineStart);
 			}
-
-			return null;
 		}
 
 		private Date parseRfc3414Date(Buffer b, int start, int end) {
 			b.snapshot();
 
-			b.byteBuffer().limit(end);
-			b.byteBuffer().position(start);
+			b.limit(end);
+			b.position(start);
 
 			int month = -1;
 			int day = -1;
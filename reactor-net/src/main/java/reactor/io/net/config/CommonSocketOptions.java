@@ -28,13 +28,14 @@ import reactor.io.buffer.Buffer;
 @SuppressWarnings("unchecked")
 public abstract class CommonSocketOptions<SO extends CommonSocketOptions<? super SO>> {
 
-	private int     timeout    = 30000;
-	private boolean keepAlive  = true;
-	private int     linger     = 30000;
-	private boolean tcpNoDelay = true;
-	private int     rcvbuf     = Buffer.SMALL_BUFFER_SIZE;
-	private int     sndbuf     = Buffer.SMALL_BUFFER_SIZE;
-	private long    prefetch   = -1l;
+	private int     timeout         = 30000;
+	private boolean keepAlive       = true;
+	private int     linger          = 30000;
+	private boolean tcpNoDelay      = true;
+	private int     rcvbuf          = Buffer.SMALL_BUFFER_SIZE;
+	private int     sndbuf          = Buffer.SMALL_BUFFER_SIZE;
+	private long    prefetch        = -1l;
+	private boolean nativeTransport = false;
 
 	/**
 	 * Gets the {@code SO_TIMEOUT} value
@@ -79,6 +80,27 @@ public abstract class CommonSocketOptions<SO extends CommonSocketOptions<? super
 		return (SO) this;
 	}
 
+	/**
+	 * Returns a boolean indicating whether or not the native transport of the platform is used instead of NIO
+	 *
+	 * @return {@code true} if the native transport is used when available, {@code false} otherwise
+	 */
+	public boolean nativeTransport() {
+		return nativeTransport;
+	}
+
+	/**
+	 * Use the native transport of the platform, such as epoll on Linux, instead of NIO. NIO is still used if the native
+	 * transport is not available.
+	 *
+	 * @param nativeTransport {@code true} to use the native transport when available, {@code false} to use NIO
+	 * @return {@code this}
+	 */
+	public SO nativeTransport(boolean nativeTransport) {
+		this.nativeTransport = nativeTransport;
+		return (SO) this;
+	}
+
 	/**
 	 * Returns a boolean indicating whether or not {@code SO_KEEPALIVE} is enabled
 	 *
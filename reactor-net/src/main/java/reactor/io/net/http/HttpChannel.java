@@ -17,7 +17,6 @@
 package reactor.io.net.http;
 
 import reactor.Environment;
-import reactor.bus.selector.HeaderResolver;
 import reactor.core.Dispatcher;
 import reactor.io.buffer.Buffer;
 import reactor.io.codec.Codec;
@@ -35,7 +34,7 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 public abstract class HttpChannel<IN, OUT> extends ChannelStream<IN, OUT> {
 
 	private volatile int statusAndHeadersSent = 0;
-	private HeaderResolver<String> paramsResolver;
+	private Map<String, String> params;
 
 	protected final static AtomicIntegerFieldUpdater<HttpChannel> HEADERS_SENT =
 			AtomicIntegerFieldUpdater.newUpdater(HttpChannel.class, "statusAndHeadersSent");
@@ -58,7 +57,7 @@ public abstract class HttpChannel<IN, OUT> extends ChannelStream<IN, OUT> {
 	 * @return
 	 */
 	public final Map<String, String> params() {
-		return null != paramsResolver ? paramsResolver.resolve(uri()) : null;
+		return params;
 	}
 
 	/**
@@ -68,10 +67,7 @@ public abstract class HttpChannel<IN, OUT> extends ChannelStream<IN, OUT> {
 	 * @return
 	 */
 	public final String param(String key) {
-		Map<String, String> params = null;
-		if (paramsResolver != null) {
-			params = this.paramsResolver.resolve(uri());
-		}
+		Map<String, String> params = this.params;
 		return null != params ? params.get(key) : null;
 	}
 
@@ -128,8 +124,13 @@ public abstract class HttpChannel<IN, OUT> extends ChannelStream<IN, OUT> {
 	public abstract Method method();
 
 
-	void paramsResolver(HeaderResolver<String> headerResolver) {
-		this.paramsResolver = headerResolver;
+	/**
+	 * Assign the URI params resolved by the route handling this channel.
+	 *
+	 * @param params the resolved params, possibly {@literal null}
+	 */
+	void params(Map<String, String> params) {
+		this.params = params;
 	}
 
 	// RESPONSE contract
@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.net.http;
+
+import reactor.bus.selector.HeaderResolver;
+import reactor.bus.selector.Selector;
+import reactor.io.net.http.model.Method;
+import reactor.io.net.http.model.Protocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the handlers of an {@link HttpChannel} by method and URI path.
+ * <p>
+ * Routes registered with an {@link HttpSelector} are kept in one radix tree per method (plus one for selectors
+ * accepting any method). Static path fragments are compressed into shared edges, a <code>{name}</code> variable
+ * spanning a whole path segment is a parameter node and a trailing <code>**</code> or <code>{name}**</code> is a
+ * wildcard. Looking up a request walks the tree once and captures path variables along the way, so they never have
+ * to be re-evaluated with a regular expression. Conditions the tree cannot represent, such as arbitrary {@link
+ * Selector Selectors} or templates using other regular expression syntax, are tested one by one as before.
+ * <p>
+ * All matching routes are returned in the order they were registered.
+ *
+ * @param <T> the type of the route handlers
+ */
+public class HttpRouter<T> {
+
+	private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+	private static final Comparator<Route<?>> REGISTRATION_ORDER = new Comparator<Route<?>>() {
+		@Override
+		public int compare(Route<?> r1, Route<?> r2) {
+			return (r1.entry.order < r2.entry.order ? -1 : (r1.entry.order == r2.entry.order ? 0 : 1));
+		}
+	};
+
+	private final Object         monitor = new Object();
+	private final List<Entry<T>> entries = new ArrayList<Entry<T>>();
+
+	private volatile Routes<T> routes = new Routes<T>(new HashMap<Method, Node<T>>(), null, HttpRouter.<T>emptyEntries());
+
+	/**
+	 * Add a route for the given condition. If the condition is an {@link HttpSelector} it is indexed by method and
+	 * path, otherwise it is evaluated against every request.
+	 *
+	 * @param condition the condition requests must match
+	 * @param handler   the handler to return for matching requests
+	 * @return {@literal this}
+	 */
+	public HttpRouter<T> register(Selector condition, T handler) {
+		synchronized (monitor) {
+			entries.add(new Entry<T>(entries.size(), condition, handler));
+			routes = build(entries);
+		}
+		return this;
+	}
+
+	/**
+	 * Remove every route.
+	 */
+	public void clear() {
+		synchronized (monitor) {
+			entries.clear();
+			routes = build(entries);
+		}
+	}
+
+	/**
+	 * Find the routes matching the given channel.
+	 *
+	 * @param channel the channel to route
+	 * @return the matching routes in registration order, never {@literal null}
+	 */
+	public List<Route<T>> select(HttpChannel<?, ?> channel) {
+		return select(channel, channel.method(), channel.protocol(), channel.uri());
+	}
+
+	/**
+	 * Find the routes matching the given request line. Conditions other than {@link HttpSelector HttpSelectors} need
+	 * a channel to be evaluated and are skipped.
+	 *
+	 * @param method   the request method
+	 * @param protocol the request protocol
+	 * @param uri      the request uri
+	 * @return the matching routes in registration order, never {@literal null}
+	 */
+	public List<Route<T>> select(Method method, Protocol protocol, String uri) {
+		return select(null, method, protocol, uri);
+	}
+
+	private List<Route<T>> select(HttpChannel<?, ?> channel, Method method, Protocol protocol, String uri) {
+		Routes<T> current = this.routes;
+		List<Route<T>> found = null;
+
+		if (null != uri) {
+			Node<T> methodTree = (null != method ? current.methodTrees.get(method) : null);
+			if (null != methodTree) {
+				found = collect(methodTree, uri, 0, protocol, new int[methodTree.maxDepth * 2], 0, found);
+			}
+			if (null != current.anyMethodTree) {
+				found = collect(current.anyMethodTree, uri, 0, protocol, new int[current.anyMethodTree.maxDepth * 2], 0,
+				                found);
+			}
+		}
+
+		for (Entry<T> entry : current.residual) {
+			if (matchesResidual(entry.condition, channel, method, protocol, uri)) {
+				if (null == found) {
+					found = new ArrayList<Route<T>>();
+				}
+				found.add(new Route<T>(entry, resolveParams(entry.condition.getHeaderResolver(), uri)));
+			}
+		}
+
+		if (null == found) {
+			return Collections.emptyList();
+		}
+		if (found.size() > 1) {
+			Collections.sort(found, REGISTRATION_ORDER);
+		}
+		return found;
+	}
+
+	/**
+	 * Walk the tree below {@code node}, whose own label has been matched up to {@code pos}, and add every route whose
+	 * path ends within the remainder of {@code uri}.
+	 */
+	private List<Route<T>> collect(Node<T> node,
+	                               String uri,
+	                               int pos,
+	                               Protocol protocol,
+	                               int[] captures,
+	                               int depth,
+	                               List<Route<T>> found) {
+		int length = uri.length();
+		if (pos == length) {
+			found = addAll(node.routes, uri, protocol, captures, -1, found);
+		}
+		if (node.wildcards.length > 0 && !hasLineTerminator(uri, pos)) {
+			found = addAll(node.wildcards, uri, protocol, captures, pos, found);
+		}
+
+		if (pos < length) {
+			Node<T> child = node.childFor(uri.charAt(pos));
+			if (null != child && uri.startsWith(child.label, pos)) {
+				found = collect(child, uri, pos + child.label.length(), protocol, captures, depth, found);
+			}
+		}
+
+		if (null != node.param) {
+			int end = pos;
+			char c;
+			while (end < length && (c = uri.charAt(end)) != '/' && c != '.') {
+				end++;
+			}
+			if (end == length || uri.charAt(end) == '/') {
+				captures[depth * 2] = pos;
+				captures[depth * 2 + 1] = end;
+				found = collect(node.param, uri, end, protocol, captures, depth + 1, found);
+			}
+		}
+
+		return found;
+	}
+
+	private List<Route<T>> addAll(Entry<T>[] candidates,
+	                              String uri,
+	                              Protocol protocol,
+	                              int[] captures,
+	                              int wildcardStart,
+	                              List<Route<T>> found) {
+		for (Entry<T> entry : candidates) {
+			if (null != entry.protocol && !entry.protocol.equals(protocol)) {
+				continue;
+			}
+			if (null == found) {
+				found = new ArrayList<Route<T>>(2);
+			}
+			found.add(new Route<T>(entry, entry.params(uri, captures, wildcardStart)));
+		}
+		return found;
+	}
+
+	private static boolean matchesResidual(Selector condition,
+	                                       HttpChannel<?, ?> channel,
+	                                       Method method,
+	                                       Protocol protocol,
+	                                       String uri) {
+		if (condition instanceof HttpSelector) {
+			HttpSelector selector = (HttpSelector) condition;
+			return (null == selector.protocol || selector.protocol.equals(protocol))
+					&& (null == selector.method || selector.method.equals(method))
+					&& (null == selector.uriPathSelector || selector.uriPathSelector.matches(uri));
+		}
+		return null != channel && matches(condition, channel);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean matches(Selector condition, HttpChannel<?, ?> channel) {
+		// route conditions are registered as raw selectors and are expected to accept the channel as key
+		return condition.matches(channel);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Map<String, String> resolveParams(HeaderResolver resolver, String uri) {
+		return (null != resolver && null != uri ? (Map<String, String>) resolver.resolve(uri) : null);
+	}
+
+	private static boolean hasLineTerminator(String uri, int from) {
+		for (int i = from; i < uri.length(); i++) {
+			char c = uri.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static <T> Routes<T> build(List<Entry<T>> entries) {
+		Map<Method, Node<T>> methodTrees = new HashMap<Method, Node<T>>();
+		Node<T> anyMethodTree = null;
+		List<Entry<T>> residual = new ArrayList<Entry<T>>();
+
+		for (Entry<T> entry : entries) {
+			if (null == entry.parts) {
+				residual.add(entry);
+				continue;
+			}
+			Node<T> root;
+			if (null == entry.method) {
+				if (null == anyMethodTree) {
+					anyMethodTree = new Node<T>("");
+				}
+				root = anyMethodTree;
+			} else {
+				root = methodTrees.get(entry.method);
+				if (null == root) {
+					root = new Node<T>("");
+					methodTrees.put(entry.method, root);
+				}
+			}
+			insert(root, entry);
+		}
+
+		return new Routes<T>(methodTrees, anyMethodTree, residual.toArray(HttpRouter.<T>emptyEntries()));
+	}
+
+	private static <T> void insert(Node<T> root, Entry<T> entry) {
+		Node<T> node = root;
+		int depth = 0;
+		for (Part part : entry.parts) {
+			switch (part.type) {
+				case Part.STATIC:
+					node = node.insertStatic(part.value);
+					break;
+				case Part.PARAM:
+					if (null == node.param) {
+						node.param = new Node<T>("");
+					}
+					node = node.param;
+					depth++;
+					break;
+				default:
+					node.wildcards = append(node.wildcards, entry);
+					root.maxDepth = Math.max(root.maxDepth, depth);
+					return;
+			}
+		}
+		node.routes = append(node.routes, entry);
+		root.maxDepth = Math.max(root.maxDepth, depth);
+	}
+
+	/**
+	 * Split a path template into static, parameter and wildcard parts, or return {@literal null} if the template
+	 * cannot be represented in the tree with the exact semantics of {@link reactor.bus.selector.UriPathTemplate}.
+	 */
+	static List<Part> parse(String template) {
+		List<Part> parts = new ArrayList<Part>();
+		Set<String> names = new HashSet<String>();
+		StringBuilder literal = new StringBuilder();
+		int length = template.length();
+		int i = 0;
+		while (i < length) {
+			char c = template.charAt(i);
+			Part part = null;
+			if (c == '{') {
+				int close = template.indexOf('}', i + 1);
+				if (close < 0) {
+					return null;
+				}
+				String name = template.substring(i + 1, close);
+				if (!isGroupName(name) || !names.add(name)) {
+					return null;
+				}
+				if (template.startsWith("**", close + 1)) {
+					part = new Part(Part.WILDCARD, name);
+					i = close + 3;
+				} else {
+					part = new Part(Part.PARAM, name);
+					i = close + 1;
+				}
+			} else if (c == '*' && i + 1 < length && template.charAt(i + 1) == '*') {
+				part = new Part(Part.WILDCARD, null);
+				i += 2;
+			} else if (REGEX_META_CHARS.indexOf(c) >= 0) {
+				return null;
+			} else {
+				literal.append(c);
+				i++;
+			}
+
+			if (null != part) {
+				if (literal.length() > 0) {
+					parts.add(new Part(Part.STATIC, literal.toString()));
+					literal.setLength(0);
+				}
+				parts.add(part);
+			}
+		}
+		if (literal.length() > 0) {
+			parts.add(new Part(Part.STATIC, literal.toString()));
+		}
+
+		for (int p = 0; p < parts.size(); p++) {
+			Part part = parts.get(p);
+			boolean last = (p == parts.size() - 1);
+			if (part.type == Part.WILDCARD && !last) {
+				return null;
+			}
+			// a parameter must run up to the end of its segment to be matched without backtracking
+			if (part.type == Part.PARAM && !last) {
+				Part next = parts.get(p + 1);
+				if (next.type != Part.STATIC || next.value.charAt(0) != '/') {
+					return null;
+				}
+			}
+		}
+		return parts;
+	}
+
+	private static boolean isGroupName(String name) {
+		if (name.isEmpty() || !isAsciiLetter(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!isAsciiLetter(c) && !(c >= '0' && c <= '9')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Entry<T>[] emptyEntries() {
+		return (Entry<T>[]) new Entry<?>[0];
+	}
+
+	private static <T> Entry<T>[] append(Entry<T>[] entries, Entry<T> entry) {
+		Entry<T>[] appended = Arrays.copyOf(entries, entries.length + 1);
+		appended[entries.length] = entry;
+		return appended;
+	}
+
+	/**
+	 * A route matching a request, along with the path variables it captured.
+	 *
+	 * @param <T> the type of the route handler
+	 */
+	public static final class Route<T> {
+		private final Entry<T>            entry;
+		private final Map<String, String> params;
+
+		Route(Entry<T> entry, Map<String, String> params) {
+			this.entry = entry;
+			this.params = params;
+		}
+
+		/**
+		 * @return the condition this route was registered with
+		 */
+		public Selector getSelector() {
+			return entry.condition;
+		}
+
+		/**
+		 * @return the route handler
+		 */
+		public T getObject() {
+			return entry.handler;
+		}
+
+		/**
+		 * @return the path variables captured from the request uri, or {@literal null} if there are none
+		 */
+		public Map<String, String> getParams() {
+			return params;
+		}
+	}
+
+	static final class Part {
+		static final int STATIC   = 0;
+		static final int PARAM    = 1;
+		static final int WILDCARD = 2;
+
+		final int    type;
+		final String value;
+
+		Part(int type, String value) {
+			this.type = type;
+			this.value = value;
+		}
+	}
+
+	private static final class Entry<T> {
+		final int       order;
+		final Selector  condition;
+		final T         handler;
+		final Method    method;
+		final Protocol  protocol;
+		final List<Part> parts;
+		final String[]  paramNames;
+		final String    wildcardName;
+
+		Entry(int order, Selector condition, T handler) {
+			this.order = order;
+			this.condition = condition;
+			this.handler = handler;
+
+			List<Part> parts = null;
+			if (condition instanceof HttpSelector) {
+				HttpSelector selector = (HttpSelector) condition;
+				parts = (null != selector.uriPathSelector ?
+						parse(selector.uriPathSelector.getObject().getTemplate()) :
+						Collections.singletonList(new Part(Part.WILDCARD, null)));
+				this.method = selector.method;
+				this.protocol = selector.protocol;
+			} else {
+				this.method = null;
+				this.protocol = null;
+			}
+			this.parts = parts;
+
+			List<String> names = new ArrayList<String>();
+			String wildcard = null;
+			if (null != parts) {
+				for (Part part : parts) {
+					if (part.type == Part.PARAM) {
+						names.add(part.value);
+					} else if (part.type == Part.WILDCARD) {
+						wildcard = part.value;
+					}
+				}
+			}
+			this.paramNames = names.toArray(new String[names.size()]);
+			this.wildcardName = wildcard;
+		}
+
+		Map<String, String> params(String uri, int[] captures, int wildcardStart) {
+			if (paramNames.length == 0 && (null == wildcardName || wildcardStart < 0)) {
+				return null;
+			}
+			Map<String, String> params = new HashMap<String, String>();
+			for (int i = 0; i < paramNames.length; i++) {
+				params.put(paramNames[i], uri.substring(captures[i * 2], captures[i * 2 + 1]));
+			}
+			if (null != wildcardName && wildcardStart >= 0) {
+				params.put(wildcardName, uri.substring(wildcardStart));
+			}
+			return params;
+		}
+	}
+
+	private static final class Node<T> {
+		String    label;
+		char[]    indices  = new char[0];
+		Node<T>[] children = newNodes(0);
+		Node<T>   param;
+		Entry<T>[] routes    = emptyEntries();
+		Entry<T>[] wildcards = emptyEntries();
+		int       maxDepth;
+
+		Node(String label) {
+			this.label = label;
+		}
+
+		Node<T> childFor(char c) {
+			for (int i = 0; i < indices.length; i++) {
+				if (indices[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Follow or create the static edges spelling {@code path} below this node, splitting a shared edge where the
+		 * path diverges from it.
+		 */
+		Node<T> insertStatic(String path) {
+			Node<T> node = this;
+			while (!path.isEmpty()) {
+				char first = path.charAt(0);
+				int index = -1;
+				for (int i = 0; i < node.indices.length; i++) {
+					if (node.indices[i] == first) {
+						index = i;
+						break;
+					}
+				}
+				if (index < 0) {
+					Node<T> child = new Node<T>(path);
+					node.indices = Arrays.copyOf(node.indices, node.indices.length + 1);
+					node.indices[node.indices.length - 1] = first;
+					node.children = Arrays.copyOf(node.children, node.children.length + 1);
+					node.children[node.children.length - 1] = child;
+					return child;
+				}
+
+				Node<T> child = node.children[index];
+				int common = 0;
+				int max = Math.min(child.label.length(), path.length());
+				while (common < max && child.label.charAt(common) == path.charAt(common)) {
+					common++;
+				}
+				if (common < child.label.length()) {
+					Node<T> split = new Node<T>(child.label.substring(0, common));
+					child.label = child.label.substring(common);
+					split.indices = new char[]{child.label.charAt(0)};
+					split.children = newNodes(1);
+					split.children[0] = child;
+					node.children[index] = split;
+					child = split;
+				}
+				node = child;
+				path = path.substring(common);
+			}
+			return node;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Node<T>[] newNodes(int size) {
+			return (Node<T>[]) new Node<?>[size];
+		}
+	}
+
+	private static final class Routes<T> {
+		final Map<Method, Node<T>> methodTrees;
+		final Node<T>              anyMethodTree;
+		final Entry<T>[]           residual;
+
+		Routes(Map<Method, Node<T>> methodTrees, Node<T> anyMethodTree, Entry<T>[] residual) {
+			this.methodTrees = methodTrees;
+			this.anyMethodTree = anyMethodTree;
+			this.residual = residual;
+		}
+	}
+
+}
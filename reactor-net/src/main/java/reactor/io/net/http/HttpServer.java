@@ -32,6 +32,7 @@ import reactor.io.net.PeerStream;
 import reactor.io.net.Server;
 
 import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -47,11 +48,19 @@ public abstract class HttpServer<IN, OUT>
 		extends PeerStream<IN, OUT, HttpChannel<IN, OUT>>
 		implements Server<IN, OUT, HttpChannel<IN, OUT>> {
 
+	/**
+	 * @deprecated routes registered with {@link #route(Selector, Function)} go to {@link #router}. Handlers registered
+	 * directly in this registry are still routed, after the matching routes of {@link #router}.
+	 */
+	@Deprecated
 	protected final Registry<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>> routedWriters;
 
+	protected final HttpRouter<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>> router;
+
 	protected HttpServer(Environment env, Dispatcher dispatcher, Codec<Buffer, IN, OUT> codec) {
 		super(env, dispatcher, codec);
 		this.routedWriters = Registries.create();
+		this.router = new HttpRouter<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>();
 	}
 
 	/**
@@ -62,6 +71,10 @@ public abstract class HttpServer<IN, OUT>
 	public abstract InetSocketAddress getListenAddress();
 
 	/**
+	 * Route the requests matching the given condition to a handler. Conditions created with {@link
+	 * reactor.io.net.NetSelectors#http} and its aliases are resolved by method and path through a {@link HttpRouter};
+	 * any other {@link Selector} is tested against every request.
+	 *
 	 * @param condition
 	 * @param serviceFunction
 	 * @return
@@ -71,7 +84,7 @@ public abstract class HttpServer<IN, OUT>
 			final Selector condition,
 			final Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>> serviceFunction) {
 
-		routedWriters.register(condition, serviceFunction);
+		router.register(condition, serviceFunction);
 		return this;
 	}
 
@@ -133,35 +146,56 @@ public abstract class HttpServer<IN, OUT>
 	}
 
 	@Override
+	@SuppressWarnings("deprecation")
 	protected Iterable<Publisher<? extends OUT>> routeChannel(final HttpChannel<IN, OUT> ch) {
+		final List<HttpRouter.Route<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>
+				selected = router.select(ch);
+
+		// only select from the deprecated registry when a subclass registered in it
 		final List<Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>
-				selected = routedWriters.select(ch);
+				registered = routedWriters.iterator().hasNext() ?
+				routedWriters.select(ch) :
+				Collections.<Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>emptyList();
 
 		return new Iterable<Publisher<? extends OUT>>() {
 			@Override
 			public Iterator<Publisher<? extends OUT>> iterator() {
-				final Iterator<Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>
+				final Iterator<HttpRouter.Route<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>
 						iterator = selected.iterator();
+				final Iterator<Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>>>
+						registeredIterator = registered.iterator();
 
 				return new Iterator<Publisher<? extends OUT>>() {
+					Iterator<?> last = iterator;
+
 					@Override
 					public boolean hasNext() {
-						return iterator.hasNext();
+						return iterator.hasNext() || registeredIterator.hasNext();
 					}
 
 					@Override
 					public void remove() {
-						iterator.remove();
+						last.remove();
 					}
 
 					//Lazy apply
 					@Override
-					@SuppressWarnings("unchecked")
 					public Publisher<? extends OUT> next() {
-						Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>> next
+						if (!iterator.hasNext() && registeredIterator.hasNext()) {
+							last = registeredIterator;
+							Registration<? extends Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>> next
+									= registeredIterator.next();
+							if (next != null) {
+								ch.params(HttpRouter.resolveParams(next.getSelector().getHeaderResolver(), ch.uri()));
+								return next.getObject().apply(ch);
+							} else {
+								return null;
+							}
+						}
+						HttpRouter.Route<Function<HttpChannel<IN, OUT>, ? extends Publisher<? extends OUT>>> next
 								= iterator.next();
 						if (next != null) {
-							ch.paramsResolver(next.getSelector().getHeaderResolver());
+							ch.params(next.getParams());
 							return next.getObject().apply(ch);
 						} else {
 							return null;
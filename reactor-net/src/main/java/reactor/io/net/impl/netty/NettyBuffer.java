@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.net.impl.netty;
+
+import io.netty.buffer.ByteBuf;
+import reactor.io.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A {@link Buffer} reading the readable bytes of a Netty {@link ByteBuf} in place, pooled direct memory included, and
+ * holding a reference to it until it is {@link #recycle() recycled}.
+ *
+ * The {@link ByteBuf} must be made of a single memory region, so that it can be exposed as one {@link
+ * java.nio.ByteBuffer} without being merged. The positions of the {@literal NettyBuffer} are independent of the
+ * indexes of the {@link ByteBuf}. Whoever hands a {@literal NettyBuffer} over recycles it once the receiver returns:
+ * a receiver keeping it longer, e.g. to hand it to another thread, must {@link #retain()} it first and recycle it once
+ * done. The {@literal NettyBuffer} must not be read after its last reference has been recycled, since the memory then
+ * goes back to the Netty pool.
+ */
+public class NettyBuffer extends Buffer {
+
+	private static final AtomicIntegerFieldUpdater<NettyBuffer> REF_CNT =
+			AtomicIntegerFieldUpdater.newUpdater(NettyBuffer.class, "refCnt");
+
+	private final ByteBuf    byteBuf;
+	private final ByteBuffer view;
+	private final int        readerIndex;
+
+	private volatile int refCnt = 1;
+
+	/**
+	 * Create a {@literal NettyBuffer} over the readable bytes of the given {@link ByteBuf}, retaining it.
+	 *
+	 * @param byteBuf the {@link ByteBuf} to read, made of a single memory region
+	 */
+	public NettyBuffer(ByteBuf byteBuf) {
+		this(byteBuf, byteBuf.nioBuffer());
+	}
+
+	private NettyBuffer(ByteBuf byteBuf, ByteBuffer view) {
+		super(view);
+		this.byteBuf = byteBuf.retain();
+		this.view = view;
+		this.readerIndex = byteBuf.readerIndex();
+	}
+
+	/**
+	 * Whether the given {@link ByteBuf} can be read in place by a {@literal NettyBuffer}.
+	 *
+	 * @param byteBuf the {@link ByteBuf} to read
+	 * @return {@code true} if it is made of a single memory region
+	 */
+	public static boolean canWrap(ByteBuf byteBuf) {
+		return byteBuf.nioBufferCount() == 1;
+	}
+
+	/**
+	 * Get the {@link ByteBuf} read by this {@literal NettyBuffer}.
+	 *
+	 * @return the {@link ByteBuf}
+	 */
+	public ByteBuf byteBuf() {
+		return byteBuf;
+	}
+
+	/**
+	 * Get the bytes between the position and the limit of this {@literal NettyBuffer} as a slice of the {@link ByteBuf},
+	 * retained for the caller, e.g. to write them to a channel without copying them.
+	 *
+	 * @return a retained slice of the {@link ByteBuf}, or {@literal null} if appending to this {@literal NettyBuffer}
+	 * has moved its bytes to new storage
+	 */
+	public ByteBuf retainedSlice() {
+		if (byteBuffer() != view || refCnt == 0) {
+			return null;
+		}
+		return byteBuf.slice(readerIndex + position(), remaining()).retain();
+	}
+
+	/**
+	 * Keep this {@literal NettyBuffer} and its memory beyond the call it was handed to. Each call must be matched by a
+	 * call to {@link #recycle()}.
+	 *
+	 * @return {@code this}
+	 */
+	public NettyBuffer retain() {
+		for (; ; ) {
+			int cnt = refCnt;
+			if (cnt == 0) {
+				throw new IllegalStateException("Buffer has already been recycled");
+			}
+			if (REF_CNT.compareAndSet(this, cnt, cnt + 1)) {
+				return this;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of references to this {@literal NettyBuffer} that have not been recycled yet.
+	 *
+	 * @return the reference count, {@code 0} once the {@link ByteBuf} has been released
+	 */
+	public int refCnt() {
+		return refCnt;
+	}
+
+	/**
+	 * Give up a reference to this {@literal NettyBuffer}, releasing the {@link ByteBuf} with the last one. Recycling a
+	 * {@literal NettyBuffer} whose references have all been given up does nothing.
+	 */
+	@Override
+	public void recycle() {
+		for (; ; ) {
+			int cnt = refCnt;
+			if (cnt == 0) {
+				return;
+			}
+			if (REF_CNT.compareAndSet(this, cnt, cnt - 1)) {
+				if (cnt == 1) {
+					byteBuf.release();
+				}
+				return;
+			}
+		}
+	}
+
+}
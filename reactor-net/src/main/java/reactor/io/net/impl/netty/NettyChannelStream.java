@@ -70,14 +70,12 @@ public class NettyChannelStream<IN, OUT> extends ChannelStream<IN, OUT> {
 
 	@Override
 	public Control sink(Publisher<? extends OUT> source) {
-		final Control c = super.sink(source);
-		ioChannel.closeFuture().addListener(new ChannelFutureListener() {
-			@Override
-			public void operationComplete(ChannelFuture future) throws Exception {
-				c.cancel();
-			}
-		});
-		return c;
+		return cancelOnClose(super.sink(source));
+	}
+
+	@Override
+	public Control sink(Publisher<? extends OUT> source, long batchSize, int batchBytes) {
+		return cancelOnClose(super.sink(source, batchSize, batchBytes));
 	}
 
 	@Override
@@ -106,6 +104,17 @@ public class NettyChannelStream<IN, OUT> extends ChannelStream<IN, OUT> {
 		}
 	}
 
+	@Override
+	protected void write(Buffer data, Subscriber<?> onComplete, boolean flush) {
+		// bytes received from Netty are written back without being copied
+		ByteBuf slice = data instanceof NettyBuffer ? ((NettyBuffer) data).retainedSlice() : null;
+		if (null != slice) {
+			write(slice, onComplete, flush);
+		} else {
+			super.write(data, onComplete, flush);
+		}
+	}
+
 	@Override
 	public void write(ByteBuffer data, Subscriber<?> onComplete, boolean flush) {
 		ByteBuf buf = ioChannel.alloc().buffer(data.remaining());
@@ -113,6 +122,26 @@ public class NettyChannelStream<IN, OUT> extends ChannelStream<IN, OUT> {
 		write(buf, onComplete, flush);
 	}
 
+	@Override
+	protected void writeBatched(Buffer data) {
+		ByteBuf buf = data instanceof NettyBuffer ? ((NettyBuffer) data).retainedSlice() : null;
+		if (null == buf) {
+			ByteBuffer bytes = data.byteBuffer();
+			if (null == bytes) {
+				return;
+			}
+			buf = ioChannel.alloc().buffer(bytes.remaining());
+			buf.writeBytes(bytes);
+		}
+		writeBatched(buf);
+	}
+
+	@Override
+	protected void writeBatched(Object data) {
+		// a failure reaches the pipeline, no need for a promise and a listener per element
+		ioChannel.write(data, ioChannel.voidPromise());
+	}
+
 	@Override
 	public void write(final Object data, final Subscriber<?> onComplete, final boolean flush) {
 		ChannelFuture writeFuture = flush ? ioChannel.writeAndFlush(data) : ioChannel.write(data);
@@ -143,6 +172,16 @@ public class NettyChannelStream<IN, OUT> extends ChannelStream<IN, OUT> {
 		}
 	}
 
+	private Control cancelOnClose(final Control c) {
+		ioChannel.closeFuture().addListener(new ChannelFutureListener() {
+			@Override
+			public void operationComplete(ChannelFuture future) throws Exception {
+				c.cancel();
+			}
+		});
+		return c;
+	}
+
 	@Override
 	public String toString() {
 		return this.getClass().getName() + " {" +
@@ -17,7 +17,7 @@
 package reactor.io.net.impl.netty;
 
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import reactor.fn.Consumer;
 import reactor.io.net.config.ClientSocketOptions;
 
@@ -27,7 +27,8 @@ import reactor.io.net.config.ClientSocketOptions;
 public class NettyClientSocketOptions extends ClientSocketOptions {
 
 	private Consumer<ChannelPipeline> pipelineConfigurer;
-	private NioEventLoopGroup         eventLoopGroup;
+	private EventLoopGroup            eventLoopGroup;
+	private boolean                   tcpCork;
 
 	public Consumer<ChannelPipeline> pipelineConfigurer() {
 		return pipelineConfigurer;
@@ -38,13 +39,34 @@ public class NettyClientSocketOptions extends ClientSocketOptions {
 		return this;
 	}
 
-	public NioEventLoopGroup eventLoopGroup() {
+	public EventLoopGroup eventLoopGroup() {
 		return eventLoopGroup;
 	}
 
-	public NettyClientSocketOptions eventLoopGroup(NioEventLoopGroup eventLoopGroup) {
+	public NettyClientSocketOptions eventLoopGroup(EventLoopGroup eventLoopGroup) {
 		this.eventLoopGroup = eventLoopGroup;
 		return this;
 	}
 
+	/**
+	 * Returns a boolean indicating whether or not {@code TCP_CORK} is enabled on the native transport
+	 *
+	 * @return {@code true} if {@code TCP_CORK} is enabled, {@code false} if it is not
+	 */
+	public boolean tcpCork() {
+		return tcpCork;
+	}
+
+	/**
+	 * Enables or disables {@code TCP_CORK} on the native transport: partial frames are held back until the cork is
+	 * removed or a full frame can be sent. Ignored by the NIO transport.
+	 *
+	 * @param tcpCork {@code true} to enable {@code TCP_CORK}, {@code false} to disable it
+	 * @return {@code this}
+	 */
+	public NettyClientSocketOptions tcpCork(boolean tcpCork) {
+		this.tcpCork = tcpCork;
+		return this;
+	}
+
 }
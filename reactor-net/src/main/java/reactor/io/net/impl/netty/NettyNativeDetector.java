@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package reactor.io.net.impl.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.io.net.config.CommonSocketOptions;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Chooses between the NIO transport and the native epoll transport of Netty. The native transport is only used when
+ * it has been asked for and the native library can be loaded, which requires Linux: otherwise NIO is used.
+ *
+ * The event loops and the channels of a connection must belong to the same transport, so the channel classes are
+ * chosen after the {@link EventLoopGroup} in use, be it created here or given by the user.
+ */
+public final class NettyNativeDetector {
+
+	private static final Logger log = LoggerFactory.getLogger(NettyNativeDetector.class);
+
+	private static final boolean epollAvailable;
+
+	static {
+		boolean available;
+		try {
+			available = Epoll.isAvailable();
+		} catch (Throwable t) {
+			available = false;
+		}
+		epollAvailable = available;
+	}
+
+	private NettyNativeDetector() {
+	}
+
+	/**
+	 * Whether the native epoll transport can be used on this platform.
+	 *
+	 * @return {@code true} if the native library has been loaded
+	 */
+	public static boolean isEpollAvailable() {
+		return epollAvailable;
+	}
+
+	/**
+	 * Create an {@link EventLoopGroup} of the transport asked for by the given options, NIO if the native transport is
+	 * not available.
+	 *
+	 * @param options       the socket options asking for a transport
+	 * @param threads       the number of event loops
+	 * @param threadFactory the factory of the event loop threads
+	 * @return a new {@link EventLoopGroup}
+	 */
+	public static EventLoopGroup newEventLoopGroup(CommonSocketOptions<?> options,
+	                                               int threads,
+	                                               ThreadFactory threadFactory) {
+		return newEventLoopGroup(options.nativeTransport(), threads, threadFactory);
+	}
+
+	/**
+	 * Create an {@link EventLoopGroup} of the native transport if asked for and available, of NIO otherwise.
+	 *
+	 * @param nativeTransport {@code true} to use the native transport when available
+	 * @param threads         the number of event loops
+	 * @param threadFactory   the factory of the event loop threads
+	 * @return a new {@link EventLoopGroup}
+	 */
+	public static EventLoopGroup newEventLoopGroup(boolean nativeTransport, int threads, ThreadFactory threadFactory) {
+		if (nativeTransport) {
+			if (epollAvailable) {
+				return new EpollEventLoopGroup(threads, threadFactory);
+			}
+			if (log.isWarnEnabled()) {
+				log.warn("Native transport unavailable, falling back to NIO: {}", unavailabilityCause());
+			}
+		}
+		return new NioEventLoopGroup(threads, threadFactory);
+	}
+
+	/**
+	 * Whether the given {@link EventLoopGroup} runs the native epoll transport.
+	 *
+	 * @param group the {@link EventLoopGroup} channels are registered with
+	 * @return {@code true} if the group is an epoll group
+	 */
+	public static boolean isEpoll(EventLoopGroup group) {
+		return epollAvailable && group instanceof EpollEventLoopGroup;
+	}
+
+	/**
+	 * The class of the server channels to register with the given {@link EventLoopGroup}.
+	 *
+	 * @param group the {@link EventLoopGroup} channels are registered with
+	 * @return the server socket channel class of the transport of the group
+	 */
+	public static Class<? extends ServerChannel> serverSocketChannel(EventLoopGroup group) {
+		return isEpoll(group) ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+	}
+
+	/**
+	 * The class of the client channels to register with the given {@link EventLoopGroup}.
+	 *
+	 * @param group the {@link EventLoopGroup} channels are registered with
+	 * @return the socket channel class of the transport of the group
+	 */
+	public static Class<? extends Channel> socketChannel(EventLoopGroup group) {
+		return isEpoll(group) ? EpollSocketChannel.class : NioSocketChannel.class;
+	}
+
+	private static Object unavailabilityCause() {
+		try {
+			return Epoll.unavailabilityCause();
+		} catch (Throwable t) {
+			return t;
+		}
+	}
+
+}
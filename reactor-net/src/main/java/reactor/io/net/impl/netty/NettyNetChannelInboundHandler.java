@@ -17,6 +17,7 @@
 package reactor.io.net.impl.netty;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.EmptyByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -25,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.Environment;
 import reactor.io.buffer.Buffer;
+import reactor.io.buffer.CompositeBuffer;
 import reactor.io.net.Spec;
 import reactor.rx.subscription.PushSubscription;
 
@@ -143,9 +145,11 @@ public class NettyNetChannelInboundHandler<IN> extends ChannelInboundHandlerAdap
 				channelSubscription.onNext((IN) msg);
 				return;
 			} else if (channelStream.getDecoder() == null) {
+				Buffer b = wrap((ByteBuf) msg);
 				try {
-					channelSubscription.onNext((IN) new Buffer(((ByteBuf) msg).nioBuffer()));
+					channelSubscription.onNext((IN) b);
 				} finally {
+					recycle(b);
 					((ByteBuf) msg).release();
 				}
 				return;
@@ -165,20 +169,22 @@ public class NettyNetChannelInboundHandler<IN> extends ChannelInboundHandlerAdap
 				return;
 			}
 
-			if (!bufferHasSufficientCapacity(remainder, data)) {
-				ByteBuf combined = createCombinedBuffer(remainder, data, ctx);
-				remainder.release();
-				remainder = combined;
+			// chain the new data after the partial frame rather than copying them together
+			CompositeByteBuf pending;
+			if (remainder instanceof CompositeByteBuf) {
+				pending = (CompositeByteBuf) remainder;
 			} else {
-				remainder.writeBytes(data);
+				pending = ctx.alloc().compositeBuffer();
+				addComponent(pending, remainder);
+				remainder = pending;
 			}
-			data.release();
+			addComponent(pending, data);
 
 			try {
-				passToConnection(remainder);
+				passToConnection(pending);
 			} finally {
-				if (remainder.isReadable()) {
-					remainder.discardSomeReadBytes();
+				if (pending.isReadable()) {
+					pending.discardReadComponents();
 				} else {
 					remainder.release();
 					remainder = null;
@@ -203,29 +209,42 @@ public class NettyNetChannelInboundHandler<IN> extends ChannelInboundHandlerAdap
 		}
 	}
 
-	private boolean bufferHasSufficientCapacity(ByteBuf receiver, ByteBuf provider) {
-		return receiver.writerIndex() <= receiver.maxCapacity() - provider.readableBytes();
+	private static void addComponent(CompositeByteBuf composite, ByteBuf data) {
+		int len = data.readableBytes();
+		composite.addComponent(data);
+		composite.writerIndex(composite.writerIndex() + len);
 	}
 
-	private ByteBuf createCombinedBuffer(ByteBuf partOne, ByteBuf partTwo, ChannelHandlerContext ctx) {
-		ByteBuf combined = ctx.alloc().buffer(partOne.readableBytes() + partTwo.readableBytes());
-		combined.writeBytes(partOne);
-		combined.writeBytes(partTwo);
-		return combined;
+	/**
+	 * Read the given {@link ByteBuf} in place: a {@link NettyBuffer} keeps it alive for as long as a receiver retains
+	 * it, the memory regions of a composite {@link ByteBuf} are read as the components of a {@link CompositeBuffer}.
+	 */
+	private static Buffer wrap(ByteBuf data) {
+		return NettyBuffer.canWrap(data) ? new NettyBuffer(data) : new CompositeBuffer(data.nioBuffers());
+	}
+
+	private static void recycle(Buffer b) {
+		if (b instanceof NettyBuffer) {
+			b.recycle();
+		}
 	}
 
 	private void passToConnection(ByteBuf data) {
-		Buffer b = new Buffer(data.nioBuffer());
+		Buffer b = wrap(data);
 		int start = b.position();
-		if (null != channelStream.getDecoder() && null != b.byteBuffer()) {
-			IN read = channelStream.getDecoder().apply(b);
-			if (read != null) {
-				channelSubscription.onNext(read);
+		try {
+			if (null != channelStream.getDecoder()) {
+				IN read = channelStream.getDecoder().apply(b);
+				if (read != null) {
+					channelSubscription.onNext(read);
+				}
 			}
-		}
 
-		//data.remaining() > 0;
-		data.skipBytes(b.position() - start);
+			//data.remaining() > 0;
+			data.skipBytes(b.position() - start);
+		} finally {
+			recycle(b);
+		}
 	}
 
 }
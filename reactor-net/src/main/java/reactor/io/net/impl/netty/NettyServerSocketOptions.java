@@ -17,7 +17,7 @@
 package reactor.io.net.impl.netty;
 
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import reactor.fn.Consumer;
 import reactor.io.net.config.ServerSocketOptions;
 
@@ -29,7 +29,9 @@ import reactor.io.net.config.ServerSocketOptions;
 public class NettyServerSocketOptions extends ServerSocketOptions {
 
 	private Consumer<ChannelPipeline> pipelineConfigurer;
-	private NioEventLoopGroup         eventLoopGroup;
+	private EventLoopGroup            eventLoopGroup;
+	private boolean                   tcpCork;
+	private boolean                   reusePort;
 
 	public Consumer<ChannelPipeline> pipelineConfigurer() {
 		return pipelineConfigurer;
@@ -40,13 +42,56 @@ public class NettyServerSocketOptions extends ServerSocketOptions {
 		return this;
 	}
 
-	public NioEventLoopGroup eventLoopGroup() {
+	public EventLoopGroup eventLoopGroup() {
 		return eventLoopGroup;
 	}
 
-	public NettyServerSocketOptions eventLoopGroup(NioEventLoopGroup eventLoopGroup) {
+	public NettyServerSocketOptions eventLoopGroup(EventLoopGroup eventLoopGroup) {
 		this.eventLoopGroup = eventLoopGroup;
 		return this;
 	}
 
+	/**
+	 * Returns a boolean indicating whether or not {@code TCP_CORK} is enabled on the native transport
+	 *
+	 * @return {@code true} if {@code TCP_CORK} is enabled, {@code false} if it is not
+	 */
+	public boolean tcpCork() {
+		return tcpCork;
+	}
+
+	/**
+	 * Enables or disables {@code TCP_CORK} on the native transport: partial frames are held back until the cork is
+	 * removed or a full frame can be sent. Ignored by the NIO transport.
+	 *
+	 * @param tcpCork {@code true} to enable {@code TCP_CORK}, {@code false} to disable it
+	 * @return {@code this}
+	 */
+	public NettyServerSocketOptions tcpCork(boolean tcpCork) {
+		this.tcpCork = tcpCork;
+		return this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not {@code SO_REUSEPORT} is enabled on the native transport
+	 *
+	 * @return {@code true} if {@code SO_REUSEPORT} is enabled, {@code false} if it is not
+	 */
+	public boolean reusePort() {
+		return reusePort;
+	}
+
+	/**
+	 * Enables or disables {@code SO_REUSEPORT} on the native transport. A TCP server then binds a socket per selector
+	 * thread to its address and lets the kernel share the incoming connections between them. Ignored by the NIO
+	 * transport.
+	 *
+	 * @param reusePort {@code true} to enable {@code SO_REUSEPORT}, {@code false} to disable it
+	 * @return {@code this}
+	 */
+	public NettyServerSocketOptions reusePort(boolean reusePort) {
+		this.reusePort = reusePort;
+		return this;
+	}
+
 }
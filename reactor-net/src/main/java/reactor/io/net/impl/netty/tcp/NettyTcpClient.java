@@ -19,9 +19,8 @@ package reactor.io.net.impl.netty.tcp;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.Future;
@@ -44,6 +43,7 @@ import reactor.io.net.config.SslOptions;
 import reactor.io.net.impl.netty.NettyChannelStream;
 import reactor.io.net.impl.netty.NettyClientSocketOptions;
 import reactor.io.net.impl.netty.NettyEventLoopDispatcher;
+import reactor.io.net.impl.netty.NettyNativeDetector;
 import reactor.io.net.impl.netty.NettyNetChannelInboundHandler;
 import reactor.io.net.tcp.TcpClient;
 import reactor.io.net.tcp.ssl.SSLEngineSupplier;
@@ -113,12 +113,13 @@ public class NettyTcpClient<IN, OUT> extends TcpClient<IN, OUT> {
 		} else {
 			int ioThreadCount = env != null ? env.getProperty("reactor.tcp.ioThreadCount", Integer.class, Environment
 					.PROCESSORS) : Environment.PROCESSORS;
-			this.ioGroup = new NioEventLoopGroup(ioThreadCount, new NamedDaemonThreadFactory("reactor-tcp-io"));
+			this.ioGroup = NettyNativeDetector.newEventLoopGroup(options, ioThreadCount,
+					new NamedDaemonThreadFactory("reactor-tcp-io"));
 		}
 
 		this.bootstrap = new Bootstrap()
 				.group(ioGroup)
-				.channel(NioSocketChannel.class)
+				.channel(NettyNativeDetector.socketChannel(ioGroup))
 				.option(ChannelOption.SO_RCVBUF, options.rcvbuf())
 				.option(ChannelOption.SO_SNDBUF, options.sndbuf())
 				.option(ChannelOption.SO_KEEPALIVE, options.keepAlive())
@@ -151,6 +152,10 @@ public class NettyTcpClient<IN, OUT> extends TcpClient<IN, OUT> {
 					}
 				});
 
+		if (null != nettyOptions && NettyNativeDetector.isEpoll(ioGroup)) {
+			bootstrap.option(EpollChannelOption.TCP_CORK, nettyOptions.tcpCork());
+		}
+
 		this.connectionSupplier = new Supplier<ChannelFuture>() {
 			@Override
 			public ChannelFuture get() {
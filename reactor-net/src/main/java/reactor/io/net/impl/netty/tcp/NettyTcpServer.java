@@ -20,10 +20,9 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.SocketChannelConfig;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.Future;
@@ -41,6 +40,7 @@ import reactor.io.net.config.ServerSocketOptions;
 import reactor.io.net.config.SslOptions;
 import reactor.io.net.impl.netty.NettyChannelStream;
 import reactor.io.net.impl.netty.NettyEventLoopDispatcher;
+import reactor.io.net.impl.netty.NettyNativeDetector;
 import reactor.io.net.impl.netty.NettyNetChannelInboundHandler;
 import reactor.io.net.impl.netty.NettyServerSocketOptions;
 import reactor.io.net.tcp.TcpServer;
@@ -53,6 +53,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLEngine;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -71,6 +73,7 @@ public class NettyTcpServer<IN, OUT> extends TcpServer<IN, OUT> {
 	private final ServerBootstrap          bootstrap;
 	private final EventLoopGroup           selectorGroup;
 	private final EventLoopGroup           ioGroup;
+	private final int                      bindCount;
 
 	protected NettyTcpServer(@Nonnull Environment env,
 	                         @Nonnull Dispatcher dispatcher,
@@ -90,16 +93,20 @@ public class NettyTcpServer<IN, OUT> extends TcpServer<IN, OUT> {
 				Environment.PROCESSORS / 2);
 		int ioThreadCount = getEnvironment().getProperty("reactor.tcp.ioThreadCount", Integer.class, Environment
 				.PROCESSORS);
-		this.selectorGroup = new NioEventLoopGroup(selectThreadCount, new NamedDaemonThreadFactory("reactor-tcp-select"));
 		if (null != nettyOptions && null != nettyOptions.eventLoopGroup()) {
 			this.ioGroup = nettyOptions.eventLoopGroup();
 		} else {
-			this.ioGroup = new NioEventLoopGroup(ioThreadCount, new NamedDaemonThreadFactory("reactor-tcp-io"));
+			this.ioGroup = NettyNativeDetector.newEventLoopGroup(options, ioThreadCount,
+					new NamedDaemonThreadFactory("reactor-tcp-io"));
 		}
+		// the selector and io groups must run the same transport
+		boolean epoll = NettyNativeDetector.isEpoll(ioGroup);
+		this.selectorGroup = NettyNativeDetector.newEventLoopGroup(epoll, selectThreadCount,
+				new NamedDaemonThreadFactory("reactor-tcp-select"));
 
 		this.bootstrap = new ServerBootstrap()
 				.group(selectorGroup, ioGroup)
-				.channel(NioServerSocketChannel.class)
+				.channel(NettyNativeDetector.serverSocketChannel(ioGroup))
 				.option(ChannelOption.SO_BACKLOG, options.backlog())
 				.option(ChannelOption.SO_RCVBUF, options.rcvbuf())
 				.option(ChannelOption.SO_SNDBUF, options.sndbuf())
@@ -139,6 +146,17 @@ public class NettyTcpServer<IN, OUT> extends TcpServer<IN, OUT> {
 						bindChannel(ch, options.prefetch());
 					}
 				});
+
+		if (epoll && null != nettyOptions) {
+			bootstrap.option(EpollChannelOption.SO_REUSEPORT, nettyOptions.reusePort())
+			         .childOption(EpollChannelOption.TCP_CORK, nettyOptions.tcpCork());
+		}
+		// with SO_REUSEPORT a socket is bound per selector thread and the kernel shares the connections between them
+		if (epoll && null != nettyOptions && nettyOptions.reusePort()) {
+			this.bindCount = Math.max(1, selectThreadCount);
+		} else {
+			this.bindCount = 1;
+		}
 	}
 
 	@Override
@@ -166,19 +184,37 @@ public class NettyTcpServer<IN, OUT> extends TcpServer<IN, OUT> {
 
 	@Override
 	public Promise<Boolean> start() {
-		ChannelFuture bindFuture = bootstrap.bind();
 		final Promise<Boolean> promise = Promises.ready(getEnvironment(), getDispatcher());
-		bindFuture.addListener(new ChannelFutureListener() {
+		final AtomicInteger bindsToComplete = new AtomicInteger(bindCount);
+		final List<ChannelFuture> binds = new ArrayList<ChannelFuture>(bindCount);
+		for (int i = 0; i < bindCount; i++) {
+			binds.add(bootstrap.bind());
+		}
+		ChannelFutureListener listener = new ChannelFutureListener() {
 			@Override
 			public void operationComplete(ChannelFuture future) throws Exception {
 				log.info("BIND {}", future.channel().localAddress());
 				if (future.isSuccess()) {
-					promise.onNext(true);
-				} else {
+					int remaining = bindsToComplete.decrementAndGet();
+					if (remaining == 0) {
+						promise.onNext(true);
+					} else if (remaining < 0) {
+						// another bind already failed, do not hold the port
+						future.channel().close();
+					}
+				} else if (bindsToComplete.getAndSet(-1) > 0) {
+					for (ChannelFuture bind : binds) {
+						if (bind.isSuccess()) {
+							bind.channel().close();
+						}
+					}
 					promise.onError(future.cause());
 				}
 			}
-		});
+		};
+		for (ChannelFuture bind : binds) {
+			bind.addListener(listener);
+		}
 
 		return promise;
 	}
@@ -19,7 +19,9 @@ package reactor.io.net.impl.netty.udp;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ChannelFactory;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.channel.socket.InternetProtocolFamily;
 import io.netty.channel.socket.nio.NioDatagramChannel;
@@ -37,6 +39,7 @@ import reactor.io.buffer.Buffer;
 import reactor.io.codec.Codec;
 import reactor.io.net.config.ServerSocketOptions;
 import reactor.io.net.impl.netty.NettyChannelStream;
+import reactor.io.net.impl.netty.NettyNativeDetector;
 import reactor.io.net.impl.netty.NettyNetChannelInboundHandler;
 import reactor.io.net.impl.netty.NettyServerSocketOptions;
 import reactor.io.net.udp.DatagramServer;
@@ -53,6 +56,10 @@ import java.net.ProtocolFamily;
 /**
  * {@link reactor.io.net.udp.DatagramServer} implementation built on Netty.
  *
+ * The native epoll datagram channel of the Netty version in use supports neither multicast nor a protocol family, so
+ * the native transport is only used when it is asked for and neither a multicast interface nor a protocol family is
+ * configured: otherwise NIO is used. Joining or leaving a group is then refused on a native channel.
+ *
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
@@ -63,7 +70,7 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 	private final    NettyServerSocketOptions    nettyOptions;
 	private final    Bootstrap                   bootstrap;
 	private final    EventLoopGroup              ioGroup;
-	private volatile NioDatagramChannel          channel;
+	private volatile DatagramChannel             channel;
 
 	public NettyDatagramServer(@Nonnull Environment env,
 	                           @Nonnull Dispatcher dispatcher,
@@ -79,16 +86,25 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 			this.nettyOptions = null;
 		}
 
+		final InternetProtocolFamily family = toNettyFamily(options.protocolFamily());
+		boolean nioRequired = null != multicastInterface || null != family;
+
 		if (null != nettyOptions && null != nettyOptions.eventLoopGroup()) {
 			this.ioGroup = nettyOptions.eventLoopGroup();
+			if (nioRequired && NettyNativeDetector.isEpoll(ioGroup)) {
+				throw new IllegalArgumentException("The native transport supports neither multicast nor a protocol " +
+						"family, use a NIO EventLoopGroup");
+			}
 		} else {
 			int ioThreadCount = getEnvironment().getProperty("reactor.udp.ioThreadCount",
 					Integer.class,
 					Environment.PROCESSORS);
-			this.ioGroup = new NioEventLoopGroup(ioThreadCount, new NamedDaemonThreadFactory("reactor-udp-io"));
+			this.ioGroup = NettyNativeDetector.newEventLoopGroup(options.nativeTransport() && !nioRequired,
+					ioThreadCount,
+					new NamedDaemonThreadFactory("reactor-udp-io"));
 		}
 
-		final InternetProtocolFamily family = toNettyFamily(options.protocolFamily());
+		final boolean epoll = NettyNativeDetector.isEpoll(ioGroup);
 
 		this.bootstrap = new Bootstrap()
 				.group(ioGroup)
@@ -100,12 +116,12 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 				.channelFactory(new ChannelFactory<Channel>() {
 									@Override
 									public Channel newChannel() {
-										return new NioDatagramChannel(family);
+										return epoll ? new EpollDatagramChannel() : new NioDatagramChannel(family);
 									}
 								})
-				.handler(new ChannelInitializer<NioDatagramChannel>() {
+				.handler(new ChannelInitializer<DatagramChannel>() {
 					@Override
-					public void initChannel(final NioDatagramChannel ch) throws Exception {
+					public void initChannel(final DatagramChannel ch) throws Exception {
 						if (null != nettyOptions && null != nettyOptions.pipelineConfigurer()) {
 							nettyOptions.pipelineConfigurer().accept(ch.pipeline());
 						}
@@ -122,6 +138,9 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 		if (null != multicastInterface) {
 			bootstrap.option(ChannelOption.IP_MULTICAST_IF, multicastInterface);
 		}
+		if (epoll && null != nettyOptions) {
+			bootstrap.option(EpollChannelOption.SO_REUSEPORT, nettyOptions.reusePort());
+		}
 	}
 
 	private InternetProtocolFamily toNettyFamily(ProtocolFamily family) {
@@ -149,7 +168,7 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 			public void operationComplete(ChannelFuture future) throws Exception {
 				if (future.isSuccess()) {
 					log.info("BIND {}", future.channel().localAddress());
-					channel = (NioDatagramChannel) future.channel();
+					channel = (DatagramChannel) future.channel();
 					promise.onNext(true);
 				} else {
 					promise.onError(future.cause());
@@ -202,6 +221,9 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 		}
 
 		final Promise<Boolean> d = Promises.ready(getEnvironment(), getDispatcher());
+		if (!supportsMulticast(d)) {
+			return d;
+		}
 
 		if (null == iface && null != getMulticastInterface()) {
 			iface = getMulticastInterface();
@@ -239,6 +261,9 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 		}
 
 		final Promise<Boolean> d = Promises.ready(getEnvironment(), getDispatcher());
+		if (!supportsMulticast(d)) {
+			return d;
+		}
 
 		final ChannelFuture future;
 		if (null != iface) {
@@ -261,9 +286,18 @@ public class NettyDatagramServer<IN, OUT> extends DatagramServer<IN, OUT> {
 		return d;
 	}
 
+	private boolean supportsMulticast(Promise<Boolean> d) {
+		if (channel instanceof EpollDatagramChannel) {
+			d.onError(new UnsupportedOperationException("Multicast is not supported by the native transport, " +
+					"configure a multicast interface or disable the native transport"));
+			return false;
+		}
+		return true;
+	}
+
 	@Override
 	protected NettyChannelStream<IN, OUT> bindChannel(Object _ioChannel, long prefetch) {
-		NioDatagramChannel ioChannel = (NioDatagramChannel) _ioChannel;
+		DatagramChannel ioChannel = (DatagramChannel) _ioChannel;
 		NettyChannelStream<IN, OUT> netChannel =  new NettyChannelStream<IN, OUT>(
 				getEnvironment(),
 				getDefaultCodec(),
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.net.http
+
+import reactor.bus.selector.UriPathTemplate
+import reactor.io.net.NetSelectors
+import reactor.io.net.http.model.Method
+import reactor.io.net.http.model.Protocol
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class HttpRouterSpec extends Specification {
+
+	def "routes are selected by method and path"() {
+		given: "a router with overlapping routes"
+			def router = new HttpRouter<String>()
+			router.register(NetSelectors.get('/users'), 'list')
+			router.register(NetSelectors.get('/users/{id}'), 'show')
+			router.register(NetSelectors.post('/users/{id}'), 'update')
+			router.register(NetSelectors.get('/users/{id}/orders/{order}'), 'order')
+			router.register(NetSelectors.get('/user-groups/{group}'), 'group')
+			router.register(NetSelectors.get('/static/{path}**'), 'static')
+
+		when: "a user is requested"
+			def routes = router.select(Method.GET, Protocol.HTTP_1_1, '/users/42')
+
+		then: "only the GET route matches and its variable is captured"
+			routes*.object == ['show']
+			routes[0].params == [id: '42']
+
+		when: "a nested resource is requested"
+			routes = router.select(Method.GET, Protocol.HTTP_1_1, '/users/42/orders/7')
+
+		then: "all its variables are captured"
+			routes*.object == ['order']
+			routes[0].params == [id: '42', order: '7']
+
+		when: "a path sharing a static prefix is requested"
+			routes = router.select(Method.GET, Protocol.HTTP_1_1, '/user-groups/admins')
+
+		then: "the diverging edge is followed"
+			routes*.object == ['group']
+			routes[0].params == [group: 'admins']
+
+		when: "a wildcard route is requested"
+			routes = router.select(Method.GET, Protocol.HTTP_1_1, '/static/css/site.css')
+
+		then: "the remainder of the path is captured"
+			routes*.object == ['static']
+			routes[0].params == [path: 'css/site.css']
+
+		when: "a route without variables is requested"
+			routes = router.select(Method.GET, Protocol.HTTP_1_1, '/users')
+
+		then: "there are no params"
+			routes*.object == ['list']
+			routes[0].params == null
+
+		when: "no route matches"
+			routes = router.select(Method.DELETE, Protocol.HTTP_1_1, '/users/42')
+
+		then: "nothing is selected"
+			routes.empty
+	}
+
+	def "every matching route is selected in registration order"() {
+		given: "a router with routes matching the same request"
+			def router = new HttpRouter<String>()
+			router.register(NetSelectors.get('/**'), 'any-get')
+			router.register(NetSelectors.http('/a/{b}', null, null), 'any-method')
+			router.register(NetSelectors.matchAll(), 'all')
+			router.register(NetSelectors.get('/a/b'), 'static')
+			router.register(NetSelectors.get('/a/{b}.json'), 'regex')
+
+		when: "the request is routed"
+			def routes = router.select(Method.GET, Protocol.HTTP_1_1, '/a/b')
+
+		then: "routes from the trees are merged in registration order, skipping selectors needing a channel"
+			routes*.object == ['any-get', 'any-method', 'static']
+
+		when: "a request only matching the regex template is routed"
+			routes = router.select(Method.GET, Protocol.HTTP_1_1, '/a/x.json')
+
+		then: "the template is evaluated with its regular expression"
+			routes*.object == ['any-get', 'regex']
+			routes[1].params == [b: 'x']
+	}
+
+	def "protocol conditions are honored"() {
+		given: "a router with a protocol specific route"
+			def router = new HttpRouter<String>()
+			router.register(NetSelectors.http('/a', Protocol.HTTP_1_1, Method.GET), 'http11')
+
+		expect: "only requests with that protocol match"
+			router.select(Method.GET, Protocol.HTTP_1_1, '/a')*.object == ['http11']
+			router.select(Method.GET, Protocol.HTTP_1_0, '/a').empty
+	}
+
+	@Unroll
+	def "router agrees with UriPathTemplate for '#template' and '#uri'"() {
+		given: "a router with a single route"
+			def router = new HttpRouter<String>()
+			router.register(NetSelectors.get(template), template)
+			def expected = new UriPathTemplate(template)
+
+		when: "the uri is routed"
+			def routes = router.select(Method.GET, Protocol.HTTP_1_1, uri)
+
+		then: "the outcome is the one of the template"
+			!routes.empty == expected.matches(uri)
+			routes.empty || (routes[0].params ?: [:]) == expected.match(uri)
+
+		where:
+			template                  | uri
+			'/a/{b}'                  | '/a/'
+			'/a/{b}'                  | '/a/b.c'
+			'/a/{b}'                  | '/a/b/'
+			'/a/{b}/'                 | '/a/b/'
+			'/a{b}/c'                 | '/axy/c'
+			'/a/**'                   | '/a'
+			'/a/**'                   | '/a/'
+			'/a/**'                   | '/a/b/c'
+			'/a**'                    | '/abc/d'
+			'/a/{b}**'                | '/a/b/c'
+			'/a/{b}/{c}**'            | '/a/b/c/d'
+			'/a/{b}/{c}**'            | '/a/b.x/c'
+			'/a/**'                   | '/a/b\nc'
+			'/{a}/{b}'                | '//'
+			'/a/{b}'                  | '/a/b?c=d'
+	}
+
+}
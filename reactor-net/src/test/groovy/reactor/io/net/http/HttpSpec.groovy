@@ -16,7 +16,9 @@
 package reactor.io.net.http
 
 import reactor.Environment
+import reactor.fn.Function
 import reactor.io.codec.StandardCodecs
+import reactor.io.net.NetSelectors
 import reactor.io.net.NetStreams
 import reactor.rx.Streams
 import spock.lang.Specification
@@ -101,4 +103,31 @@ class HttpSpec extends Specification {
 			client?.close()?.flatMap { server.shutdown() }?.awaitSuccess(5, TimeUnit.SECONDS)
 	}
 
-}
\ No newline at end of file
+	def "http still routes handlers registered in the deprecated registry"() {
+		given: "a simple HttpServer with a handler registered straight into its routedWriters registry"
+			def server = NetStreams.httpServer {
+				it.codec(StandardCodecs.STRING_CODEC).listen(port).dispatcher(Environment.sharedDispatcher())
+			}
+			def client = NetStreams.httpClient {
+				it.codec(StandardCodecs.STRING_CODEC).connect("localhost", port).dispatcher(Environment.sharedDispatcher())
+			}
+			server.routedWriters.register(NetSelectors.post('/legacy/{param}'), { req ->
+				req.map { it + ' ' + req.param('param') + '!' }
+			} as Function)
+
+		when: "the server is started and a request is sent"
+			server.start().awaitSuccess(5, TimeUnit.SECONDS)
+			def content = client.post('/legacy/World') { req ->
+				req.header('Content-Type', 'text/plain')
+				Streams.just("Hello")
+			}.flatMap { replies -> replies.next() }
+			client.open().awaitSuccess()
+
+		then: "the handler replied, with the path variable resolved"
+			content.await() == "Hello World!"
+
+		cleanup:
+			client?.close()?.flatMap { server.shutdown() }?.awaitSuccess(5, TimeUnit.SECONDS)
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.net.tcp.netty
+
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
+import io.netty.util.CharsetUtil
+import reactor.fn.Consumer
+import reactor.io.codec.StandardCodecs
+import reactor.io.net.impl.netty.NettyBuffer
+import spock.lang.Specification
+
+class NettyBufferSpec extends Specification {
+
+	def "A NettyBuffer reads pooled direct memory in place and releases it once recycled"() {
+		given: "a pooled direct ByteBuf holding lines and partly read"
+			def byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(64)
+			byteBuf.writeBytes("skip\nHello World!\nHello again!\n".bytes)
+			byteBuf.skipBytes(5)
+
+		when: "it is wrapped and decoded"
+			def buffer = new NettyBuffer(byteBuf)
+			def lines = []
+			StandardCodecs.LINE_FEED_CODEC.decoder({ lines << it } as Consumer<String>).apply(buffer)
+
+		then: "the lines are read from the ByteBuf and the wrapper holds a reference"
+			lines == ["Hello World!", "Hello again!"]
+			NettyBuffer.canWrap(byteBuf)
+			buffer.byteBuffer().isDirect()
+			byteBuf.refCnt() == 2
+
+		when: "the bytes of the first line are sliced"
+			buffer.position(0).limit(12)
+			def slice = buffer.retainedSlice()
+
+		then: "the slice shares the memory of the ByteBuf"
+			slice.toString(CharsetUtil.UTF_8) == "Hello World!"
+			byteBuf.refCnt() == 3
+
+		when: "the wrapper is retained, then recycled more often than retained"
+			buffer.retain()
+			buffer.recycle()
+			buffer.recycle()
+			buffer.recycle()
+			slice.release()
+
+		then: "only its own reference to the ByteBuf is released"
+			buffer.refCnt() == 0
+			byteBuf.refCnt() == 1
+			buffer.retainedSlice() == null
+
+		when: "a recycled wrapper is retained"
+			buffer.retain()
+
+		then: "an exception is thrown"
+			thrown(IllegalStateException)
+
+		cleanup:
+			byteBuf.release()
+	}
+
+	def "A composite ByteBuf of several regions is not wrapped"() {
+		expect:
+			!NettyBuffer.canWrap(Unpooled.wrappedBuffer(Unpooled.copiedBuffer("a".bytes), Unpooled.copiedBuffer("b".bytes)))
+	}
+
+}
@@ -45,6 +45,8 @@ import reactor.io.net.NetStreams;
 import reactor.io.net.config.ServerSocketOptions;
 import reactor.io.net.config.SslOptions;
 import reactor.io.net.http.HttpServer;
+import reactor.io.net.impl.netty.NettyClientSocketOptions;
+import reactor.io.net.impl.netty.NettyNativeDetector;
 import reactor.io.net.impl.netty.NettyServerSocketOptions;
 import reactor.io.net.impl.netty.tcp.NettyTcpClient;
 import reactor.io.net.impl.zmq.tcp.ZeroMQTcpServer;
@@ -369,6 +371,68 @@ public class TcpServerTests {
 		server.shutdown().await();
 	}
 
+	@Test
+	public void tcpServerWritesInBatches() throws InterruptedException {
+		final int port = SocketUtils.findAvailableTcpPort();
+		final int messages = 1000;
+		final CountDownLatch latch = new CountDownLatch(messages);
+
+		TcpServer<String, String> server = NetStreams.tcpServer(s ->
+						s.env(env)
+								.listen(port)
+								.codec(StandardCodecs.LINE_FEED_CODEC)
+		);
+
+		server.consume(ch -> ch.sink(Streams.range(1, messages).map(String::valueOf), 64, 256));
+		server.start().await();
+
+		final TcpClient<String, String> client = NetStreams.tcpClient(s ->
+						s.env(env)
+								.connect("localhost", port)
+								.codec(StandardCodecs.LINE_FEED_CODEC)
+		);
+
+		client.consume(ch -> ch.consume(data -> latch.countDown()));
+		client.open().await();
+
+		assertTrue("Latch was counted down", latch.await(10, TimeUnit.SECONDS));
+
+		client.close().await();
+		server.shutdown().await();
+	}
+
+	@Test
+	public void exposesNativeTransport() throws InterruptedException {
+		final int port = SocketUtils.findAvailableTcpPort();
+		final CountDownLatch latch = new CountDownLatch(2);
+
+		final TcpClient<String, String> client = NetStreams.tcpClient(s ->
+						s.env(env)
+								.options(new NettyClientSocketOptions().nativeTransport(true))
+								.connect("localhost", port)
+								.codec(StandardCodecs.LINE_FEED_CODEC)
+		);
+
+		TcpServer<String, String> server = NetStreams.tcpServer(s ->
+						s.env(env)
+								.options(new NettyServerSocketOptions().reusePort(true).nativeTransport(true))
+								.listen(port)
+								.codec(StandardCodecs.LINE_FEED_CODEC)
+		);
+
+		server.consume(ch -> ch.consume(data -> latch.countDown()));
+		server.start().await();
+
+		client.consume(ch -> ch.sink(Streams.just("Hello World!", "Hello 11!")));
+		client.open().await();
+
+		assertTrue("Latch was counted down with native transport " + NettyNativeDetector.isEpollAvailable(),
+				latch.await(10, TimeUnit.SECONDS));
+
+		client.close().await();
+		server.shutdown().await();
+	}
+
 	@Test
 	public void exposesNettyByteBuf() throws InterruptedException {
 		final int port = SocketUtils.findAvailableTcpPort();
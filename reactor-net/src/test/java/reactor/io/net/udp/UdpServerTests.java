@@ -180,6 +180,33 @@ public class UdpServerTests {
 		}
 	}
 
+	@Test
+	public void nativeTransportFallsBackToNioForMulticast() throws Exception {
+		final int port = SocketUtils.findAvailableUdpPort();
+		final InetAddress multicastGroup = InetAddress.getByName("230.0.0.2");
+		final NetworkInterface multicastInterface = findMulticastEnabledIPv4Interface();
+
+		DatagramServer<byte[], byte[]> server = NetStreams.<byte[], byte[]>udpServer(
+				NettyDatagramServer.class,
+				spec -> spec.env(env)
+				            .listen(port)
+				            .options(new ServerSocketOptions()
+						                     .nativeTransport(true)
+						                     .protocolFamily(StandardProtocolFamily.INET))
+				            .codec(StandardCodecs.BYTE_ARRAY_CODEC)
+		);
+		server.consume(ch -> ch.consume(bytes -> {
+		}));
+
+		server.start().await(5, TimeUnit.SECONDS);
+		try {
+			assertThat("group was joined", server.join(multicastGroup, multicastInterface).await(5, TimeUnit.SECONDS));
+			assertThat("group was left", server.leave(multicastGroup, multicastInterface).await(5, TimeUnit.SECONDS));
+		} finally {
+			server.shutdown().await(5, TimeUnit.SECONDS);
+		}
+	}
+
 	private boolean isMulticastEnabledIPv4Interface(NetworkInterface iface) throws SocketException {
 		if (!iface.supportsMulticast() || !iface.isUp()) {
 			return false;
@@ -18,6 +18,7 @@ package reactor.rx;
 import org.reactivestreams.Publisher;
 import reactor.fn.BiFunction;
 import reactor.fn.tuple.Tuple2;
+import reactor.rx.action.pair.PairStore;
 import reactor.rx.action.pair.ReduceByKeyAction;
 import reactor.rx.action.pair.ScanByKeyAction;
 import reactor.rx.stream.MapStream;
@@ -26,7 +27,8 @@ import java.util.Map;
 
 /**
  * A Streams add-on to work with key/value pairs hydrated in {@link reactor.fn.tuple.Tuple2}.
- * Main factories support binding incoming values into arbitrary {@link java.util.Map} stores by key.
+ * Main factories support binding incoming values into arbitrary {@link java.util.Map} stores by key, or into a
+ * {@link reactor.rx.action.pair.PairStore} of primitive keys and values.
  *
  * @author Stephane Maldini
  */
@@ -63,6 +65,26 @@ public class BiStreams extends Streams {
 		return reduceByKey(publisher, mapStream, mapStream, accumulator);
 	}
 
+	/**
+	 * Reduce the values of each key into the given {@link PairStore}, e.g. a
+	 * {@link reactor.rx.action.pair.LongLongPairStore} keeping primitive counters on or off heap, and emit every key
+	 * and its value on complete.
+	 *
+	 * @param publisher
+	 * @param store
+	 * @param accumulator
+	 * @param <KEY>
+	 * @param <VALUE>
+	 * @return
+	 */
+	public static <KEY,VALUE> Stream<Tuple2<KEY,VALUE>> reduceByKey(Publisher<Tuple2<KEY,VALUE>> publisher,
+	                                                                PairStore<KEY,VALUE> store,
+	                                                                BiFunction<VALUE, VALUE, VALUE> accumulator) {
+		ReduceByKeyAction<KEY,VALUE> reduceByKeyAction = new ReduceByKeyAction<>(accumulator, store);
+		publisher.subscribe(reduceByKeyAction);
+		return reduceByKeyAction;
+	}
+
 	/**
 	 *
 	 * @param publisher
@@ -129,6 +151,26 @@ public class BiStreams extends Streams {
 		return scanByKey(publisher, mapStream, mapStream, accumulator);
 	}
 
+	/**
+	 * Accumulate the values of each key into the given {@link PairStore}, e.g. a
+	 * {@link reactor.rx.action.pair.LongLongPairStore} keeping primitive counters on or off heap, and emit each key
+	 * with its accumulated value.
+	 *
+	 * @param publisher
+	 * @param store
+	 * @param accumulator
+	 * @param <KEY>
+	 * @param <VALUE>
+	 * @return
+	 */
+	public static <KEY,VALUE> Stream<Tuple2<KEY,VALUE>> scanByKey(Publisher<Tuple2<KEY,VALUE>> publisher,
+	                                                                PairStore<KEY,VALUE> store,
+	                                                                BiFunction<VALUE, VALUE, VALUE> accumulator) {
+		ScanByKeyAction<KEY,VALUE> scanByKeyAction = new ScanByKeyAction<>(accumulator, store);
+		publisher.subscribe(scanByKeyAction);
+		return scanByKeyAction;
+	}
+
 	/**
 	 *
 	 * @param publisher
@@ -24,8 +24,8 @@ import reactor.core.Dispatcher;
 import reactor.core.dispatch.SynchronousDispatcher;
 import reactor.core.dispatch.TailRecurseDispatcher;
 import reactor.core.queue.CompletableBlockingQueue;
-import reactor.core.queue.CompletableLinkedQueue;
 import reactor.core.queue.CompletableQueue;
+import reactor.core.queue.CompletableSpscLinkedArrayQueue;
 import reactor.core.support.Assert;
 import reactor.core.support.Exceptions;
 import reactor.core.support.NonBlocking;
@@ -54,6 +54,7 @@ import reactor.rx.action.terminal.AdaptiveConsumerAction;
 import reactor.rx.action.terminal.ConsumerAction;
 import reactor.rx.action.transformation.*;
 import reactor.rx.broadcast.Broadcaster;
+import reactor.rx.stream.FusedStream;
 import reactor.rx.stream.GroupedStream;
 import reactor.rx.stream.LiftStream;
 import reactor.rx.subscription.PushSubscription;
@@ -776,6 +777,21 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 		return cacheAction;
 	}
 
+	/**
+	 * Cache all signal to this {@code Stream} and release them on request that will observe any values accepted by this
+	 * {@code Stream}. The values a subscriber has not requested yet are buffered in a queue from the given {@link
+	 * Supplier}, e.g. a bounded {@link reactor.core.queue.CompletableSpscArrayQueue}.
+	 *
+	 * @param queueSupplier A completable queue {@link reactor.fn.Supplier} to buffer the values of each subscriber
+	 * @return {@literal new Stream}
+	 * @since 2.0
+	 */
+	public final Stream<O> cache(Supplier<? extends CompletableQueue<O>> queueSupplier) {
+		Action<O, O> cacheAction = new CacheAction<O>(queueSupplier);
+		subscribe(cacheAction);
+		return cacheAction;
+	}
+
 
 	/**
 	 * Attach a {@link java.util.logging.Logger} to this {@code Stream} that will observe any signal emitted.
@@ -912,17 +928,15 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code V} and pass it into
 	 * another {@code Stream}.
 	 *
+	 * Adjacent {@code map} and {@link #filter(Predicate) filter} stages are fused into a single {@link Action}.
+	 *
 	 * @param fn  the transformation function
 	 * @param <V> the type of the return value of the transformation function
 	 * @return a new {@link Stream} containing the transformed values
 	 */
 	public final <V> Stream<V> map(@Nonnull final Function<? super O, ? extends V> fn) {
-		return lift(new Supplier<Action<O, V>>() {
-			@Override
-			public Action<O, V> get() {
-				return new MapAction<O, V>(fn);
-			}
-		});
+		Assert.notNull(fn, "Map function cannot be null.");
+		return FusedStream.map(this, fn);
 	}
 
 	/**
@@ -1291,7 +1305,7 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 		return onOverflowBuffer(new Supplier<CompletableQueue<O>>() {
 			@Override
 			public CompletableQueue<O> get() {
-				return new CompletableLinkedQueue<O>();
+				return new CompletableSpscLinkedArrayQueue<O>();
 			}
 		});
 	}
@@ -1330,16 +1344,14 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 	 * Evaluate each accepted value against the given {@link Predicate}. If the predicate test succeeds, the value is
 	 * passed into the new {@code Stream}. If the predicate test fails, the value is ignored.
 	 *
+	 * Adjacent {@link #map(Function) map} and {@code filter} stages are fused into a single {@link Action}.
+	 *
 	 * @param p the {@link Predicate} to test values against
 	 * @return a new {@link Stream} containing only values that pass the predicate test
 	 */
 	public final Stream<O> filter(final Predicate<? super O> p) {
-		return lift(new Supplier<Action<O, O>>() {
-			@Override
-			public Action<O, O> get() {
-				return new FilterAction<O>(p);
-			}
-		});
+		Assert.notNull(p, "Filter predicate cannot be null.");
+		return FusedStream.filter(this, p);
 	}
 
 	/**
@@ -1995,6 +2007,97 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 		});
 	}
 
+	/**
+	 * Create a new {@code Stream} that filters in only values not seen among the given number of most recently seen
+	 * values, remembering no more than that number of values.
+	 *
+	 * @param maxSize the number of most recently seen values to compare each value with
+	 * @return a new {@link Stream} with values distinct from the recent ones
+	 * @since 2.0
+	 */
+	public final Stream<O> distinct(final int maxSize) {
+		return distinct(null, new Supplier<KeySet<O>>() {
+			@Override
+			public KeySet<O> get() {
+				return new LruKeySet<O>(maxSize);
+			}
+		});
+	}
+
+	/**
+	 * Create a new {@code Stream} that filters in only values not seen within the given time, remembering each value
+	 * for that time after it has been let through.
+	 *
+	 * @param ttl  the time to filter out a value for once let through
+	 * @param unit the time unit to use
+	 * @return a new {@link Stream} with values distinct from the recent ones
+	 * @since 2.0
+	 */
+	public final Stream<O> distinct(long ttl, TimeUnit unit) {
+		return distinct(ttl, unit, getTimer());
+	}
+
+	/**
+	 * Create a new {@code Stream} that filters in only values not seen within the given time, remembering each value
+	 * for that time after it has been let through.
+	 *
+	 * @param ttl   the time to filter out a value for once let through
+	 * @param unit  the time unit to use
+	 * @param timer the Timer to read the time from
+	 * @return a new {@link Stream} with values distinct from the recent ones
+	 * @since 2.0
+	 */
+	public final Stream<O> distinct(final long ttl, final TimeUnit unit, final Timer timer) {
+		Assert.isTrue(timer != null, "Timer can't be found, try assigning an environment to the stream");
+		return distinct(null, new Supplier<KeySet<O>>() {
+			@Override
+			public KeySet<O> get() {
+				return new ExpiringKeySet<O>(ttl, unit, timer);
+			}
+		});
+	}
+
+	/**
+	 * Create a new {@code Stream} that filters in only values probably not seen among the most recent ones, remembering
+	 * them in a Bloom filter of a fixed size. Between {@code expectedInsertions} and twice that number of the most
+	 * recently seen values are remembered, and a value not seen is filtered out with a probability of up to twice
+	 * {@code falsePositiveRate}.
+	 *
+	 * @param expectedInsertions the number of values remembered in each of the two generations of the filter
+	 * @param falsePositiveRate  the probability of filtering out a value not seen, within a generation
+	 * @return a new {@link Stream} with values probably distinct from the recent ones
+	 * @see BloomKeySet
+	 * @since 2.0
+	 */
+	public final Stream<O> distinct(final int expectedInsertions, final double falsePositiveRate) {
+		return distinct(null, new Supplier<KeySet<O>>() {
+			@Override
+			public KeySet<O> get() {
+				return new BloomKeySet<O>(expectedInsertions, falsePositiveRate);
+			}
+		});
+	}
+
+	/**
+	 * Create a new {@code Stream} that filters in only values having distinct keys computed by function, remembering
+	 * the keys seen in a {@link KeySet} created for each subscriber.
+	 *
+	 * @param keySelector function to compute comparison key for each element, or {@literal null} to compare the values
+	 * @param keySets     supplier of the {@link KeySet} remembering the keys, e.g. a bounded {@link LruKeySet}
+	 * @return a new {@link Stream} with values having distinct keys
+	 * @since 2.0
+	 */
+	public final <V> Stream<O> distinct(final Function<? super O, ? extends V> keySelector,
+	                                    final Supplier<? extends KeySet<V>> keySets) {
+		Assert.notNull(keySets, "KeySet supplier cannot be null");
+		return lift(new Supplier<Action<O, O>>() {
+			@Override
+			public Action<O, O> get() {
+				return new DistinctAction<O, V>(keySelector, keySets.get());
+			}
+		});
+	}
+
     /**
      * Create a new {@code Stream} that emits <code>true</code> when any value satisfies a predicate
      * and <code>false</code> otherwise
@@ -25,7 +25,7 @@ import reactor.core.alloc.Recyclable;
 import reactor.core.dispatch.SynchronousDispatcher;
 import reactor.core.dispatch.TailRecurseDispatcher;
 import reactor.core.processor.CancelException;
-import reactor.core.queue.CompletableLinkedQueue;
+import reactor.core.queue.CompletableSpscLinkedArrayQueue;
 import reactor.core.queue.CompletableQueue;
 import reactor.core.support.Exceptions;
 import reactor.core.support.NonBlocking;
@@ -542,7 +542,7 @@ public abstract class Action<I, O> extends Stream<O>
 	}
 
 	protected PushSubscription<O> createSubscription(final Subscriber<? super O> subscriber, boolean reactivePull) {
-		return createSubscription(subscriber, reactivePull ? new CompletableLinkedQueue<O>() : null);
+		return createSubscription(subscriber, reactivePull ? new CompletableSpscLinkedArrayQueue<O>() : null);
 	}
 
 	protected PushSubscription<O> createSubscription(final Subscriber<? super O> subscriber, CompletableQueue<O> queue) {
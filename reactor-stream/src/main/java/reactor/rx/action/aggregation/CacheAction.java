@@ -18,6 +18,7 @@ package reactor.rx.action.aggregation;
 import org.reactivestreams.Subscriber;
 import reactor.core.queue.CompletableQueue;
 import reactor.fn.Consumer;
+import reactor.fn.Supplier;
 import reactor.rx.action.Action;
 import reactor.rx.action.Signal;
 import reactor.rx.subscription.PushSubscription;
@@ -32,7 +33,30 @@ import java.util.List;
  */
 public class CacheAction<T> extends Action<T, T> {
 
-	private final List<Signal<T>> values = new ArrayList<>();
+	private final List<Signal<T>>                         values = new ArrayList<>();
+	private final Supplier<? extends CompletableQueue<T>> queueSupplier;
+
+	public CacheAction() {
+		this(null);
+	}
+
+	/**
+	 * Create a cache buffering the values each subscriber has not requested yet in a queue from the given {@link
+	 * Supplier}. A bounded queue fails the subscription it overflows.
+	 *
+	 * @param queueSupplier the {@link Supplier} of the buffers, or {@literal null} for the default one
+	 */
+	public CacheAction(Supplier<? extends CompletableQueue<T>> queueSupplier) {
+		this.queueSupplier = queueSupplier;
+	}
+
+	@Override
+	protected PushSubscription<T> createSubscription(Subscriber<? super T> subscriber, boolean reactivePull) {
+		if (reactivePull && queueSupplier != null) {
+			return createSubscription(subscriber, queueSupplier.get());
+		}
+		return super.createSubscription(subscriber, reactivePull);
+	}
 
 	@Override
 	protected PushSubscription<T> createSubscription(final Subscriber<? super T> subscriber, CompletableQueue<T> queue) {
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.filter;
+
+import reactor.core.support.Assert;
+
+import java.util.Arrays;
+
+/**
+ * A {@link KeySet} remembering the keys approximately in a Bloom filter, in a fixed amount of memory whatever the keys.
+ *
+ * A key never seen before is taken for an already remembered one, and its value filtered out, with the given
+ * probability. To keep that probability from growing as an unbounded stream goes on, the keys are remembered in two
+ * generations of the expected number of insertions each: once the current generation is full it becomes the previous
+ * one, and the keys of the generation before are forgotten. A key seen again is remembered in the current generation,
+ * so that between the expected number of insertions and twice that number of the most recent keys are remembered, and
+ * a key is taken for a remembered one with up to twice the given probability.
+ *
+ * The bits of a key are derived from two hashes: its {@link Object#hashCode()} and a second hash computed from its
+ * content for {@link String}, {@link Long} and {@link Double} keys, so that distinct keys sharing a hash code are still
+ * told apart. Keys of other types only have their hash code to go by, which should then be well distributed.
+ *
+ * @param <V> the type of the keys
+ * @since 2.0
+ */
+public class BloomKeySet<V> implements KeySet<V> {
+
+	private final int    expectedInsertions;
+	private final double falsePositiveRate;
+	private final int    numBits;
+	private final int    numHashes;
+
+	private long[] current;
+	private long[] previous;
+	private int    count;
+
+	/**
+	 * Create a {@literal BloomKeySet} sized for the given number of keys per generation.
+	 *
+	 * @param expectedInsertions the number of keys remembered in a generation
+	 * @param falsePositiveRate  the probability that a key never seen is taken for a remembered one, between 0 and 1
+	 */
+	public BloomKeySet(int expectedInsertions, double falsePositiveRate) {
+		Assert.isTrue(expectedInsertions > 0, "expectedInsertions must be strictly positive");
+		Assert.isTrue(falsePositiveRate > 0d && falsePositiveRate < 1d, "falsePositiveRate must be between 0 and 1");
+		this.expectedInsertions = expectedInsertions;
+		this.falsePositiveRate = falsePositiveRate;
+
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64l, bits));
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+		this.current = new long[(numBits + 63) >>> 6];
+		this.previous = new long[current.length];
+	}
+
+	@Override
+	public boolean add(V key) {
+		long hash = mix(key == null ? 0 : key.hashCode()) ^ contentHash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+
+		if (contains(current, h1, h2)) {
+			return false;
+		}
+		boolean seen = contains(previous, h1, h2);
+
+		int h = h1;
+		for (int i = 0; i < numHashes; i++) {
+			int bit = (h & Integer.MAX_VALUE) % numBits;
+			current[bit >>> 6] |= 1l << bit;
+			h += h2;
+		}
+		if (++count >= expectedInsertions) {
+			long[] recycled = previous;
+			Arrays.fill(recycled, 0l);
+			previous = current;
+			current = recycled;
+			count = 0;
+		}
+		return !seen;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(current, 0l);
+		Arrays.fill(previous, 0l);
+		count = 0;
+	}
+
+	private boolean contains(long[] bits, int h1, int h2) {
+		int h = h1;
+		for (int i = 0; i < numHashes; i++) {
+			int bit = (h & Integer.MAX_VALUE) % numBits;
+			if ((bits[bit >>> 6] & (1l << bit)) == 0) {
+				return false;
+			}
+			h += h2;
+		}
+		return true;
+	}
+
+	private static long contentHash(Object key) {
+		if (key instanceof String) {
+			String string = (String) key;
+			long h = 0xcbf29ce484222325l;
+			for (int i = 0; i < string.length(); i++) {
+				h = (h ^ string.charAt(i)) * 0x100000001b3l;
+			}
+			return mix(h);
+		}
+		if (key instanceof Long) {
+			return mix((Long) key ^ 0x9e3779b97f4a7c15l);
+		}
+		if (key instanceof Double) {
+			return mix(Double.doubleToLongBits((Double) key) ^ 0x9e3779b97f4a7c15l);
+		}
+		return 0l;
+	}
+
+	private static long mix(long h) {
+		h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdl;
+		h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53l;
+		return h ^ (h >>> 33);
+	}
+
+	@Override
+	public String toString() {
+		return "expectedInsertions=" + expectedInsertions + ", falsePositiveRate=" + falsePositiveRate +
+				", bits=" + numBits + ", hashes=" + numHashes;
+	}
+}
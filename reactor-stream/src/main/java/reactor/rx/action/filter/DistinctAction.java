@@ -15,24 +15,31 @@
  */
 package reactor.rx.action.filter;
 
+import reactor.core.support.Assert;
 import reactor.fn.Function;
 import reactor.rx.action.Action;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
+ * Let through the values whose key has not been seen yet, remembering the keys in a {@link KeySet}, every key in a
+ * {@link HashKeySet} by default.
+ *
  * @author Anatoly Kadyshev
  * @since 2.0
  */
 public class DistinctAction<T, V> extends Action<T, T> {
 
-	private final Set<V> keySet = new HashSet<V>();
+	private final KeySet<V> keySet;
 
 	private final Function<? super T, ? extends V> keySelector;
 
 	public DistinctAction(Function<? super T, ? extends V> keySelector) {
+		this(keySelector, new HashKeySet<V>());
+	}
+
+	public DistinctAction(Function<? super T, ? extends V> keySelector, KeySet<V> keySet) {
+		Assert.notNull(keySet, "KeySet cannot be null.");
 		this.keySelector = keySelector;
+		this.keySet = keySet;
 	}
 
 	@Override
@@ -56,4 +63,15 @@ public class DistinctAction<T, V> extends Action<T, T> {
 		keySet.clear();
 	}
 
+	@Override
+	protected void doShutdown() {
+		keySet.clear();
+		super.doShutdown();
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "{" + keySet + "}";
+	}
+
 }
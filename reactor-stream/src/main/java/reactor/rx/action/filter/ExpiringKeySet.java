@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.filter;
+
+import reactor.core.support.Assert;
+import reactor.fn.Consumer;
+import reactor.fn.Pausable;
+import reactor.fn.timer.Timer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link KeySet} remembering each key for the given time after it was first let through, then letting it through
+ * again.
+ *
+ * Keys expire in the order they were added, so the expired ones are forgotten from the oldest on as new keys are
+ * added. The time is read from a clock ticking on the given {@link Timer} at its resolution rather than from the
+ * system clock for every key: keys are forgotten up to one resolution late. The clock stops once no key has been
+ * added for the whole time-to-live, since every key has expired by then, and starts again with the next key.
+ *
+ * @param <V> the type of the keys
+ * @since 2.0
+ */
+public class ExpiringKeySet<V> implements KeySet<V> {
+
+	private final long                   ttl;
+	private final Timer                  timer;
+	private final LinkedHashMap<V, Long> keys = new LinkedHashMap<V, Long>();
+
+	private volatile long    now;
+	private volatile long    lastAdded;
+	private volatile boolean ticking;
+
+	private Clock clock;
+
+	/**
+	 * Create an {@literal ExpiringKeySet} remembering each key for the given time.
+	 *
+	 * @param ttl   the time to remember each key for
+	 * @param unit  the unit of the time
+	 * @param timer the {@link Timer} ticking the clock
+	 */
+	public ExpiringKeySet(long ttl, TimeUnit unit, Timer timer) {
+		Assert.isTrue(ttl > 0, "ttl must be strictly positive");
+		Assert.notNull(unit, "TimeUnit cannot be null.");
+		Assert.notNull(timer, "Timer cannot be null.");
+		this.ttl = unit.toMillis(ttl);
+		this.timer = timer;
+	}
+
+	@Override
+	public boolean add(V key) {
+		if (!ticking) {
+			start();
+		}
+		long now = this.now;
+		lastAdded = now;
+
+		Iterator<Map.Entry<V, Long>> it = keys.entrySet().iterator();
+		while (it.hasNext() && now - it.next().getValue() >= ttl) {
+			it.remove();
+		}
+
+		if (keys.containsKey(key)) {
+			return false;
+		}
+		keys.put(key, now);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		stop();
+		keys.clear();
+	}
+
+	private void start() {
+		stop();
+		now = System.currentTimeMillis();
+		ticking = true;
+		Clock clock = new Clock();
+		long resolution = Math.max(1l, timer.getResolution());
+		clock.registration = timer.schedule(clock, resolution, TimeUnit.MILLISECONDS, resolution);
+		this.clock = clock;
+	}
+
+	private void stop() {
+		ticking = false;
+		Clock clock = this.clock;
+		if (clock != null) {
+			this.clock = null;
+			clock.cancel();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "size=" + keys.size() + ", ttl=" + ttl;
+	}
+
+	private final class Clock implements Consumer<Long> {
+		volatile Pausable registration;
+		volatile boolean  cancelled;
+
+		@Override
+		public void accept(Long tick) {
+			if (cancelled) {
+				return;
+			}
+			long time = System.currentTimeMillis();
+			now = time;
+			if (time - lastAdded > ttl) {
+				ticking = false;
+				cancel();
+			}
+		}
+
+		void cancel() {
+			cancelled = true;
+			Pausable registration = this.registration;
+			if (registration != null) {
+				registration.cancel();
+			}
+		}
+	}
+}
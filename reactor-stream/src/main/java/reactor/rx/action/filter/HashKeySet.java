@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.filter;
+
+import reactor.core.support.Assert;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link KeySet} remembering every key in a {@link Set}, a {@link HashSet} by default.
+ *
+ * @param <V> the type of the keys
+ * @since 2.0
+ */
+public class HashKeySet<V> implements KeySet<V> {
+
+	private final Set<V> keys;
+
+	public HashKeySet() {
+		this(new HashSet<V>());
+	}
+
+	/**
+	 * Create a {@literal HashKeySet} remembering the keys in the given {@link Set}.
+	 *
+	 * @param keys the {@link Set} to add the keys to
+	 */
+	public HashKeySet(Set<V> keys) {
+		Assert.notNull(keys, "Set cannot be null.");
+		this.keys = keys;
+	}
+
+	@Override
+	public boolean add(V key) {
+		return keys.add(key);
+	}
+
+	@Override
+	public void clear() {
+		keys.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "size=" + keys.size();
+	}
+}
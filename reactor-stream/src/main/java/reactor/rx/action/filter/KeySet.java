@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.filter;
+
+/**
+ * The keys a {@link DistinctAction} has already let through.
+ *
+ * A {@link HashKeySet} remembers every key until the stream completes. {@link LruKeySet} and {@link ExpiringKeySet}
+ * only remember the most recent keys, by count or by age, and {@link BloomKeySet} remembers them approximately, so
+ * that an unbounded stream can be deduplicated in bounded memory.
+ *
+ * @param <V> the type of the keys
+ * @since 2.0
+ */
+public interface KeySet<V> {
+
+	/**
+	 * Remember the given key.
+	 *
+	 * @param key the key
+	 * @return {@code true} if the key was not remembered already, in which case the value it was computed from is
+	 * let through
+	 */
+	boolean add(V key);
+
+	/**
+	 * Forget every key and release the resources held, once the stream has terminated.
+	 */
+	void clear();
+}
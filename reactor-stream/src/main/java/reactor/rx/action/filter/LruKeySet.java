@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.filter;
+
+import reactor.core.support.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link KeySet} remembering the given number of most recently seen keys: a key seen again is remembered for longer,
+ * and the least recently seen key is forgotten to make room for a new one.
+ *
+ * @param <V> the type of the keys
+ * @since 2.0
+ */
+public class LruKeySet<V> implements KeySet<V> {
+
+	private final int                       maxSize;
+	private final LinkedHashMap<V, Boolean> keys;
+
+	/**
+	 * Create a {@literal LruKeySet} remembering at most the given number of keys.
+	 *
+	 * @param maxSize the maximum number of keys
+	 */
+	public LruKeySet(final int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be strictly positive");
+		this.maxSize = maxSize;
+		this.keys = new LinkedHashMap<V, Boolean>(Math.min(maxSize, 1 << 16), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<V, Boolean> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public boolean add(V key) {
+		return keys.put(key, Boolean.TRUE) == null;
+	}
+
+	@Override
+	public void clear() {
+		keys.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "size=" + keys.size() + ", maxSize=" + maxSize;
+	}
+}
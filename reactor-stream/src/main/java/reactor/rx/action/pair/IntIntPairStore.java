@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+/**
+ * A {@link PrimitivePairStore} of {@code int} keys and {@code int} values. A {@link IntReducer} combines values without
+ * boxing them, such as the {@link IntReducer#SUM sum}, the {@link IntReducer#MIN minimum} and the {@link IntReducer#MAX
+ * maximum}.
+ *
+ * @since 2.0
+ */
+public final class IntIntPairStore extends PrimitivePairStore<Integer, Integer> {
+
+	public IntIntPairStore() {
+		this(DEFAULT_EXPECTED_SIZE, false);
+	}
+
+	/**
+	 * Create a store sized for the given number of entries, growing beyond it.
+	 *
+	 * @param expectedSize the number of entries to hold without growing
+	 * @param offHeap      {@code true} to keep the entries in a direct buffer
+	 */
+	public IntIntPairStore(int expectedSize, boolean offHeap) {
+		super(expectedSize, offHeap);
+	}
+
+	/**
+	 * Store the given value for the given key, combined with the value already stored if there is one.
+	 *
+	 * @param key     the key
+	 * @param value   the value to store or to combine
+	 * @param reducer the function combining the stored value with the given one, in that order
+	 * @return the value now stored for the key
+	 */
+	public int combine(int key, int value, IntReducer reducer) {
+		return (int) combineBits(key, value, reducer);
+	}
+
+	/**
+	 * Get the value stored for the given key.
+	 *
+	 * @param key          the key
+	 * @param defaultValue the value to return if there is none
+	 * @return the value stored or the default one
+	 */
+	public int get(int key, int defaultValue) {
+		return (int) getBits(key, defaultValue);
+	}
+
+	@Override
+	protected long keyBits(Integer key) {
+		return key;
+	}
+
+	@Override
+	protected Integer key(long bits) {
+		return (int) bits;
+	}
+
+	@Override
+	protected long valueBits(Integer value) {
+		return value;
+	}
+
+	@Override
+	protected Integer value(long bits) {
+		return (int) bits;
+	}
+
+	/**
+	 * A function combining two {@code int} values without boxing them when applied by a {@link IntIntPairStore}.
+	 */
+	public static abstract class IntReducer extends BitsReducer<Integer> {
+
+		public static final IntReducer SUM = new IntReducer() {
+			@Override
+			public int reduce(int previous, int value) {
+				return previous + value;
+			}
+		};
+
+		public static final IntReducer MIN = new IntReducer() {
+			@Override
+			public int reduce(int previous, int value) {
+				return Math.min(previous, value);
+			}
+		};
+
+		public static final IntReducer MAX = new IntReducer() {
+			@Override
+			public int reduce(int previous, int value) {
+				return Math.max(previous, value);
+			}
+		};
+
+		public abstract int reduce(int previous, int value);
+
+		@Override
+		public final Integer apply(Integer previous, Integer value) {
+			return reduce(previous, value);
+		}
+
+		@Override
+		final long reduceBits(long previous, long value) {
+			return reduce((int) previous, (int) value);
+		}
+	}
+}
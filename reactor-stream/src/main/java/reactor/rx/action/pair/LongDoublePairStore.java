@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+/**
+ * A {@link PrimitivePairStore} of {@code long} keys and {@code double} values. A {@link DoubleReducer} combines values
+ * without boxing them, such as the {@link DoubleReducer#SUM sum}, the {@link DoubleReducer#MIN minimum} and the {@link
+ * DoubleReducer#MAX maximum}.
+ *
+ * @since 2.0
+ */
+public final class LongDoublePairStore extends PrimitivePairStore<Long, Double> {
+
+	public LongDoublePairStore() {
+		this(DEFAULT_EXPECTED_SIZE, false);
+	}
+
+	/**
+	 * Create a store sized for the given number of entries, growing beyond it.
+	 *
+	 * @param expectedSize the number of entries to hold without growing
+	 * @param offHeap      {@code true} to keep the entries in a direct buffer
+	 */
+	public LongDoublePairStore(int expectedSize, boolean offHeap) {
+		super(expectedSize, offHeap);
+	}
+
+	/**
+	 * Store the given value for the given key, combined with the value already stored if there is one.
+	 *
+	 * @param key     the key
+	 * @param value   the value to store or to combine
+	 * @param reducer the function combining the stored value with the given one, in that order
+	 * @return the value now stored for the key
+	 */
+	public double combine(long key, double value, DoubleReducer reducer) {
+		return Double.longBitsToDouble(combineBits(key, Double.doubleToRawLongBits(value), reducer));
+	}
+
+	/**
+	 * Get the value stored for the given key.
+	 *
+	 * @param key          the key
+	 * @param defaultValue the value to return if there is none
+	 * @return the value stored or the default one
+	 */
+	public double get(long key, double defaultValue) {
+		return Double.longBitsToDouble(getBits(key, Double.doubleToRawLongBits(defaultValue)));
+	}
+
+	@Override
+	protected long keyBits(Long key) {
+		return key;
+	}
+
+	@Override
+	protected Long key(long bits) {
+		return bits;
+	}
+
+	@Override
+	protected long valueBits(Double value) {
+		return Double.doubleToRawLongBits(value);
+	}
+
+	@Override
+	protected Double value(long bits) {
+		return Double.longBitsToDouble(bits);
+	}
+
+	/**
+	 * A function combining two {@code double} values without boxing them when applied by a {@link LongDoublePairStore}.
+	 */
+	public static abstract class DoubleReducer extends BitsReducer<Double> {
+
+		public static final DoubleReducer SUM = new DoubleReducer() {
+			@Override
+			public double reduce(double previous, double value) {
+				return previous + value;
+			}
+		};
+
+		public static final DoubleReducer MIN = new DoubleReducer() {
+			@Override
+			public double reduce(double previous, double value) {
+				return Math.min(previous, value);
+			}
+		};
+
+		public static final DoubleReducer MAX = new DoubleReducer() {
+			@Override
+			public double reduce(double previous, double value) {
+				return Math.max(previous, value);
+			}
+		};
+
+		public abstract double reduce(double previous, double value);
+
+		@Override
+		public final Double apply(Double previous, Double value) {
+			return reduce(previous, value);
+		}
+
+		@Override
+		final long reduceBits(long previous, long value) {
+			return Double.doubleToRawLongBits(
+					reduce(Double.longBitsToDouble(previous), Double.longBitsToDouble(value))
+			);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+/**
+ * A {@link PrimitivePairStore} of {@code long} keys and {@code long} values. A {@link LongReducer} combines values
+ * without boxing them, such as the {@link LongReducer#SUM sum}, the {@link LongReducer#MIN minimum} and the {@link
+ * LongReducer#MAX maximum}.
+ *
+ * @since 2.0
+ */
+public final class LongLongPairStore extends PrimitivePairStore<Long, Long> {
+
+	public LongLongPairStore() {
+		this(DEFAULT_EXPECTED_SIZE, false);
+	}
+
+	/**
+	 * Create a store sized for the given number of entries, growing beyond it.
+	 *
+	 * @param expectedSize the number of entries to hold without growing
+	 * @param offHeap      {@code true} to keep the entries in a direct buffer
+	 */
+	public LongLongPairStore(int expectedSize, boolean offHeap) {
+		super(expectedSize, offHeap);
+	}
+
+	/**
+	 * Store the given value for the given key, combined with the value already stored if there is one.
+	 *
+	 * @param key     the key
+	 * @param value   the value to store or to combine
+	 * @param reducer the function combining the stored value with the given one, in that order
+	 * @return the value now stored for the key
+	 */
+	public long combine(long key, long value, LongReducer reducer) {
+		return combineBits(key, value, reducer);
+	}
+
+	/**
+	 * Get the value stored for the given key.
+	 *
+	 * @param key          the key
+	 * @param defaultValue the value to return if there is none
+	 * @return the value stored or the default one
+	 */
+	public long get(long key, long defaultValue) {
+		return getBits(key, defaultValue);
+	}
+
+	@Override
+	protected long keyBits(Long key) {
+		return key;
+	}
+
+	@Override
+	protected Long key(long bits) {
+		return bits;
+	}
+
+	@Override
+	protected long valueBits(Long value) {
+		return value;
+	}
+
+	@Override
+	protected Long value(long bits) {
+		return bits;
+	}
+
+	/**
+	 * A function combining two {@code long} values without boxing them when applied by a {@link LongLongPairStore}.
+	 */
+	public static abstract class LongReducer extends BitsReducer<Long> {
+
+		public static final LongReducer SUM = new LongReducer() {
+			@Override
+			public long reduce(long previous, long value) {
+				return previous + value;
+			}
+		};
+
+		public static final LongReducer MIN = new LongReducer() {
+			@Override
+			public long reduce(long previous, long value) {
+				return Math.min(previous, value);
+			}
+		};
+
+		public static final LongReducer MAX = new LongReducer() {
+			@Override
+			public long reduce(long previous, long value) {
+				return Math.max(previous, value);
+			}
+		};
+
+		public abstract long reduce(long previous, long value);
+
+		@Override
+		public final Long apply(Long previous, Long value) {
+			return reduce(previous, value);
+		}
+
+		@Override
+		final long reduceBits(long previous, long value) {
+			return reduce(previous, value);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+import reactor.core.support.Assert;
+import reactor.fn.BiConsumer;
+import reactor.fn.BiFunction;
+
+import java.util.Map;
+
+/**
+ * A {@link PairStore} keeping its values in a {@link Map}. Each value combined is {@link Map#put(Object, Object) put}
+ * in the map, so that a {@link reactor.rx.stream.MapStream} signals it.
+ *
+ * @since 2.0
+ */
+public class MapPairStore<K, V> implements PairStore<K, V> {
+
+	private final Map<K, V> map;
+
+	public MapPairStore(Map<K, V> map) {
+		Assert.notNull(map, "Map cannot be null.");
+		this.map = map;
+	}
+
+	public Map<K, V> map() {
+		return map;
+	}
+
+	@Override
+	public void combine(K key, V value, BiFunction<? super V, ? super V, V> fn) {
+		combineAndGet(key, value, fn);
+	}
+
+	@Override
+	public V combineAndGet(K key, V value, BiFunction<? super V, ? super V, V> fn) {
+		V previous = map.get(key);
+		V acc = previous == null ? value : fn.apply(previous, value);
+		map.put(key, acc);
+		return acc;
+	}
+
+	@Override
+	public V get(K key) {
+		return map.get(key);
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> consumer) {
+		for (Map.Entry<K, V> entry : map.entrySet()) {
+			consumer.accept(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+}
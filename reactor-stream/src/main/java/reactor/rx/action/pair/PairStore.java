@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+import reactor.fn.BiConsumer;
+import reactor.fn.BiFunction;
+
+/**
+ * The state of a {@link ScanByKeyAction} or {@link ReduceByKeyAction}: the value accumulated so far for each key.
+ *
+ * A {@link MapPairStore} keeps the values in any {@link java.util.Map}, such as a {@link reactor.rx.stream.MapStream}.
+ * {@link LongLongPairStore}, {@link IntIntPairStore} and {@link LongDoublePairStore} keep primitive keys and values in
+ * open-addressing tables, on or off heap, and update them in place.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 2.0
+ */
+public interface PairStore<K, V> {
+
+	/**
+	 * Store the given value for the given key, combined with the value already stored if there is one.
+	 *
+	 * @param key   the key
+	 * @param value the value to store or to combine
+	 * @param fn    the function combining the stored value with the given one, in that order
+	 */
+	void combine(K key, V value, BiFunction<? super V, ? super V, V> fn);
+
+	/**
+	 * Same as {@link #combine(Object, Object, BiFunction)}, returning the value now stored.
+	 *
+	 * @param key   the key
+	 * @param value the value to store or to combine
+	 * @param fn    the function combining the stored value with the given one, in that order
+	 * @return the value now stored for the key
+	 */
+	V combineAndGet(K key, V value, BiFunction<? super V, ? super V, V> fn);
+
+	/**
+	 * Get the value stored for the given key.
+	 *
+	 * @param key the key
+	 * @return the value, or {@literal null} if there is none
+	 */
+	V get(K key);
+
+	/**
+	 * Pass every key and its value to the given {@link BiConsumer}, in no particular order.
+	 *
+	 * @param consumer the {@link BiConsumer} of the keys and values
+	 */
+	void forEach(BiConsumer<? super K, ? super V> consumer);
+
+	int size();
+
+	boolean isEmpty();
+
+	void clear();
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair;
+
+import reactor.fn.BiConsumer;
+import reactor.fn.BiFunction;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link PairStore} keeping keys and values as {@code long} bits in an open-addressing table with linear probing,
+ * either in a {@code long[]} or off heap in a direct {@link ByteBuffer}. An entry takes 16 bytes and a combined value
+ * is written over the previous one, so no object is allocated per entry nor per update, besides boxing the values
+ * passed to a plain {@link BiFunction}. Subclasses convert keys and values to and from their bits and provide {@link
+ * BitsReducer BitsReducers}, which combine values without boxing them.
+ *
+ * A store is not thread-safe, which the single subscriber context of an action guarantees.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 2.0
+ */
+public abstract class PrimitivePairStore<K, V> implements PairStore<K, V> {
+
+	public static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final boolean offHeap;
+
+	private Slots   slots;
+	private int     mask;
+	private int     size;
+	private int     resizeAt;
+	// 0 marks a free slot, so the entry of the key 0 is kept aside
+	private boolean hasZeroKey;
+	private long    zeroKeyValue;
+
+	protected PrimitivePairStore(int expectedSize, boolean offHeap) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("expectedSize must be positive");
+		}
+		this.offHeap = offHeap;
+		allocate(capacityFor(expectedSize, maxCapacity()));
+	}
+
+	/**
+	 * Whether the entries are stored off heap.
+	 *
+	 * @return {@code true} if the entries are stored in a direct {@link ByteBuffer}
+	 */
+	public final boolean isOffHeap() {
+		return offHeap;
+	}
+
+	protected abstract long keyBits(K key);
+
+	protected abstract K key(long bits);
+
+	protected abstract long valueBits(V value);
+
+	protected abstract V value(long bits);
+
+	/**
+	 * Combine the bits of a stored value with the bits of a new one, without boxing them if {@code fn} is a {@link
+	 * BitsReducer}.
+	 *
+	 * @param previous the bits of the stored value
+	 * @param value    the bits of the new value
+	 * @param fn       the function combining the values, in that order
+	 * @return the bits of the combined value
+	 */
+	protected long reduceBits(long previous, long value, BiFunction<? super V, ? super V, V> fn) {
+		if (fn instanceof BitsReducer) {
+			return ((BitsReducer<?>) fn).reduceBits(previous, value);
+		}
+		return valueBits(fn.apply(value(previous), value(value)));
+	}
+
+	@Override
+	public final void combine(K key, V value, BiFunction<? super V, ? super V, V> fn) {
+		combineBits(keyBits(key), valueBits(value), fn);
+	}
+
+	@Override
+	public final V combineAndGet(K key, V value, BiFunction<? super V, ? super V, V> fn) {
+		return value(combineBits(keyBits(key), valueBits(value), fn));
+	}
+
+	@Override
+	public final V get(K key) {
+		long bits = keyBits(key);
+		if (bits == 0l) {
+			return hasZeroKey ? value(zeroKeyValue) : null;
+		}
+		int i = indexOf(bits);
+		return i < 0 ? null : value(slots.value(i));
+	}
+
+	@Override
+	public final void forEach(BiConsumer<? super K, ? super V> consumer) {
+		if (hasZeroKey) {
+			consumer.accept(key(0l), value(zeroKeyValue));
+		}
+		long k;
+		for (int i = 0; i <= mask; i++) {
+			k = slots.key(i);
+			if (k != 0l) {
+				consumer.accept(key(k), value(slots.value(i)));
+			}
+		}
+	}
+
+	@Override
+	public final int size() {
+		return size;
+	}
+
+	@Override
+	public final boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public final void clear() {
+		hasZeroKey = false;
+		size = 0;
+		allocate(mask + 1);
+	}
+
+	/**
+	 * Store the given value bits for the given key bits, combined with the bits already stored if there are.
+	 *
+	 * @return the bits now stored
+	 */
+	protected final long combineBits(long key, long value, BiFunction<? super V, ? super V, V> fn) {
+		if (key == 0l) {
+			if (hasZeroKey) {
+				zeroKeyValue = reduceBits(zeroKeyValue, value, fn);
+			} else {
+				hasZeroKey = true;
+				zeroKeyValue = value;
+				size++;
+			}
+			return zeroKeyValue;
+		}
+
+		int i = hash(key) & mask;
+		long k;
+		while ((k = slots.key(i)) != 0l) {
+			if (k == key) {
+				long acc = reduceBits(slots.value(i), value, fn);
+				slots.value(i, acc);
+				return acc;
+			}
+			i = (i + 1) & mask;
+		}
+		slots.put(i, key, value);
+		if (++size >= resizeAt) {
+			rehash();
+		}
+		return value;
+	}
+
+	/**
+	 * Get the bits stored for the given key bits.
+	 *
+	 * @return the bits, or the given default if there are none
+	 */
+	protected final long getBits(long key, long defaultValue) {
+		if (key == 0l) {
+			return hasZeroKey ? zeroKeyValue : defaultValue;
+		}
+		int i = indexOf(key);
+		return i < 0 ? defaultValue : slots.value(i);
+	}
+
+	private int indexOf(long key) {
+		int i = hash(key) & mask;
+		long k;
+		while ((k = slots.key(i)) != 0l) {
+			if (k == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void rehash() {
+		Slots previous = slots;
+		int previousCapacity = mask + 1;
+		allocate(previousCapacity << 1);
+
+		long k;
+		int i;
+		for (int j = 0; j < previousCapacity; j++) {
+			k = previous.key(j);
+			if (k != 0l) {
+				i = hash(k) & mask;
+				while (slots.key(i) != 0l) {
+					i = (i + 1) & mask;
+				}
+				slots.put(i, k, previous.value(j));
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		if (capacity > maxCapacity()) {
+			throw new IllegalStateException("The store cannot hold more than " + (int) (maxCapacity() * LOAD_FACTOR) +
+					" entries");
+		}
+		this.slots = offHeap ? new DirectSlots(capacity) : new HeapSlots(capacity);
+		this.mask = capacity - 1;
+		this.resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private int maxCapacity() {
+		return offHeap ? DirectSlots.MAX_CAPACITY : HeapSlots.MAX_CAPACITY;
+	}
+
+	private static int capacityFor(int expectedSize, int maxCapacity) {
+		long needed = Math.max(16l, (long) (expectedSize / LOAD_FACTOR) + 1l);
+		return (int) Math.min(Long.highestOneBit(needed - 1l) << 1, maxCapacity);
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * A function combining two values, which a {@link PrimitivePairStore} applies to their bits without boxing them.
+	 *
+	 * @param <V> the type of the values
+	 */
+	static abstract class BitsReducer<V> implements BiFunction<V, V, V> {
+
+		/**
+		 * Combine the bits of a stored value with the bits of a new one.
+		 *
+		 * @param previous the bits of the stored value
+		 * @param value    the bits of the new value
+		 * @return the bits of the combined value
+		 */
+		abstract long reduceBits(long previous, long value);
+	}
+
+	private static abstract class Slots {
+		abstract long key(int i);
+
+		abstract long value(int i);
+
+		abstract void value(int i, long value);
+
+		abstract void put(int i, long key, long value);
+	}
+
+	private static final class HeapSlots extends Slots {
+		static final int MAX_CAPACITY = 1 << 29;
+
+		// keys and values interleaved, so that a probe reads one cache line
+		private final long[] entries;
+
+		HeapSlots(int capacity) {
+			this.entries = new long[capacity << 1];
+		}
+
+		@Override
+		long key(int i) {
+			return entries[i << 1];
+		}
+
+		@Override
+		long value(int i) {
+			return entries[(i << 1) + 1];
+		}
+
+		@Override
+		void value(int i, long value) {
+			entries[(i << 1) + 1] = value;
+		}
+
+		@Override
+		void put(int i, long key, long value) {
+			entries[i << 1] = key;
+			entries[(i << 1) + 1] = value;
+		}
+	}
+
+	private static final class DirectSlots extends Slots {
+		static final int MAX_CAPACITY = 1 << 26;
+
+		private final ByteBuffer entries;
+
+		DirectSlots(int capacity) {
+			this.entries = ByteBuffer.allocateDirect(capacity << 4).order(ByteOrder.nativeOrder());
+		}
+
+		@Override
+		long key(int i) {
+			return entries.getLong(i << 4);
+		}
+
+		@Override
+		long value(int i) {
+			return entries.getLong((i << 4) + 8);
+		}
+
+		@Override
+		void value(int i, long value) {
+			entries.putLong((i << 4) + 8, value);
+		}
+
+		@Override
+		void put(int i, long key, long value) {
+			entries.putLong(i << 4, key);
+			entries.putLong((i << 4) + 8, value);
+		}
+	}
+}
@@ -16,6 +16,7 @@
 package reactor.rx.action.pair;
 
 import org.reactivestreams.Publisher;
+import reactor.fn.BiConsumer;
 import reactor.fn.BiFunction;
 import reactor.fn.tuple.Tuple;
 import reactor.fn.tuple.Tuple2;
@@ -39,17 +40,29 @@ public class ReduceByKeyAction<K, V> extends ScanByKeyAction<K, V> {
 		super(fn, store, mapListener);
 	}
 
+	public ReduceByKeyAction(BiFunction<? super V, ? super V, V> fn, PairStore<K, V> pairs) {
+		super(fn, pairs);
+	}
+
+	@Override
+	protected void doNext(Tuple2<K, V> ev) {
+		pairs.combine(ev.t1, ev.t2, fn);
+	}
+
 	protected void doNext(PushSubscription<Tuple2<K, V>> subscriber, Tuple2<K, V> ev) {
 		//IGNORE
 	}
 
 	@Override
 	protected void doComplete() {
-		if(store.isEmpty()) return;
+		if(pairs.isEmpty()) return;
 
-		for(Map.Entry<K,V> entry : store.entrySet()){
-			broadcastNext(Tuple.of(entry.getKey(), entry.getValue()));
-		}
+		pairs.forEach(new BiConsumer<K, V>() {
+			@Override
+			public void accept(K key, V value) {
+				broadcastNext(Tuple.of(key, value));
+			}
+		});
 		broadcastComplete();
 	}
 }
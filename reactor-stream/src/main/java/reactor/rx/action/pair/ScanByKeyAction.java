@@ -18,7 +18,6 @@ package reactor.rx.action.pair;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
-import reactor.Environment;
 import reactor.fn.BiFunction;
 import reactor.fn.tuple.Tuple;
 import reactor.fn.tuple.Tuple2;
@@ -37,32 +36,30 @@ public class ScanByKeyAction<K, V> extends Action<Tuple2<K, V>, Tuple2<K, V>> {
 
 	protected final BiFunction<? super V, ? super V, V>         fn;
 	protected final Publisher<? extends MapStream.Signal<K, V>> mapListener;
+	/**
+	 * The map the keys are reduced into, or {@literal null} if the action was given a {@link PairStore}. Updated
+	 * through {@link #pairs}.
+	 */
 	protected final Map<K, V>                                   store;
+	protected final PairStore<K, V>                             pairs;
 
 	public ScanByKeyAction(BiFunction<? super V, ? super V, V> fn, MapStream<K, V> mapStream) {
 		this(fn, mapStream, mapStream);
 	}
 
-	@SuppressWarnings("unchecked")
 	public ScanByKeyAction(BiFunction<? super V, ? super V, V> fn, Map<K, V> store, Publisher<? extends MapStream
 			.Signal<K, V>> mapListener) {
 		this.fn = fn;
 		this.store = store == null ? new HashMap<K, V>() : store;
-		if (mapListener == null) {
-			MapStream<K, V> mapStream = null;
-			if (MapStream.class.isAssignableFrom(this.store.getClass())) {
-				try {
-					mapStream = (MapStream<K, V>) this.store;
-				} catch (ClassCastException cce) {
-					if (Environment.alive()) {
-						Environment.get().routeError(cce);
-					}
-				}
-			}
-			this.mapListener = mapStream;
-		} else {
-			this.mapListener = mapListener;
-		}
+		this.pairs = new MapPairStore<K, V>(this.store);
+		this.mapListener = mapListener == null && store instanceof MapStream ? (MapStream<K, V>) store : mapListener;
+	}
+
+	public ScanByKeyAction(BiFunction<? super V, ? super V, V> fn, PairStore<K, V> pairs) {
+		this.fn = fn;
+		this.store = null;
+		this.pairs = pairs;
+		this.mapListener = null;
 	}
 
 	@Override
@@ -131,11 +128,11 @@ public class ScanByKeyAction<K, V> extends Action<Tuple2<K, V>, Tuple2<K, V>> {
 
 	@Override
 	protected void doNext(Tuple2<K, V> ev) {
-		V previous = store.get(ev.t1);
-		V acc = previous == null ? ev.t2 : fn.apply(previous, ev.t2);
-		store.put(ev.t1, acc);
 		if (mapListener == null && downstreamSubscription != null) {
+			V acc = pairs.combineAndGet(ev.t1, ev.t2, fn);
 			doNext(downstreamSubscription, Tuple.of(ev.t1, acc));
+		} else {
+			pairs.combine(ev.t1, ev.t2, fn);
 		}
 	}
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.transformation;
+
+import reactor.core.processor.CancelException;
+import reactor.core.support.Exceptions;
+import reactor.fn.Function;
+import reactor.fn.Predicate;
+import reactor.rx.action.Action;
+
+/**
+ * Runs a chain of adjacent {@link MapAction map} and {@link reactor.rx.action.filter.FilterAction filter} stages as a
+ * single {@link Action}: each value goes through every stage in one loop instead of being handed from action to action,
+ * each with its own subscription and request accounting.
+ *
+ * A value is dropped as its unfused stages would drop it: a value rejected by a filter is replaced by requesting one
+ * more value, a {@literal null} mapped value is silently dropped. A stage failing reports the value it was given.
+ *
+ * @since 2.0
+ */
+public class FusedAction<T, V> extends Action<T, V> {
+
+	private final Object[]  stages;
+	private final boolean[] filters;
+
+	/**
+	 * Create an action running the given stages in order.
+	 *
+	 * @param stages  the {@link Function Functions} and {@link Predicate Predicates} to apply
+	 * @param filters for each stage, {@literal true} if it is a {@link Predicate}
+	 */
+	public FusedAction(Object[] stages, boolean[] filters) {
+		this.stages = stages;
+		this.filters = filters;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void doNext(T ev) {
+		Object value = ev;
+		try {
+			for (int i = 0; i < stages.length; i++) {
+				if (filters[i]) {
+					if (!((Predicate<Object>) stages[i]).test(value)) {
+						requestMore(1);
+						return;
+					}
+				} else {
+					value = ((Function<Object, Object>) stages[i]).apply(value);
+					if (value == null) {
+						return;
+					}
+				}
+			}
+		} catch (CancelException ce) {
+			throw ce;
+		} catch (Throwable cause) {
+			doError(Exceptions.addValueAsLastCause(cause, value));
+			return;
+		}
+		broadcastNext((V) value);
+	}
+
+}
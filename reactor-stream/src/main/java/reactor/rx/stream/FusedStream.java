@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.stream;
+
+import reactor.fn.Function;
+import reactor.fn.Predicate;
+import reactor.fn.Supplier;
+import reactor.rx.Stream;
+import reactor.rx.action.Action;
+import reactor.rx.action.filter.FilterAction;
+import reactor.rx.action.transformation.FusedAction;
+import reactor.rx.action.transformation.MapAction;
+
+import java.util.Arrays;
+
+/**
+ * A {@link LiftStream} of adjacent map and filter stages. Adding such a stage to a {@literal FusedStream} does not
+ * stack another {@link Action} on top of it but returns a new {@literal FusedStream} over the same producer with one
+ * more stage, so that a whole chain runs in a single {@link FusedAction} on the dispatcher of the producer. A single
+ * stage still runs as a plain {@link MapAction} or {@link FilterAction}.
+ *
+ * A {@literal FusedStream} is immutable: several chains can be built on the same one.
+ *
+ * @since 2.0
+ */
+public final class FusedStream<O, V> extends LiftStream<O, V> {
+
+	private final Stream<O> producer;
+	private final Object[]  stages;
+	private final boolean[] filters;
+
+	private FusedStream(Stream<O> producer, final Object[] stages, final boolean[] filters) {
+		super(producer, new Supplier<Action<O, V>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public Action<O, V> get() {
+				if (stages.length > 1) {
+					return new FusedAction<O, V>(stages, filters);
+				} else if (filters[0]) {
+					return (Action<O, V>) new FilterAction<O>((Predicate<? super O>) stages[0]);
+				} else {
+					return new MapAction<O, V>((Function<? super O, ? extends V>) stages[0]);
+				}
+			}
+		});
+		this.producer = producer;
+		this.stages = stages;
+		this.filters = filters;
+	}
+
+	/**
+	 * Map the values of the given stream, fusing the function with the stages before it if there are.
+	 *
+	 * @param stream the stream to map
+	 * @param fn     the transformation function
+	 * @param <O>    the type of the values of the stream
+	 * @param <V>    the type of the mapped values
+	 * @return a new {@link Stream} of the mapped values
+	 */
+	public static <O, V> Stream<V> map(Stream<O> stream, Function<? super O, ? extends V> fn) {
+		return fuse(stream, fn, false);
+	}
+
+	/**
+	 * Filter the values of the given stream, fusing the predicate with the stages before it if there are.
+	 *
+	 * @param stream the stream to filter
+	 * @param p      the predicate values must pass
+	 * @param <O>    the type of the values of the stream
+	 * @return a new {@link Stream} of the values passing the predicate
+	 */
+	public static <O> Stream<O> filter(Stream<O> stream, Predicate<? super O> p) {
+		return fuse(stream, p, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <O, V> Stream<V> fuse(Stream<O> stream, Object stage, boolean filter) {
+		if (stream instanceof FusedStream) {
+			FusedStream<Object, O> fused = (FusedStream<Object, O>) stream;
+			int n = fused.stages.length;
+			Object[] stages = Arrays.copyOf(fused.stages, n + 1);
+			boolean[] filters = Arrays.copyOf(fused.filters, n + 1);
+			stages[n] = stage;
+			filters[n] = filter;
+			return new FusedStream<Object, V>(fused.producer, stages, filters);
+		}
+		return new FusedStream<O, V>(stream, new Object[]{stage}, new boolean[]{filter});
+	}
+
+}
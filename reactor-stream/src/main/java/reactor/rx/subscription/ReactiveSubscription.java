@@ -16,11 +16,13 @@
 package reactor.rx.subscription;
 
 import org.reactivestreams.Subscriber;
-import reactor.core.queue.CompletableLinkedQueue;
 import reactor.core.queue.CompletableQueue;
+import reactor.core.queue.CompletableSpscLinkedArrayQueue;
 import reactor.rx.Stream;
 import reactor.rx.action.Action;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * Relationship between a Stream (Publisher) and a Subscriber.
  * <p>
@@ -32,17 +34,24 @@ import reactor.rx.action.Action;
  * Queued data will be polled when the next request(n) signal is received. If there is remaining requested volume,
  * it will be added to the current capacity and therefore will let the next signals to be directly pushed.
  * Each next signal will decrement the capacity by 1.
+ * <p>
+ * No lock is taken: the capacity is an atomic counter and the thread that signals the subscriber is elected with a
+ * work-in-progress counter. A thread finding another one at work leaves its signal in the buffer for it to drain, so
+ * the buffer has a single producer, the publisher, and a single consumer at a time. The default buffer is a
+ * {@link CompletableSpscLinkedArrayQueue}.
  *
  * @author Stephane Maldini
  * @since 2.0
  */
 public class ReactiveSubscription<O> extends PushSubscription<O> {
 
+	protected static final AtomicIntegerFieldUpdater<ReactiveSubscription> WIP_UPDATER = AtomicIntegerFieldUpdater
+			.newUpdater(ReactiveSubscription.class, "wip");
 
 	protected final CompletableQueue<O> buffer;
 
-	//Guarded by this
-	protected boolean draining = false;
+	//Number of signals and requests to drain, only the thread incrementing it from 0 signals the subscriber
+	protected volatile int wip = 0;
 
 	//Only read from subscriber context
 	protected volatile long currentNextSignals = 0l;
@@ -51,7 +60,7 @@ public class ReactiveSubscription<O> extends PushSubscription<O> {
 	protected volatile long maxCapacity = Long.MAX_VALUE;
 
 	public ReactiveSubscription(Stream<O> publisher, Subscriber<? super O> subscriber) {
-		this(publisher, subscriber, new CompletableLinkedQueue<O>());
+		this(publisher, subscriber, new CompletableSpscLinkedArrayQueue<O>());
 	}
 
 	public ReactiveSubscription(Stream<O> publisher, Subscriber<? super O> subscriber, CompletableQueue<O> buffer) {
@@ -64,89 +73,52 @@ public class ReactiveSubscription<O> extends PushSubscription<O> {
 		try {
 			Action.checkRequest(elements);
 
-			O element;
-			FastList list = null;
-			long toRequest = elements;// Math.min(maxCapacity, elements);
-			boolean last;
+			//Subscription terminated, Buffer done, return immediately
+			if (terminated == 1) {
+				return;
+			}
 
+			long previous;
+			long next;
 			do {
-				synchronized (this) {
-					//Subscription terminated, Buffer done, return immediately
-					if (terminated == 1) {
+				previous = pendingRequestSignals;
+				if (previous == Long.MAX_VALUE) {
+					//If unbounded request, already set
+					if (elements == Long.MAX_VALUE) {
 						return;
 					}
-
-					//If unbounded request, set and return
-					if (toRequest == Long.MAX_VALUE) {
-						//System.out.println(subscriber.getClass().getSimpleName()+" el:"+elements);
-						if (pendingRequestSignals == Long.MAX_VALUE) {
-							return;
-						} else {
-							pendingRequestSignals = Long.MAX_VALUE;
-						}
-					} else {
-						long previous = pendingRequestSignals;
-						if (previous != Long.MAX_VALUE && PENDING_UPDATER.addAndGet(this, toRequest) < 0l) {
-							PENDING_UPDATER.set(this, Long.MAX_VALUE);
-							//onError(SpecificationExceptions.spec_3_17_exception(publisher, subscriber, previous, toRequest));
-							return;
-						}
-					}
-
-					draining = !buffer.isEmpty();
-
-					if (draining) {
-						list = new FastList();
-						while (list.size < toRequest && (element = buffer.poll()) != null) {
-							list.add(element);
-						}
-
-						if (list.size != 0 && pendingRequestSignals != Long.MAX_VALUE) {
-							if (PENDING_UPDATER.addAndGet(this, -list.size) < 0) {
-								pendingRequestSignals = 0l;
-							}
-						}
-					} else {
-						currentNextSignals = 0;
-					}
+					break;
 				}
-
-				if (list != null) {
-					drainNext(list);
-				} else {
-					//started
-					if(terminated == 0) {
-						onRequest(elements);
-					}else{
-						updatePendingRequests(elements);
-					}
+				next = previous + elements;
+				if (next < 0l) {
+					PENDING_UPDATER.set(this, Long.MAX_VALUE);
+					//onError(SpecificationExceptions.spec_3_17_exception(publisher, subscriber, previous, elements));
 					return;
 				}
+			} while (!PENDING_UPDATER.compareAndSet(this, previous, next));
 
-				synchronized (this) {
-					draining = !buffer.isEmpty();
-					last = !draining && buffer.isComplete();
-				}
+			//always go through the work-in-progress counter: a value buffered by a concurrent onNext is drained by
+			//either this thread or the one at work
+			long drained = drain();
+			if (drained == 0l && buffer.isEmpty()) {
+				currentNextSignals = 0;
+			}
 
-				if (last) {
-					onComplete();
+			if (buffer.isComplete() && buffer.isEmpty()) {
+				return;
+			}
+
+			if (elements != Long.MAX_VALUE) {
+				elements -= drained;
+			}
+			if (elements > 0l) {
+				//started
+				if (terminated == 0) {
+					onRequest(elements);
 				} else {
-					if (elements != Long.MAX_VALUE) {
-						elements -= list.size;
-					}
-					if (draining) {
-						toRequest = elements;
-					} else if (elements > 0l) {
-						//started
-						if(terminated == 0) {
-							onRequest(elements);
-						}else{
-							updatePendingRequests(elements);
-						}
-						toRequest = 0;
-					}
+					updatePendingRequests(elements);
 				}
-			} while (draining && toRequest > 0);
+			}
 
 		} catch (Exception e) {
 			onError(e);
@@ -154,92 +126,114 @@ public class ReactiveSubscription<O> extends PushSubscription<O> {
 
 	}
 
-	@SuppressWarnings("unchecked")
-	private void drainNext(FastList list) {
-		if (list.size > 0) {
-			for (Object el : list.array) {
-				if (el == null) break;
-				currentNextSignals++;
-				subscriber.onNext((O) el);
-			}
-		}
-	}
-
 	@Override
 	public void onNext(O ev) {
-
-		synchronized (this) {
-			/*if (draining) {
-				if (ev != null) {
-					if (pendingRequestSignals != Long.MAX_VALUE) {
-						PENDING_UPDATER.incrementAndGet(this);
-					}
-					buffer.add(ev);
+		if (wip == 0 && WIP_UPDATER.compareAndSet(this, 0, 1)) {
+			if (buffer.isEmpty() && consumeCapacity()) {
+				currentNextSignals++;
+				subscriber.onNext(ev);
+				//a request has been missed while signalling
+				if (WIP_UPDATER.decrementAndGet(this) != 0) {
+					drainLoop(1);
 				}
-				return;
-			} else */
-
-			if (pendingRequestSignals != Long.MAX_VALUE &&
-					PENDING_UPDATER.decrementAndGet(this) < 0l) {
-				PENDING_UPDATER.incrementAndGet(this);
+			} else {
 				if (ev != null) {
 					buffer.add(ev);
 				}
-				return;
-			} else {
-				currentNextSignals++;
+				//demand may have been added since it was consumed, check again before leaving
+				drainLoop(1);
+			}
+		} else {
+			if (ev != null) {
+				buffer.add(ev);
 			}
+			drain();
 		}
-
-		subscriber.onNext(ev);
 	}
 
 	@Override
 	public void onComplete() {
-		boolean complete = false;
 		if (terminated == 1)
 			return;
 
-		synchronized (this) {
-			buffer.complete();
+		buffer.complete();
+
+		//complete now if the buffer is empty, or let the thread draining it complete once done
+		drain();
+	}
+
+	/**
+	 * Signal the buffered data the subscriber has capacity for, unless another thread is already doing so.
+	 *
+	 * @return the number of signals sent by the calling thread
+	 */
+	protected final long drain() {
+		if (WIP_UPDATER.getAndIncrement(this) != 0) {
+			return 0l;
+		}
+		return drainLoop(1);
+	}
 
-			if (buffer.isEmpty()) {
-				if (TERMINAL_UPDATER.compareAndSet(this, 0, 1) && subscriber != null) {
-					complete = true;
+	private long drainLoop(int missed) {
+		long emitted = 0l;
+		O element;
+		for (; ; ) {
+			while (consumeCapacity()) {
+				element = buffer.poll();
+				if (element == null) {
+					restoreCapacity();
+					break;
 				}
+				currentNextSignals++;
+				emitted++;
+				subscriber.onNext(element);
 			}
-		}
 
-		if (complete) {
-			subscriber.onComplete();
+			if (buffer.isComplete() && buffer.isEmpty()
+					&& TERMINAL_UPDATER.compareAndSet(this, 0, 1) && subscriber != null) {
+				subscriber.onComplete();
+			}
+
+			missed = WIP_UPDATER.addAndGet(this, -missed);
+			if (missed == 0) {
+				return emitted;
+			}
 		}
 	}
 
-	public long currentNextSignals() {
-		return currentNextSignals;
+	private boolean consumeCapacity() {
+		long pending;
+		do {
+			pending = pendingRequestSignals;
+			if (pending == Long.MAX_VALUE) {
+				return true;
+			}
+			if (pending <= 0l) {
+				return false;
+			}
+		} while (!PENDING_UPDATER.compareAndSet(this, pending, pending - 1l));
+		return true;
 	}
 
-	@Override
-	public void updatePendingRequests(long n) {
-		long oldPending;
-		long newPending;
-
-		synchronized (this) {
-			oldPending = pendingRequestSignals;
-			newPending = n == 0l ? 0l : oldPending + n;
-			if (newPending < 0) {
-				newPending = n > 0 ? Long.MAX_VALUE : 0;
+	private void restoreCapacity() {
+		long pending;
+		do {
+			pending = pendingRequestSignals;
+			if (pending == Long.MAX_VALUE) {
+				return;
 			}
-			pendingRequestSignals = newPending;
-		}
+		} while (!PENDING_UPDATER.compareAndSet(this, pending, pending + 1l));
+	}
+
+	public long currentNextSignals() {
+		return currentNextSignals;
 	}
 
 	@Override
 	public boolean shouldRequestPendingSignals() {
-		synchronized (this) {
-			return pendingRequestSignals > 0 && pendingRequestSignals != Long.MAX_VALUE
-					&& (!buffer.isEmpty() || currentNextSignals == maxCapacity);
-		}
+		long pending = pendingRequestSignals;
+		return pending > 0 && pending != Long.MAX_VALUE
+				&& (!buffer.isEmpty() || currentNextSignals == maxCapacity);
 	}
 
 	@Override
@@ -261,9 +255,7 @@ public class ReactiveSubscription<O> extends PushSubscription<O> {
 
 	@Override
 	public final boolean isComplete() {
-		synchronized (this) {
-			return buffer.isEmpty() && buffer.isComplete();
-		}
+		return buffer.isEmpty() && buffer.isComplete();
 	}
 
 	@Override
@@ -274,25 +266,4 @@ public class ReactiveSubscription<O> extends PushSubscription<O> {
 				(buffer != null ? (terminated == 1 ? ", complete" : "") + (", waiting=" + buffer.size()) : "") +
 				'}';
 	}
-
-	static final class FastList {
-		Object[] array;
-		int      size;
-
-		public void add(Object o) {
-			int s = size;
-			Object[] a = array;
-			if (a == null) {
-				a = new Object[16];
-				array = a;
-			} else if (s == a.length) {
-				Object[] array2 = new Object[s + (s >> 2)];
-				System.arraycopy(a, 0, array2, 0, s);
-				a = array2;
-				array = a;
-			}
-			a[s] = o;
-			size = s + 1;
-		}
-	}
 }
@@ -16,17 +16,23 @@
 package reactor.rx
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.reactivestreams.Subscriber
 import org.reactivestreams.Subscription
 import reactor.Environment
 import reactor.core.dispatch.SynchronousDispatcher
 import reactor.core.processor.CancelException
 import reactor.core.processor.RingBufferProcessor
+import reactor.core.support.Exceptions
 import reactor.fn.BiFunction
 import reactor.io.buffer.Buffer
 import reactor.io.codec.DelimitedCodec
 import reactor.io.codec.StandardCodecs
 import reactor.rx.action.Signal
+import reactor.rx.action.filter.FilterAction
+import reactor.rx.action.transformation.FusedAction
 import reactor.rx.broadcast.Broadcaster
+import reactor.rx.stream.LiftStream
+import reactor.rx.subscription.ReactiveSubscription
 import spock.lang.Specification
 
 import java.util.concurrent.*
@@ -419,6 +425,20 @@ class StreamsSpec extends Specification {
 			tap.get() == [1, 2, 3]
 	}
 
+	def 'A Stream can be enforced to dispatch values distinct from the most recent ones'() {
+		given:
+			'a composable with values repeated after more than 2 other values'
+			Stream s = Streams.from([1, 2, 1, 3, 4, 1, 4])
+
+		when:
+			'the values are filtered against the last 2 values seen and result is collected'
+			def tap = s.distinct(2).buffer().tap()
+
+		then:
+			'collected should only be without the recent duplicates'
+			tap.get() == [1, 2, 3, 4, 1]
+	}
+
 	def 'A Stream can check if there is a value satisfying a predicate'() {
 		given:
 			'a composable with values 1 to 5'
@@ -620,6 +640,119 @@ class StreamsSpec extends Specification {
 			tail.await(5, TimeUnit.SECONDS) == [2, 3, 4]
 	}
 
+	def 'A reactive subscription signals every value in order when requested concurrently'() {
+		given:
+			'a subscription buffering the values its subscriber has not requested yet'
+			def values = []
+			def inFlight = new AtomicInteger()
+			def overlaps = new AtomicInteger()
+			def subscription = new ReactiveSubscription<Integer>(null, new Subscriber<Integer>() {
+				void onSubscribe(Subscription s) {}
+
+				void onNext(Integer it) {
+					if (inFlight.incrementAndGet() > 1) {
+						overlaps.incrementAndGet()
+					}
+					values << it
+					inFlight.decrementAndGet()
+				}
+
+				void onError(Throwable t) {}
+
+				void onComplete() {}
+			})
+
+		when:
+			'values are produced on one thread while another one requests them'
+			def producer = Thread.start {
+				for (int i = 0; i < 10000; i++) {
+					subscription.onNext(i)
+				}
+			}
+			def requester = Thread.start {
+				for (int i = 0; i < 1000; i++) {
+					subscription.request(10)
+				}
+			}
+			producer.join()
+			requester.join()
+
+		then:
+			'each value has been signalled once, in order and one at a time'
+			values == (0..<10000)
+			overlaps.get() == 0
+	}
+
+	def 'A reactive subscription never loses a value requested while it is produced'() {
+		when:
+			'a value and the completion are produced on one thread while another one requests the value, many times'
+			def lost = 0
+			for (int round = 0; round < 2000; round++) {
+				def received = new AtomicInteger()
+				def completed = new CountDownLatch(1)
+				def subscription = new ReactiveSubscription<Integer>(null, new Subscriber<Integer>() {
+					void onSubscribe(Subscription s) {}
+
+					void onNext(Integer it) {
+						received.incrementAndGet()
+					}
+
+					void onError(Throwable t) {}
+
+					void onComplete() {
+						completed.countDown()
+					}
+				})
+				def start = new CyclicBarrier(2)
+				def producer = Thread.start {
+					start.await()
+					subscription.onNext(round)
+					subscription.onComplete()
+				}
+				start.await()
+				subscription.request(1)
+				producer.join()
+				if (!completed.await(5, TimeUnit.SECONDS) || received.get() != 1) {
+					lost++
+				}
+			}
+
+		then:
+			'every value has been signalled and followed by the completion'
+			lost == 0
+	}
+
+	def 'Adjacent map and filter stages are fused into a single action'() {
+		given:
+			'a Stream of values'
+			def source = Streams.from(1..100).capacity(4)
+
+		when:
+			'adjacent map and filter stages are added'
+			def fused = source.map { it * 2 }.filter { it % 20 == 0 }.map { it / 20 }
+			def unfused = source.filter { it % 10 == 0 }
+			def values = []
+			fused.consume { values << it }
+
+		then:
+			'they run in one action, replenishing the requests of the values filtered out'
+			((LiftStream) fused).onLift() instanceof FusedAction
+			((LiftStream) unfused).onLift() instanceof FilterAction
+			values == (1..10)
+
+		when:
+			'a fused stage fails'
+			def errors = []
+			Streams.just(1, 2, 3).map { it + 1 }.map { if (it == 3) throw new IllegalArgumentException(); it }.
+					consume({}, { errors << it })
+
+		then:
+			'the error is reported with the value the failing stage was given'
+			errors.size() == 1
+			errors[0] instanceof IllegalArgumentException
+			Exceptions.getFinalValueCause(errors[0]) == 3
+	}
+
 	def 'When the accepted event is Iterable, split can iterate over values'() {
 		given:
 			'a composable with a known number of values'
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.filter
+
+import reactor.fn.timer.HashWheelTimer
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class KeySetSpec extends Specification {
+
+	def "A LRU key set forgets the least recently seen keys"() {
+		given:
+			"a set of 2 keys"
+			def keys = new LruKeySet<Integer>(2)
+
+		when:
+			"keys are added, 1 being seen again before 3 is added"
+			def added = [1, 2, 1, 3, 1, 2].collect { keys.add(it) }
+
+		then:
+			"2 has been forgotten for 3, not 1"
+			added == [true, true, false, true, false, true]
+	}
+
+	def "An expiring key set forgets keys once their time has elapsed"() {
+		given:
+			"a set remembering keys for 200 milliseconds"
+			def timer = new HashWheelTimer(10)
+			def keys = new ExpiringKeySet<String>(200, TimeUnit.MILLISECONDS, timer)
+
+		when:
+			"a key is added then added again at once"
+			def first = keys.add('a')
+			def again = keys.add('a')
+
+		then:
+			"it is remembered"
+			first
+			!again
+
+		when:
+			"it is added again once its time has elapsed"
+			Thread.sleep(500)
+			def expired = keys.add('a')
+
+		then:
+			"it has been forgotten"
+			expired
+
+		cleanup:
+			keys.clear()
+			timer.cancel()
+	}
+
+	def "A Bloom key set remembers the recent keys in a fixed size within its false positive rate"() {
+		given:
+			"a set of 1000 keys per generation with a 1% false positive rate"
+			def keys = new BloomKeySet<Integer>(1000, 0.01d)
+
+		when:
+			"many more distinct keys are added than it can remember"
+			def falsePositives = 0
+			for (int i = 0; i < 100000; i++) {
+				if (!keys.add(i)) {
+					falsePositives++
+				}
+			}
+
+		then:
+			"a new key is rarely taken for a remembered one"
+			falsePositives < 2000
+
+		and:
+			"the most recent keys are remembered"
+			(99000..<100000).every { !keys.add(it) }
+	}
+
+	def "A Bloom key set keeps its false positive rate at its configured size"() {
+		given:
+			"a set of 10000 keys per generation with a 1% false positive rate, and strings sharing the same hash code"
+			def keys = new BloomKeySet<String>(10000, 0.01d)
+			def colliding = ['']
+			14.times { colliding = colliding.collectMany { [it + 'Aa', it + 'BB'] } }
+
+		when:
+			"a generation of keys is added, then as many keys never seen"
+			colliding.subList(0, 10000).each { keys.add(it) }
+			def falsePositives = colliding.subList(10000, 16384).count { !keys.add(it) } +
+					(0..<3616).count { !keys.add("key-$it".toString()) }
+
+		then:
+			"every inserted key shared one hash code"
+			colliding.collect { it.hashCode() }.unique().size() == 1
+
+		and:
+			"the new keys are taken for remembered ones within twice the configured rate"
+			falsePositives / 10000 < 0.02d
+	}
+
+}
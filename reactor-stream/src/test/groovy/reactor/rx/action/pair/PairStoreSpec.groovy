@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx.action.pair
+
+import reactor.fn.BiFunction
+import reactor.fn.tuple.Tuple
+import reactor.fn.tuple.Tuple2
+import reactor.rx.BiStreams
+import reactor.rx.Streams
+import spock.lang.Specification
+
+class PairStoreSpec extends Specification {
+
+	def "A primitive store combines the values of each key, growing as needed"() {
+		given:
+			"a small store"
+			def store = new LongLongPairStore(4, offHeap)
+
+		when:
+			"values are combined for more keys than it was sized for, the key 0 included"
+			for (long i = 0; i < 10000; i++) {
+				store.combine(i % 1000, 1l, LongLongPairStore.LongReducer.SUM)
+				store.combine(-(i % 1000), 2l, { a, b -> a * b } as BiFunction<Long, Long, Long>)
+			}
+			def entries = [:]
+			store.forEach { k, v -> entries[k] = v }
+
+		then:
+			"each key holds its combined value"
+			store.size() == 1999
+			store.get(0l) == 2046
+			store.get(999l) == 10
+			store.get(-999l) == 1024
+			store.get(5000l) == null
+			store.get(5000l, -1l) == -1l
+			entries.size() == 1999
+			entries[1l] == 10
+
+		when:
+			"it is cleared"
+			store.clear()
+
+		then:
+			"it is empty"
+			store.isEmpty()
+			store.get(1l) == null
+
+		where:
+			offHeap << [false, true]
+	}
+
+	def "Int and double stores keep their values without losing precision"() {
+		given:
+			"int and double stores"
+			def ints = new IntIntPairStore()
+			def doubles = new LongDoublePairStore(16, true)
+
+		when:
+			"values are combined"
+			ints.combine(-1, -5, IntIntPairStore.IntReducer.MIN)
+			ints.combine(-1, -7, IntIntPairStore.IntReducer.MIN)
+			doubles.combine(3l, 0.1d, LongDoublePairStore.DoubleReducer.SUM)
+			doubles.combine(3l, 0.2d, LongDoublePairStore.DoubleReducer.SUM)
+
+		then:
+			"they are read back as they were computed"
+			ints.get(-1) == -7
+			doubles.get(3l) == 0.1d + 0.2d
+	}
+
+	def "BiStreams reduce and scan by key into a primitive store"() {
+		given:
+			"key/value pairs"
+			def pairs = (0..<100).collect { Tuple.of((long) (it % 3), (long) it) }
+
+		when:
+			"they are reduced and scanned into stores"
+			def reduced = BiStreams.reduceByKey(Streams.from(pairs), new LongLongPairStore(), LongLongPairStore.LongReducer.SUM)
+					.toList().await()
+			def scanned = BiStreams.scanByKey(Streams.from(pairs), new LongLongPairStore(), LongLongPairStore.LongReducer.MAX)
+					.toList().await()
+
+		then:
+			"every key is reduced once and every pair is scanned"
+			reduced.collectEntries { Tuple2 t -> [t.t1, t.t2] } == [0l: 1683l, 1l: 1617l, 2l: 1650l]
+			scanned.size() == 100
+			scanned.last().t1 == 0l
+			scanned.last().t2 == 99l
+	}
+}